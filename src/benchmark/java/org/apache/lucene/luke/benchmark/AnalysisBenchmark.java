@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.benchmark;
+
+import org.apache.lucene.luke.models.analysis.Analysis;
+import org.apache.lucene.luke.models.analysis.AnalysisImpl;
+import org.apache.lucene.util.LineFileDocs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the Analysis tab.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AnalysisBenchmark {
+
+  @Param({
+      "org.apache.lucene.analysis.standard.StandardAnalyzer",
+      "org.apache.lucene.analysis.en.EnglishAnalyzer",
+      "org.apache.lucene.analysis.ja.JapaneseAnalyzer"})
+  public String analyzerType;
+
+  @Param({"42"})
+  public long seed;
+
+  private AnalysisImpl analysis;
+
+  private String text;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    analysis = new AnalysisImpl();
+    analysis.createAnalyzerFromClassName(analyzerType);
+    try (LineFileDocs docs = new LineFileDocs(new Random(seed), BenchmarkIndex.LINE_DOCS_FILE)) {
+      text = docs.nextDoc().get(BenchmarkIndex.BODY_FIELD);
+    }
+  }
+
+  @Benchmark
+  public List<Analysis.Token> analyze() {
+    return analysis.analyze(text);
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.benchmark;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SerialMergeScheduler;
+import org.apache.lucene.index.TieredMergePolicy;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.LineFileDocs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Builds synthetic indexes for benchmarks.
+ *
+ * <p>
+ * Documents are taken from the line file bundled with lucene-test-framework (europarl),
+ * with extra doc values fields for sorting. Given the same number of documents and seed, the same index is built;
+ * an index is built once and reused by later runs (and forked JVMs) from {@code target/benchmark-indexes}.
+ * </p>
+ */
+final class BenchmarkIndex {
+
+  /** Root directory of generated indexes; can be overridden by the system property "luke.benchmark.dir" */
+  static final Path ROOT = Paths.get(System.getProperty("luke.benchmark.dir", "target/benchmark-indexes"));
+
+  static final String LINE_DOCS_FILE = "europarl.lines.txt.gz";
+
+  static final String TITLE_FIELD = "title";
+
+  static final String BODY_FIELD = "body";
+
+  static final String RANK_FIELD = "rank";
+
+  static final String CATEGORY_FIELD = "category";
+
+  private static final int NUM_CATEGORIES = 32;
+
+  private BenchmarkIndex() {
+  }
+
+  /**
+   * Returns the path of the index with the given size and seed, and builds it if it does not exist.
+   *
+   * @param numDocs - number of documents
+   * @param seed - random seed
+   * @return the index directory path
+   * @throws IOException
+   */
+  static synchronized Path getOrCreate(int numDocs, long seed) throws IOException {
+    Path path = ROOT.resolve(String.format(Locale.ENGLISH, "docs%d-seed%x", numDocs, seed));
+    if (Files.exists(path)) {
+      try (Directory dir = FSDirectory.open(path)) {
+        if (DirectoryReader.indexExists(dir)) {
+          return path;
+        }
+      }
+    }
+
+    Path tmp = Files.createDirectories(ROOT).resolve(path.getFileName() + ".tmp");
+    Random random = new Random(seed);
+    IndexWriterConfig config = new IndexWriterConfig(new StandardAnalyzer())
+        // fixed flush and merge settings so that the same segments are created every time
+        .setMaxBufferedDocs(Math.max(100, numDocs / 20))
+        .setRAMBufferSizeMB(IndexWriterConfig.DISABLE_AUTO_FLUSH)
+        .setMergeScheduler(new SerialMergeScheduler())
+        .setMergePolicy(new TieredMergePolicy())
+        .setUseCompoundFile(false);
+
+    try (Directory dir = FSDirectory.open(tmp);
+         IndexWriter writer = new IndexWriter(dir, config);
+         LineFileDocs docs = new LineFileDocs(random, LINE_DOCS_FILE)) {
+      // discard a partially built index left by an aborted run
+      writer.deleteAll();
+      for (int i = 0; i < numDocs; i++) {
+        Document doc = docs.nextDoc();
+        int rank = random.nextInt(1_000_000);
+        // the line file reuses the document instance, so the extra fields are replaced
+        doc.removeFields(RANK_FIELD);
+        doc.add(new NumericDocValuesField(RANK_FIELD, rank));
+        doc.add(new StoredField(RANK_FIELD, rank));
+        doc.removeFields(CATEGORY_FIELD);
+        doc.add(new SortedDocValuesField(CATEGORY_FIELD, new BytesRef("cat" + random.nextInt(NUM_CATEGORIES))));
+        writer.addDocument(doc);
+      }
+      writer.commit();
+    }
+    Files.move(tmp, path);
+    return path;
+  }
+
+}
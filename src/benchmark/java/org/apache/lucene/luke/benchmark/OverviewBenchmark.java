@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.benchmark;
+
+import org.apache.lucene.luke.models.overview.OverviewImpl;
+import org.apache.lucene.luke.models.overview.TermStats;
+import org.apache.lucene.luke.models.overview.TopTermsOrder;
+import org.apache.lucene.luke.util.IndexUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the term statistics shown in the Overview tab.
+ * A new model is created for each invocation, so that cached statistics are not measured.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverviewBenchmark {
+
+  @Benchmark
+  public Map<String, Long> countTerms(IndexState state) throws IOException {
+    return IndexUtils.countTerms(state.reader, IndexUtils.getFieldNames(state.reader), ForkJoinPool.commonPool());
+  }
+
+  @Benchmark
+  public List<TermStats> topTermsByDocFreq(IndexState state) {
+    OverviewImpl overview = new OverviewImpl(state.reader, state.indexPath.toString());
+    return overview.getTopTerms(BenchmarkIndex.BODY_FIELD, 50, TopTermsOrder.DOC_FREQ);
+  }
+
+  @Benchmark
+  public List<TermStats> topTermsByTotalTermFreq(IndexState state) {
+    OverviewImpl overview = new OverviewImpl(state.reader, state.indexPath.toString());
+    return overview.getTopTerms(BenchmarkIndex.BODY_FIELD, 50, TopTermsOrder.TOTAL_TERM_FREQ);
+  }
+
+}
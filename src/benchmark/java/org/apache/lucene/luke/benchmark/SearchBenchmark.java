@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.benchmark;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.luke.models.search.QueryParserConfig;
+import org.apache.lucene.luke.models.search.SearchImpl;
+import org.apache.lucene.luke.models.search.SearchResults;
+import org.apache.lucene.luke.models.search.SimilarityConfig;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the Search tab. Stored fields of all hits are loaded, as the search results table does.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+  @Param({"commission", "european parliament", "\"member states\"", "t*"})
+  public String expression;
+
+  @Param({"10", "50"})
+  public int pageSize;
+
+  private final SimilarityConfig simConfig = new SimilarityConfig.Builder().build();
+
+  private final Sort sort = new Sort(new SortField(BenchmarkIndex.RANK_FIELD, SortField.Type.LONG, true));
+
+  private SearchImpl search;
+
+  private Query query;
+
+  @Setup(Level.Trial)
+  public void setUp(IndexState state) {
+    // search models keep the state of a search session, so each thread has its own one
+    search = new SearchImpl(state.reader);
+    query = search.parseQuery(expression, BenchmarkIndex.BODY_FIELD, new StandardAnalyzer(),
+        new QueryParserConfig.Builder().allowLeadingWildcard(true).build(), false);
+  }
+
+  @Benchmark
+  public void searchByRelevance(Blackhole bh) {
+    consume(search.search(query, simConfig, null, null, pageSize), bh);
+  }
+
+  @Benchmark
+  public void searchSortedByField(Blackhole bh) {
+    consume(search.search(query, simConfig, sort, null, pageSize), bh);
+  }
+
+  @Benchmark
+  public void searchDeepPage(Blackhole bh) {
+    search.search(query, simConfig, null, null, pageSize);
+    Optional<SearchResults> res = search.goToPage(100);
+    res.ifPresent(r -> consume(r, bh));
+  }
+
+  private static void consume(SearchResults res, Blackhole bh) {
+    bh.consume(res.getTotalHits());
+    for (SearchResults.Doc doc : res.getHits()) {
+      bh.consume(doc.getFieldValues());
+    }
+  }
+
+}
@@ -20,8 +20,11 @@ package org.apache.lucene.luke.app;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.swing.SwingUtilities;
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public abstract class AbstractHandler<T extends Observer> {
 
@@ -35,8 +38,31 @@ public abstract class AbstractHandler<T extends Observer> {
   }
 
   void notifyObservers() {
+    notifyObservers(this::notifyOne);
+  }
+
+  void notifyObservers(Consumer<T> notification) {
+    // observers update UI components, so they are always notified on the event dispatch thread
+    if (SwingUtilities.isEventDispatchThread()) {
+      doNotifyObservers(notification);
+      return;
+    }
+    try {
+      SwingUtilities.invokeAndWait(() -> doNotifyObservers(notification));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  private void doNotifyObservers(Consumer<T> notification) {
     for (T observer : observers) {
-      notifyOne(observer);
+      notification.accept(observer);
     }
   }
 
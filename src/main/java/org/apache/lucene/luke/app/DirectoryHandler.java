@@ -19,12 +19,14 @@ package org.apache.lucene.luke.app;
 
 import org.apache.lucene.luke.app.desktop.util.MessageUtils;
 import org.apache.lucene.luke.models.LukeException;
+import org.apache.lucene.luke.util.DirectoryConfig;
 import org.apache.lucene.luke.util.IndexUtils;
 import org.apache.lucene.store.Directory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 public final class DirectoryHandler extends AbstractHandler<DirectoryObserver> {
 
@@ -44,13 +46,18 @@ public final class DirectoryHandler extends AbstractHandler<DirectoryObserver> {
   }
 
   public void open(@Nonnull String indexPath, @Nullable String dirImpl) {
+    open(indexPath, dirImpl, new DirectoryConfig.Builder().build());
+  }
+
+  public void open(@Nonnull String indexPath, @Nullable String dirImpl, @Nonnull DirectoryConfig dirConfig) {
     if (directoryOpened()) {
       close();
     }
 
     Directory dir;
+    long start = System.nanoTime();
     try {
-      dir = IndexUtils.openDirectory(indexPath, dirImpl);
+      dir = IndexUtils.openDirectory(indexPath, dirImpl, dirConfig);
     } catch (IOException e) {
       throw new LukeException(MessageUtils.getLocalizedMessage("openindex.message.index_path_invalid", indexPath), e);
     }
@@ -58,6 +65,8 @@ public final class DirectoryHandler extends AbstractHandler<DirectoryObserver> {
     state = new LukeStateImpl();
     state.indexPath = indexPath;
     state.dirImpl = dirImpl;
+    state.dirConfig = dirConfig;
+    state.openTimeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
     state.dir = dir;
 
     notifyObservers();
@@ -83,6 +92,8 @@ public final class DirectoryHandler extends AbstractHandler<DirectoryObserver> {
 
     private String indexPath;
     private String dirImpl;
+    private DirectoryConfig dirConfig;
+    private long openTimeMillis;
     private Directory dir;
 
     @Override
@@ -95,6 +106,16 @@ public final class DirectoryHandler extends AbstractHandler<DirectoryObserver> {
       return dirImpl;
     }
 
+    @Override
+    public DirectoryConfig getDirConfig() {
+      return dirConfig;
+    }
+
+    @Override
+    public long getOpenTimeMillis() {
+      return openTimeMillis;
+    }
+
     @Override
     public Directory getDirectory() {
       return dir;
@@ -17,77 +17,346 @@
 
 package org.apache.lucene.luke.app;
 
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.luke.app.desktop.util.MessageUtils;
 import org.apache.lucene.luke.models.LukeException;
+import org.apache.lucene.luke.models.ReaderDelta;
+import org.apache.lucene.luke.models.tools.EditingSession;
+import org.apache.lucene.luke.util.DirectoryConfig;
 import org.apache.lucene.luke.util.IndexUtils;
+import org.apache.lucene.store.Directory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Opens, reopens and closes the index, and notifies the observers of the changes on the event dispatch thread.
+ *
+ * <p>
+ * The methods which open, reopen or close the index, or change the editing session, do IO and are called from
+ * the background thread of the task executor, one at a time. Each of them publishes a new state (or marks the current
+ * state closed) only after the IO has been done, so the query methods (e.g. {@link #indexOpened()}, {@link #isEditing()}
+ * and {@link #getState()}) can be called from the event dispatch thread at any time; they see either the old or
+ * the new state. When a reader which is not a directory reader is reopened, the index is closed and opened again,
+ * so the closed state may be seen in between.
+ * </p>
+ */
 public final class IndexHandler extends AbstractHandler<IndexObserver> {
 
   private static Logger logger = LoggerFactory.getLogger(IndexHandler.class);
 
-  private LukeStateImpl state;
+  // replaced by a background thread, and read from the event dispatch thread
+  private volatile LukeStateImpl state;
+
+  // the reader which the observers (and the models created by them) currently use; accessed only from the event dispatch thread
+  private IndexReader observedReader;
 
   @Override
   protected void notifyOne(IndexObserver observer) {
     if (state.closed) {
+      observedReader = null;
       observer.closeIndex();
     } else {
+      observedReader = state.reader;
       observer.openIndex(state);
     }
   }
 
   public boolean indexOpened() {
-    return state != null && !state.closed;
+    LukeStateImpl current = state;
+    return current != null && !current.closed;
   }
 
   public void open(@Nonnull String indexPath, @Nullable String dirImpl) {
     open(indexPath, dirImpl, false, false, false);
   }
 
+  public void open(@Nonnull String indexPath, @Nullable String dirImpl, @Nonnull DirectoryConfig dirConfig) {
+    open(indexPath, dirImpl, dirConfig, false, false, false);
+  }
+
   public void open(@Nonnull String indexPath, @Nullable String dirImpl, boolean readOnly, boolean useCompound, boolean keepAllCommits) {
+    open(indexPath, dirImpl, new DirectoryConfig.Builder().build(), readOnly, useCompound, keepAllCommits);
+  }
+
+  /**
+   * Opens the index. The current index is closed first.
+   *
+   * @throws LukeException - if the index cannot be opened, or the current index has uncommitted changes in an editing session
+   */
+  public void open(@Nonnull String indexPath, @Nullable String dirImpl, @Nonnull DirectoryConfig dirConfig,
+                   boolean readOnly, boolean useCompound, boolean keepAllCommits) {
     if (indexOpened()) {
       close();
     }
 
     IndexReader reader;
+    long start = System.nanoTime();
     try {
-      reader = IndexUtils.openIndex(indexPath, dirImpl);
+      reader = IndexUtils.openIndex(indexPath, dirImpl, dirConfig);
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
       throw new LukeException(MessageUtils.getLocalizedMessage("openindex.message.index_path_invalid", indexPath), e);
     }
+    long openTimeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    logger.info(String.format(Locale.ENGLISH, "Index opened in %d ms. Index path=%s", openTimeMillis, indexPath));
 
-    state = new LukeStateImpl();
-    state.indexPath = indexPath;
-    state.reader = reader;
-    state.dirImpl = dirImpl;
-    state.readOnly = readOnly;
-    state.useCompound = useCompound;
-    state.keepAllCommits = keepAllCommits;
+    LukeStateImpl newState = new LukeStateImpl();
+    newState.indexPath = indexPath;
+    newState.reader = reader;
+    newState.dirImpl = dirImpl;
+    newState.dirConfig = dirConfig;
+    newState.openTimeMillis = openTimeMillis;
+    newState.readOnly = readOnly;
+    newState.useCompound = useCompound;
+    newState.keepAllCommits = keepAllCommits;
+    // published after all fields have been set
+    state = newState;
 
     notifyObservers();
   }
 
+  /**
+   * Closes the index.
+   *
+   * @throws LukeException - if the editing session has uncommitted changes; use {@link #close(boolean)} to discard them
+   */
   public void close() {
+    close(false);
+  }
+
+  /**
+   * Closes the index, and ends the editing session if it is active.
+   *
+   * @param discardChanges - if true, uncommitted changes in the editing session are discarded;
+   *                       otherwise the index is not closed while there are uncommitted changes
+   * @throws LukeException - if the editing session has uncommitted changes and discardChanges is false
+   */
+  public void close(boolean discardChanges) {
     if (state == null) {
       return;
     }
 
-    IndexUtils.close(state.reader);
+    if (!discardChanges && hasPendingChanges()) {
+      throw new LukeException(MessageUtils.getLocalizedMessage("message.error.pending_changes",
+          state.editingSession.getNumPendingChanges()));
+    }
+
+    if (state.editingSession != null) {
+      // the reader must release the uncommitted files before the session discards them, and the directory is closed last
+      Directory dir = ((DirectoryReader) state.reader).directory();
+      try {
+        state.reader.close();
+      } catch (IOException e) {
+        logger.error(e.getMessage(), e);
+      }
+      state.editingSession.close();
+      state.editingSession = null;
+      IndexUtils.close(dir);
+    } else {
+      IndexUtils.close(state.reader);
+    }
 
     state.closed = true;
     notifyObservers();
   }
 
+  /**
+   * Reopens the index reader to see the latest commit, or the latest changes in the editing session.
+   *
+   * <p>
+   * A directory reader is reopened via {@link DirectoryReader#openIfChanged(DirectoryReader)}, so only new or changed
+   * segments are loaded and observers are notified with the changes; nothing happens if the index has not been changed.
+   * While an editing session is active, a near-real-time reader is opened from the session's writer instead.
+   * Other readers (e.g. a multi-reader over several index directories) are closed and opened again.
+   * </p>
+   */
   public void reOpen() {
-    close();
-    open(state.getIndexPath(), state.getDirImpl(), state.readOnly(), state.useCompound(), state.keepAllCommits());
+    if (!indexOpened() || !(state.reader instanceof DirectoryReader)) {
+      close();
+      open(state.getIndexPath(), state.getDirImpl(), state.getDirConfig(), state.readOnly(), state.useCompound(), state.keepAllCommits());
+      return;
+    }
+
+    DirectoryReader oldReader = (DirectoryReader) state.reader;
+    DirectoryReader newReader;
+    long start = System.nanoTime();
+    if (state.editingSession != null) {
+      newReader = state.editingSession.refresh(oldReader);
+    } else {
+      try {
+        newReader = DirectoryReader.openIfChanged(oldReader);
+      } catch (IOException e) {
+        logger.error(e.getMessage(), e);
+        throw new LukeException(MessageUtils.getLocalizedMessage("openindex.message.index_path_invalid", state.indexPath), e);
+      }
+    }
+    if (newReader == null) {
+      logger.info("Index has not been changed; no need to reopen.");
+      return;
+    }
+    swapReader(oldReader, newReader, start, state.editingSession);
+  }
+
+  /**
+   * Starts an editing session, which keeps one index writer open until the session ends.
+   *
+   * <p>
+   * Document changes made via {@link org.apache.lucene.luke.models.tools.IndexTools} are written by the session's writer
+   * and become visible on {@link #reOpen()} without being committed; {@link #commitEditingSession()} persists them.
+   * </p>
+   *
+   * @throws LukeException - if the index is read-only, is not a directory index, or is locked by another writer
+   */
+  public void startEditingSession() {
+    if (!indexOpened() || !(state.reader instanceof DirectoryReader)) {
+      throw new LukeException("Current reader is not an instance of DirectoryReader.");
+    }
+    if (state.readOnly) {
+      throw new LukeException("Index is opened in read-only mode.");
+    }
+    if (state.editingSession != null) {
+      return;
+    }
+
+    DirectoryReader oldReader = (DirectoryReader) state.reader;
+    long start = System.nanoTime();
+    EditingSession session = EditingSession.open(oldReader.directory(), state.useCompound, state.keepAllCommits);
+    DirectoryReader newReader;
+    try {
+      newReader = session.openReader();
+    } catch (LukeException e) {
+      session.close();
+      throw e;
+    }
+    swapReader(oldReader, newReader, start, session);
+  }
+
+  /**
+   * Commits the changes in the current editing session.
+   *
+   * @throws LukeException - if no editing session is active or the commit fails
+   */
+  public void commitEditingSession() {
+    if (!isEditing()) {
+      throw new LukeException("Editing session is not started.");
+    }
+    EditingSession session = state.editingSession;
+    session.commit();
+
+    // openIfChanged() returns null if no document has been changed since the last refresh, even though the commit point
+    // has been changed; always open a new reader which refers to the new commit point, and let the observers see it.
+    // segment readers are pooled by the writer, so unchanged segments are shared with the current reader.
+    DirectoryReader oldReader = (DirectoryReader) state.reader;
+    long start = System.nanoTime();
+    DirectoryReader newReader = session.openReader();
+    swapReader(oldReader, newReader, start, session);
+  }
+
+  /**
+   * Ends the current editing session and reopens the index from the latest commit.
+   *
+   * @param commit - if true, the pending changes are committed; otherwise they are discarded
+   */
+  public void endEditingSession(boolean commit) {
+    if (!isEditing()) {
+      return;
+    }
+
+    EditingSession session = state.editingSession;
+    if (commit) {
+      session.commit();
+    }
+
+    DirectoryReader oldReader = (DirectoryReader) state.reader;
+    DirectoryReader newReader;
+    long start = System.nanoTime();
+    try {
+      newReader = DirectoryReader.open(oldReader.directory());
+    } catch (IOException e) {
+      logger.error(e.getMessage(), e);
+      throw new LukeException(MessageUtils.getLocalizedMessage("openindex.message.index_path_invalid", state.indexPath), e);
+    }
+    try {
+      swapReader(oldReader, newReader, start, null);
+    } finally {
+      // the near-real-time reader has been closed, so the uncommitted files can be discarded
+      session.close();
+    }
+  }
+
+  /**
+   * Returns true if an editing session is active.
+   */
+  public boolean isEditing() {
+    LukeStateImpl current = state;
+    return current != null && !current.closed && current.editingSession != null;
+  }
+
+  /**
+   * Returns true if the editing session has uncommitted changes.
+   */
+  public boolean hasPendingChanges() {
+    LukeStateImpl current = state;
+    EditingSession session = current == null || current.closed ? null : current.editingSession;
+    return session != null && session.getNumPendingChanges() > 0;
+  }
+
+  private void swapReader(DirectoryReader oldReader, DirectoryReader newReader, long start, @Nullable EditingSession session) {
+    long openTimeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    ReaderDelta delta = ReaderDelta.of(oldReader, newReader);
+    logger.info(String.format(Locale.ENGLISH, "Index reopened in %d ms: %s", openTimeMillis, delta));
+
+    LukeStateImpl newState = new LukeStateImpl();
+    newState.indexPath = state.indexPath;
+    newState.reader = newReader;
+    newState.dirImpl = state.dirImpl;
+    newState.dirConfig = state.dirConfig;
+    newState.openTimeMillis = openTimeMillis;
+    newState.readOnly = state.readOnly;
+    newState.useCompound = state.useCompound;
+    newState.keepAllCommits = state.keepAllCommits;
+    newState.editingSession = session;
+    state = newState;
+
+    try {
+      notifyObservers(observer -> {
+        observedReader = newReader;
+        observer.reopenIndex(newState, delta);
+      });
+    } finally {
+      // the directory is shared with the new reader.
+      // background tasks which have acquired the old reader keep it open until they release it (see acquireReader())
+      try {
+        oldReader.close();
+      } catch (IOException e) {
+        logger.error(e.getMessage(), e);
+      }
+    }
+  }
+
+  /**
+   * Acquires a reference to the index reader which the observers currently use, so that the reader is not closed
+   * while a background task is using it, even if the index is reopened or closed in the meantime.
+   * Must be called from the event dispatch thread.
+   *
+   * @return a handle which releases the reference when closed, or null if no index is opened
+   */
+  @Nullable
+  public Closeable acquireReader() {
+    IndexReader reader = observedReader;
+    if (reader == null || !reader.tryIncRef()) {
+      return null;
+    }
+    return reader::decRef;
   }
 
   public LukeState getState() {
@@ -96,14 +365,18 @@ public final class IndexHandler extends AbstractHandler<IndexObserver> {
 
   public static class LukeStateImpl implements LukeState {
 
-    private boolean closed = false;
+    // the other fields are set before the state is published, but these two are changed when the index is closed
+    private volatile boolean closed = false;
 
     private String indexPath;
     private IndexReader reader;
     private String dirImpl;
+    private DirectoryConfig dirConfig;
+    private long openTimeMillis;
     private boolean readOnly;
     private boolean useCompound;
     private boolean keepAllCommits;
+    private volatile EditingSession editingSession;
 
     @Override
     public String getIndexPath() {
@@ -120,6 +393,16 @@ public final class IndexHandler extends AbstractHandler<IndexObserver> {
       return dirImpl;
     }
 
+    @Override
+    public DirectoryConfig getDirConfig() {
+      return dirConfig;
+    }
+
+    @Override
+    public long getOpenTimeMillis() {
+      return openTimeMillis;
+    }
+
     @Override
     public boolean readOnly() {
       return readOnly;
@@ -134,5 +417,10 @@ public final class IndexHandler extends AbstractHandler<IndexObserver> {
     public boolean keepAllCommits() {
       return keepAllCommits;
     }
+
+    @Override
+    public EditingSession getEditingSession() {
+      return editingSession;
+    }
   }
 }
@@ -17,10 +17,26 @@
 
 package org.apache.lucene.luke.app;
 
+import org.apache.lucene.luke.models.ReaderDelta;
+
 public interface IndexObserver extends Observer {
 
   void openIndex(LukeState state);
 
   void closeIndex();
 
+  /**
+   * Called when the index reader has been reopened and some segments have been changed.
+   * The previous reader is closed after all observers are notified.
+   * By default, this is handled as closing and opening the index; observers which can reuse what they have loaded
+   * for unchanged segments should override this.
+   *
+   * @param state - the state holding the reopened reader
+   * @param delta - the difference between the previous reader and the reopened reader
+   */
+  default void reopenIndex(LukeState state, ReaderDelta delta) {
+    closeIndex();
+    openIndex(state);
+  }
+
 }
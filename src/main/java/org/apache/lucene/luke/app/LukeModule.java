@@ -25,6 +25,7 @@ import org.apache.lucene.luke.models.commits.CommitsFactory;
 import org.apache.lucene.luke.models.documents.DocumentsFactory;
 import org.apache.lucene.luke.models.overview.OverviewFactory;
 import org.apache.lucene.luke.models.search.SearchFactory;
+import org.apache.lucene.luke.models.shards.ShardsFactory;
 import org.apache.lucene.luke.models.tools.IndexToolsFactory;
 
 public final class LukeModule extends AbstractModule {
@@ -37,6 +38,7 @@ public final class LukeModule extends AbstractModule {
     bind(AnalysisFactory.class).toInstance(new AnalysisFactory());
     bind(CommitsFactory.class).toInstance(new CommitsFactory());
     bind(IndexToolsFactory.class).toInstance(new IndexToolsFactory());
+    bind(ShardsFactory.class).toInstance(new ShardsFactory());
 
     bind(DirectoryHandler.class).toInstance(new DirectoryHandler());
     bind(IndexHandler.class).toInstance(new IndexHandler());
@@ -19,6 +19,8 @@ package org.apache.lucene.luke.app;
 
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.luke.models.tools.EditingSession;
+import org.apache.lucene.luke.util.DirectoryConfig;
 import org.apache.lucene.store.Directory;
 
 /**
@@ -30,6 +32,17 @@ public interface LukeState {
 
   String getDirImpl();
 
+  default DirectoryConfig getDirConfig() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Returns the time taken to open the index reader or directory, in milliseconds.
+   */
+  default long getOpenTimeMillis() {
+    throw new UnsupportedOperationException();
+  }
+
   default Directory getDirectory() {
     throw new UnsupportedOperationException();
   }
@@ -50,6 +63,13 @@ public interface LukeState {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Returns the active editing session, or null if the index is not being edited.
+   */
+  default EditingSession getEditingSession() {
+    return null;
+  }
+
   default boolean hasDirectoryReader() {
     return getIndexReader() instanceof DirectoryReader;
   }
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.app.cli;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.luke.models.LukeException;
+import org.apache.lucene.luke.models.documents.DocumentsFactory;
+import org.apache.lucene.luke.models.documents.ExportConfig;
+import org.apache.lucene.luke.util.IndexUtils;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Command line tool to export the documents of an index as JSON lines or CSV.
+ *
+ * <pre>
+ * java -cp luke-swing-with-deps.jar org.apache.lucene.luke.app.cli.ExportDocuments -index &lt;path&gt; [options]
+ * </pre>
+ */
+public final class ExportDocuments {
+
+  private static final String USAGE = String.join(System.lineSeparator(),
+      "Usage: ExportDocuments -index <path> [options]",
+      "  -index <path>        index directory",
+      "  -dirImpl <class>     Directory implementation class (default: FSDirectory)",
+      "  -output <file>       output file (default: standard output)",
+      "  -format <jsonl|csv>  output format (default: jsonl)",
+      "  -fields <f1,f2,...>  fields to be exported (default: all fields)",
+      "  -noStored            do not export stored fields",
+      "  -docValues           export doc values",
+      "  -norms               export norms",
+      "  -termVectors         export term vectors",
+      "  -threads <n>         number of threads reading segments in parallel (default: 1)");
+
+  public static void main(String[] args) throws Exception {
+    PrintStream err = new PrintStream(new FileOutputStream(FileDescriptor.err), true, "UTF-8");
+
+    String indexPath = null;
+    String dirImpl = null;
+    String output = null;
+    ExportConfig.Builder builder = new ExportConfig.Builder();
+    ExportConfig config;
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "-index":
+            indexPath = value(args, ++i);
+            break;
+          case "-dirImpl":
+            dirImpl = value(args, ++i);
+            break;
+          case "-output":
+            output = value(args, ++i);
+            break;
+          case "-format":
+            builder.format(format(value(args, ++i)));
+            break;
+          case "-fields":
+            builder.fields(Arrays.asList(value(args, ++i).split(",")));
+            break;
+          case "-noStored":
+            builder.storedFields(false);
+            break;
+          case "-docValues":
+            builder.docValues(true);
+            break;
+          case "-norms":
+            builder.norms(true);
+            break;
+          case "-termVectors":
+            builder.termVectors(true);
+            break;
+          case "-threads":
+            builder.numThreads(Integer.parseInt(value(args, ++i)));
+            break;
+          default:
+            throw new IllegalArgumentException("Unknown option: " + args[i]);
+        }
+      }
+      if (indexPath == null) {
+        throw new IllegalArgumentException("-index is required.");
+      }
+      config = builder.build();
+    } catch (IllegalArgumentException e) {
+      err.println(e.getMessage());
+      err.println(USAGE);
+      System.exit(1);
+      return;
+    }
+
+    int status = 0;
+    IndexReader reader = IndexUtils.openIndex(indexPath, dirImpl);
+    try (OutputStream os = output == null ? new FileOutputStream(FileDescriptor.out) : Files.newOutputStream(Paths.get(output));
+         Writer out = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8), 1 << 16)) {
+      long start = System.nanoTime();
+      long count = new DocumentsFactory().newInstance(reader).exportDocuments(out, config);
+      out.flush();
+      err.println(String.format(Locale.ENGLISH, "%d documents exported in %d ms.", count, (System.nanoTime() - start) / 1_000_000));
+    } catch (LukeException e) {
+      err.println(e.getMessage() + (e.getCause() != null ? " " + e.getCause() : ""));
+      status = 1;
+    } finally {
+      IndexUtils.close(reader);
+    }
+    if (status != 0) {
+      System.exit(status);
+    }
+  }
+
+  private static String value(String[] args, int i) {
+    if (i >= args.length) {
+      throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+    }
+    return args[i];
+  }
+
+  private static ExportConfig.Format format(String value) {
+    switch (value.toLowerCase(Locale.ROOT)) {
+      case "jsonl":
+      case "json":
+        return ExportConfig.Format.JSON_LINES;
+      case "csv":
+        return ExportConfig.Format.CSV;
+      default:
+        throw new IllegalArgumentException("Unknown format: " + value);
+    }
+  }
+
+  private ExportDocuments() {
+  }
+}
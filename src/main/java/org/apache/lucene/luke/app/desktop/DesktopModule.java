@@ -123,25 +123,35 @@ public final class DesktopModule extends AbstractModule {
     bind(ConfirmDialogFactory.class).toInstance(new ConfirmDialogFactory());
   }
 
+  @Provides
+  @Singleton
+  public TaskExecutor provideTaskExecutor(MessageBroker messageBroker, IndexHandler indexHandler) {
+    // the models hold cursors and reader states which are not thread safe,
+    // so model operations are run one by one in the submitted order.
+    // each task keeps the index reader open until it finishes, even if the index is reopened in the meantime
+    return new TaskExecutor(1, 64, messageBroker, indexHandler::acquireReader);
+  }
+
   @Provides
   @Singleton
   public OpenIndexDialogFactory provideOpenIndexDialogFactory(
-      DirectoryHandler directoryHandler, IndexHandler indexHandler, Preferences prefs) {
-    return new OpenIndexDialogFactory(directoryHandler, indexHandler, prefs);
+      DirectoryHandler directoryHandler, IndexHandler indexHandler, Preferences prefs, TaskExecutor taskExecutor) {
+    return new OpenIndexDialogFactory(directoryHandler, indexHandler, prefs, taskExecutor);
   }
 
   @Provides
   @Singleton
   public OptimizeIndexDialogFactory provideOptimizeIndexDialogFactory(
-      IndexToolsFactory indexToolsFactory, IndexHandler indexHandler) {
-    return new OptimizeIndexDialogFactory(indexToolsFactory, indexHandler);
+      IndexToolsFactory indexToolsFactory, IndexHandler indexHandler, TaskExecutor taskExecutor) {
+    return new OptimizeIndexDialogFactory(indexToolsFactory, indexHandler, taskExecutor);
   }
 
   @Provides
   @Singleton
   public CheckIndexDialogFactory provideCheckIndexDialogFactory(
-      IndexToolsFactory indexToolsFactory, IndexHandler indexHandler, DirectoryHandler directoryHandler) {
-    return new CheckIndexDialogFactory(indexToolsFactory, indexHandler, directoryHandler);
+      IndexToolsFactory indexToolsFactory, IndexHandler indexHandler, DirectoryHandler directoryHandler,
+      TaskExecutor taskExecutor) {
+    return new CheckIndexDialogFactory(indexToolsFactory, indexHandler, directoryHandler, taskExecutor);
   }
 
   @Provides
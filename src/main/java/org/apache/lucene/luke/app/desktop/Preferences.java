@@ -17,7 +17,10 @@
 
 package org.apache.lucene.luke.app.desktop;
 
+import org.apache.lucene.luke.util.DirectoryConfig;
+
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
 public interface Preferences {
@@ -26,6 +29,10 @@ public interface Preferences {
 
   void addHistory(String indexPath) throws IOException;
 
+  Path getStatsCacheDir();
+
+  Path getAnalyzerCacheDir();
+
   boolean isReadOnly();
 
   String getDirImpl();
@@ -36,5 +43,16 @@ public interface Preferences {
 
   boolean isKeepAllCommits();
 
-  void setIndexOpenerPrefs(boolean readOnly, String dirImpl, boolean noReader, boolean useCompound, boolean keepAllCommits) throws IOException;
+  int getSearchThreads();
+
+  int getMaxDocsPerSlice();
+
+  int getMaxSegmentsPerSlice();
+
+  DirectoryConfig getDirConfig();
+
+  void setIndexOpenerPrefs(boolean readOnly, String dirImpl, boolean noReader, boolean useCompound, boolean keepAllCommits,
+                           int searchThreads) throws IOException;
+
+  void setDirConfig(DirectoryConfig dirConfig) throws IOException;
 }
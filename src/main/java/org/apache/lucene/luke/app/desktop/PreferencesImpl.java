@@ -17,6 +17,7 @@
 
 package org.apache.lucene.luke.app.desktop;
 
+import org.apache.lucene.luke.util.DirectoryConfig;
 import org.apache.lucene.store.FSDirectory;
 import org.ini4j.Ini;
 
@@ -33,7 +34,12 @@ public final class PreferencesImpl implements Preferences {
   private static final String CONFIG_DIR = System.getProperty("user.home") + File.separator + ".luke.d";
   private static final String INIT_FILE = "luke.ini";
   private static final String HISTORY_FILE = "history";
+  private static final String STATS_CACHE_DIR = "stats";
+  private static final String ANALYZER_CACHE_DIR = "analyzers";
   private static final int MAX_HISTORY = 10;
+  private static final int DEFAULT_SEARCH_THREADS = 1;
+  private static final int DEFAULT_MAX_DOCS_PER_SLICE = 250_000;
+  private static final int DEFAULT_MAX_SEGMENTS_PER_SLICE = 5;
 
   private final Ini ini = new Ini();
 
@@ -83,6 +89,16 @@ public final class PreferencesImpl implements Preferences {
     return FileSystems.getDefault().getPath(CONFIG_DIR, HISTORY_FILE);
   }
 
+  @Override
+  public Path getStatsCacheDir() {
+    return FileSystems.getDefault().getPath(CONFIG_DIR, STATS_CACHE_DIR);
+  }
+
+  @Override
+  public Path getAnalyzerCacheDir() {
+    return FileSystems.getDefault().getPath(CONFIG_DIR, ANALYZER_CACHE_DIR);
+  }
+
   /*@Override
   public LukeController.ColorTheme getTheme() {
     FIELD theme = ini.get("settings", "theme");
@@ -126,12 +142,55 @@ public final class PreferencesImpl implements Preferences {
   }
 
   @Override
-  public void setIndexOpenerPrefs(boolean readOnly, String dirImpl, boolean noReader, boolean useCompound, boolean keepAllCommits) throws IOException {
+  public int getSearchThreads() {
+    Integer searchThreads = ini.get("opener", "searchThreads", Integer.class);
+    return (searchThreads == null || searchThreads < 1) ? DEFAULT_SEARCH_THREADS : searchThreads;
+  }
+
+  @Override
+  public int getMaxDocsPerSlice() {
+    Integer maxDocs = ini.get("opener", "maxDocsPerSlice", Integer.class);
+    return (maxDocs == null || maxDocs < 1) ? DEFAULT_MAX_DOCS_PER_SLICE : maxDocs;
+  }
+
+  @Override
+  public int getMaxSegmentsPerSlice() {
+    Integer maxSegments = ini.get("opener", "maxSegmentsPerSlice", Integer.class);
+    return (maxSegments == null || maxSegments < 1) ? DEFAULT_MAX_SEGMENTS_PER_SLICE : maxSegments;
+  }
+
+  @Override
+  public void setIndexOpenerPrefs(boolean readOnly, String dirImpl, boolean noReader, boolean useCompound, boolean keepAllCommits,
+                                  int searchThreads) throws IOException {
     ini.put("opener", "readOnly", readOnly);
     ini.put("opener", "dirImpl", dirImpl);
     ini.put("opener", "noReader", noReader);
     ini.put("opener", "useCompound", useCompound);
     ini.put("opener", "keepAllCommits", keepAllCommits);
+    ini.put("opener", "searchThreads", searchThreads);
+    ini.store(iniFile());
+  }
+
+  @Override
+  public DirectoryConfig getDirConfig() {
+    Boolean preload = ini.get("directory", "preload", Boolean.class);
+    Integer maxChunkSizeMB = ini.get("directory", "maxChunkSizeMB", Integer.class);
+    Boolean nrtCaching = ini.get("directory", "nrtCaching", Boolean.class);
+    Boolean nioStoredFields = ini.get("directory", "nioStoredFields", Boolean.class);
+    return new DirectoryConfig.Builder()
+        .preload(preload == null ? false : preload)
+        .maxChunkSizeMB((maxChunkSizeMB == null || maxChunkSizeMB < 0 || maxChunkSizeMB > DirectoryConfig.MAX_CHUNK_SIZE_MB) ? 0 : maxChunkSizeMB)
+        .nrtCaching(nrtCaching == null ? false : nrtCaching)
+        .nioStoredFields(nioStoredFields == null ? false : nioStoredFields)
+        .build();
+  }
+
+  @Override
+  public void setDirConfig(DirectoryConfig dirConfig) throws IOException {
+    ini.put("directory", "preload", dirConfig.isPreload());
+    ini.put("directory", "maxChunkSizeMB", dirConfig.getMaxChunkSizeMB());
+    ini.put("directory", "nrtCaching", dirConfig.isNrtCaching());
+    ini.put("directory", "nioStoredFields", dirConfig.isNioStoredFields());
     ini.store(iniFile());
   }
 
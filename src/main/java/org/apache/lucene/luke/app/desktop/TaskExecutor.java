@@ -0,0 +1,422 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.app.desktop;
+
+import org.apache.lucene.luke.app.desktop.util.ExceptionHandler;
+import org.apache.lucene.luke.app.desktop.util.MessageUtils;
+import org.apache.lucene.luke.models.LukeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.swing.SwingUtilities;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs model operations on a shared, bounded pool of background threads, and delivers their results to the event dispatch thread.
+ *
+ * <p>
+ * Tasks must be submitted from the event dispatch thread. Success and error callbacks are invoked on the event dispatch thread,
+ * and are not invoked at all if the task has been cancelled.
+ * </p>
+ *
+ * <p>
+ * Cancelling a task never interrupts the running thread: interrupting a thread which is reading index files via
+ * {@link org.apache.lucene.store.NIOFSDirectory} closes the underlying file channel, and makes the whole reader unusable.
+ * Cancelled tasks still run to completion if they have been started, but their results are discarded;
+ * tasks which can stop by themselves are submitted with a canceller instead.
+ * </p>
+ *
+ * <p>
+ * Tasks submitted by {@link #submitLatest} supersede the previous task of the same kind, so that repeated user actions
+ * (e.g. paging through documents) do not pile up in the queue. Tasks which close the index or the directory must be submitted by
+ * {@link #cancelAllAndSubmit}, so that they are not run while other tasks are still reading it.
+ * </p>
+ *
+ * <p>
+ * Each task holds the resource given by the resource supplier (e.g. a reference to the current index reader) from its submission
+ * until it finishes, so that reopening the index does not close the reader which a pending task is going to read.
+ * </p>
+ */
+public final class TaskExecutor {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskExecutor.class);
+
+  private final ThreadPoolExecutor executor;
+
+  private final MessageBroker messageBroker;
+
+  private final Supplier<? extends Closeable> resourceSupplier;
+
+  private final List<BusyListener> busyListeners = new ArrayList<>();
+
+  // accessed only from the event dispatch thread
+  private final Set<Task<?>> runningTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  // accessed only from the event dispatch thread
+  private final Map<String, Task<?>> latestTasks = new HashMap<>();
+
+  /**
+   * @param numThreads - the number of background threads
+   * @param maxQueuedTasks - the max number of tasks waiting for a thread
+   * @param messageBroker - message broker to report errors
+   */
+  public TaskExecutor(int numThreads, int maxQueuedTasks, @Nonnull MessageBroker messageBroker) {
+    this(numThreads, maxQueuedTasks, messageBroker, () -> null);
+  }
+
+  /**
+   * @param numThreads - the number of background threads
+   * @param maxQueuedTasks - the max number of tasks waiting for a thread
+   * @param messageBroker - message broker to report errors
+   * @param resourceSupplier - acquires a resource which is held by each task until it finishes, and released by closing it;
+   *                         called on the event dispatch thread, and may return null
+   */
+  public TaskExecutor(int numThreads, int maxQueuedTasks, @Nonnull MessageBroker messageBroker,
+                      @Nonnull Supplier<? extends Closeable> resourceSupplier) {
+    AtomicInteger threadNum = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(numThreads, numThreads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(maxQueuedTasks),
+        r -> {
+          Thread t = new Thread(r, "luke-task-" + threadNum.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        });
+    this.messageBroker = messageBroker;
+    this.resourceSupplier = resourceSupplier;
+  }
+
+  /**
+   * Registers a listener which is notified when the executor starts or stops running tasks.
+   */
+  public void addBusyListener(@Nonnull BusyListener listener) {
+    busyListeners.add(listener);
+  }
+
+  /**
+   * Submits a task. Errors are reported to the status bar.
+   *
+   * @param task - the task to be run in background
+   * @param onSuccess - callback receiving the result of the task on the event dispatch thread
+   * @return a future representing the task, which can be used to cancel it
+   * @throws LukeException - if there are too many pending tasks
+   */
+  public <T> Future<T> submit(@Nonnull Callable<T> task, @Nonnull Consumer<? super T> onSuccess) {
+    return submit(task, onSuccess, e -> ExceptionHandler.handle(e, messageBroker));
+  }
+
+  /**
+   * Submits a task.
+   *
+   * @param task - the task to be run in background
+   * @param onSuccess - callback receiving the result of the task on the event dispatch thread
+   * @param onError - callback receiving the error thrown by the task on the event dispatch thread
+   * @return a future representing the task, which can be used to cancel it
+   * @throws LukeException - if there are too many pending tasks
+   */
+  public <T> Future<T> submit(@Nonnull Callable<T> task, @Nonnull Consumer<? super T> onSuccess, @Nonnull Consumer<Throwable> onError) {
+    return submit(task, onSuccess, onError, null);
+  }
+
+  /**
+   * Submits a task which can be stopped cooperatively.
+   *
+   * <p>
+   * If the task is cancelled before it starts, it is never run. Once it has been started, cancelling the task calls
+   * the canceller instead, and the result of the stopped operation (e.g. partial search results) is still delivered.
+   * </p>
+   *
+   * @param task - the task to be run in background
+   * @param onSuccess - callback receiving the result of the task on the event dispatch thread
+   * @param onError - callback receiving the error thrown by the task on the event dispatch thread
+   * @param canceller - called when the task is cancelled, to stop the running operation; e.g. {@link org.apache.lucene.luke.models.search.Search#cancel()}
+   * @return a future representing the task, which can be used to cancel it
+   * @throws LukeException - if there are too many pending tasks
+   */
+  public <T> Future<T> submit(@Nonnull Callable<T> task, @Nonnull Consumer<? super T> onSuccess, @Nonnull Consumer<Throwable> onError,
+                              @Nullable Runnable canceller) {
+    return execute(new Task<>(task, onSuccess, onError, canceller), true);
+  }
+
+  /**
+   * Submits a task which supersedes the previous task of the same kind. Errors are reported to the status bar.
+   *
+   * @param kind - the kind of the task, e.g. "search"
+   * @param task - the task to be run in background
+   * @param onSuccess - callback receiving the result of the task on the event dispatch thread
+   * @return a future representing the task, which can be used to cancel it
+   * @throws LukeException - if there are too many pending tasks
+   * @see #submitLatest(String, Callable, Consumer, Consumer, Runnable)
+   */
+  public <T> Future<T> submitLatest(@Nonnull String kind, @Nonnull Callable<T> task, @Nonnull Consumer<? super T> onSuccess) {
+    return submitLatest(kind, task, onSuccess, e -> ExceptionHandler.handle(e, messageBroker), null);
+  }
+
+  /**
+   * Submits a task which supersedes the previous task of the same kind.
+   *
+   * <p>
+   * The previous task is cancelled (see {@link #submit(Callable, Consumer, Consumer, Runnable)}), and its callbacks are not invoked
+   * even if it has been completed but its result has not been delivered yet.
+   * </p>
+   *
+   * @param kind - the kind of the task, e.g. "search"
+   * @param task - the task to be run in background
+   * @param onSuccess - callback receiving the result of the task on the event dispatch thread
+   * @param onError - callback receiving the error thrown by the task on the event dispatch thread
+   * @param canceller - called when the task is cancelled, to stop the running operation
+   * @return a future representing the task, which can be used to cancel it
+   * @throws LukeException - if there are too many pending tasks
+   */
+  public <T> Future<T> submitLatest(@Nonnull String kind, @Nonnull Callable<T> task, @Nonnull Consumer<? super T> onSuccess,
+                                    @Nonnull Consumer<Throwable> onError, @Nullable Runnable canceller) {
+    cancel(kind);
+    Task<T> t = execute(new Task<>(task, onSuccess, onError, canceller), true);
+    latestTasks.put(kind, t);
+    return t;
+  }
+
+  /**
+   * Cancels the latest task of the given kind, if it has not been completed yet.
+   *
+   * @param kind - the kind of the task
+   */
+  public void cancel(@Nonnull String kind) {
+    Task<?> prev = latestTasks.remove(kind);
+    if (prev != null) {
+      prev.superseded = true;
+      prev.cancel(false);
+    }
+  }
+
+  /**
+   * Cancels all running and pending tasks, and submits a task which is started after all of the cancelled tasks have finished.
+   * Errors are reported to the status bar.
+   *
+   * @param task - the task to be run in background
+   * @param onSuccess - callback receiving the result of the task on the event dispatch thread
+   * @return a future representing the task
+   * @throws LukeException - if there are too many pending tasks
+   * @see #cancelAllAndSubmit(Callable, Consumer, Consumer)
+   */
+  public <T> Future<T> cancelAllAndSubmit(@Nonnull Callable<T> task, @Nonnull Consumer<? super T> onSuccess) {
+    return cancelAllAndSubmit(task, onSuccess, e -> ExceptionHandler.handle(e, messageBroker));
+  }
+
+  /**
+   * Cancels all running and pending tasks, and submits a task which is started after all of the cancelled tasks have finished.
+   * Use this to close the index or the directory which the other tasks may be reading; the task does not hold the resource
+   * given by the resource supplier, so closing the index reader closes it immediately.
+   *
+   * @param task - the task to be run in background
+   * @param onSuccess - callback receiving the result of the task on the event dispatch thread
+   * @param onError - callback receiving the error thrown by the task on the event dispatch thread
+   * @return a future representing the task
+   * @throws LukeException - if there are too many pending tasks
+   */
+  public <T> Future<T> cancelAllAndSubmit(@Nonnull Callable<T> task, @Nonnull Consumer<? super T> onSuccess, @Nonnull Consumer<Throwable> onError) {
+    List<Task<?>> cancelled = new ArrayList<>(runningTasks);
+    latestTasks.clear();
+    for (Task<?> t : cancelled) {
+      // the results would be delivered to the closed index
+      t.superseded = true;
+      t.cancel(false);
+    }
+    return execute(new Task<>(() -> {
+      for (Task<?> t : cancelled) {
+        // cancelled tasks which have been started are still running
+        t.awaitFinished();
+      }
+      return task.call();
+    }, onSuccess, onError, null), false);
+  }
+
+  private <T> Task<T> execute(Task<T> t, boolean holdResource) {
+    if (holdResource) {
+      t.resource.set(resourceSupplier.get());
+    }
+    try {
+      executor.execute(t);
+    } catch (RejectedExecutionException e) {
+      t.releaseResource();
+      throw new LukeException(MessageUtils.getLocalizedMessage("message.error.too_many_tasks"), e);
+    }
+    runningTasks.add(t);
+    if (runningTasks.size() == 1) {
+      fireBusyStateChanged(true);
+    }
+    return t;
+  }
+
+  /**
+   * Returns true if there are running or pending tasks.
+   */
+  public boolean isBusy() {
+    return !runningTasks.isEmpty();
+  }
+
+  /**
+   * Cancels all running and pending tasks.
+   */
+  public void cancelAll() {
+    for (Task<?> t : new ArrayList<>(runningTasks)) {
+      t.cancel(false);
+    }
+  }
+
+  /**
+   * Shuts down the background threads; running tasks are completed.
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  private void taskDone(Task<?> task) {
+    latestTasks.values().remove(task);
+    if (runningTasks.remove(task) && runningTasks.isEmpty()) {
+      fireBusyStateChanged(false);
+    }
+  }
+
+  private void fireBusyStateChanged(boolean busy) {
+    for (BusyListener listener : busyListeners) {
+      listener.busyStateChanged(busy);
+    }
+  }
+
+  /**
+   * Listener for the busy state of the executor.
+   */
+  public interface BusyListener {
+    /**
+     * Called on the event dispatch thread when the executor starts (<code>busy == true</code>) or stops running tasks.
+     */
+    void busyStateChanged(boolean busy);
+  }
+
+  private final class Task<T> extends FutureTask<T> {
+
+    private final Consumer<? super T> onSuccess;
+
+    private final Consumer<Throwable> onError;
+
+    private final Runnable canceller;
+
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    // released exactly once, either after the task has been run or when it is cancelled before being started
+    private final AtomicReference<Closeable> resource = new AtomicReference<>();
+
+    private volatile boolean started = false;
+
+    // set on the event dispatch thread when a newer task replaces this one; the result is discarded
+    private boolean superseded = false;
+
+    Task(Callable<T> callable, Consumer<? super T> onSuccess, Consumer<Throwable> onError, Runnable canceller) {
+      super(callable);
+      this.onSuccess = onSuccess;
+      this.onError = onError;
+      this.canceller = canceller;
+    }
+
+    @Override
+    public void run() {
+      started = true;
+      try {
+        super.run();
+      } finally {
+        releaseResource();
+        finished.countDown();
+      }
+    }
+
+    void releaseResource() {
+      Closeable r = resource.getAndSet(null);
+      if (r != null) {
+        try {
+          r.close();
+        } catch (IOException e) {
+          logger.error(e.getMessage(), e);
+        }
+      }
+    }
+
+    void awaitFinished() throws InterruptedException {
+      finished.await();
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      if (canceller != null && started) {
+        // let the running operation stop by itself
+        canceller.run();
+        return !isDone();
+      }
+      return super.cancel(mayInterruptIfRunning);
+    }
+
+    @Override
+    protected void done() {
+      if (!started) {
+        // cancelled before being started
+        releaseResource();
+      }
+      SwingUtilities.invokeLater(() -> {
+        taskDone(this);
+        if (isCancelled() || superseded) {
+          logger.debug("Task cancelled.");
+          return;
+        }
+        T result;
+        try {
+          result = get();
+        } catch (ExecutionException e) {
+          onError.accept(e.getCause());
+          return;
+        } catch (InterruptedException e) {
+          // will not reach; the task has been completed
+          Thread.currentThread().interrupt();
+          return;
+        }
+        onSuccess.accept(result);
+      });
+    }
+  }
+
+}
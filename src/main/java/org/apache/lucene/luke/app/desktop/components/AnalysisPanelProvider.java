@@ -24,6 +24,8 @@ import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.custom.CustomAnalyzer;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.luke.app.desktop.MessageBroker;
+import org.apache.lucene.luke.app.desktop.Preferences;
+import org.apache.lucene.luke.app.desktop.TaskExecutor;
 import org.apache.lucene.luke.app.desktop.components.dialog.analysis.AnalysisChainDialogFactory;
 import org.apache.lucene.luke.app.desktop.components.dialog.analysis.TokenAttributeDialogFactory;
 import org.apache.lucene.luke.app.desktop.components.dialog.documents.AddDocumentDialogOperator;
@@ -32,6 +34,7 @@ import org.apache.lucene.luke.app.desktop.components.fragments.analysis.PresetAn
 import org.apache.lucene.luke.app.desktop.components.fragments.search.AnalyzerTabOperator;
 import org.apache.lucene.luke.app.desktop.components.fragments.search.MLTTabOperator;
 import org.apache.lucene.luke.app.desktop.util.DialogOpener;
+import org.apache.lucene.luke.app.desktop.util.ExceptionHandler;
 import org.apache.lucene.luke.app.desktop.util.FontUtils;
 import org.apache.lucene.luke.app.desktop.util.ImageUtils;
 import org.apache.lucene.luke.app.desktop.util.MessageUtils;
@@ -51,17 +54,23 @@ import javax.swing.JSplitPane;
 import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.GridLayout;
 import java.awt.Insets;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.awt.event.ActionEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 
@@ -71,6 +80,8 @@ public final class AnalysisPanelProvider implements Provider<JPanel>, AnalysisTa
 
   private static final String TYPE_CUSTOM = "custom";
 
+  private static final String ANALYSIS_TASK = "analysis";
+
   private final ComponentOperatorRegistry operatorRegistry;
 
   private final AnalysisChainDialogFactory analysisChainDialogFactory;
@@ -79,6 +90,8 @@ public final class AnalysisPanelProvider implements Provider<JPanel>, AnalysisTa
 
   private final MessageBroker messageBroker;
 
+  private final TaskExecutor taskExecutor;
+
   private final JPanel mainPanel = new JPanel();
 
   private final JPanel preset;
@@ -103,12 +116,19 @@ public final class AnalysisPanelProvider implements Provider<JPanel>, AnalysisTa
 
   private Analysis analysisModel;
 
+  // null until the preset analyzers are discovered; see loadPresetAnalyzers()
+  private Collection<Class<? extends Analyzer>> presetAnalyzerTypes;
+
+  private boolean presetAnalyzersRequested = false;
+
   @Inject
   public AnalysisPanelProvider(AnalysisFactory analysisFactory,
                                ComponentOperatorRegistry operatorRegistry,
                                AnalysisChainDialogFactory analysisChainDialogFactory,
                                TokenAttributeDialogFactory tokenAttrDialogFactory,
                                MessageBroker messageBroker,
+                               TaskExecutor taskExecutor,
+                               Preferences prefs,
                                @Named("analysis_preset") JPanel preset,
                                @Named("analysis_custom") JPanel custom) {
     this.preset = preset;
@@ -118,16 +138,13 @@ public final class AnalysisPanelProvider implements Provider<JPanel>, AnalysisTa
     this.analysisChainDialogFactory = analysisChainDialogFactory;
     this.tokenAttrDialogFactory = tokenAttrDialogFactory;
     this.messageBroker = messageBroker;
+    this.taskExecutor = taskExecutor;
 
-    this.analysisModel = analysisFactory.newInstance();
+    // preset analyzers are discovered when the tab is first shown, not at startup
+    this.analysisModel = analysisFactory.newInstance(prefs.getAnalyzerCacheDir());
     analysisModel.createAnalyzerFromClassName(StandardAnalyzer.class.getName());
 
     operatorRegistry.register(AnalysisTabOperator.class, this);
-
-    operatorRegistry.get(PresetAnalyzerPanelOperator.class).ifPresent(operator -> {
-      operator.setPresetAnalyzers(analysisModel.getPresetAnalyzerTypes());
-      operator.setSelectedAnalyzer(analysisModel.currentAnalyzer().getClass());
-    });
   }
 
   @Override
@@ -139,6 +156,13 @@ public final class AnalysisPanelProvider implements Provider<JPanel>, AnalysisTa
     splitPane.setDividerLocation(320);
     panel.add(splitPane);
 
+    panel.addComponentListener(new ComponentAdapter() {
+      @Override
+      public void componentShown(ComponentEvent e) {
+        listeners.loadPresetAnalyzers(e);
+      }
+    });
+
     return panel;
   }
 
@@ -248,10 +272,7 @@ public final class AnalysisPanelProvider implements Provider<JPanel>, AnalysisTa
       mainPanel.remove(custom);
       mainPanel.add(preset, BorderLayout.CENTER);
 
-      operatorRegistry.get(PresetAnalyzerPanelOperator.class).ifPresent(operator -> {
-        operator.setPresetAnalyzers(analysisModel.getPresetAnalyzerTypes());
-        operator.setSelectedAnalyzer(analysisModel.currentAnalyzer().getClass());
-      });
+      setPresetAnalyzers();
 
     } else if (command.equalsIgnoreCase(TYPE_CUSTOM)) {
       mainPanel.remove(preset);
@@ -266,17 +287,56 @@ public final class AnalysisPanelProvider implements Provider<JPanel>, AnalysisTa
     mainPanel.setVisible(true);
   }
 
+  void loadPresetAnalyzers() {
+    if (presetAnalyzersRequested) {
+      return;
+    }
+    presetAnalyzersRequested = true;
+    // the classpath scan takes a while on first use; it runs on its own thread so that it does not hold up
+    // the index tasks queued on the shared task executor
+    CompletableFuture.supplyAsync(analysisModel::getPresetAnalyzerTypes, runnable -> {
+      Thread t = new Thread(runnable, "luke-analyzer-discovery");
+      t.setDaemon(true);
+      t.start();
+    }).whenComplete((types, e) -> SwingUtilities.invokeLater(() -> {
+      if (e != null) {
+        // allow to retry when the tab is shown again
+        presetAnalyzersRequested = false;
+        ExceptionHandler.handle(e instanceof CompletionException ? e.getCause() : e, messageBroker);
+        return;
+      }
+      presetAnalyzerTypes = types;
+      if (presetRB.isSelected()) {
+        setPresetAnalyzers();
+      }
+    }));
+  }
+
+  private void setPresetAnalyzers() {
+    if (presetAnalyzerTypes == null) {
+      // not discovered yet; set when the discovery completes
+      return;
+    }
+    operatorRegistry.get(PresetAnalyzerPanelOperator.class).ifPresent(operator -> {
+      operator.setPresetAnalyzers(presetAnalyzerTypes);
+      operator.setSelectedAnalyzer(analysisModel.currentAnalyzer().getClass());
+    });
+  }
+
   void executeAnalysis() {
     String text = inputArea.getText();
     if (Objects.isNull(text) || text.isEmpty()) {
       messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("analysis.message.empry_input"));
     }
 
-    tokens = analysisModel.analyze(text);
-    tokensTable.setModel(new TokensTableModel(tokens));
-    tokensTable.setShowGrid(true);
-    tokensTable.getColumnModel().getColumn(TokensTableModel.Column.TERM.getIndex()).setPreferredWidth(TokensTableModel.Column.TERM.getColumnWidth());
-    tokensTable.getColumnModel().getColumn(TokensTableModel.Column.ATTR.getIndex()).setPreferredWidth(TokensTableModel.Column.ATTR.getColumnWidth());
+    // a long text may take a while to be analyzed; only the result of the latest run is shown
+    taskExecutor.submitLatest(ANALYSIS_TASK, () -> analysisModel.analyze(text), result -> {
+      tokens = result;
+      tokensTable.setModel(new TokensTableModel(tokens));
+      tokensTable.setShowGrid(true);
+      tokensTable.getColumnModel().getColumn(TokensTableModel.Column.TERM.getIndex()).setPreferredWidth(TokensTableModel.Column.TERM.getColumnWidth());
+      tokensTable.getColumnModel().getColumn(TokensTableModel.Column.ATTR.getIndex()).setPreferredWidth(TokensTableModel.Column.ATTR.getColumnWidth());
+    });
   }
 
   void showAnalysisChainDialog() {
@@ -337,6 +397,10 @@ public final class AnalysisPanelProvider implements Provider<JPanel>, AnalysisTa
       AnalysisPanelProvider.this.toggleMainPanel(e.getActionCommand());
     }
 
+    void loadPresetAnalyzers(ComponentEvent e) {
+      AnalysisPanelProvider.this.loadPresetAnalyzers();
+    }
+
     void showAnalysisChain(MouseEvent e) {
       AnalysisPanelProvider.this.showAnalysisChainDialog();
     }
@@ -31,6 +31,7 @@ import org.apache.lucene.luke.models.commits.Commit;
 import org.apache.lucene.luke.models.commits.Commits;
 import org.apache.lucene.luke.models.commits.CommitsFactory;
 import org.apache.lucene.luke.models.commits.File;
+import org.apache.lucene.luke.models.commits.MemoryUsage;
 import org.apache.lucene.luke.models.commits.Segment;
 
 import javax.swing.BorderFactory;
@@ -48,7 +49,10 @@ import javax.swing.JSplitPane;
 import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.ListSelectionModel;
+import javax.swing.RowSorter;
+import javax.swing.table.TableRowSorter;
 import java.awt.BorderLayout;
+import java.awt.CardLayout;
 import java.awt.Color;
 import java.awt.FlowLayout;
 import java.awt.GridBagConstraints;
@@ -57,7 +61,9 @@ import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -83,10 +89,16 @@ public final class CommitsPanelProvider implements Provider<JPanel> {
 
   private final JRadioButton codecRB = new JRadioButton();
 
+  private final JRadioButton memoryRB = new JRadioButton();
+
   private final ButtonGroup rbGroup = new ButtonGroup();
 
   private final JList<String> segDetailList = new JList<>();
 
+  private final JTable memoryTable = new JTable();
+
+  private final JPanel segDetailCards = new JPanel(new CardLayout());
+
   private ListenerFunctions listeners = new ListenerFunctions();
 
   private Commits commitsModel;
@@ -266,14 +278,31 @@ public final class CommitsPanelProvider implements Provider<JPanel> {
     });
     buttons.add(codecRB);
 
+    memoryRB.setText("Memory");
+    memoryRB.setActionCommand(ActionCommand.MEMORY.name());
+    memoryRB.setSelected(false);
+    memoryRB.setEnabled(false);
+    memoryRB.addMouseListener(new MouseAdapter() {
+      @Override
+      public void mouseClicked(MouseEvent e) {
+        listeners.showSegmentDetails(e);
+      }
+    });
+    buttons.add(memoryRB);
+
     rbGroup.add(diagRB);
     rbGroup.add(attrRB);
     rbGroup.add(codecRB);
+    rbGroup.add(memoryRB);
 
     panel.add(buttons);
 
     segDetailList.setVisibleRowCount(10);
-    panel.add(new JScrollPane(segDetailList));
+    segDetailCards.add(new JScrollPane(segDetailList), DetailCard.LIST.name());
+    TableUtils.setupTable(memoryTable, ListSelectionModel.SINGLE_SELECTION, new MemoryTableModel(), null,
+        MemoryTableModel.Column.SIZE.getColumnWidth(), MemoryTableModel.Column.BYTES.getColumnWidth());
+    segDetailCards.add(new JScrollPane(memoryTable), DetailCard.MEMORY.name());
+    panel.add(segDetailCards);
 
     return panel;
   }
@@ -284,7 +313,9 @@ public final class CommitsPanelProvider implements Provider<JPanel> {
     diagRB.setEnabled(false);
     attrRB.setEnabled(false);
     codecRB.setEnabled(false);
+    memoryRB.setEnabled(false);
     segDetailList.setModel(new DefaultListModel<>());
+    setMemoryTable(new MemoryTableModel());
 
     long commitGen = (long) commitGenCombo.getSelectedItem();
     commitsModel.getCommit(commitGen).ifPresent(commit -> {
@@ -317,11 +348,23 @@ public final class CommitsPanelProvider implements Provider<JPanel> {
     diagRB.setEnabled(true);
     attrRB.setEnabled(true);
     codecRB.setEnabled(true);
+    memoryRB.setEnabled(true);
 
     long commitGen = (long) commitGenCombo.getSelectedItem();
     String segName = (String) segmentsTable.getValueAt(selectedRow, SegmentsTableModel.Column.NAME.getIndex());
     ActionCommand command = ActionCommand.valueOf(rbGroup.getSelection().getActionCommand());
 
+    if (command == ActionCommand.MEMORY) {
+      MemoryTableModel memoryModel = commitsModel.getSegmentMemoryUsage(commitGen).stream()
+          .filter(usage -> usage.getDescription().equals(segName))
+          .findAny()
+          .map(MemoryTableModel::new)
+          .orElseGet(MemoryTableModel::new);
+      setMemoryTable(memoryModel);
+      ((CardLayout) segDetailCards.getLayout()).show(segDetailCards, DetailCard.MEMORY.name());
+      return;
+    }
+
     final DefaultListModel<String> detailsModel = new DefaultListModel<>();
     switch (command) {
       case DIAGNOSTICS:
@@ -355,7 +398,20 @@ public final class CommitsPanelProvider implements Provider<JPanel> {
         break;
     }
     segDetailList.setModel(detailsModel);
+    ((CardLayout) segDetailCards.getLayout()).show(segDetailCards, DetailCard.LIST.name());
+  }
 
+  private void setMemoryTable(MemoryTableModel tableModel) {
+    // keep the sort order selected by the user when another segment is selected
+    List<? extends RowSorter.SortKey> sortKeys = memoryTable.getRowSorter() == null ?
+        Collections.emptyList() : memoryTable.getRowSorter().getSortKeys();
+
+    memoryTable.setModel(tableModel);
+    TableRowSorter<MemoryTableModel> sorter = new TableRowSorter<>(tableModel);
+    sorter.setSortKeys(sortKeys);
+    memoryTable.setRowSorter(sorter);
+    memoryTable.getColumnModel().getColumn(MemoryTableModel.Column.SIZE.getIndex()).setMaxWidth(MemoryTableModel.Column.SIZE.getColumnWidth());
+    memoryTable.getColumnModel().getColumn(MemoryTableModel.Column.BYTES.getIndex()).setMaxWidth(MemoryTableModel.Column.BYTES.getColumnWidth());
   }
 
   private class ListenerFunctions {
@@ -427,12 +483,18 @@ public final class CommitsPanelProvider implements Provider<JPanel> {
       diagRB.setEnabled(false);
       attrRB.setEnabled(false);
       codecRB.setEnabled(false);
+      memoryRB.setEnabled(false);
       segDetailList.setModel(new DefaultListModel<>());
+      setMemoryTable(new MemoryTableModel());
     }
   }
 
   enum ActionCommand {
-    DIAGNOSTICS, ATTRIBUTES, CODEC;
+    DIAGNOSTICS, ATTRIBUTES, CODEC, MEMORY;
+  }
+
+  enum DetailCard {
+    LIST, MEMORY;
   }
 
 }
@@ -563,4 +625,98 @@ final class SegmentsTableModel extends TableModelBase<SegmentsTableModel.Column>
   protected Column[] columnInfos() {
     return Column.values();
   }
-}
\ No newline at end of file
+}
+
+final class MemoryTableModel extends TableModelBase<MemoryTableModel.Column> {
+
+  // separator between the resource names in the path of a nested resource
+  private static final String PATH_SEPARATOR = " > ";
+
+  private static final String TOTAL = "(segment total)";
+
+  enum Column implements TableColumnInfo {
+
+    RESOURCE("Resource", 0, String.class, Integer.MAX_VALUE),
+    SIZE("Size", 1, String.class, 80),
+    BYTES("Bytes", 2, Long.class, 120);
+
+    private final String colName;
+    private final int index;
+    private final Class<?> type;
+    private final int width;
+
+    Column(String colName, int index, Class<?> type, int width) {
+      this.colName = colName;
+      this.index = index;
+      this.type = type;
+      this.width = width;
+    }
+
+    @Override
+    public String getColName() {
+      return colName;
+    }
+
+    @Override
+    public int getIndex() {
+      return index;
+    }
+
+    @Override
+    public Class<?> getType() {
+      return type;
+    }
+
+    @Override
+    public int getColumnWidth() {
+      return width;
+    }
+  }
+
+  MemoryTableModel() {
+    super();
+  }
+
+  MemoryTableModel(MemoryUsage segment) {
+    this(flatten(segment));
+  }
+
+  private MemoryTableModel(Map<String, MemoryUsage> resources) {
+    super(resources.size());
+    int i = 0;
+    for (Map.Entry<String, MemoryUsage> e : resources.entrySet()) {
+      data[i][Column.RESOURCE.getIndex()] = e.getKey();
+      data[i][Column.SIZE.getIndex()] = e.getValue().getDisplaySize();
+      data[i][Column.BYTES.getIndex()] = e.getValue().getRamBytesUsed();
+      i++;
+    }
+  }
+
+  // the resources of the segment in depth-first order, keyed by their paths from the segment
+  private static Map<String, MemoryUsage> flatten(MemoryUsage segment) {
+    Map<String, MemoryUsage> resources = new LinkedHashMap<>();
+    resources.put(TOTAL, segment);
+    for (MemoryUsage child : segment.getChildren()) {
+      flatten(child, "", resources);
+    }
+    return resources;
+  }
+
+  private static void flatten(MemoryUsage usage, String parentPath, Map<String, MemoryUsage> resources) {
+    String path = parentPath + usage.getDescription();
+    // codecs may report several resources under the same name
+    String key = path;
+    for (int n = 2; resources.containsKey(key); n++) {
+      key = path + " #" + n;
+    }
+    resources.put(key, usage);
+    for (MemoryUsage child : usage.getChildren()) {
+      flatten(child, key + PATH_SEPARATOR, resources);
+    }
+  }
+
+  @Override
+  protected Column[] columnInfos() {
+    return Column.values();
+  }
+}
@@ -26,6 +26,7 @@ import org.apache.lucene.luke.app.IndexHandler;
 import org.apache.lucene.luke.app.IndexObserver;
 import org.apache.lucene.luke.app.LukeState;
 import org.apache.lucene.luke.app.desktop.MessageBroker;
+import org.apache.lucene.luke.app.desktop.TaskExecutor;
 import org.apache.lucene.luke.app.desktop.components.dialog.HelpDialogFactory;
 import org.apache.lucene.luke.app.desktop.components.dialog.documents.AddDocumentDialogFactory;
 import org.apache.lucene.luke.app.desktop.components.dialog.documents.DocValuesDialogFactory;
@@ -41,13 +42,17 @@ import org.apache.lucene.luke.models.documents.DocValues;
 import org.apache.lucene.luke.models.documents.DocumentField;
 import org.apache.lucene.luke.models.documents.Documents;
 import org.apache.lucene.luke.models.documents.DocumentsFactory;
-import org.apache.lucene.luke.models.documents.TermPosting;
-import org.apache.lucene.luke.models.documents.TermVectorEntry;
+import org.apache.lucene.luke.models.documents.PostingsBatch;
+import org.apache.lucene.luke.models.documents.TermEntry;
+import org.apache.lucene.luke.models.documents.TermsFilter;
 import org.apache.lucene.luke.util.BytesRefUtils;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.automaton.TooComplexToDeterminizeException;
 
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JComponent;
 import javax.swing.JLabel;
@@ -81,16 +86,30 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 
 public final class DocumentsPanelProvider implements Provider<JPanel>, DocumentsTabOperator {
 
+  private static final String SHOW_DOC_TASK = "show_doc";
+
+  private static final int TERM_VECTOR_PAGE_SIZE = 100;
+
+  private static final int TERMS_PAGE_SIZE = 100;
+
+  private static final int POSTINGS_BATCH_SIZE = 128;
+
   private final DocumentsFactory documentsFactory;
 
   private final MessageBroker messageBroker;
 
+  private final TaskExecutor taskExecutor;
+
   private final ComponentOperatorRegistry operatorRegistry;
 
   private final TabSwitcherProxy tabSwitcher;
@@ -113,6 +132,10 @@ public final class DocumentsPanelProvider implements Provider<JPanel>, Documents
 
   private final JButton nextTermBtn = new JButton();
 
+  private final JTextField termFilterTF = new JTextField();
+
+  private final JCheckBox regexFilterCB = new JCheckBox();
+
   private final JTextField selectedTermTF = new JTextField();
 
   private final JButton firstTermDocBtn = new JButton();
@@ -121,6 +144,12 @@ public final class DocumentsPanelProvider implements Provider<JPanel>, Documents
 
   private final JButton nextTermDocBtn = new JButton();
 
+  private final JTextField skipTermDocTF = new JTextField();
+
+  private final JButton postingsSummaryBtn = new JButton();
+
+  private final JLabel postingsSummaryLbl = new JLabel();
+
   private final JLabel termDocsNumLbl = new JLabel();
 
   private final JTable posTable = new JTable();
@@ -129,6 +158,8 @@ public final class DocumentsPanelProvider implements Provider<JPanel>, Documents
 
   private final JLabel maxDocsLbl = new JLabel();
 
+  private final JLabel shardLbl = new JLabel();
+
   private final JButton mltBtn = new JButton();
 
   private final JButton addDocBtn = new JButton();
@@ -143,9 +174,28 @@ public final class DocumentsPanelProvider implements Provider<JPanel>, Documents
 
   private Documents documentsModel;
 
+  // the page of terms being browsed; the next page starts after lastPagedTerm
+  private final Deque<TermEntry> termsPage = new ArrayDeque<>();
+
+  private String lastPagedTerm;
+
+  private boolean termsExhausted;
+
+  private TermsFilter termsFilter;
+
+  // the postings of the selected term are read in batches; postingIdx is the shown posting in the batch
+  private final PostingsBatch postingsBatch = new PostingsBatch(POSTINGS_BATCH_SIZE, true, true, true);
+
+  private int postingIdx;
+
+  // the ordinal of the shown posting, or -1 if unknown (after skipping postings)
+  private int termDocOrd;
+
+
   @Inject
   public DocumentsPanelProvider(DocumentsFactory documentsFactory,
                                 MessageBroker messageBroker,
+                                TaskExecutor taskExecutor,
                                 IndexHandler indexHandler,
                                 TabSwitcherProxy tabSwitcher,
                                 ComponentOperatorRegistry operatorRegistry,
@@ -156,6 +206,7 @@ public final class DocumentsPanelProvider implements Provider<JPanel>, Documents
                                 HelpDialogFactory helpDialogFactory) {
     this.documentsFactory = documentsFactory;
     this.messageBroker = messageBroker;
+    this.taskExecutor = taskExecutor;
     this.operatorRegistry = operatorRegistry;
     this.tabSwitcher = tabSwitcher;
     this.addDocDialogFactory = addDocDialogFactory;
@@ -274,6 +325,34 @@ public final class DocumentsPanelProvider implements Provider<JPanel>, Documents
     c.gridwidth = 1;
     center.add(nextTermBtn, c);
 
+    JLabel filterLbl = new JLabel(MessageUtils.getLocalizedMessage("documents.label.term_filter"));
+    c.gridx = 0;
+    c.gridy = 2;
+    c.insets = new Insets(5, 5, 5, 5);
+    c.weightx = 0.2;
+    c.gridwidth = 1;
+    center.add(filterLbl, c);
+
+    termFilterTF.setColumns(20);
+    termFilterTF.setMinimumSize(new Dimension(50, 25));
+    termFilterTF.setFont(StyleConstants.FONT_MONOSPACE_LARGE);
+    termFilterTF.addActionListener(listeners::showFirstTerm);
+    c.gridx = 1;
+    c.gridy = 2;
+    c.insets = new Insets(5, 5, 5, 5);
+    c.weightx = 0.5;
+    c.gridwidth = 1;
+    center.add(termFilterTF, c);
+
+    regexFilterCB.setText(MessageUtils.getLocalizedMessage("documents.checkbox.term_filter_regex"));
+    regexFilterCB.addActionListener(listeners::showFirstTerm);
+    c.gridx = 2;
+    c.gridy = 2;
+    c.insets = new Insets(5, 5, 5, 5);
+    c.weightx = 0.1;
+    c.gridwidth = 1;
+    center.add(regexFilterCB, c);
+
     panel.add(center, BorderLayout.CENTER);
 
     JPanel footer = new JPanel(new FlowLayout(FlowLayout.LEADING, 20, 5));
@@ -347,12 +426,46 @@ public final class DocumentsPanelProvider implements Provider<JPanel>, Documents
     c.insets = new Insets(5, 5, 5, 5);
     center.add(termDocsNumLbl, c);
 
+    JLabel skipLbl = new JLabel(MessageUtils.getLocalizedMessage("documents.label.skip_to_doc"));
+    c.gridx = 0;
+    c.gridy = 3;
+    c.weightx = 0.0;
+    c.gridwidth = 1;
+    c.insets = new Insets(5, 3, 5, 5);
+    center.add(skipLbl, c);
+
+    skipTermDocTF.setEnabled(false);
+    skipTermDocTF.addActionListener(listeners::skipToTermDoc);
+    c.gridx = 1;
+    c.gridy = 3;
+    c.weightx = 0.5;
+    c.gridwidth = 1;
+    c.insets = new Insets(5, 5, 5, 5);
+    center.add(skipTermDocTF, c);
+
+    postingsSummaryBtn.setText(MessageUtils.getLocalizedMessage("documents.button.postings_summary"));
+    postingsSummaryBtn.setEnabled(false);
+    postingsSummaryBtn.addActionListener(listeners::showPostingsSummary);
+    c.gridx = 2;
+    c.gridy = 3;
+    c.weightx = 0.2;
+    c.gridwidth = 1;
+    c.insets = new Insets(5, 5, 5, 5);
+    center.add(postingsSummaryBtn, c);
+
+    c.gridx = 0;
+    c.gridy = 4;
+    c.weightx = 0.0;
+    c.gridwidth = 4;
+    c.insets = new Insets(5, 5, 5, 5);
+    center.add(postingsSummaryLbl, c);
+
     TableUtils.setupTable(posTable, ListSelectionModel.SINGLE_SELECTION, new PosTableModel(), null,
         PosTableModel.Column.POSITION.getColumnWidth(), PosTableModel.Column.OFFSETS.getColumnWidth(), PosTableModel.Column.PAYLOAD.getColumnWidth());
     JScrollPane scrollPane = new JScrollPane(posTable);
     scrollPane.setMinimumSize(new Dimension(100, 100));
     c.gridx = 0;
-    c.gridy = 3;
+    c.gridy = 5;
     c.gridwidth = 4;
     c.insets = new Insets(5, 5, 5, 5);
     center.add(scrollPane, c);
@@ -417,6 +530,7 @@ public final class DocumentsPanelProvider implements Provider<JPanel>, Documents
     left.add(docNumSpnr);
     maxDocsLbl.setText("in ? docs");
     left.add(maxDocsLbl);
+    left.add(shardLbl);
     panel.add(left);
 
     JPanel right = new JPanel(new FlowLayout(FlowLayout.TRAILING, 10, 2));
@@ -471,48 +585,29 @@ public final class DocumentsPanelProvider implements Provider<JPanel>, Documents
       return;
     }
 
+    TermsFilter filter;
+    try {
+      filter = createTermsFilter();
+    } catch (IllegalArgumentException | TooComplexToDeterminizeException e) {
+      messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("documents.termfilter.message.invalid", termFilterTF.getText()));
+      return;
+    }
+
     termDocIdxTF.setText("");
     clearPosTable();
 
-    String firstTermText = documentsModel.firstTerm(fieldName).map(Term::text).orElse("");
-    termTF.setText(firstTermText);
-    selectedTermTF.setText(firstTermText);
-    if (selectedTermTF.getText().length() > 0) {
-      String num = documentsModel.getDocFreq().map(String::valueOf).orElse("?");
-      termDocsNumLbl.setText("in " + num + " docs");
-
-      nextTermBtn.setEnabled(true);
-      termTF.setEditable(true);
-      firstTermDocBtn.setEnabled(true);
-    } else {
-      nextTermBtn.setEnabled(false);
-      termTF.setEditable(false);
-      firstTermDocBtn.setEnabled(false);
-    }
-    nextTermDocBtn.setEnabled(false);
-    messageBroker.clearStatusMessage();
+    termsFilter = filter;
+    resetTermsPage(null);
+    // sets the target field of the model; the terms are read page by page from the term dictionary
+    documentsModel.firstTerm(fieldName);
+    showTerm(nextPagedTerm(fieldName).orElse(null));
   }
 
   private void showNextTerm() {
     termDocIdxTF.setText("");
     clearPosTable();
 
-    String nextTermText = documentsModel.nextTerm().map(Term::text).orElse("");
-    termTF.setText(nextTermText);
-    selectedTermTF.setText(nextTermText);
-    if (selectedTermTF.getText().length() > 0) {
-      String num = documentsModel.getDocFreq().map(String::valueOf).orElse("?");
-      termDocsNumLbl.setText("in " + num + " docs");
-
-      termTF.setEditable(true);
-      firstTermDocBtn.setEnabled(true);
-    } else {
-      nextTermBtn.setEnabled(false);
-      termTF.setEditable(false);
-      firstTermDocBtn.setEnabled(false);
-    }
-    nextTermDocBtn.setEnabled(false);
-    messageBroker.clearStatusMessage();
+    showTerm(nextPagedTerm(documentsModel.getCurrentField()).orElse(null));
   }
 
   @Override
@@ -523,20 +618,68 @@ public final class DocumentsPanelProvider implements Provider<JPanel>, Documents
     String termText = termTF.getText();
 
     String nextTermText = documentsModel.seekTerm(termText).map(Term::text).orElse("");
-    termTF.setText(nextTermText);
-    selectedTermTF.setText(nextTermText);
-    if (selectedTermTF.getText().length() > 0) {
+    // the following pages start after the found term
+    resetTermsPage(nextTermText.isEmpty() ? null : nextTermText);
+    showSelectedTerm(nextTermText);
+  }
+
+  private TermsFilter createTermsFilter() {
+    String filterText = termFilterTF.getText();
+    if (filterText.isEmpty()) {
+      return null;
+    }
+    return regexFilterCB.isSelected() ? TermsFilter.regex(filterText) : TermsFilter.prefix(filterText);
+  }
+
+  private void resetTermsPage(String after) {
+    termsPage.clear();
+    lastPagedTerm = after;
+    termsExhausted = false;
+  }
+
+  private Optional<String> nextPagedTerm(String field) {
+    if (field == null) {
+      return Optional.empty();
+    }
+    if (termsPage.isEmpty() && !termsExhausted) {
+      List<TermEntry> page = documentsModel.getTerms(field, lastPagedTerm, TERMS_PAGE_SIZE, termsFilter);
+      termsPage.addAll(page);
+      termsExhausted = page.size() < TERMS_PAGE_SIZE;
+    }
+    TermEntry entry = termsPage.poll();
+    if (entry == null) {
+      return Optional.empty();
+    }
+    lastPagedTerm = entry.getTermText();
+    return Optional.of(entry.getTermText());
+  }
+
+  private void showTerm(String termText) {
+    // positions the terms iterator of the model on the term, so that its postings can be browsed
+    String text = termText == null ? "" : documentsModel.seekTerm(termText).map(Term::text).orElse("");
+    showSelectedTerm(text);
+  }
+
+  private void showSelectedTerm(String termText) {
+    termTF.setText(termText);
+    selectedTermTF.setText(termText);
+    if (termText.length() > 0) {
       String num = documentsModel.getDocFreq().map(String::valueOf).orElse("?");
       termDocsNumLbl.setText("in " + num + " docs");
 
+      nextTermBtn.setEnabled(true);
       termTF.setEditable(true);
       firstTermDocBtn.setEnabled(true);
+      postingsSummaryBtn.setEnabled(true);
     } else {
       nextTermBtn.setEnabled(false);
       termTF.setEditable(false);
       firstTermDocBtn.setEnabled(false);
+      postingsSummaryBtn.setEnabled(false);
     }
     nextTermDocBtn.setEnabled(false);
+    skipTermDocTF.setEnabled(false);
+    postingsSummaryLbl.setText("");
     messageBroker.clearStatusMessage();
   }
 
@@ -550,43 +693,94 @@ public final class DocumentsPanelProvider implements Provider<JPanel>, Documents
 
   @Override
   public void showFirstTermDoc() {
-    int docid = documentsModel.firstTermDoc().orElse(-1);
-    if (docid < 0) {
-      nextTermDocBtn.setEnabled(false);
-      messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("documents.termdocs.message.not_available"));
+    // seeking to the selected term again restarts its postings
+    if (!documentsModel.seekTerm(selectedTermTF.getText()).isPresent() || documentsModel.nextPostings(postingsBatch) == 0) {
+      showTermDocNotAvailable();
       return;
     }
-    termDocIdxTF.setText(String.valueOf(1));
-    displayDoc(docid);
-
-    List<TermPosting> postings = documentsModel.getTermPositions();
-    posTable.setModel(new PosTableModel(postings));
-    posTable.getColumnModel().getColumn(PosTableModel.Column.POSITION.getIndex()).setPreferredWidth(PosTableModel.Column.POSITION.getColumnWidth());
-    posTable.getColumnModel().getColumn(PosTableModel.Column.OFFSETS.getIndex()).setPreferredWidth(PosTableModel.Column.OFFSETS.getColumnWidth());
-    posTable.getColumnModel().getColumn(PosTableModel.Column.PAYLOAD.getIndex()).setPreferredWidth(PosTableModel.Column.PAYLOAD.getColumnWidth());
+    postingIdx = 0;
+    termDocOrd = 1;
+    showPosting();
 
     nextTermDocBtn.setEnabled(true);
+    skipTermDocTF.setEnabled(true);
     messageBroker.clearStatusMessage();
   }
 
   private void showNextTermDoc() {
-    int docid = documentsModel.nextTermDoc().orElse(-1);
-    if (docid < 0) {
-      nextTermDocBtn.setEnabled(false);
-      messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("documents.termdocs.message.not_available"));
+    if (postingIdx + 1 < postingsBatch.size()) {
+      postingIdx++;
+    } else if (documentsModel.nextPostings(postingsBatch) > 0) {
+      postingIdx = 0;
+    } else {
+      showTermDocNotAvailable();
       return;
     }
-    int curIdx = Integer.parseInt(termDocIdxTF.getText());
-    termDocIdxTF.setText(String.valueOf(curIdx + 1));
-    displayDoc(docid);
-
-    List<TermPosting> postings = documentsModel.getTermPositions();
-    posTable.setModel(new PosTableModel(postings));
+    if (termDocOrd > 0) {
+      termDocOrd++;
+    }
+    showPosting();
 
     nextTermDocBtn.setDefaultCapable(true);
     messageBroker.clearStatusMessage();
   }
 
+  private void skipToTermDoc() {
+    int target;
+    try {
+      target = Integer.parseInt(skipTermDocTF.getText().trim());
+    } catch (NumberFormatException e) {
+      messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("documents.termdocs.message.invalid_target", skipTermDocTF.getText()));
+      return;
+    }
+
+    // the target may be found in the current batch; otherwise, skip the postings in between
+    int[] docids = postingsBatch.getDocids();
+    int i = postingIdx + 1;
+    while (i < postingsBatch.size() && docids[i] < target) {
+      i++;
+    }
+    if (i < postingsBatch.size()) {
+      if (termDocOrd > 0) {
+        termDocOrd += i - postingIdx;
+      }
+      postingIdx = i;
+    } else if (documentsModel.advancePostings(target, postingsBatch) > 0) {
+      postingIdx = 0;
+      termDocOrd = -1;
+    } else {
+      showTermDocNotAvailable();
+      return;
+    }
+    showPosting();
+    messageBroker.clearStatusMessage();
+  }
+
+  private void showTermDocNotAvailable() {
+    nextTermDocBtn.setEnabled(false);
+    skipTermDocTF.setEnabled(false);
+    messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("documents.termdocs.message.not_available"));
+  }
+
+  private void showPosting() {
+    termDocIdxTF.setText(termDocOrd > 0 ? String.valueOf(termDocOrd) : "?");
+    displayDoc(postingsBatch.getDocids()[postingIdx]);
+
+    posTable.setModel(new PosTableModel(postingsBatch, postingIdx));
+    posTable.getColumnModel().getColumn(PosTableModel.Column.POSITION.getIndex()).setPreferredWidth(PosTableModel.Column.POSITION.getColumnWidth());
+    posTable.getColumnModel().getColumn(PosTableModel.Column.OFFSETS.getIndex()).setPreferredWidth(PosTableModel.Column.OFFSETS.getColumnWidth());
+    posTable.getColumnModel().getColumn(PosTableModel.Column.PAYLOAD.getIndex()).setPreferredWidth(PosTableModel.Column.PAYLOAD.getColumnWidth());
+  }
+
+  private void showPostingsSummary() {
+    String summary = documentsModel.getPostingsSummary()
+        .map(ps -> MessageUtils.getLocalizedMessage("documents.label.postings_summary",
+            ps.getTotalFreq(), ps.getMaxFreq(), String.format(Locale.ENGLISH, "%.2f", ps.getAverageFreq()),
+            Arrays.toString(ps.getGapHistogram())))
+        .orElse("");
+    postingsSummaryLbl.setText(summary);
+  }
+
   private void showCurrentDoc() {
     int docid = (Integer) docNumSpnr.getValue();
     displayDoc(docid);
@@ -609,19 +803,27 @@ public final class DocumentsPanelProvider implements Provider<JPanel>, Documents
   private void showTermVectorDialog() {
     int docid = (Integer) docNumSpnr.getValue();
     String field = (String) documentTable.getModel().getValueAt(documentTable.getSelectedRow(), DocumentsTableModel.Column.FIELD.getIndex());
-    List<TermVectorEntry> tvEntries = documentsModel.getTermVectors(docid, field);
-    if (tvEntries.isEmpty()) {
-      messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("documents.termvector.message.not_available", field, docid));
-      return;
-    }
+    Documents model = documentsModel;
+    taskExecutor.submit(() -> model.getTermVectorPage(docid, field, null, TERM_VECTOR_PAGE_SIZE), firstPage -> {
+      if (model != documentsModel) {
+        return;
+      }
+      if (!firstPage.isPresent()) {
+        messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("documents.termvector.message.not_available", field, docid));
+        return;
+      }
 
-    new DialogOpener<>(tvDialogFactory).open(
-        "Term Vector", 400, 300,
-        (factory) -> {
-          factory.setField(field);
-          factory.setTvEntries(tvEntries);
-        });
-    messageBroker.clearStatusMessage();
+      new DialogOpener<>(tvDialogFactory).open(
+          "Term Vector", 500, 400,
+          (factory) -> {
+            factory.setField(field);
+            factory.setFirstPage(firstPage.get());
+            factory.setPageLoader((after, callback) -> taskExecutor.submit(
+                () -> model.getTermVectorPage(docid, field, after, TERM_VECTOR_PAGE_SIZE),
+                page -> page.ifPresent(callback)));
+          });
+      messageBroker.clearStatusMessage();
+    });
   }
 
   private void showDocValuesDialog() {
@@ -730,8 +932,20 @@ public final class DocumentsPanelProvider implements Provider<JPanel>, Documents
 
   private void showDoc(int docid) {
     docNumSpnr.setValue(docid);
+    shardLbl.setText(documentsModel.getShardName(docid)
+        .map(shard -> MessageUtils.getLocalizedMessage("documents.label.shard", shard))
+        .orElse(""));
+
+    // only the latest requested document is shown
+    Documents model = documentsModel;
+    taskExecutor.submitLatest(SHOW_DOC_TASK, () -> model.getDocumentFields(docid), doc -> {
+      if (model == documentsModel) {
+        showDocumentFields(doc);
+      }
+    });
+  }
 
-    List<DocumentField> doc = documentsModel.getDocumentFields(docid);
+  private void showDocumentFields(List<DocumentField> doc) {
     documentTable.setModel(new DocumentsTableModel(doc));
     documentTable.setFont(StyleConstants.FONT_MONOSPACE_LARGE);
     documentTable.getColumnModel().getColumn(DocumentsTableModel.Column.FIELD.getIndex()).setPreferredWidth(DocumentsTableModel.Column.FIELD.getColumnWidth());
@@ -767,6 +981,14 @@ public final class DocumentsPanelProvider implements Provider<JPanel>, Documents
       DocumentsPanelProvider.this.showNextTermDoc();
     }
 
+    void skipToTermDoc(ActionEvent e) {
+      DocumentsPanelProvider.this.skipToTermDoc();
+    }
+
+    void showPostingsSummary(ActionEvent e) {
+      DocumentsPanelProvider.this.showPostingsSummary();
+    }
+
     void showCurrentDoc(ChangeEvent e) {
       DocumentsPanelProvider.this.showCurrentDoc();
     }
@@ -836,13 +1058,21 @@ public final class DocumentsPanelProvider implements Provider<JPanel>, Documents
 
     @Override
     public void closeIndex() {
+      taskExecutor.cancel(SHOW_DOC_TASK);
+
       maxDocsLbl.setText("in ? docs");
+      shardLbl.setText("");
       docNumSpnr.setEnabled(false);
       fieldsCombo.removeAllItems();
+      resetTermsPage(null);
       termTF.setText("");
       selectedTermTF.setText("");
       termDocsNumLbl.setText("");
       termDocIdxTF.setText("");
+      skipTermDocTF.setText("");
+      skipTermDocTF.setEnabled(false);
+      postingsSummaryBtn.setEnabled(false);
+      postingsSummaryLbl.setText("");
 
       posTable.setModel(new PosTableModel());
       documentTable.setModel(new DocumentsTableModel());
@@ -896,24 +1126,42 @@ final class PosTableModel extends TableModelBase<PosTableModel.Column> {
     super();
   }
 
-  PosTableModel(List<TermPosting> postings) {
-    super(postings.size());
-
-    for (int i = 0; i < postings.size(); i++) {
-      TermPosting p = postings.get(i);
-
-      int position = postings.get(i).getPosition();
+  PosTableModel(PostingsBatch batch, int idx) {
+    super(countPositions(batch, idx));
+
+    int[] positions = batch.getPositions();
+    int[] startOffsets = batch.getStartOffsets();
+    int[] endOffsets = batch.getEndOffsets();
+    BytesRef[] payloads = batch.getPayloads();
+    int start = batch.getPositionStart(idx);
+    int row = 0;
+    for (int i = start; i < start + batch.getFreqs()[idx]; i++) {
+      if (positions[i] < 0) {
+        // no position information available
+        continue;
+      }
       String offset = null;
-      if (p.getStartOffset() >= 0 && p.getEndOffset() >= 0) {
-        offset = p.getStartOffset() + "-" + p.getEndOffset();
+      if (startOffsets[i] >= 0 && endOffsets[i] >= 0) {
+        offset = startOffsets[i] + "-" + endOffsets[i];
       }
       String payload = null;
-      if (p.getPayload() != null) {
-        payload = BytesRefUtils.decode(p.getPayload());
+      if (payloads[i] != null) {
+        payload = BytesRefUtils.decode(payloads[i]);
       }
 
-      data[i] = new Object[]{position, offset, payload};
+      data[row++] = new Object[]{positions[i], offset, payload};
+    }
+  }
+
+  private static int countPositions(PostingsBatch batch, int idx) {
+    int start = batch.getPositionStart(idx);
+    int count = 0;
+    for (int i = start; i < start + batch.getFreqs()[idx]; i++) {
+      if (batch.getPositions()[i] >= 0) {
+        count++;
+      }
     }
+    return count;
   }
 
   @Override
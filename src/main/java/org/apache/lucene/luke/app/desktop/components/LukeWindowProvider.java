@@ -26,6 +26,7 @@ import org.apache.lucene.luke.app.IndexHandler;
 import org.apache.lucene.luke.app.IndexObserver;
 import org.apache.lucene.luke.app.LukeState;
 import org.apache.lucene.luke.app.desktop.MessageBroker;
+import org.apache.lucene.luke.app.desktop.TaskExecutor;
 import org.apache.lucene.luke.app.desktop.util.ImageUtils;
 import org.apache.lucene.luke.app.desktop.util.MessageUtils;
 import org.apache.lucene.util.Version;
@@ -44,6 +45,8 @@ import java.awt.FlowLayout;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.GridLayout;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 
 
 public final class LukeWindowProvider implements Provider<JFrame> {
@@ -66,13 +69,16 @@ public final class LukeWindowProvider implements Provider<JFrame> {
 
   private final JLabel noReaderIcon = new JLabel();
 
+  private final JLabel busyIcon = new JLabel();
+
   @Inject
   public LukeWindowProvider(JMenuBar menuBar,
                             @Named("main") JTabbedPane tabbedPane,
                             DirectoryHandler directoryHandler,
                             IndexHandler indexHandler,
                             MessageBroker messageBroker,
-                            TabSwitcherProxy tabSwitcher) {
+                            TabSwitcherProxy tabSwitcher,
+                            TaskExecutor taskExecutor) {
     this.menuBar = menuBar;
     this.tabbedPane = tabbedPane;
     this.messageBroker = messageBroker;
@@ -83,6 +89,17 @@ public final class LukeWindowProvider implements Provider<JFrame> {
     indexHandler.addObserver(observer);
 
     messageBroker.registerReceiver(new MessageReceiverImpl());
+
+    busyIcon.setIcon(ImageUtils.createImageIcon("/img/indicator.gif", 16, 16));
+    busyIcon.setToolTipText(MessageUtils.getLocalizedMessage("tooltip.busy"));
+    busyIcon.setVisible(false);
+    busyIcon.addMouseListener(new MouseAdapter() {
+      @Override
+      public void mouseClicked(MouseEvent e) {
+        taskExecutor.cancelAll();
+      }
+    });
+    taskExecutor.addBusyListener(busyIcon::setVisible);
   }
 
   @Override
@@ -132,6 +149,8 @@ public final class LukeWindowProvider implements Provider<JFrame> {
 
     JPanel iconPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
 
+    iconPanel.add(busyIcon);
+
     multiIcon.setIcon(ImageUtils.createImageIcon("/img/icon_grid-2x2.png", "multi reader", 16, 16));
     multiIcon.setToolTipText(MessageUtils.getLocalizedMessage("tooltip.multi_reader"));
     multiIcon.setVisible(false);
@@ -188,12 +207,14 @@ public final class LukeWindowProvider implements Provider<JFrame> {
       readOnlyIcon.setVisible(state.readOnly());
       noReaderIcon.setVisible(false);
 
+      // the time to open the reader shows the effect of the directory options (e.g. preload) on cold start
+      String openTime = String.valueOf(state.getOpenTimeMillis());
       if (state.readOnly()) {
-        messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("message.index_opened_ro"));
+        messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("message.index_opened_ro", openTime));
       } else if (!state.hasDirectoryReader()) {
-        messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("message.index_opened_multi"));
+        messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("message.index_opened_multi", openTime));
       } else {
-        messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("message.index_opened"));
+        messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("message.index_opened", openTime));
       }
     }
 
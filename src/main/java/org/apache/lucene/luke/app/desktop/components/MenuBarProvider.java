@@ -24,18 +24,22 @@ import org.apache.lucene.luke.app.DirectoryObserver;
 import org.apache.lucene.luke.app.IndexHandler;
 import org.apache.lucene.luke.app.IndexObserver;
 import org.apache.lucene.luke.app.LukeState;
+import org.apache.lucene.luke.app.desktop.MessageBroker;
 import org.apache.lucene.luke.app.desktop.Preferences;
+import org.apache.lucene.luke.app.desktop.TaskExecutor;
 import org.apache.lucene.luke.app.desktop.components.dialog.menubar.AboutDialogFactory;
 import org.apache.lucene.luke.app.desktop.components.dialog.menubar.CheckIndexDialogFactory;
 import org.apache.lucene.luke.app.desktop.components.dialog.menubar.OpenIndexDialogFactory;
 import org.apache.lucene.luke.app.desktop.components.dialog.menubar.OptimizeIndexDialogFactory;
 import org.apache.lucene.luke.app.desktop.util.DialogOpener;
 import org.apache.lucene.luke.app.desktop.util.MessageUtils;
+import org.apache.lucene.luke.models.tools.EditingSession;
 import org.apache.lucene.util.Version;
 
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
 import java.awt.event.ActionEvent;
 
 public final class MenuBarProvider implements Provider<JMenuBar> {
@@ -52,6 +56,10 @@ public final class MenuBarProvider implements Provider<JMenuBar> {
 
   private final AboutDialogFactory aboutDialogFactory;
 
+  private final TaskExecutor taskExecutor;
+
+  private final MessageBroker messageBroker;
+
   private final JMenuItem openIndexMItem = new JMenuItem();
 
   private final JMenuItem reopenIndexMItem = new JMenuItem();
@@ -72,6 +80,12 @@ public final class MenuBarProvider implements Provider<JMenuBar> {
 
   private final JMenuItem checkIndexMItem = new JMenuItem();
 
+  private final JMenuItem startEditingMItem = new JMenuItem();
+
+  private final JMenuItem commitEditingMItem = new JMenuItem();
+
+  private final JMenuItem endEditingMItem = new JMenuItem();
+
   private final JMenuItem aboutMItem = new JMenuItem();
 
   private final ListenerFunctions listeners = new ListenerFunctions();
@@ -80,13 +94,17 @@ public final class MenuBarProvider implements Provider<JMenuBar> {
   public MenuBarProvider(Preferences prefs, DirectoryHandler directoryHandler, IndexHandler indexHandler,
                          OptimizeIndexDialogFactory optimizeIndexDialogFactory,
                          CheckIndexDialogFactory checkIndexDialogFactory,
-                         AboutDialogFactory aboutDialogFactory) {
+                         AboutDialogFactory aboutDialogFactory,
+                         TaskExecutor taskExecutor,
+                         MessageBroker messageBroker) {
     this.prefs = prefs;
     this.directoryHandler = directoryHandler;
     this.indexHandler = indexHandler;
     this.optimizeIndexDialogFactory = optimizeIndexDialogFactory;
     this.checkIndexDialogFactory = checkIndexDialogFactory;
     this.aboutDialogFactory = aboutDialogFactory;
+    this.taskExecutor = taskExecutor;
+    this.messageBroker = messageBroker;
 
     Observer observer = new Observer();
     directoryHandler.addObserver(observer);
@@ -154,6 +172,19 @@ public final class MenuBarProvider implements Provider<JMenuBar> {
     checkIndexMItem.setEnabled(false);
     checkIndexMItem.addActionListener(listeners::showCheckIndexDialog);
     toolsMenu.add(checkIndexMItem);
+    toolsMenu.addSeparator();
+    startEditingMItem.setText(MessageUtils.getLocalizedMessage("menu.item.start_editing"));
+    startEditingMItem.setEnabled(false);
+    startEditingMItem.addActionListener(listeners::startEditing);
+    toolsMenu.add(startEditingMItem);
+    commitEditingMItem.setText(MessageUtils.getLocalizedMessage("menu.item.commit_editing"));
+    commitEditingMItem.setEnabled(false);
+    commitEditingMItem.addActionListener(listeners::commitEditing);
+    toolsMenu.add(commitEditingMItem);
+    endEditingMItem.setText(MessageUtils.getLocalizedMessage("menu.item.end_editing"));
+    endEditingMItem.setEnabled(false);
+    endEditingMItem.addActionListener(listeners::endEditing);
+    toolsMenu.add(endEditingMItem);
     return toolsMenu;
   }
 
@@ -172,21 +203,86 @@ public final class MenuBarProvider implements Provider<JMenuBar> {
     }
 
     void reopenIndex(ActionEvent e) {
-      indexHandler.reOpen();
+      taskExecutor.submit(() -> {
+        indexHandler.reOpen();
+        return null;
+      }, result -> {
+      });
     }
 
     void closeIndex(ActionEvent e) {
-      close();
+      if (confirmDiscardChanges()) {
+        // wait for the tasks reading the index
+        taskExecutor.cancelAllAndSubmit(() -> {
+          close();
+          return null;
+        }, result -> {
+        });
+      }
+    }
+
+    void startEditing(ActionEvent e) {
+      taskExecutor.submit(() -> {
+        indexHandler.startEditingSession();
+        return null;
+      }, result -> messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("menu.message.editing_started")));
+    }
+
+    void commitEditing(ActionEvent e) {
+      taskExecutor.submit(() -> {
+        indexHandler.commitEditingSession();
+        return null;
+      }, result -> messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("menu.message.editing_committed")));
+    }
+
+    void endEditing(ActionEvent e) {
+      EditingSession session = indexHandler.getState().getEditingSession();
+      if (session == null) {
+        return;
+      }
+      boolean commit = false;
+      int numChanges = session.getNumPendingChanges();
+      if (numChanges > 0) {
+        int answer = JOptionPane.showConfirmDialog(null,
+            MessageUtils.getLocalizedMessage("menu.message.commit_confirm", numChanges),
+            "End editing session", JOptionPane.YES_NO_CANCEL_OPTION);
+        if (answer != JOptionPane.YES_OPTION && answer != JOptionPane.NO_OPTION) {
+          return;
+        }
+        commit = answer == JOptionPane.YES_OPTION;
+      }
+      boolean doCommit = commit;
+      taskExecutor.submit(() -> {
+        indexHandler.endEditingSession(doCommit);
+        return null;
+      }, result -> messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("menu.message.editing_ended")));
+    }
+
+    private boolean confirmDiscardChanges() {
+      EditingSession session = indexHandler.indexOpened() ? indexHandler.getState().getEditingSession() : null;
+      if (session == null || session.getNumPendingChanges() == 0) {
+        return true;
+      }
+      int answer = JOptionPane.showConfirmDialog(null,
+          MessageUtils.getLocalizedMessage("menu.message.discard_confirm", session.getNumPendingChanges()),
+          "Discard changes", JOptionPane.OK_CANCEL_OPTION);
+      return answer == JOptionPane.OK_OPTION;
     }
 
     void exit(ActionEvent e) {
+      if (!confirmDiscardChanges()) {
+        return;
+      }
+      // running tasks are not waited for, since they may never end; the background threads are daemons
+      taskExecutor.cancelAll();
       close();
       System.exit(0);
     }
 
+    // call after confirmDiscardChanges()
     private void close() {
       directoryHandler.close();
-      indexHandler.close();
+      indexHandler.close(true);
     }
 
     void showOptimizeIndexDialog(ActionEvent e) {
@@ -229,12 +325,17 @@ public final class MenuBarProvider implements Provider<JMenuBar> {
     public void openIndex(LukeState state) {
       reopenIndexMItem.setEnabled(true);
       closeIndexMItem.setEnabled(true);
-      if (!state.readOnly() && state.hasDirectoryReader()) {
+      boolean editing = state.getEditingSession() != null;
+      // the optimizer and index checker need the write lock held by the editing session
+      if (!state.readOnly() && state.hasDirectoryReader() && !editing) {
         optimizeIndexMItem.setEnabled(true);
+        startEditingMItem.setEnabled(true);
       }
-      if (state.hasDirectoryReader()) {
+      if (state.hasDirectoryReader() && !editing) {
         checkIndexMItem.setEnabled(true);
       }
+      commitEditingMItem.setEnabled(editing);
+      endEditingMItem.setEnabled(editing);
     }
 
     @Override
@@ -247,6 +348,9 @@ public final class MenuBarProvider implements Provider<JMenuBar> {
       closeIndexMItem.setEnabled(false);
       optimizeIndexMItem.setEnabled(false);
       checkIndexMItem.setEnabled(false);
+      startEditingMItem.setEnabled(false);
+      commitEditingMItem.setEnabled(false);
+      endEditingMItem.setEnabled(false);
     }
 
   }
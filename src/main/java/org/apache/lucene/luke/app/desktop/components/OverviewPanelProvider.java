@@ -23,13 +23,21 @@ import org.apache.lucene.luke.app.IndexHandler;
 import org.apache.lucene.luke.app.IndexObserver;
 import org.apache.lucene.luke.app.LukeState;
 import org.apache.lucene.luke.app.desktop.MessageBroker;
+import org.apache.lucene.luke.app.desktop.Preferences;
+import org.apache.lucene.luke.app.desktop.TaskExecutor;
+import org.apache.lucene.luke.app.desktop.util.ExceptionHandler;
 import org.apache.lucene.luke.app.desktop.util.MessageUtils;
 import org.apache.lucene.luke.app.desktop.util.StyleConstants;
 import org.apache.lucene.luke.app.desktop.util.TableUtils;
+import org.apache.lucene.luke.models.ReaderDelta;
+import org.apache.lucene.luke.models.overview.FieldFootprint;
 import org.apache.lucene.luke.models.overview.Overview;
 import org.apache.lucene.luke.models.overview.OverviewFactory;
 import org.apache.lucene.luke.models.overview.TermCountsOrder;
 import org.apache.lucene.luke.models.overview.TermStats;
+import org.apache.lucene.luke.models.shards.ShardStats;
+import org.apache.lucene.luke.models.shards.Shards;
+import org.apache.lucene.luke.models.shards.ShardsFactory;
 
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
@@ -41,10 +49,14 @@ import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JSpinner;
 import javax.swing.JSplitPane;
+import javax.swing.JTabbedPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
 import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableRowSorter;
 import java.awt.BorderLayout;
@@ -58,9 +70,13 @@ import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
 
 public final class OverviewPanelProvider implements Provider<JPanel> {
 
@@ -69,14 +85,24 @@ public final class OverviewPanelProvider implements Provider<JPanel> {
   private static final double WEIGHTX_DESC = 0.1;
   private static final double WEIGHTX_VAL = 0.9;
 
+  private static final String TOP_TERMS_TASK = "top_terms";
+
+  private static final String FIELD_FOOTPRINTS_TASK = "field_footprints";
+
   private final OverviewFactory overviewFactory;
 
+  private final ShardsFactory shardsFactory;
+
+  private final Preferences prefs;
+
   private final ComponentOperatorRegistry operatorRegistry;
 
   private final TabSwitcherProxy tabSwitcher;
 
   private final MessageBroker messageBroker;
 
+  private final TaskExecutor taskExecutor;
+
   private final JPanel panel = new JPanel();
 
   private final JLabel indexPathLbl = new JLabel();
@@ -111,19 +137,37 @@ public final class OverviewPanelProvider implements Provider<JPanel> {
 
   private final JPopupMenu topTermsContextMenu = new JPopupMenu();
 
+  private final JPanel shardsPanel = new JPanel(new BorderLayout());
+
+  private final JTable shardsTable = new JTable();
+
+  private final JButton showFootprintsBtn = new JButton();
+
+  private final JTable footprintsTable = new JTable();
+
   private final ListenerFunctions listeners = new ListenerFunctions();
 
   private Overview overviewModel;
 
+  private List<String> shardNames = Collections.emptyList();
+
+  private boolean sharded = false;
+
   @Inject
   public OverviewPanelProvider(
       OverviewFactory overviewFactory,
+      ShardsFactory shardsFactory,
+      Preferences prefs,
       MessageBroker messageBroker,
+      TaskExecutor taskExecutor,
       ComponentOperatorRegistry operatorRegistry,
       IndexHandler indexHandler,
       TabSwitcherProxy tabSwitcher) {
     this.overviewFactory = overviewFactory;
+    this.shardsFactory = shardsFactory;
+    this.prefs = prefs;
     this.messageBroker = messageBroker;
+    this.taskExecutor = taskExecutor;
     this.operatorRegistry = operatorRegistry;
     this.tabSwitcher = tabSwitcher;
 
@@ -135,7 +179,11 @@ public final class OverviewPanelProvider implements Provider<JPanel> {
     panel.setLayout(new GridLayout(1, 1));
     panel.setBorder(BorderFactory.createLineBorder(Color.gray));
 
-    JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, initUpperPanel(), initLowerPanel());
+    JPanel upperPanel = new JPanel(new BorderLayout());
+    upperPanel.add(initUpperPanel(), BorderLayout.CENTER);
+    upperPanel.add(initShardsPanel(), BorderLayout.LINE_END);
+
+    JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, upperPanel, initLowerPanel());
     splitPane.setDividerLocation(0.4);
     panel.add(splitPane);
 
@@ -255,7 +303,34 @@ public final class OverviewPanelProvider implements Provider<JPanel> {
     return panel;
   }
 
+  private JPanel initShardsPanel() {
+    shardsPanel.setBorder(BorderFactory.createEmptyBorder(3, 3, 3, 10));
+    shardsPanel.setPreferredSize(new Dimension(560, 0));
+
+    JLabel label = new JLabel(MessageUtils.getLocalizedMessage("overview.label.shards"));
+    label.setBorder(BorderFactory.createEmptyBorder(0, 0, 5, 0));
+    shardsPanel.add(label, BorderLayout.PAGE_START);
+
+    TableUtils.setupTable(shardsTable, ListSelectionModel.SINGLE_SELECTION, new ShardsTableModel(), null);
+    shardsPanel.add(new JScrollPane(shardsTable), BorderLayout.CENTER);
+
+    // shown only for sharded indexes
+    shardsPanel.setVisible(false);
+    return shardsPanel;
+  }
+
   private JPanel initLowerPanel() {
+    JPanel panel = new JPanel(new GridLayout(1, 1));
+
+    JTabbedPane tabbedPane = new JTabbedPane();
+    tabbedPane.addTab(MessageUtils.getLocalizedMessage("overview.tab.terms"), initTermsPanel());
+    tabbedPane.addTab(MessageUtils.getLocalizedMessage("overview.tab.field_footprints"), initFieldFootprintsPanel());
+    panel.add(tabbedPane);
+
+    return panel;
+  }
+
+  private JPanel initTermsPanel() {
     JPanel panel = new JPanel(new BorderLayout());
 
     JLabel label = new JLabel(MessageUtils.getLocalizedMessage("overview.label.select_fields"));
@@ -270,6 +345,25 @@ public final class OverviewPanelProvider implements Provider<JPanel> {
     return panel;
   }
 
+  private JPanel initFieldFootprintsPanel() {
+    JPanel panel = new JPanel(new BorderLayout());
+    panel.setBorder(BorderFactory.createEmptyBorder(5, 10, 10, 10));
+
+    JPanel header = new JPanel(new FlowLayout(FlowLayout.LEADING));
+    header.add(new JLabel(MessageUtils.getLocalizedMessage("overview.label.field_footprints")));
+    showFootprintsBtn.setText(MessageUtils.getLocalizedMessage("overview.button.show_footprints"));
+    showFootprintsBtn.addActionListener(listeners::showFieldFootprints);
+    showFootprintsBtn.setEnabled(false);
+    header.add(showFootprintsBtn);
+    panel.add(header, BorderLayout.PAGE_START);
+
+    TableUtils.setupTable(footprintsTable, ListSelectionModel.SINGLE_SELECTION, new FieldFootprintsTableModel(), null,
+        FieldFootprintsTableModel.Column.NAME.getColumnWidth());
+    panel.add(new JScrollPane(footprintsTable), BorderLayout.CENTER);
+
+    return panel;
+  }
+
   private JPanel initTermCountsPanel() {
     JPanel panel = new JPanel(new BorderLayout());
 
@@ -342,6 +436,7 @@ public final class OverviewPanelProvider implements Provider<JPanel> {
             listeners.showTopTermsContextMenu(e);
           }
         }, TopTermsTableModel.Column.RANK.getColumnWidth(), TopTermsTableModel.Column.FREQ.getColumnWidth());
+    hideTopShardColumn();
     JScrollPane scrollPane = new JScrollPane(topTermsTable);
     termsPanel.add(scrollPane, BorderLayout.CENTER);
 
@@ -374,13 +469,52 @@ public final class OverviewPanelProvider implements Provider<JPanel> {
   private void showTopTerms() {
     String field = getSelectedField();
     int numTerms = (int) numTopTermsSpnr.getModel().getValue();
-    List<TermStats> termStats = overviewModel.getTopTerms(field, numTerms);
+    Overview model = overviewModel;
+    List<String> shards = shardNames;
+    taskExecutor.submitLatest(TOP_TERMS_TASK, () -> model.getTopTerms(field, numTerms), termStats -> {
+      if (overviewModel != model) {
+        return;
+      }
+      // update top terms table
+      setTopTermsTable(new TopTermsTableModel(termStats, numTerms, shards));
+      messageBroker.clearStatusMessage();
+    });
+  }
 
-    // update top terms table
-    topTermsTable.setModel(new TopTermsTableModel(termStats, numTerms));
+  private void setTopTermsTable(TopTermsTableModel tableModel) {
+    topTermsTable.setModel(tableModel);
+    hideTopShardColumn();
     topTermsTable.getColumnModel().getColumn(TopTermsTableModel.Column.RANK.getIndex()).setMaxWidth(TopTermsTableModel.Column.RANK.getColumnWidth());
     topTermsTable.getColumnModel().getColumn(TopTermsTableModel.Column.FREQ.getIndex()).setMaxWidth(TopTermsTableModel.Column.FREQ.getColumnWidth());
-    messageBroker.clearStatusMessage();
+  }
+
+  private void hideTopShardColumn() {
+    // the top shard is shown only for sharded indexes, like the shards panel
+    if (!sharded) {
+      topTermsTable.removeColumn(topTermsTable.getColumnModel().getColumn(TopTermsTableModel.Column.TOP_SHARD.getIndex()));
+    }
+  }
+
+  private void showFieldFootprints() {
+    Overview model = overviewModel;
+    // estimating the footprints reads the index files; it is run on demand only
+    showFootprintsBtn.setEnabled(false);
+    taskExecutor.submitLatest(FIELD_FOOTPRINTS_TASK, model::getFieldFootprints, footprints -> {
+      if (overviewModel != model) {
+        return;
+      }
+      showFootprintsBtn.setEnabled(true);
+      FieldFootprintsTableModel tableModel = new FieldFootprintsTableModel(footprints);
+      footprintsTable.setModel(tableModel);
+      footprintsTable.setRowSorter(new TableRowSorter<>(tableModel));
+      footprintsTable.getColumnModel().getColumn(FieldFootprintsTableModel.Column.NAME.getIndex()).setPreferredWidth(FieldFootprintsTableModel.Column.NAME.getColumnWidth());
+      messageBroker.clearStatusMessage();
+    }, e -> {
+      if (overviewModel == model) {
+        showFootprintsBtn.setEnabled(true);
+      }
+      ExceptionHandler.handle(e, messageBroker);
+    }, null);
   }
 
   private void browseByTerm() {
@@ -406,7 +540,7 @@ public final class OverviewPanelProvider implements Provider<JPanel> {
     if (row < 0 || row >= termCountsTable.getRowCount()) {
       throw new IllegalStateException("Field is not selected.");
     }
-    return (String) termCountsTable.getModel().getValueAt(row, TermCountsTableModel.Column.NAME.getIndex());
+    return (String) termCountsTable.getModel().getValueAt(termCountsTable.convertRowIndexToModel(row), TermCountsTableModel.Column.NAME.getIndex());
   }
 
   private String getSelectedTerm() {
@@ -437,6 +571,10 @@ public final class OverviewPanelProvider implements Provider<JPanel> {
       }
     }
 
+    void showFieldFootprints(ActionEvent e) {
+      OverviewPanelProvider.this.showFieldFootprints();
+    }
+
     void browseByTerm(ActionEvent e) {
       OverviewPanelProvider.this.browseByTerm();
     }
@@ -447,36 +585,110 @@ public final class OverviewPanelProvider implements Provider<JPanel> {
 
   }
 
+  /** Labels of the index summary, collected off the event dispatch thread. */
+  private static final class IndexSummary {
+
+    private final String indexPath;
+    private final String numFields;
+    private final String numDocs;
+    private final String delOpt;
+    private final String indexVer;
+    private final String indexFmt;
+    private final String dirImpl;
+    private final String commitPoint;
+    private final String commitUserData;
+
+    IndexSummary(Overview model) {
+      indexPath = model.getIndexPath();
+      numFields = Integer.toString(model.getNumFields());
+      numDocs = Integer.toString(model.getNumDocuments());
+      String del = model.hasDeletions() ? String.format(Locale.ENGLISH, "Yes (%d)", model.getNumDeletedDocs()) : "No";
+      String opt = model.isOptimized().map(b -> b ? "Yes" : "No").orElse("?");
+      delOpt = del + " / " + opt;
+      indexVer = model.getIndexVersion().map(v -> Long.toString(v)).orElse("?");
+      indexFmt = model.getIndexFormat().orElse("");
+      dirImpl = model.getDirImpl().orElse("");
+      commitPoint = model.getCommitDescription().orElse("---");
+      commitUserData = model.getCommitUserData().orElse("---");
+    }
+  }
+
   private class Observer implements IndexObserver {
 
     @Override
     public void openIndex(LukeState state) {
-      overviewModel = overviewFactory.newInstance(state.getIndexReader(), state.getIndexPath());
-
-      indexPathLbl.setText(overviewModel.getIndexPath());
-      indexPathLbl.setToolTipText(overviewModel.getIndexPath());
-      numFieldsLbl.setText(Integer.toString(overviewModel.getNumFields()));
-      numDocsLbl.setText(Integer.toString(overviewModel.getNumDocuments()));
-      numTermsLbl.setText(Long.toString(overviewModel.getNumTerms()));
-      String del = overviewModel.hasDeletions() ? String.format(Locale.ENGLISH, "Yes (%d)", overviewModel.getNumDeletedDocs()) : "No";
-      String opt = overviewModel.isOptimized().map(b -> b ? "Yes" : "No").orElse("?");
-      delOptLbl.setText(del + " / " + opt);
-      indexVerLbl.setText(overviewModel.getIndexVersion().map(v -> Long.toString(v)).orElse("?"));
-      indexFmtLbl.setText(overviewModel.getIndexFormat().orElse(""));
-      dirImplLbl.setText(overviewModel.getDirImpl().orElse(""));
-      commitPointLbl.setText(overviewModel.getCommitDescription().orElse("---"));
-      commitUserDataLbl.setText(overviewModel.getCommitUserData().orElse("---"));
-
-      // term counts table
-      Map<String, Long> termCounts = overviewModel.getSortedTermCounts(TermCountsOrder.COUNT_DESC);
-      long numTerms = overviewModel.getNumTerms();
-      termCountsTable.setModel(new TermCountsTableModel(numTerms, termCounts));
-      termCountsTable.setRowSorter(new TableRowSorter<>(termCountsTable.getModel()));
-      termCountsTable.getColumnModel().getColumn(TermCountsTableModel.Column.NAME.getIndex()).setMaxWidth(TermCountsTableModel.Column.NAME.getColumnWidth());
-      termCountsTable.getColumnModel().getColumn(TermCountsTableModel.Column.TERM_COUNT.getIndex()).setMaxWidth(TermCountsTableModel.Column.TERM_COUNT.getColumnWidth());
-      DefaultTableCellRenderer rightRenderer = new DefaultTableCellRenderer();
-      rightRenderer.setHorizontalAlignment(JLabel.RIGHT);
-      termCountsTable.getColumnModel().getColumn(TermCountsTableModel.Column.RATIO.getIndex()).setCellRenderer(rightRenderer);
+      setModel(overviewFactory.newInstance(state.getIndexReader(), state.getIndexPath(), prefs.getStatsCacheDir()));
+      setShards(shardsFactory.newInstance(state.getIndexReader()));
+    }
+
+    @Override
+    public void reopenIndex(LukeState state, ReaderDelta delta) {
+      if (overviewModel == null) {
+        openIndex(state);
+        return;
+      }
+      // term statistics of unchanged fields are carried over, and the counting for the old reader is stopped
+      Overview oldModel = overviewModel;
+      setModel(oldModel.reopen(state.getIndexReader(), delta));
+      oldModel.cancelTermCounts();
+      setShards(shardsFactory.newInstance(state.getIndexReader()));
+    }
+
+    private void setShards(Shards shards) {
+      shardNames = shards.getShardNames();
+      sharded = shards.isSharded();
+      shardsPanel.setVisible(sharded);
+      setTopTermsTable(new TopTermsTableModel());
+      if (!sharded) {
+        shardsTable.setRowSorter(null);
+        shardsTable.setModel(new ShardsTableModel());
+        return;
+      }
+      List<ShardStats> stats = shards.getShardStats();
+      setShardsTable(new ShardsTableModel(stats, null));
+
+      // unique terms per shard are counted in parallel, in background
+      Overview model = overviewModel;
+      taskExecutor.submit(shards::getTermCounts, termCounts -> {
+        if (overviewModel == model) {
+          setShardsTable(new ShardsTableModel(stats, termCounts));
+        }
+      });
+    }
+
+    private void setShardsTable(ShardsTableModel tableModel) {
+      shardsTable.setModel(tableModel);
+      TableRowSorter<ShardsTableModel> sorter = new TableRowSorter<>(tableModel);
+      shardsTable.setRowSorter(sorter);
+      shardsTable.getColumnModel().getColumn(ShardsTableModel.Column.NAME.getIndex()).setPreferredWidth(ShardsTableModel.Column.NAME.getColumnWidth());
+    }
+
+    private void setModel(Overview model) {
+      overviewModel = model;
+
+      // the index summary is collected in background
+      taskExecutor.submit(() -> new IndexSummary(model), summary -> {
+        if (overviewModel != model) {
+          return;
+        }
+        indexPathLbl.setText(summary.indexPath);
+        indexPathLbl.setToolTipText(summary.indexPath);
+        numFieldsLbl.setText(summary.numFields);
+        numDocsLbl.setText(summary.numDocs);
+        delOptLbl.setText(summary.delOpt);
+        indexVerLbl.setText(summary.indexVer);
+        indexFmtLbl.setText(summary.indexFmt);
+        dirImplLbl.setText(summary.dirImpl);
+        commitPointLbl.setText(summary.commitPoint);
+        commitUserDataLbl.setText(summary.commitUserData);
+      });
+
+      // term counts table; the counts are streamed in field by field
+      streamTermCounts(overviewModel);
+
+      // field footprints table; the footprints of the previous reader are stale
+      clearFieldFootprints();
+      showFootprintsBtn.setEnabled(true);
 
       // top terms table
       topTermsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -485,8 +697,63 @@ public final class OverviewPanelProvider implements Provider<JPanel> {
       topTermsTable.getColumnModel().setColumnMargin(StyleConstants.TABLE_COLUMN_MARGIN_DEFAULT);
     }
 
+    private void streamTermCounts(Overview model) {
+      int numFields = model.getNumFields();
+      TermCountsTableModel tableModel = new TermCountsTableModel();
+      setTermCountsTable(tableModel);
+      numTermsLbl.setText(MessageUtils.getLocalizedMessage("overview.message.counting_terms", 0, numFields));
+
+      // the table model is updated row by row, so that the sort order and the selection are kept
+      model.addTermCountsListener((field, count) -> SwingUtilities.invokeLater(() -> {
+        if (overviewModel != model) {
+          // the index has been closed or re-opened
+          return;
+        }
+        tableModel.setTermCount(field, count);
+        numTermsLbl.setText(MessageUtils.getLocalizedMessage("overview.message.counting_terms", tableModel.getRowCount(), numFields));
+      })).whenComplete((numTerms, e) -> SwingUtilities.invokeLater(() -> {
+        if (overviewModel != model) {
+          return;
+        }
+        if (e != null) {
+          numTermsLbl.setText("?");
+          ExceptionHandler.handle(e instanceof CompletionException ? e.getCause() : e, messageBroker);
+          return;
+        }
+        numTermsLbl.setText(Long.toString(numTerms));
+        model.getSortedTermCounts(TermCountsOrder.COUNT_DESC).forEach(tableModel::setTermCount);
+        tableModel.setNumTerms(numTerms);
+      }));
+    }
+
+    private void setTermCountsTable(TermCountsTableModel tableModel) {
+      // keep the sort order selected by the user when the index is reopened; the fields are sorted by term count by default
+      List<? extends RowSorter.SortKey> sortKeys = termCountsTable.getRowSorter() == null ?
+          Collections.emptyList() : termCountsTable.getRowSorter().getSortKeys();
+      if (sortKeys.isEmpty()) {
+        sortKeys = Collections.singletonList(new RowSorter.SortKey(TermCountsTableModel.Column.TERM_COUNT.getIndex(), SortOrder.DESCENDING));
+      }
+
+      termCountsTable.setModel(tableModel);
+      TableRowSorter<TermCountsTableModel> sorter = new TableRowSorter<>(tableModel);
+      sorter.setSortKeys(sortKeys);
+      // the term counts are updated while the table is shown
+      sorter.setSortsOnUpdates(true);
+      termCountsTable.setRowSorter(sorter);
+      termCountsTable.getColumnModel().getColumn(TermCountsTableModel.Column.NAME.getIndex()).setMaxWidth(TermCountsTableModel.Column.NAME.getColumnWidth());
+      termCountsTable.getColumnModel().getColumn(TermCountsTableModel.Column.TERM_COUNT.getIndex()).setMaxWidth(TermCountsTableModel.Column.TERM_COUNT.getColumnWidth());
+      DefaultTableCellRenderer rightRenderer = new DefaultTableCellRenderer();
+      rightRenderer.setHorizontalAlignment(JLabel.RIGHT);
+      termCountsTable.getColumnModel().getColumn(TermCountsTableModel.Column.RATIO.getIndex()).setCellRenderer(rightRenderer);
+    }
+
     @Override
     public void closeIndex() {
+      if (overviewModel != null) {
+        overviewModel.cancelTermCounts();
+      }
+      overviewModel = null;
+
       indexPathLbl.setText("");
       numFieldsLbl.setText("");
       numDocsLbl.setText("");
@@ -504,7 +771,22 @@ public final class OverviewPanelProvider implements Provider<JPanel> {
 
       termCountsTable.setRowSorter(null);
       termCountsTable.setModel(new TermCountsTableModel());
-      topTermsTable.setModel(new TopTermsTableModel());
+
+      shardNames = Collections.emptyList();
+      sharded = false;
+      setTopTermsTable(new TopTermsTableModel());
+      shardsTable.setRowSorter(null);
+      shardsTable.setModel(new ShardsTableModel());
+      shardsPanel.setVisible(false);
+
+      taskExecutor.cancel(FIELD_FOOTPRINTS_TASK);
+      clearFieldFootprints();
+      showFootprintsBtn.setEnabled(false);
+    }
+
+    private void clearFieldFootprints() {
+      footprintsTable.setRowSorter(null);
+      footprintsTable.setModel(new FieldFootprintsTableModel());
     }
 
   }
@@ -553,20 +835,54 @@ final class TermCountsTableModel extends TableModelBase<TermCountsTableModel.Col
     }
   }
 
+  // rows are added as the term counts are collected field by field
+  private final List<Object[]> rows = new ArrayList<>();
+
+  private final Map<String, Integer> rowIndexes = new HashMap<>();
+
   TermCountsTableModel() {
     super();
   }
 
-  TermCountsTableModel(double numTerms, Map<String, Long> termCounts) {
-    super(termCounts.size());
-    int i = 0;
-    for (Map.Entry<String, Long> e : termCounts.entrySet()) {
-      String term = e.getKey();
-      Long count = e.getValue();
-      data[i++] = new Object[]{term, count, String.format(Locale.ENGLISH, "%.2f %%", count / numTerms * 100)};
+  /**
+   * Adds or updates the term count of a field. The ratio is not known until {@link #setNumTerms(long)} is called.
+   */
+  void setTermCount(String field, long count) {
+    Integer row = rowIndexes.get(field);
+    if (row == null) {
+      rowIndexes.put(field, rows.size());
+      rows.add(new Object[]{field, count, ""});
+      fireTableRowsInserted(rows.size() - 1, rows.size() - 1);
+    } else if ((Long) rows.get(row)[Column.TERM_COUNT.getIndex()] != count) {
+      rows.get(row)[Column.TERM_COUNT.getIndex()] = count;
+      fireTableRowsUpdated(row, row);
     }
   }
 
+  /**
+   * Sets the total number of terms, and fills in the ratio of each field.
+   */
+  void setNumTerms(long numTerms) {
+    if (rows.isEmpty()) {
+      return;
+    }
+    for (Object[] row : rows) {
+      long count = (Long) row[Column.TERM_COUNT.getIndex()];
+      row[Column.RATIO.getIndex()] = String.format(Locale.ENGLISH, "%.2f %%", count / (double) numTerms * 100);
+    }
+    fireTableRowsUpdated(0, rows.size() - 1);
+  }
+
+  @Override
+  public int getRowCount() {
+    return rows.size();
+  }
+
+  @Override
+  public Object getValueAt(int rowIndex, int columnIndex) {
+    return rows.get(rowIndex)[columnIndex];
+  }
+
   @Override
   protected Column[] columnInfos() {
     return Column.values();
@@ -578,7 +894,8 @@ final class TopTermsTableModel extends TableModelBase<TopTermsTableModel.Column>
   enum Column implements TableColumnInfo {
     RANK("Rank", 0, Integer.class, 50),
     FREQ("Freq", 1, Integer.class, 80),
-    TEXT("Text", 2, String.class, Integer.MAX_VALUE);
+    TOP_SHARD("Top shard", 2, String.class, 200),
+    TEXT("Text", 3, String.class, Integer.MAX_VALUE);
 
     private final String colName;
     private final int index;
@@ -617,13 +934,101 @@ final class TopTermsTableModel extends TableModelBase<TopTermsTableModel.Column>
     super();
   }
 
-  TopTermsTableModel(List<TermStats> termStats, int numTerms) {
+  TopTermsTableModel(List<TermStats> termStats, int numTerms, List<String> shardNames) {
     super(Math.min(numTerms, termStats.size()));
     for (int i = 0; i < data.length; i++) {
       int rank = i + 1;
       int freq = termStats.get(i).getDocFreq();
+      String topShard = topShard(termStats.get(i), shardNames);
       String termText = termStats.get(i).getDecodedTermText();
-      data[i] = new Object[]{rank, freq, termText};
+      data[i] = new Object[]{rank, freq, topShard, termText};
+    }
+  }
+
+  /** Returns the shard holding the most documents of the term, with its share; a term concentrated in one shard signals skew. */
+  private static String topShard(TermStats stats, List<String> shardNames) {
+    List<Integer> dfs = stats.getShardDocFreqs();
+    if (dfs.isEmpty() || dfs.size() != shardNames.size() || stats.getDocFreq() == 0) {
+      return "";
+    }
+    int top = 0;
+    for (int i = 1; i < dfs.size(); i++) {
+      if (dfs.get(i) > dfs.get(top)) {
+        top = i;
+      }
+    }
+    return String.format(Locale.ENGLISH, "%s (%.0f %%)", shardNames.get(top), dfs.get(top) * 100.0 / stats.getDocFreq());
+  }
+
+  @Override
+  protected Column[] columnInfos() {
+    return Column.values();
+  }
+}
+
+final class FieldFootprintsTableModel extends TableModelBase<FieldFootprintsTableModel.Column> {
+
+  enum Column implements TableColumnInfo {
+
+    NAME("Field", 0, String.class, 150),
+    TOTAL("Total (bytes)", 1, Long.class, 100),
+    TERMS("Terms", 2, Long.class, 80),
+    POSTINGS("Postings", 3, Long.class, 80),
+    STORED_FIELDS("Stored fields", 4, Long.class, 80),
+    DOC_VALUES("Doc values", 5, Long.class, 80),
+    NORMS("Norms", 6, Long.class, 80),
+    POINTS("Points", 7, Long.class, 80),
+    TERM_VECTORS("Term vectors", 8, Long.class, 80);
+
+    private final String colName;
+    private final int index;
+    private final Class<?> type;
+    private final int width;
+
+    Column(String colName, int index, Class<?> type, int width) {
+      this.colName = colName;
+      this.index = index;
+      this.type = type;
+      this.width = width;
+    }
+
+    @Override
+    public String getColName() {
+      return colName;
+    }
+
+    @Override
+    public int getIndex() {
+      return index;
+    }
+
+    @Override
+    public Class<?> getType() {
+      return type;
+    }
+
+    @Override
+    public int getColumnWidth() {
+      return width;
+    }
+  }
+
+  FieldFootprintsTableModel() {
+    super();
+  }
+
+  FieldFootprintsTableModel(List<FieldFootprint> footprints) {
+    super(footprints.size());
+    for (int i = 0; i < footprints.size(); i++) {
+      FieldFootprint fp = footprints.get(i);
+      data[i] = new Object[]{fp.getField(), fp.getTotalBytes(),
+          fp.getBytes(FieldFootprint.Category.TERMS),
+          fp.getBytes(FieldFootprint.Category.POSTINGS),
+          fp.getBytes(FieldFootprint.Category.STORED_FIELDS),
+          fp.getBytes(FieldFootprint.Category.DOC_VALUES),
+          fp.getBytes(FieldFootprint.Category.NORMS),
+          fp.getBytes(FieldFootprint.Category.POINTS),
+          fp.getBytes(FieldFootprint.Category.TERM_VECTORS)};
     }
   }
 
@@ -631,4 +1036,74 @@ final class TopTermsTableModel extends TableModelBase<TopTermsTableModel.Column>
   protected Column[] columnInfos() {
     return Column.values();
   }
-}
\ No newline at end of file
+}
+
+final class ShardsTableModel extends TableModelBase<ShardsTableModel.Column> {
+
+  enum Column implements TableColumnInfo {
+
+    NAME("Shard", 0, String.class, 200),
+    DOCS("Docs", 1, Integer.class, 80),
+    DELETED("Deleted", 2, Integer.class, 60),
+    SEGMENTS("Segments", 3, Integer.class, 60),
+    TERMS("Terms", 4, Long.class, 80),
+    SKEW("Skew", 5, Double.class, 60);
+
+    private final String colName;
+    private final int index;
+    private final Class<?> type;
+    private final int width;
+
+    Column(String colName, int index, Class<?> type, int width) {
+      this.colName = colName;
+      this.index = index;
+      this.type = type;
+      this.width = width;
+    }
+
+    @Override
+    public String getColName() {
+      return colName;
+    }
+
+    @Override
+    public int getIndex() {
+      return index;
+    }
+
+    @Override
+    public Class<?> getType() {
+      return type;
+    }
+
+    @Override
+    public int getColumnWidth() {
+      return width;
+    }
+  }
+
+  ShardsTableModel() {
+    super();
+  }
+
+  /**
+   * @param stats - statistics of the shards
+   * @param termCounts - term counts by field for each shard, or null if not yet counted
+   */
+  ShardsTableModel(List<ShardStats> stats, Map<String, Map<String, Long>> termCounts) {
+    super(stats.size());
+    for (int i = 0; i < stats.size(); i++) {
+      ShardStats shard = stats.get(i);
+      Long numTerms = termCounts == null ? null :
+          termCounts.getOrDefault(shard.getName(), Collections.emptyMap()).values().stream().mapToLong(Long::longValue).sum();
+      // rounded for display; the column is sorted numerically
+      double skew = Math.round(shard.getDocsSkew() * 100) / 100.0;
+      data[i] = new Object[]{shard.getName(), shard.getNumDocs(), shard.getNumDeletedDocs(), shard.getNumSegments(), numTerms, skew};
+    }
+  }
+
+  @Override
+  protected Column[] columnInfos() {
+    return Column.values();
+  }
+}
@@ -28,6 +28,8 @@ import org.apache.lucene.luke.app.IndexHandler;
 import org.apache.lucene.luke.app.IndexObserver;
 import org.apache.lucene.luke.app.LukeState;
 import org.apache.lucene.luke.app.desktop.MessageBroker;
+import org.apache.lucene.luke.app.desktop.Preferences;
+import org.apache.lucene.luke.app.desktop.TaskExecutor;
 import org.apache.lucene.luke.app.desktop.components.dialog.ConfirmDialogFactory;
 import org.apache.lucene.luke.app.desktop.components.dialog.search.ExplainDialogProvider;
 import org.apache.lucene.luke.app.desktop.components.fragments.search.FieldValuesTabOperator;
@@ -36,10 +38,12 @@ import org.apache.lucene.luke.app.desktop.components.fragments.search.QueryParse
 import org.apache.lucene.luke.app.desktop.components.fragments.search.SimilarityTabOperator;
 import org.apache.lucene.luke.app.desktop.components.fragments.search.SortTabOperator;
 import org.apache.lucene.luke.app.desktop.util.DialogOpener;
+import org.apache.lucene.luke.app.desktop.util.ExceptionHandler;
 import org.apache.lucene.luke.app.desktop.util.ImageUtils;
 import org.apache.lucene.luke.app.desktop.util.MessageUtils;
 import org.apache.lucene.luke.app.desktop.util.TableUtils;
 import org.apache.lucene.luke.models.LukeException;
+import org.apache.lucene.luke.models.ReaderDelta;
 import org.apache.lucene.luke.models.search.MLTConfig;
 import org.apache.lucene.luke.models.search.QueryParserConfig;
 import org.apache.lucene.luke.models.search.Search;
@@ -63,11 +67,13 @@ import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JSeparator;
+import javax.swing.JSpinner;
 import javax.swing.JSplitPane;
 import javax.swing.JTabbedPane;
 import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.ListSelectionModel;
+import javax.swing.SpinnerNumberModel;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
@@ -85,22 +91,34 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public final class SearchPanelProvider implements Provider<JPanel>, SearchTabOperator {
 
   private static final int DEFAULT_PAGE_SIZE = 10;
 
+  private static final int MAX_TIMEOUT_SECS = 3600;
+
+  private static final String SEARCH_TASK = "search";
+
   private final SearchFactory searchFactory;
 
+  private final Preferences prefs;
+
   private final IndexToolsFactory toolsFactory;
 
   private final IndexHandler indexHandler;
 
   private final MessageBroker messageBroker;
 
+  private final TaskExecutor taskExecutor;
+
   private final TabSwitcherProxy tabSwitcher;
 
   private final ComponentOperatorRegistry operatorRegistry;
@@ -137,6 +155,8 @@ public final class SearchPanelProvider implements Provider<JPanel>, SearchTabOpe
 
   private final JButton mltBtn = new JButton();
 
+  private final JSpinner timeoutSpnr = new JSpinner();
+
   private final JFormattedTextField mltDocFTF = new JFormattedTextField();
 
   private final JLabel totalHitsLbl = new JLabel();
@@ -161,9 +181,11 @@ public final class SearchPanelProvider implements Provider<JPanel>, SearchTabOpe
 
   @Inject
   public SearchPanelProvider(SearchFactory searchFactory,
+                             Preferences prefs,
                              IndexToolsFactory toolsFactory,
                              IndexHandler indexHandler,
                              MessageBroker messageBroker,
+                             TaskExecutor taskExecutor,
                              TabSwitcherProxy tabSwitcher,
                              ComponentOperatorRegistry operatorRegistry,
                              ConfirmDialogFactory confirmDialogFactory,
@@ -175,9 +197,11 @@ public final class SearchPanelProvider implements Provider<JPanel>, SearchTabOpe
                              @Named("search_values") JScrollPane values,
                              @Named("search_mlt") JScrollPane mlt) {
     this.searchFactory = searchFactory;
+    this.prefs = prefs;
     this.toolsFactory = toolsFactory;
     this.indexHandler = indexHandler;
     this.messageBroker = messageBroker;
+    this.taskExecutor = taskExecutor;
     this.tabSwitcher = tabSwitcher;
     this.operatorRegistry = operatorRegistry;
     this.confirmDialogFactory = confirmDialogFactory;
@@ -313,6 +337,19 @@ public final class SearchPanelProvider implements Provider<JPanel>, SearchTabOpe
     c.insets = new Insets(5, 0, 5, 0);
     panel.add(searchBtn, c);
 
+    JPanel timeout = new JPanel(new FlowLayout(FlowLayout.LEADING));
+    timeout.add(new JLabel(MessageUtils.getLocalizedMessage("search.label.timeout")));
+    // zero means no time limit
+    timeoutSpnr.setModel(new SpinnerNumberModel(0, 0, MAX_TIMEOUT_SECS, 1));
+    timeoutSpnr.setPreferredSize(new Dimension(60, 25));
+    timeout.add(timeoutSpnr);
+    c.gridx = 1;
+    c.gridy = 5;
+    c.gridwidth = 2;
+    c.weightx = 0.0;
+    c.insets = new Insets(5, 0, 5, 0);
+    panel.add(timeout, c);
+
     mltBtn.setText(MessageUtils.getLocalizedMessage("search.button.mlt"));
     mltBtn.setIcon(ImageUtils.createImageIcon("/img/icon_heart_alt.png", 20, 20));
     mltBtn.setFont(new Font(mltBtn.getFont().getFontName(), Font.PLAIN, 15));
@@ -425,7 +462,8 @@ public final class SearchPanelProvider implements Provider<JPanel>, SearchTabOpe
           }
         },
         SearchResultsTableModel.Column.DOCID.getColumnWidth(),
-        SearchResultsTableModel.Column.SCORE.getColumnWidth());
+        SearchResultsTableModel.Column.SCORE.getColumnWidth(),
+        SearchResultsTableModel.Column.SHARD.getColumnWidth());
     JScrollPane scrollPane = new JScrollPane(resultsTable);
     panel.add(scrollPane, BorderLayout.CENTER);
 
@@ -500,24 +538,66 @@ public final class SearchPanelProvider implements Provider<JPanel>, SearchTabOpe
     Set<String> fieldsToLoad = operatorRegistry.get(FieldValuesTabOperator.class)
         .map(FieldValuesTabOperator::getFieldsToLoad)
         .orElse(Collections.emptySet());
-    SearchResults results = searchModel.search(query, simConfig, sort, fieldsToLoad, DEFAULT_PAGE_SIZE);
-
-    TableUtils.setupTable(resultsTable, ListSelectionModel.SINGLE_SELECTION, new SearchResultsTableModel(), null,
-        SearchResultsTableModel.Column.DOCID.getColumnWidth(),
-        SearchResultsTableModel.Column.SCORE.getColumnWidth());
-    populateResults(results);
-
-    messageBroker.clearStatusMessage();
+    long timeoutMillis = timeoutMillis();
+    Search model = searchModel;
+    runSearchTask(() -> model.search(query, simConfig, sort, fieldsToLoad, DEFAULT_PAGE_SIZE, timeoutMillis).loadFieldValues(),
+        this::showResults);
   }
 
   private void nextPage() {
-    searchModel.nextPage().ifPresent(this::populateResults);
-    messageBroker.clearStatusMessage();
+    Search model = searchModel;
+    runSearchTask(() -> model.nextPage().map(SearchResults::loadFieldValues), res -> {
+      res.ifPresent(this::populateResults);
+      showSearchStatus(res.orElse(null));
+    });
   }
 
   private void prevPage() {
-    searchModel.prevPage().ifPresent(this::populateResults);
-    messageBroker.clearStatusMessage();
+    Search model = searchModel;
+    runSearchTask(() -> model.prevPage().map(SearchResults::loadFieldValues), res -> {
+      res.ifPresent(this::populateResults);
+      showSearchStatus(res.orElse(null));
+    });
+  }
+
+  /**
+   * Runs a search in background. The previous search is stopped if it has not been completed yet,
+   * and the results for an index which has been closed are discarded.
+   */
+  private <T> void runSearchTask(Callable<T> task, Consumer<T> onSuccess) {
+    Search model = searchModel;
+    // the previous search shares the model's cancel flag, and it is still running until this task is started;
+    // a cancel request issued before this task is started drops the task instead of setting the flag
+    taskExecutor.submitLatest(SEARCH_TASK, () -> {
+      model.resetCancel();
+      return task.call();
+    }, result -> {
+      if (model == searchModel) {
+        onSuccess.accept(result);
+      }
+    }, e -> ExceptionHandler.handle(e, messageBroker), model::cancel);
+  }
+
+  private long timeoutMillis() {
+    return TimeUnit.SECONDS.toMillis((Integer) timeoutSpnr.getValue());
+  }
+
+  private void showSearchStatus(SearchResults res) {
+    if (res != null && res.isPartial()) {
+      messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("search.message.partial_results"));
+    } else {
+      messageBroker.clearStatusMessage();
+    }
+  }
+
+  private void showResults(SearchResults results) {
+    TableUtils.setupTable(resultsTable, ListSelectionModel.SINGLE_SELECTION, new SearchResultsTableModel(), null,
+        SearchResultsTableModel.Column.DOCID.getColumnWidth(),
+        SearchResultsTableModel.Column.SCORE.getColumnWidth(),
+        SearchResultsTableModel.Column.SHARD.getColumnWidth());
+    populateResults(results);
+
+    showSearchStatus(results);
   }
 
   private void doMLTSearch() {
@@ -531,18 +611,16 @@ public final class SearchPanelProvider implements Provider<JPanel>, SearchTabOpe
     Analyzer analyzer = operatorRegistry.get(AnalysisTabOperator.class)
         .map(AnalysisTabOperator::getCurrentAnalyzer)
         .orElse(new StandardAnalyzer());
-    Query query = searchModel.mltQuery(docNum, mltConfig, analyzer);
     Set<String> fieldsToLoad = operatorRegistry.get(FieldValuesTabOperator.class)
         .map(FieldValuesTabOperator::getFieldsToLoad)
         .orElse(Collections.emptySet());
-    SearchResults results = searchModel.search(query, new SimilarityConfig.Builder().build(), fieldsToLoad, DEFAULT_PAGE_SIZE);
-
-    TableUtils.setupTable(resultsTable, ListSelectionModel.SINGLE_SELECTION, new SearchResultsTableModel(), null,
-        SearchResultsTableModel.Column.DOCID.getColumnWidth(),
-        SearchResultsTableModel.Column.SCORE.getColumnWidth());
-    populateResults(results);
-
-    messageBroker.clearStatusMessage();
+    long timeoutMillis = timeoutMillis();
+    Search model = searchModel;
+    runSearchTask(() -> {
+      Query query = model.mltQuery(docNum, mltConfig, analyzer);
+      return model.search(query, new SimilarityConfig.Builder().build(), null, fieldsToLoad, DEFAULT_PAGE_SIZE, timeoutMillis)
+          .loadFieldValues();
+    }, this::showResults);
   }
 
   private Query parse(boolean rewrite) {
@@ -566,7 +644,8 @@ public final class SearchPanelProvider implements Provider<JPanel>, SearchTabOpe
       endLbl.setText(String.valueOf(res.getOffset() + res.size()));
 
       prevBtn.setEnabled(res.getOffset() > 0);
-      nextBtn.setEnabled(res.getTotalHits() > res.getOffset() + res.size());
+      // partial total hits may be less than the actual hits
+      nextBtn.setEnabled(res.isPartial() || res.getTotalHits() > res.getOffset() + res.size());
 
       if (!indexHandler.getState().readOnly() && indexHandler.getState().hasDirectoryReader()) {
         delBtn.setEnabled(true);
@@ -575,6 +654,7 @@ public final class SearchPanelProvider implements Provider<JPanel>, SearchTabOpe
       resultsTable.setModel(new SearchResultsTableModel(res));
       resultsTable.getColumnModel().getColumn(SearchResultsTableModel.Column.DOCID.getIndex()).setPreferredWidth(SearchResultsTableModel.Column.DOCID.getColumnWidth());
       resultsTable.getColumnModel().getColumn(SearchResultsTableModel.Column.SCORE.getIndex()).setPreferredWidth(SearchResultsTableModel.Column.SCORE.getColumnWidth());
+      resultsTable.getColumnModel().getColumn(SearchResultsTableModel.Column.SHARD.getIndex()).setPreferredWidth(SearchResultsTableModel.Column.SHARD.getColumnWidth());
       resultsTable.getColumnModel().getColumn(SearchResultsTableModel.Column.VALUE.getIndex()).setPreferredWidth(SearchResultsTableModel.Column.VALUE.getColumnWidth());
     } else {
       startLbl.setText("0");
@@ -595,9 +675,12 @@ public final class SearchPanelProvider implements Provider<JPanel>, SearchTabOpe
   private void deleteDocs() {
     Query query = searchModel.getCurrentQuery();
     if (query != null) {
-      toolsModel.deleteDocuments(query);
-      indexHandler.reOpen();
-      messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("search.message.delete_success", query.toString()));
+      IndexTools model = toolsModel;
+      taskExecutor.submit(() -> {
+        model.deleteDocuments(query);
+        indexHandler.reOpen();
+        return null;
+      }, result -> messageBroker.showStatusMessage(MessageUtils.getLocalizedMessage("search.message.delete_success", query.toString())));
     }
     delBtn.setEnabled(false);
   }
@@ -688,8 +771,28 @@ public final class SearchPanelProvider implements Provider<JPanel>, SearchTabOpe
 
     @Override
     public void openIndex(LukeState state) {
-      searchModel = searchFactory.newInstance(state.getIndexReader());
-      toolsModel = toolsFactory.newInstance(state.getIndexReader(), state.useCompound(), state.keepAllCommits());
+      setModels(searchFactory.newInstance(state.getIndexReader(),
+          prefs.getSearchThreads(), prefs.getMaxDocsPerSlice(), prefs.getMaxSegmentsPerSlice()), state);
+      queryStringTA.setText("*:*");
+    }
+
+    @Override
+    public void reopenIndex(LukeState state, ReaderDelta delta) {
+      if (searchModel == null) {
+        openIndex(state);
+        return;
+      }
+      // the query cache and field lists are carried over; the results are cleared since doc ids may be changed
+      Search reopened = searchModel.reopen(state.getIndexReader(), delta);
+      String queryString = queryStringTA.getText();
+      closeIndex();
+      setModels(reopened, state);
+      queryStringTA.setText(queryString);
+    }
+
+    private void setModels(Search model, LukeState state) {
+      searchModel = model;
+      toolsModel = toolsFactory.newInstance(state.getIndexReader(), state.useCompound(), state.keepAllCommits(), state.getEditingSession());
       operatorRegistry.get(QueryParserTabOperator.class).ifPresent(operator -> {
         operator.setSearchableFields(searchModel.getSearchableFieldNames());
         operator.setRangeSearchableFields(searchModel.getRangeSearchableFieldNames());
@@ -705,7 +808,6 @@ public final class SearchPanelProvider implements Provider<JPanel>, SearchTabOpe
         operator.setFields(searchModel.getFieldNames());
       });
 
-      queryStringTA.setText("*:*");
       parsedQueryTA.setText("");
       parseBtn.setEnabled(true);
       searchBtn.setEnabled(true);
@@ -714,6 +816,7 @@ public final class SearchPanelProvider implements Provider<JPanel>, SearchTabOpe
 
     @Override
     public void closeIndex() {
+      taskExecutor.cancel(SEARCH_TASK);
       searchModel = null;
       toolsModel = null;
 
@@ -730,7 +833,8 @@ public final class SearchPanelProvider implements Provider<JPanel>, SearchTabOpe
       delBtn.setEnabled(false);
       TableUtils.setupTable(resultsTable, ListSelectionModel.SINGLE_SELECTION, new SearchResultsTableModel(), null,
           SearchResultsTableModel.Column.DOCID.getColumnWidth(),
-          SearchResultsTableModel.Column.SCORE.getColumnWidth());
+          SearchResultsTableModel.Column.SCORE.getColumnWidth(),
+          SearchResultsTableModel.Column.SHARD.getColumnWidth());
     }
 
   }
@@ -756,7 +860,8 @@ final class SearchResultsTableModel extends TableModelBase<SearchResultsTableMod
   enum Column implements TableColumnInfo {
     DOCID("Doc ID", 0, Integer.class, 50),
     SCORE("Score", 1, Float.class, 100),
-    VALUE("Field Values", 2, String.class, 800);
+    SHARD("Shard", 2, String.class, 120),
+    VALUE("Field Values", 3, String.class, 800);
 
     private final String colName;
     private final int index;
@@ -797,22 +902,29 @@ final class SearchResultsTableModel extends TableModelBase<SearchResultsTableMod
 
   SearchResultsTableModel(SearchResults results) {
     super(results.size());
-    for (int i = 0; i < results.size(); i++) {
-      SearchResults.Doc doc = results.getHits().get(i);
+    List<SearchResults.Doc> hits = results.getHits();
+    for (int i = 0; i < hits.size(); i++) {
+      SearchResults.Doc doc = hits.get(i);
       data[i][Column.DOCID.getIndex()] = doc.getDocId();
       if (!Float.isNaN(doc.getScore())) {
         data[i][Column.SCORE.getIndex()] = doc.getScore();
       } else {
         data[i][Column.SCORE.getIndex()] = 1.0f;
       }
-      List<String> concatValues = doc.getFieldValues().entrySet().stream().map(e -> {
-        String v = String.join(",", Arrays.asList(e.getValue()));
-        return e.getKey() + "=" + v + ";";
-      }).collect(Collectors.toList());
-      data[i][Column.VALUE.getIndex()] = String.join(" ", concatValues);
+      data[i][Column.SHARD.getIndex()] = doc.getShard().orElse("");
+      // stored fields have been loaded by the search task; the index is never read on the event dispatch thread
+      data[i][Column.VALUE.getIndex()] = doc.getLoadedFieldValues().map(SearchResultsTableModel::concatValues).orElse("");
     }
   }
 
+  private static String concatValues(Map<String, String[]> fieldValues) {
+    List<String> concatValues = fieldValues.entrySet().stream().map(e -> {
+      String v = String.join(",", Arrays.asList(e.getValue()));
+      return e.getKey() + "=" + v + ";";
+    }).collect(Collectors.toList());
+    return String.join(" ", concatValues);
+  }
+
   @Override
   protected Column[] columnInfos() {
     return Column.values();
@@ -409,7 +409,7 @@ public final class AddDocumentDialogFactory implements DialogOpener.DialogFactor
 
     @Override
     public void openIndex(LukeState state) {
-      toolsModel = toolsFactory.newInstance(state.getIndexReader(), state.useCompound(), state.keepAllCommits());
+      toolsModel = toolsFactory.newInstance(state.getIndexReader(), state.useCompound(), state.keepAllCommits(), state.getEditingSession());
     }
 
     @Override
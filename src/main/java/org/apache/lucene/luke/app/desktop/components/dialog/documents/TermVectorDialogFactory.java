@@ -22,7 +22,7 @@ import org.apache.lucene.luke.app.desktop.components.TableModelBase;
 import org.apache.lucene.luke.app.desktop.util.DialogOpener;
 import org.apache.lucene.luke.app.desktop.util.MessageUtils;
 import org.apache.lucene.luke.app.desktop.util.TableUtils;
-import org.apache.lucene.luke.models.documents.TermVectorEntry;
+import org.apache.lucene.luke.models.documents.TermVectorPage;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -38,9 +38,8 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Insets;
 import java.awt.Window;
-import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 public final class TermVectorDialogFactory implements DialogOpener.DialogFactory {
 
@@ -48,12 +47,38 @@ public final class TermVectorDialogFactory implements DialogOpener.DialogFactory
 
   private String field;
 
-  private List<TermVectorEntry> tvEntries;
+  private TermVectorPage firstPage;
+
+  private PageLoader pageLoader;
+
+  private final JTable tvTable = new JTable();
+
+  private final JLabel pageLbl = new JLabel();
+
+  private final JButton firstPageBtn = new JButton();
+
+  private final JButton nextPageBtn = new JButton();
+
+  private TermVectorPage page;
+
+  private int offset;
+
+  /**
+   * Loads a term vector page in background.
+   */
+  public interface PageLoader {
+
+    /**
+     * @param after - the last term of the previous page, or null for the first page
+     * @param callback - receives the loaded page on the event dispatch thread
+     */
+    void load(String after, Consumer<TermVectorPage> callback);
+  }
 
   @Override
   public JDialog create(Window owner, String title, int width, int height) {
-    if (Objects.isNull(field) || Objects.isNull(tvEntries)) {
-      throw new IllegalStateException("field name and/or term vector is not set.");
+    if (Objects.isNull(field) || Objects.isNull(firstPage) || Objects.isNull(pageLoader)) {
+      throw new IllegalStateException("field name, term vector and/or page loader is not set.");
     }
 
     dialog = new JDialog(owner, title, Dialog.ModalityType.APPLICATION_MODAL);
@@ -72,27 +97,67 @@ public final class TermVectorDialogFactory implements DialogOpener.DialogFactory
     header.add(new JLabel(field));
     panel.add(header, BorderLayout.PAGE_START);
 
-    JTable tvTable = new JTable();
-    TableUtils.setupTable(tvTable, ListSelectionModel.SINGLE_SELECTION, new TermVectorTableModel(tvEntries), null, 100, 50, 100);
     JScrollPane scrollPane = new JScrollPane(tvTable);
     panel.add(scrollPane, BorderLayout.CENTER);
 
-    JPanel footer = new JPanel(new FlowLayout(FlowLayout.TRAILING, 0, 10));
+    JPanel footer = new JPanel(new BorderLayout());
+
+    JPanel paging = new JPanel(new FlowLayout(FlowLayout.LEADING, 5, 10));
+    firstPageBtn.setText(MessageUtils.getLocalizedMessage("documents.termvector.button.first_page"));
+    firstPageBtn.setMargin(new Insets(3, 3, 3, 3));
+    firstPageBtn.addActionListener(e -> showPage(firstPage, 0));
+    paging.add(firstPageBtn);
+    paging.add(pageLbl);
+    nextPageBtn.setText(MessageUtils.getLocalizedMessage("documents.termvector.button.next_page"));
+    nextPageBtn.setMargin(new Insets(3, 3, 3, 3));
+    nextPageBtn.addActionListener(e -> loadNextPage());
+    paging.add(nextPageBtn);
+    footer.add(paging, BorderLayout.LINE_START);
+
+    JPanel closePane = new JPanel(new FlowLayout(FlowLayout.TRAILING, 0, 10));
     JButton closeBtn = new JButton(MessageUtils.getLocalizedMessage("button.close"));
     closeBtn.setMargin(new Insets(3, 3, 3, 3));
     closeBtn.addActionListener(e -> dialog.dispose());
-    footer.add(closeBtn);
+    closePane.add(closeBtn);
+    footer.add(closePane, BorderLayout.LINE_END);
     panel.add(footer, BorderLayout.PAGE_END);
 
+    showPage(firstPage, 0);
+
     return panel;
   }
 
+  private void showPage(TermVectorPage page, int offset) {
+    this.page = page;
+    this.offset = offset;
+    TableUtils.setupTable(tvTable, ListSelectionModel.SINGLE_SELECTION, new TermVectorTableModel(page), null, 100, 50, 100);
+    pageLbl.setText(MessageUtils.getLocalizedMessage("documents.termvector.label.page", offset + 1, offset + page.size()));
+    firstPageBtn.setEnabled(offset > 0);
+    nextPageBtn.setEnabled(page.hasMore());
+  }
+
+  private void loadNextPage() {
+    TermVectorPage current = page;
+    int nextOffset = offset + current.size();
+    // only one page is requested at a time
+    nextPageBtn.setEnabled(false);
+    pageLoader.load(current.getLastTermText(), next -> {
+      if (page == current) {
+        showPage(next, nextOffset);
+      }
+    });
+  }
+
   public void setField(String field) {
     this.field = field;
   }
 
-  public void setTvEntries(List<TermVectorEntry> tvEntries) {
-    this.tvEntries = tvEntries;
+  public void setFirstPage(TermVectorPage firstPage) {
+    this.firstPage = firstPage;
+  }
+
+  public void setPageLoader(PageLoader pageLoader) {
+    this.pageLoader = pageLoader;
   }
 }
 
@@ -135,26 +200,35 @@ final class TermVectorTableModel extends TableModelBase<TermVectorTableModel.Col
     super();
   }
 
-  TermVectorTableModel(List<TermVectorEntry> tvEntries) {
-    super(tvEntries.size());
-
-    for (int i = 0; i < tvEntries.size(); i++) {
-      TermVectorEntry entry = tvEntries.get(i);
-
-      String termText = entry.getTermText();
-      long freq = tvEntries.get(i).getFreq();
-      String positions = String.join(",",
-          entry.getPositions().stream()
-              .map(pos -> Integer.toString(pos.getPosition()))
-              .collect(Collectors.toList()));
-      String offsets = String.join(",",
-          entry.getPositions().stream()
-              .filter(pos -> pos.getStartOffset().isPresent() && pos.getEndOffset().isPresent())
-              .map(pos -> Integer.toString(pos.getStartOffset().orElse(-1)) + "-" + Integer.toString(pos.getEndOffset().orElse(-1)))
-              .collect(Collectors.toList())
-      );
-
-      data[i] = new Object[]{termText, freq, positions, offsets};
+  TermVectorTableModel(TermVectorPage page) {
+    super(page.size());
+
+    int[] freqs = page.getFreqs();
+    int[] positions = page.getPositions();
+    int[] startOffsets = page.getStartOffsets();
+    int[] endOffsets = page.getEndOffsets();
+    for (int i = 0; i < page.size(); i++) {
+      int start = page.getPositionStart(i);
+      int end = start + freqs[i];
+
+      StringBuilder posText = new StringBuilder();
+      StringBuilder offsetsText = new StringBuilder();
+      for (int j = start; j < end; j++) {
+        if (j > start) {
+          posText.append(',');
+          offsetsText.append(',');
+        }
+        if (positions.length > 0) {
+          posText.append(positions[j]);
+        }
+        if (startOffsets.length > 0) {
+          offsetsText.append(startOffsets[j]).append('-').append(endOffsets[j]);
+        }
+      }
+
+      data[i] = new Object[]{page.getTermText(i), (long) freqs[i],
+          positions.length > 0 ? posText.toString() : "",
+          startOffsets.length > 0 ? offsetsText.toString() : ""};
     }
 
   }
@@ -24,12 +24,14 @@ import org.apache.lucene.luke.app.DirectoryObserver;
 import org.apache.lucene.luke.app.IndexHandler;
 import org.apache.lucene.luke.app.IndexObserver;
 import org.apache.lucene.luke.app.LukeState;
+import org.apache.lucene.luke.app.desktop.TaskExecutor;
 import org.apache.lucene.luke.app.desktop.util.DialogOpener;
 import org.apache.lucene.luke.app.desktop.util.ImageUtils;
 import org.apache.lucene.luke.app.desktop.util.MessageUtils;
 import org.apache.lucene.luke.app.desktop.util.TextAreaPrintStream;
 import org.apache.lucene.luke.models.tools.IndexTools;
 import org.apache.lucene.luke.models.tools.IndexToolsFactory;
+import org.apache.lucene.luke.util.DirectoryConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,7 +45,6 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JSeparator;
 import javax.swing.JTextArea;
-import javax.swing.SwingWorker;
 import java.awt.BorderLayout;
 import java.awt.Dialog;
 import java.awt.Dimension;
@@ -56,8 +57,6 @@ import java.awt.event.ActionEvent;
 import java.io.ByteArrayOutputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public final class CheckIndexDialogFactory implements DialogOpener.DialogFactory {
 
@@ -67,6 +66,8 @@ public final class CheckIndexDialogFactory implements DialogOpener.DialogFactory
 
   private final IndexHandler indexHandler;
 
+  private final TaskExecutor taskExecutor;
+
   private final JLabel resultLbl = new JLabel();
 
   private final JLabel statusLbl = new JLabel();
@@ -88,9 +89,11 @@ public final class CheckIndexDialogFactory implements DialogOpener.DialogFactory
   private final ListenerFunctions listeners = new ListenerFunctions();
 
   @Inject
-  public CheckIndexDialogFactory(IndexToolsFactory indexToolsFactory, IndexHandler indexHandler, DirectoryHandler directoryHandler) {
+  public CheckIndexDialogFactory(IndexToolsFactory indexToolsFactory, IndexHandler indexHandler, DirectoryHandler directoryHandler,
+                                 TaskExecutor taskExecutor) {
     this.indexToolsFactory = indexToolsFactory;
     this.indexHandler = indexHandler;
+    this.taskExecutor = taskExecutor;
 
     indexHandler.addObserver(new Observer());
     directoryHandler.addObserver(new Observer());
@@ -234,52 +237,32 @@ public final class CheckIndexDialogFactory implements DialogOpener.DialogFactory
   private class ListenerFunctions {
 
     void checkIndex(ActionEvent e) {
-      ExecutorService executor = Executors.newSingleThreadExecutor();
-
-      SwingWorker<CheckIndex.Status, Void> task = new SwingWorker<CheckIndex.Status, Void>() {
-
-        @Override
-        protected CheckIndex.Status doInBackground() {
-          setProgress(0);
-          statusLbl.setText("Running...");
-          indicatorLbl.setVisible(true);
-          TextAreaPrintStream ps;
-          try {
-            ps = new TextAreaPrintStream(logArea, new ByteArrayOutputStream(), StandardCharsets.UTF_8, logger);
-            CheckIndex.Status status = toolsModel.checkIndex(ps);
-            statusLbl.setText("Done");
-            ps.flush();
-            return status;
-          } catch (UnsupportedEncodingException e) {
-            // will not reach
-          } catch (Exception e) {
-            statusLbl.setText(MessageUtils.getLocalizedMessage("message.error.unknown"));
-            throw e;
-          } finally {
-            setProgress(100);
-          }
-          return null;
-        }
+      TextAreaPrintStream ps;
+      try {
+        ps = new TextAreaPrintStream(logArea, new ByteArrayOutputStream(), StandardCharsets.UTF_8, logger);
+      } catch (UnsupportedEncodingException ex) {
+        // will not reach
+        return;
+      }
 
-        @Override
-        protected void done() {
-          try {
-            CheckIndex.Status st = get();
-            resultLbl.setText(createResultsMessage(st));
-            indicatorLbl.setVisible(false);
-            if (!st.clean) {
-              repairBtn.setEnabled(true);
-            }
-            status = st;
-          } catch (Exception e) {
-            logger.error(e.getMessage(), e);
-            statusLbl.setText(MessageUtils.getLocalizedMessage("message.error.unknown"));
-          }
+      statusLbl.setText("Running...");
+      indicatorLbl.setVisible(true);
+      taskExecutor.submit(() -> toolsModel.checkIndex(ps), st -> {
+        ps.flush();
+        statusLbl.setText("Done");
+        resultLbl.setText(createResultsMessage(st));
+        indicatorLbl.setVisible(false);
+        if (!st.clean) {
+          repairBtn.setEnabled(true);
         }
-      };
+        status = st;
+      }, this::handleError);
+    }
 
-      executor.submit(task);
-      executor.shutdown();
+    private void handleError(Throwable t) {
+      logger.error(t.getMessage(), t);
+      statusLbl.setText(MessageUtils.getLocalizedMessage("message.error.unknown"));
+      indicatorLbl.setVisible(false);
     }
 
     private String createResultsMessage(@Nullable CheckIndex.Status status) {
@@ -313,46 +296,32 @@ public final class CheckIndexDialogFactory implements DialogOpener.DialogFactory
         return;
       }
 
-      ExecutorService executor = Executors.newSingleThreadExecutor();
-
-      SwingWorker<CheckIndex.Status, Void> task = new SwingWorker<CheckIndex.Status, Void>() {
-
-        @Override
-        protected CheckIndex.Status doInBackground() {
-          setProgress(0);
-          statusLbl.setText("Running...");
-          indicatorLbl.setVisible(true);
-          logArea.setText("");
-          TextAreaPrintStream ps;
-          try {
-            ps = new TextAreaPrintStream(logArea, new ByteArrayOutputStream(), StandardCharsets.UTF_8, logger);
-            toolsModel.repairIndex(status, ps);
-            statusLbl.setText("Done");
-            ps.flush();
-            return status;
-          } catch (UnsupportedEncodingException e) {
-            // will not occur
-          } catch (Exception e) {
-            statusLbl.setText(MessageUtils.getLocalizedMessage("message.error.unknown"));
-            throw e;
-          } finally {
-            setProgress(100);
-          }
-          return null;
-        }
-
-        @Override
-        protected void done() {
-          indexHandler.open(lukeState.getIndexPath(), lukeState.getDirImpl());
-          logArea.append("Repairing index done.");
-          resultLbl.setText("");
-          indicatorLbl.setVisible(false);
-          repairBtn.setEnabled(false);
-        }
-      };
+      TextAreaPrintStream ps;
+      try {
+        ps = new TextAreaPrintStream(logArea, new ByteArrayOutputStream(), StandardCharsets.UTF_8, logger);
+      } catch (UnsupportedEncodingException ex) {
+        // will not occur
+        return;
+      }
 
-      executor.submit(task);
-      executor.shutdown();
+      statusLbl.setText("Running...");
+      indicatorLbl.setVisible(true);
+      logArea.setText("");
+      String indexPath = lukeState.getIndexPath();
+      String dirImpl = lukeState.getDirImpl();
+      DirectoryConfig dirConfig = lukeState.getDirConfig();
+      taskExecutor.submit(() -> {
+        toolsModel.repairIndex(status, ps);
+        indexHandler.open(indexPath, dirImpl, dirConfig);
+        return status;
+      }, st -> {
+        ps.flush();
+        statusLbl.setText("Done");
+        logArea.append("Repairing index done.");
+        resultLbl.setText("");
+        indicatorLbl.setVisible(false);
+        repairBtn.setEnabled(false);
+      }, this::handleError);
     }
   }
 
@@ -23,10 +23,12 @@ import org.apache.lucene.luke.app.DirectoryHandler;
 import org.apache.lucene.luke.app.IndexHandler;
 import org.apache.lucene.luke.app.desktop.DesktopModule;
 import org.apache.lucene.luke.app.desktop.Preferences;
+import org.apache.lucene.luke.app.desktop.TaskExecutor;
 import org.apache.lucene.luke.app.desktop.util.DialogOpener;
 import org.apache.lucene.luke.app.desktop.util.ImageUtils;
 import org.apache.lucene.luke.app.desktop.util.MessageUtils;
 import org.apache.lucene.luke.models.LukeException;
+import org.apache.lucene.luke.util.DirectoryConfig;
 import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.store.MMapDirectory;
 import org.reflections.Reflections;
@@ -50,6 +52,8 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JRadioButton;
 import javax.swing.JSeparator;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
 import java.awt.Dialog;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
@@ -83,6 +87,18 @@ public final class OpenIndexDialogFactory implements DialogOpener.DialogFactory
 
   private final JRadioButton keepAllCommitsRB = new JRadioButton();
 
+  private final JSpinner searchThreadsSpnr = new JSpinner();
+
+  private final JCheckBox preloadCB = new JCheckBox();
+
+  private final JSpinner maxChunkSizeSpnr = new JSpinner();
+
+  private final JCheckBox nioStoredFieldsCB = new JCheckBox();
+
+  private final JCheckBox nrtCachingCB = new JCheckBox();
+
+  private final JButton okBtn = new JButton();
+
   private final ListenerFunctions listeners = new ListenerFunctions();
 
   private JDialog dialog;
@@ -93,11 +109,15 @@ public final class OpenIndexDialogFactory implements DialogOpener.DialogFactory
 
   private Preferences prefs;
 
+  private TaskExecutor taskExecutor;
+
   @Inject
-  public OpenIndexDialogFactory(DirectoryHandler directoryHandler, IndexHandler indexHandler, Preferences prefs) {
+  public OpenIndexDialogFactory(DirectoryHandler directoryHandler, IndexHandler indexHandler, Preferences prefs,
+                                TaskExecutor taskExecutor) {
     this.directoryHandler = directoryHandler;
     this.indexHandler = indexHandler;
     this.prefs = prefs;
+    this.taskExecutor = taskExecutor;
 
     initialize();
   }
@@ -119,6 +139,7 @@ public final class OpenIndexDialogFactory implements DialogOpener.DialogFactory
     }
     dirImplCombo.setPreferredSize(new Dimension(350, 30));
     dirImplCombo.setSelectedItem(prefs.getDirImpl());
+    dirImplCombo.addActionListener(listeners::selectDirImpl);
 
     noReaderCB.setText(MessageUtils.getLocalizedMessage("openindex.checkbox.no_reader"));
     noReaderCB.setSelected(prefs.isNoReader());
@@ -132,6 +153,29 @@ public final class OpenIndexDialogFactory implements DialogOpener.DialogFactory
     keepAllCommitsRB.setText(MessageUtils.getLocalizedMessage("openindex.radio.keep_all_commits"));
     keepAllCommitsRB.setSelected(prefs.isKeepAllCommits());
 
+    int maxThreads = Math.max(prefs.getSearchThreads(), Runtime.getRuntime().availableProcessors());
+    searchThreadsSpnr.setModel(new SpinnerNumberModel(prefs.getSearchThreads(), 1, maxThreads, 1));
+    searchThreadsSpnr.setPreferredSize(new Dimension(60, 30));
+
+    DirectoryConfig dirConfig = prefs.getDirConfig();
+    preloadCB.setText(MessageUtils.getLocalizedMessage("openindex.checkbox.preload"));
+    preloadCB.setSelected(dirConfig.isPreload());
+
+    maxChunkSizeSpnr.setModel(new SpinnerNumberModel(dirConfig.getMaxChunkSizeMB(), 0, DirectoryConfig.MAX_CHUNK_SIZE_MB, 64));
+    maxChunkSizeSpnr.setPreferredSize(new Dimension(70, 30));
+
+    nioStoredFieldsCB.setText(MessageUtils.getLocalizedMessage("openindex.checkbox.nio_stored_fields"));
+    nioStoredFieldsCB.setSelected(dirConfig.isNioStoredFields());
+    nioStoredFieldsCB.setToolTipText(MessageUtils.getLocalizedMessage("openindex.tooltip.nio_stored_fields"));
+
+    nrtCachingCB.setText(MessageUtils.getLocalizedMessage("openindex.checkbox.nrt_caching"));
+    nrtCachingCB.setSelected(dirConfig.isNrtCaching());
+
+    listeners.setMMapOptionsEnabled(isMMapCapable((String) dirImplCombo.getSelectedItem()));
+
+    okBtn.setText(MessageUtils.getLocalizedMessage("button.ok"));
+    okBtn.addActionListener(listeners::openIndexOrDirectory);
+
   }
 
   @Override
@@ -183,7 +227,7 @@ public final class OpenIndexDialogFactory implements DialogOpener.DialogFactory
   }
 
   private JPanel expertSettings() {
-    JPanel panel = new JPanel(new GridLayout(6, 1));
+    JPanel panel = new JPanel(new GridLayout(9, 1));
 
     JPanel header = new JPanel(new FlowLayout(FlowLayout.LEADING));
     header.add(new JLabel(MessageUtils.getLocalizedMessage("openindex.label.expert")));
@@ -194,12 +238,31 @@ public final class OpenIndexDialogFactory implements DialogOpener.DialogFactory
     dirImpl.add(dirImplCombo);
     panel.add(dirImpl);
 
+    JPanel mmapOptions = new JPanel(new FlowLayout(FlowLayout.LEADING));
+    mmapOptions.setBorder(BorderFactory.createEmptyBorder(0, 20, 0, 0));
+    mmapOptions.add(new JLabel(MessageUtils.getLocalizedMessage("openindex.label.dir_tuning")));
+    mmapOptions.add(preloadCB);
+    mmapOptions.add(nioStoredFieldsCB);
+    mmapOptions.add(new JLabel(MessageUtils.getLocalizedMessage("openindex.label.max_chunk_size")));
+    mmapOptions.add(maxChunkSizeSpnr);
+    panel.add(mmapOptions);
+
+    JPanel nrtCaching = new JPanel(new FlowLayout(FlowLayout.LEADING));
+    nrtCaching.setBorder(BorderFactory.createEmptyBorder(0, 20, 0, 0));
+    nrtCaching.add(nrtCachingCB);
+    panel.add(nrtCaching);
+
     JPanel noReader = new JPanel(new FlowLayout(FlowLayout.LEADING));
     noReader.add(noReaderCB);
     JLabel noReaderIcon = new JLabel(ImageUtils.createImageIcon("/img/icon_cone.png", 12, 12));
     noReader.add(noReaderIcon);
     panel.add(noReader);
 
+    JPanel searchThreads = new JPanel(new FlowLayout(FlowLayout.LEADING));
+    searchThreads.add(new JLabel(MessageUtils.getLocalizedMessage("openindex.label.search_threads")));
+    searchThreads.add(searchThreadsSpnr);
+    panel.add(searchThreads);
+
     JPanel iwConfig = new JPanel(new FlowLayout(FlowLayout.LEADING));
     iwConfig.add(new JLabel(MessageUtils.getLocalizedMessage("openindex.label.iw_config")));
     panel.add(iwConfig);
@@ -241,12 +304,16 @@ public final class OpenIndexDialogFactory implements DialogOpener.DialogFactory
     return clazzNames.toArray(result);
   }
 
+  // memory-mapping options apply to MMapDirectory, which FSDirectory also picks on 64-bit platforms
+  private static boolean isMMapCapable(String dirImplClazz) {
+    return FSDirectory.class.getName().equals(dirImplClazz) || MMapDirectory.class.getName().equals(dirImplClazz);
+  }
+
   private JPanel buttons() {
     JPanel panel = new JPanel(new FlowLayout(FlowLayout.TRAILING));
     panel.setBorder(BorderFactory.createEmptyBorder(3, 3, 10, 20));
 
-    JButton okBtn = new JButton(MessageUtils.getLocalizedMessage("button.ok"));
-    okBtn.addActionListener(listeners::openIndexOrDirectory);
+    okBtn.setEnabled(true);
     panel.add(okBtn);
 
     JButton cancelBtn = new JButton(MessageUtils.getLocalizedMessage("button.cancel"));
@@ -270,6 +337,16 @@ public final class OpenIndexDialogFactory implements DialogOpener.DialogFactory
       }
     }
 
+    void selectDirImpl(ActionEvent e) {
+      setMMapOptionsEnabled(isMMapCapable((String) dirImplCombo.getSelectedItem()));
+    }
+
+    private void setMMapOptionsEnabled(boolean enable) {
+      preloadCB.setEnabled(enable);
+      maxChunkSizeSpnr.setEnabled(enable);
+      nioStoredFieldsCB.setEnabled(enable);
+    }
+
     void toggleReadOnly(ActionEvent e) {
       setWriterConfigEnabled(!isReadOnly());
     }
@@ -281,33 +358,65 @@ public final class OpenIndexDialogFactory implements DialogOpener.DialogFactory
     }
 
     void openIndexOrDirectory(ActionEvent e) {
-      try {
+      if (indexHandler.hasPendingChanges()) {
+        int answer = JOptionPane.showConfirmDialog(dialog,
+            MessageUtils.getLocalizedMessage("menu.message.discard_confirm",
+                indexHandler.getState().getEditingSession().getNumPendingChanges()),
+            "Discard changes", JOptionPane.OK_CANCEL_OPTION);
+        if (answer != JOptionPane.OK_OPTION) {
+          return;
+        }
+      }
+      String selectedPath = (String) idxPathCombo.getSelectedItem();
+      String dirImplClazz = (String) dirImplCombo.getSelectedItem();
+      boolean noReader = isNoReader();
+      boolean readOnly = isReadOnly();
+      boolean useCompound = useCompound();
+      boolean keepAllCommits = keepAllCommits();
+      int searchThreads = searchThreads();
+      DirectoryConfig dirConfig = dirConfig();
+
+      // the current index is closed and the new one is opened in background, after the tasks reading the current index have finished;
+      // observers are notified on the event dispatch thread
+      okBtn.setEnabled(false);
+      taskExecutor.cancelAllAndSubmit(() -> {
         if (directoryHandler.directoryOpened()) {
           directoryHandler.close();
         }
         if (indexHandler.indexOpened()) {
-          indexHandler.close();
+          // uncommitted changes have been confirmed to be discarded
+          indexHandler.close(true);
         }
-
-        String selectedPath = (String) idxPathCombo.getSelectedItem();
-        String dirImplClazz = (String) dirImplCombo.getSelectedItem();
         if (selectedPath == null || selectedPath.length() == 0) {
           String msg = MessageUtils.getLocalizedMessage("openindex.message.index_path_not_selected");
           logger.error(msg);
-        } else if (isNoReader()) {
-          directoryHandler.open(selectedPath, dirImplClazz);
+        } else if (noReader) {
+          directoryHandler.open(selectedPath, dirImplClazz, dirConfig);
         } else {
-          indexHandler.open(selectedPath, dirImplClazz, isReadOnly(), useCompound(), keepAllCommits());
+          indexHandler.open(selectedPath, dirImplClazz, dirConfig, readOnly, useCompound, keepAllCommits);
+        }
+        return selectedPath;
+      }, path -> {
+        okBtn.setEnabled(true);
+        try {
+          addHistory(path);
+          prefs.setIndexOpenerPrefs(readOnly, dirImplClazz, noReader, useCompound, keepAllCommits, searchThreads);
+          prefs.setDirConfig(dirConfig);
+          closeDialog();
+        } catch (Throwable cause) {
+          showError(cause);
         }
-        addHistory(selectedPath);
-        prefs.setIndexOpenerPrefs(
-            isReadOnly(), dirImplClazz,
-            isNoReader(), useCompound(), keepAllCommits());
-        closeDialog();
-      } catch (LukeException ex) {
-        String message = ex.getMessage() + System.lineSeparator() + "See Logs tab or log file for more details.";
+      }, cause -> {
+        okBtn.setEnabled(true);
+        showError(cause);
+      });
+    }
+
+    private void showError(Throwable cause) {
+      if (cause instanceof LukeException) {
+        String message = cause.getMessage() + System.lineSeparator() + "See Logs tab or log file for more details.";
         JOptionPane.showMessageDialog(dialog, message, "Invalid index path", JOptionPane.ERROR_MESSAGE);
-      } catch (Throwable cause) {
+      } else {
         JOptionPane.showMessageDialog(dialog, MessageUtils.getLocalizedMessage("message.error.unknown"), "Unknown Error", JOptionPane.ERROR_MESSAGE);
         logger.error(cause.getMessage(), cause);
       }
@@ -329,6 +438,19 @@ public final class OpenIndexDialogFactory implements DialogOpener.DialogFactory
       return keepAllCommitsRB.isSelected();
     }
 
+    private int searchThreads() {
+      return (Integer) searchThreadsSpnr.getValue();
+    }
+
+    private DirectoryConfig dirConfig() {
+      return new DirectoryConfig.Builder()
+          .preload(preloadCB.isSelected())
+          .maxChunkSizeMB((Integer) maxChunkSizeSpnr.getValue())
+          .nioStoredFields(nioStoredFieldsCB.isSelected())
+          .nrtCaching(nrtCachingCB.isSelected())
+          .build();
+    }
+
     private void closeDialog() {
       dialog.dispose();
     }
@@ -342,7 +464,7 @@ public final class OpenIndexDialogFactory implements DialogOpener.DialogFactory
   public static void showOpenIndexDialog() {
     Injector injector = DesktopModule.getIngector();
     OpenIndexDialogFactory openIndexDialogFactory = injector.getInstance(OpenIndexDialogFactory.class);
-    new DialogOpener<>(openIndexDialogFactory).open(MessageUtils.getLocalizedMessage("openindex.dialog.title"), 600, 420,
+    new DialogOpener<>(openIndexDialogFactory).open(MessageUtils.getLocalizedMessage("openindex.dialog.title"), 640, 540,
         (factory) -> {
         });
   }
@@ -21,6 +21,7 @@ import com.google.inject.Inject;
 import org.apache.lucene.luke.app.IndexHandler;
 import org.apache.lucene.luke.app.IndexObserver;
 import org.apache.lucene.luke.app.LukeState;
+import org.apache.lucene.luke.app.desktop.TaskExecutor;
 import org.apache.lucene.luke.app.desktop.util.DialogOpener;
 import org.apache.lucene.luke.app.desktop.util.ImageUtils;
 import org.apache.lucene.luke.app.desktop.util.MessageUtils;
@@ -42,7 +43,6 @@ import javax.swing.JSeparator;
 import javax.swing.JSpinner;
 import javax.swing.JTextArea;
 import javax.swing.SpinnerNumberModel;
-import javax.swing.SwingWorker;
 import java.awt.BorderLayout;
 import java.awt.Dialog;
 import java.awt.Dimension;
@@ -55,8 +55,6 @@ import java.awt.event.ActionEvent;
 import java.io.ByteArrayOutputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public final class OptimizeIndexDialogFactory implements DialogOpener.DialogFactory {
 
@@ -66,6 +64,8 @@ public final class OptimizeIndexDialogFactory implements DialogOpener.DialogFact
 
   private final IndexHandler indexHandler;
 
+  private final TaskExecutor taskExecutor;
+
   private final JCheckBox expungeCB = new JCheckBox();
 
   private final JSpinner maxSegSpnr = new JSpinner();
@@ -83,9 +83,10 @@ public final class OptimizeIndexDialogFactory implements DialogOpener.DialogFact
   private IndexTools toolsModel;
 
   @Inject
-  public OptimizeIndexDialogFactory(IndexToolsFactory indexToolsFactory, IndexHandler indexHandler) {
+  public OptimizeIndexDialogFactory(IndexToolsFactory indexToolsFactory, IndexHandler indexHandler, TaskExecutor taskExecutor) {
     this.indexToolsFactory = indexToolsFactory;
     this.indexHandler = indexHandler;
+    this.taskExecutor = taskExecutor;
     indexHandler.addObserver(new Observer());
 
     initialize();
@@ -183,41 +184,31 @@ public final class OptimizeIndexDialogFactory implements DialogOpener.DialogFact
   private class ListenerFunctions {
 
     void optimize(ActionEvent e) {
-      ExecutorService executor = Executors.newSingleThreadExecutor();
-
-      SwingWorker<Void, Void> task = new SwingWorker<Void, Void>() {
-
-        @Override
-        protected Void doInBackground() {
-          setProgress(0);
-          statusLbl.setText("Running...");
-          indicatorLbl.setVisible(true);
-          TextAreaPrintStream ps;
-          try {
-            ps = new TextAreaPrintStream(logArea, new ByteArrayOutputStream(), StandardCharsets.UTF_8, logger);
-            toolsModel.optimize(expungeCB.isSelected(), (int) maxSegSpnr.getValue(), ps);
-            statusLbl.setText("Done");
-            indexHandler.reOpen();
-            ps.flush();
-          } catch (UnsupportedEncodingException e) {
-            // will not reach
-          } catch (Exception e) {
-            statusLbl.setText(MessageUtils.getLocalizedMessage("message.error.unknown"));
-            throw e;
-          } finally {
-            setProgress(100);
-          }
-          return null;
-        }
-
-        @Override
-        protected void done() {
-          indicatorLbl.setVisible(false);
-        }
-      };
-
-      executor.submit(task);
-      executor.shutdown();
+      TextAreaPrintStream ps;
+      try {
+        ps = new TextAreaPrintStream(logArea, new ByteArrayOutputStream(), StandardCharsets.UTF_8, logger);
+      } catch (UnsupportedEncodingException ex) {
+        // will not reach
+        return;
+      }
+
+      statusLbl.setText("Running...");
+      indicatorLbl.setVisible(true);
+      boolean expunge = expungeCB.isSelected();
+      int maxNumSegments = (int) maxSegSpnr.getValue();
+      taskExecutor.submit(() -> {
+        toolsModel.optimize(expunge, maxNumSegments, ps);
+        indexHandler.reOpen();
+        return null;
+      }, result -> {
+        ps.flush();
+        statusLbl.setText("Done");
+        indicatorLbl.setVisible(false);
+      }, t -> {
+        logger.error(t.getMessage(), t);
+        statusLbl.setText(MessageUtils.getLocalizedMessage("message.error.unknown"));
+        indicatorLbl.setVisible(false);
+      });
     }
 
   }
@@ -37,7 +37,8 @@ public final class TextAreaAppender extends AppenderSkeleton {
   @Override
   protected void append(LoggingEvent event) {
     if (textArea == null) {
-      throw new IllegalStateException();
+      // not running on the GUI (e.g. command line tools)
+      return;
     }
 
     String message = this.layout.format(event);
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models;
+
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.luke.util.IndexUtils;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Difference between an index reader and the reader reopened from it (e.g. by
+ * {@link org.apache.lucene.index.DirectoryReader#openIfChanged(org.apache.lucene.index.DirectoryReader)}).
+ *
+ * <p>
+ * Segments are identified by their core cache keys, which are shared by the old and new readers for unchanged segments;
+ * a segment having new deletions or doc values updates keeps its core, so it is neither added nor removed.
+ * </p>
+ */
+public final class ReaderDelta {
+
+  private final List<LeafReaderContext> addedLeaves;
+
+  private final int numRemovedLeaves;
+
+  private final Set<String> changedFields;
+
+  private final Set<String> newFields;
+
+  /**
+   * Computes the difference between the readers.
+   *
+   * @param oldReader - the reader before reopen
+   * @param newReader - the reopened reader
+   */
+  public static ReaderDelta of(@Nonnull IndexReader oldReader, @Nonnull IndexReader newReader) {
+    Map<Object, LeafReaderContext> oldLeaves = leavesByCoreKey(oldReader);
+    Map<Object, LeafReaderContext> newLeaves = leavesByCoreKey(newReader);
+
+    List<LeafReaderContext> added = new ArrayList<>();
+    Set<String> changedFields = new HashSet<>();
+    for (Map.Entry<Object, LeafReaderContext> e : newLeaves.entrySet()) {
+      if (!oldLeaves.containsKey(e.getKey())) {
+        added.add(e.getValue());
+        changedFields.addAll(indexedFields(e.getValue().reader()));
+      }
+    }
+    added.sort((c1, c2) -> Integer.compare(c1.ord, c2.ord));
+
+    int numRemoved = 0;
+    for (Map.Entry<Object, LeafReaderContext> e : oldLeaves.entrySet()) {
+      if (!newLeaves.containsKey(e.getKey())) {
+        numRemoved++;
+        changedFields.addAll(indexedFields(e.getValue().reader()));
+      }
+    }
+
+    Set<String> newFields = new HashSet<>(IndexUtils.getFieldNames(newReader));
+    newFields.removeAll(IndexUtils.getFieldNames(oldReader));
+
+    return new ReaderDelta(added, numRemoved, changedFields, newFields);
+  }
+
+  private static Map<Object, LeafReaderContext> leavesByCoreKey(IndexReader reader) {
+    Map<Object, LeafReaderContext> res = new HashMap<>();
+    for (LeafReaderContext context : reader.leaves()) {
+      IndexReader.CacheHelper helper = context.reader().getCoreCacheHelper();
+      // readers without core cache key can't be shared; treat them as always changed
+      res.put(helper == null ? context.reader() : helper.getKey(), context);
+    }
+    return res;
+  }
+
+  private static Set<String> indexedFields(LeafReader reader) {
+    Set<String> res = new HashSet<>();
+    for (FieldInfo finfo : reader.getFieldInfos()) {
+      if (finfo.getIndexOptions() != IndexOptions.NONE) {
+        res.add(finfo.name);
+      }
+    }
+    return res;
+  }
+
+  private ReaderDelta(List<LeafReaderContext> addedLeaves, int numRemovedLeaves, Set<String> changedFields, Set<String> newFields) {
+    this.addedLeaves = Collections.unmodifiableList(addedLeaves);
+    this.numRemovedLeaves = numRemovedLeaves;
+    this.changedFields = Collections.unmodifiableSet(changedFields);
+    this.newFields = Collections.unmodifiableSet(newFields);
+  }
+
+  /**
+   * Returns the leaves of the new reader those did not exist in the old reader, in the order of the new reader.
+   */
+  public List<LeafReaderContext> getAddedLeaves() {
+    return addedLeaves;
+  }
+
+  /**
+   * Returns the number of leaves of the old reader those do not exist in the new reader (e.g. merged away).
+   */
+  public int getNumRemovedLeaves() {
+    return numRemovedLeaves;
+  }
+
+  /**
+   * Returns the fields whose terms may have been changed, i.e., fields indexed in added or removed segments.
+   * Term statistics of the other fields are unchanged.
+   */
+  public Set<String> getChangedFields() {
+    return changedFields;
+  }
+
+  /**
+   * Returns the fields those exist only in the new reader.
+   */
+  public Set<String> getNewFields() {
+    return newFields;
+  }
+
+  @Override
+  public String toString() {
+    return "ReaderDelta{added=" + addedLeaves.size() + ", removed=" + numRemovedLeaves + ", changedFields=" + changedFields + "}";
+  }
+}
@@ -92,6 +92,8 @@ public interface Analysis {
 
   /**
    * Returns built-in {@link Analyzer}s.
+   *
+   * <p>The classpath is scanned on the first call (unless a cached result is valid), which may take a few seconds.</p>
    */
   Collection<Class<? extends Analyzer>> getPresetAnalyzerTypes();
 
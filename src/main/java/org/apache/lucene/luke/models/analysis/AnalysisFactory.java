@@ -17,10 +17,16 @@
 
 package org.apache.lucene.luke.models.analysis;
 
+import java.nio.file.Path;
+
 public class AnalysisFactory {
 
   public Analysis newInstance() {
     return new AnalysisImpl();
   }
 
+  public Analysis newInstance(Path cacheDir) {
+    return new AnalysisImpl(cacheDir);
+  }
+
 }
@@ -36,6 +36,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.lang.reflect.Modifier;
 import java.net.URL;
@@ -53,25 +54,32 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public final class AnalysisImpl implements Analysis {
 
-  private final List<Class<? extends Analyzer>> presetAnalyzerTypes;
+  private static final Logger logger = LoggerFactory.getLogger(AnalysisImpl.class);
+
+  private static final String BUILTIN_PACKAGE = "org.apache.lucene";
+
+  private final Path cacheDir;
+
+  // discovered lazily
+  private List<Class<? extends Analyzer>> presetAnalyzerTypes;
 
   private Analyzer analyzer;
 
   public AnalysisImpl() {
-    presetAnalyzerTypes = new ArrayList<>();
-    for (Class<? extends Analyzer> clazz : getInstantiableSubTypesBuiltIn(Analyzer.class)) {
-      try {
-        // add to presets if no args constructor is available
-        clazz.getConstructor();
-        presetAnalyzerTypes.add(clazz);
-      } catch (NoSuchMethodException e) {
-      }
-    }
+    this(null);
+  }
+
+  /**
+   * @param cacheDir - directory for the analyzer type cache, or null to scan the classpath every time
+   */
+  public AnalysisImpl(@Nullable Path cacheDir) {
+    this.cacheDir = cacheDir;
   }
 
   @Override
@@ -100,7 +108,10 @@ public final class AnalysisImpl implements Analysis {
   }
 
   @Override
-  public Collection<Class<? extends Analyzer>> getPresetAnalyzerTypes() {
+  public synchronized Collection<Class<? extends Analyzer>> getPresetAnalyzerTypes() {
+    if (presetAnalyzerTypes == null) {
+      presetAnalyzerTypes = findPresetAnalyzerTypes();
+    }
     return ImmutableList.copyOf(presetAnalyzerTypes);
   }
 
@@ -119,9 +130,57 @@ public final class AnalysisImpl implements Analysis {
     return TokenFilterFactory.availableTokenFilters().stream().sorted().collect(Collectors.toList());
   }
 
-  private <T> List<Class<? extends T>> getInstantiableSubTypesBuiltIn(Class<T> superType) {
+  private List<Class<? extends Analyzer>> findPresetAnalyzerTypes() {
+    long start = System.nanoTime();
+    Collection<URL> urls = ClasspathHelper.forPackage(BUILTIN_PACKAGE);
+    AnalyzerTypeCache cache = cacheDir == null ? null : new AnalyzerTypeCache(cacheDir, urls);
+
+    if (cache != null) {
+      List<String> classNames = cache.load();
+      List<Class<? extends Analyzer>> types = classNames == null ? null : loadClasses(classNames);
+      if (types != null) {
+        logger.info("{} preset analyzers loaded from cache in {} ms.", types.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return types;
+      }
+    }
+
+    List<Class<? extends Analyzer>> types = new ArrayList<>();
+    for (Class<? extends Analyzer> clazz : getInstantiableSubTypesBuiltIn(Analyzer.class, urls)) {
+      try {
+        // add to presets if no args constructor is available
+        clazz.getConstructor();
+        types.add(clazz);
+      } catch (NoSuchMethodException e) {
+      }
+    }
+    logger.info("{} preset analyzers found in {} ms.", types.size(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+    if (cache != null) {
+      cache.save(types.stream().map(Class::getName).collect(Collectors.toList()));
+    }
+    return types;
+  }
+
+  @Nullable
+  private static List<Class<? extends Analyzer>> loadClasses(List<String> classNames) {
+    List<Class<? extends Analyzer>> types = new ArrayList<>();
+    for (String className : classNames) {
+      try {
+        types.add(Class.forName(className, false, AnalysisImpl.class.getClassLoader()).asSubclass(Analyzer.class));
+      } catch (ClassNotFoundException | ClassCastException | LinkageError e) {
+        // the class path has been changed in a way the fingerprint does not capture; scan it again
+        logger.debug("Cached analyzer type is not available: {}", className);
+        return null;
+      }
+    }
+    return types;
+  }
+
+  private <T> List<Class<? extends T>> getInstantiableSubTypesBuiltIn(Class<T> superType, Collection<URL> urls) {
     Reflections reflections = new Reflections(new ConfigurationBuilder()
-        .setUrls(ClasspathHelper.forPackage("org.apache.lucene"))
+        .setUrls(urls)
         .setScanners(new SubTypesScanner())
         .filterInputsBy(new FilterBuilder().include("org\\.apache\\.lucene\\.analysis.*")));
     return reflections.getSubTypesOf(superType).stream()
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.analysis;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A persistent index of the preset analyzer class names found on the classpath, stored as a file per classpath in the cache directory.
+ *
+ * <p>
+ * Scanning the classpath for analyzer implementations takes seconds; the cached class names can be loaded in milliseconds instead.
+ * The cache records a fingerprint of the scanned classpath entries, that is the checksums of the jar files
+ * (and the names, sizes and modification times of the class files in class directories).
+ * When any entry is added, removed or replaced, the fingerprint does not match and the classpath has to be scanned again.
+ * </p>
+ *
+ * <p>The cache is best effort; read and write errors are logged and the classpath is scanned.</p>
+ */
+final class AnalyzerTypeCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(AnalyzerTypeCache.class);
+
+  private static final int VERSION = 1;
+
+  private static final String FILE_SUFFIX = ".analyzers";
+
+  private static final int MAX_STRING_LENGTH = 1 << 16;
+
+  private final Path cacheFile;
+
+  private final List<URL> classpath;
+
+  private String fingerprint;
+
+  /**
+   * Creates an analyzer type cache for the classpath entries.
+   *
+   * @param cacheDir - directory for cache files
+   * @param urls - the classpath entries to be scanned
+   */
+  AnalyzerTypeCache(@Nonnull Path cacheDir, @Nonnull Collection<URL> urls) {
+    this.classpath = urls.stream()
+        .sorted(Comparator.comparing(URL::toString))
+        .collect(Collectors.toList());
+    String key = classpath.stream().map(URL::toString).collect(Collectors.joining(File.pathSeparator));
+    this.cacheFile = cacheDir.resolve(Hashing.sha1().hashString(key, StandardCharsets.UTF_8).toString() + FILE_SUFFIX);
+  }
+
+  /**
+   * Returns the cached analyzer class names, or null if there is no valid cache for the current classpath.
+   */
+  @Nullable
+  List<String> load() {
+    if (!Files.exists(cacheFile)) {
+      return null;
+    }
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+      if (in.readInt() != VERSION || !fingerprint().equals(in.readUTF())) {
+        logger.debug("Analyzer type cache is stale: {}", cacheFile);
+        return null;
+      }
+      int size = in.readInt();
+      if (size < 0 || size > MAX_STRING_LENGTH) {
+        throw new IOException("Corrupted cache file: " + cacheFile);
+      }
+      List<String> classNames = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        classNames.add(in.readUTF());
+      }
+      return classNames;
+    } catch (IOException e) {
+      logger.warn("Failed to load analyzer type cache: " + cacheFile, e);
+      return null;
+    }
+  }
+
+  /**
+   * Saves the analyzer class names found on the current classpath.
+   */
+  void save(@Nonnull List<String> classNames) {
+    try {
+      Files.createDirectories(cacheFile.getParent());
+      Path tmpFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+        out.writeInt(VERSION);
+        out.writeUTF(fingerprint());
+        out.writeInt(classNames.size());
+        for (String className : classNames) {
+          out.writeUTF(className);
+        }
+      }
+      Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      logger.debug("Analyzer type cache saved: {}", cacheFile);
+    } catch (IOException e) {
+      logger.warn("Failed to save analyzer type cache: " + cacheFile, e);
+    }
+  }
+
+  // computed once per instance; hashing the jars is much cheaper than scanning them, but not free
+  private String fingerprint() throws IOException {
+    if (fingerprint == null) {
+      Hasher hasher = Hashing.sha1().newHasher();
+      for (URL url : classpath) {
+        hasher.putString(url.toString(), StandardCharsets.UTF_8);
+        Path entry = toPath(url);
+        if (entry == null) {
+          // not a local file; identified by the url only
+          continue;
+        }
+        if (Files.isDirectory(entry)) {
+          hashDirectory(entry, hasher);
+        } else if (Files.isRegularFile(entry)) {
+          hashFile(entry, hasher);
+        }
+      }
+      fingerprint = hasher.hash().toString();
+    }
+    return fingerprint;
+  }
+
+  private static void hashFile(Path file, Hasher hasher) throws IOException {
+    byte[] buffer = new byte[8192];
+    try (InputStream in = Files.newInputStream(file)) {
+      int len;
+      while ((len = in.read(buffer)) > 0) {
+        hasher.putBytes(buffer, 0, len);
+      }
+    }
+  }
+
+  private static void hashDirectory(Path dir, Hasher hasher) throws IOException {
+    try (Stream<Path> files = Files.walk(dir)) {
+      for (Path file : files.filter(Files::isRegularFile).sorted(Comparator.naturalOrder()).collect(Collectors.toList())) {
+        hasher.putString(dir.relativize(file).toString(), StandardCharsets.UTF_8);
+        hasher.putLong(Files.size(file));
+        hasher.putLong(Files.getLastModifiedTime(file).toMillis());
+      }
+    }
+  }
+
+  @Nullable
+  private static Path toPath(URL url) {
+    try {
+      return Paths.get(url.toURI());
+    } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+      return null;
+    }
+  }
+
+}
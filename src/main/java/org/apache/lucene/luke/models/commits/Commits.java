@@ -81,4 +81,13 @@ public interface Commits {
    * @throws LukeException - if an internal error occurs when accessing index
    */
   Optional<Codec> getSegmentCodec(long commitGen, String name);
+
+  /**
+   * Returns the heap memory held by each segment of the opened index reader, broken down into fields and data structures
+   * (e.g. terms index, doc values, stored fields index) as reported by the codec.
+   * Only the commit which the index reader was opened on is available, since the other commits are not loaded.
+   * @param commitGen - generation
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  List<MemoryUsage> getSegmentMemoryUsage(long commitGen);
 }
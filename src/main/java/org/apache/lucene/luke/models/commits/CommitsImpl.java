@@ -20,9 +20,11 @@ package org.apache.lucene.luke.models.commits;
 import com.google.common.collect.ImmutableMap;
 import org.apache.lucene.codecs.Codec;
 import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.FilterLeafReader;
 import org.apache.lucene.index.IndexCommit;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.SegmentReader;
 import org.apache.lucene.luke.models.LukeModel;
 import org.apache.lucene.luke.models.LukeException;
 import org.apache.lucene.store.Directory;
@@ -68,6 +70,7 @@ public final class CommitsImpl extends LukeModel implements Commits {
    */
   public CommitsImpl(DirectoryReader reader, String indexPath) {
     super(reader.directory());
+    this.reader = reader;
     this.indexPath = indexPath;
     this.commitMap = initCommitMap();
   }
@@ -197,6 +200,31 @@ public final class CommitsImpl extends LukeModel implements Commits {
     }
   }
 
+  @Override
+  public List<MemoryUsage> getSegmentMemoryUsage(long commitGen) throws LukeException {
+    if (reader == null) {
+      return Collections.emptyList();
+    }
+
+    try {
+      long readerGen = ((DirectoryReader) reader).getIndexCommit().getGeneration();
+      if (readerGen != commitGen) {
+        logger.info("Memory usage is available only for the opened commit generation {}.", readerGen);
+        return Collections.emptyList();
+      }
+    } catch (IOException e) {
+      throw new LukeException(String.format(Locale.ENGLISH, "Failed to get memory usage for commit generation %d", commitGen), e);
+    }
+
+    return reader.leaves().stream()
+        .map(context -> FilterLeafReader.unwrap(context.reader()))
+        .filter(leafReader -> leafReader instanceof SegmentReader)
+        .map(leafReader -> (SegmentReader) leafReader)
+        .map(segReader -> MemoryUsage.of(segReader.getSegmentName(), segReader))
+        .sorted(Comparator.comparing(MemoryUsage::getDescription))
+        .collect(Collectors.toList());
+  }
+
   private Map<Long, IndexCommit> getCommitMap() throws LukeException {
     if (dir == null) {
       return Collections.emptyMap();
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.commits;
+
+import org.apache.lucene.util.Accountable;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Holder for the heap memory held by an index resource (e.g. a segment, the postings of a field, a terms index),
+ * with the breakdown into its child resources.
+ */
+public final class MemoryUsage {
+
+  private String description;
+
+  private long ramBytesUsed;
+
+  private List<MemoryUsage> children;
+
+  static MemoryUsage of(String description, Accountable resource) {
+    MemoryUsage usage = new MemoryUsage();
+    usage.description = description;
+    usage.ramBytesUsed = resource.ramBytesUsed();
+    usage.children = Collections.unmodifiableList(resource.getChildResources().stream()
+        .map(child -> of(child.toString(), child))
+        .sorted(Comparator.comparingLong(MemoryUsage::getRamBytesUsed).reversed())
+        .collect(Collectors.toList()));
+    return usage;
+  }
+
+  /**
+   * Returns the description of the resource; for a segment, this is the segment name.
+   */
+  public String getDescription() {
+    return description;
+  }
+
+  /**
+   * Returns the heap memory used by the resource, including its children, in bytes.
+   */
+  public long getRamBytesUsed() {
+    return ramBytesUsed;
+  }
+
+  public String getDisplaySize() {
+    return CommitsImpl.toDisplaySize(ramBytesUsed);
+  }
+
+  /**
+   * Returns the child resources, in descending order of memory usage.
+   */
+  public List<MemoryUsage> getChildren() {
+    return children;
+  }
+
+  @Override
+  public String toString() {
+    return description + ": " + ramBytesUsed;
+  }
+
+  private MemoryUsage() {
+  }
+}
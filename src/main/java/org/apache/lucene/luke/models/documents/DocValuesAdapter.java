@@ -19,15 +19,19 @@ package org.apache.lucene.luke.models.documents;
 
 import org.apache.lucene.index.BinaryDocValues;
 import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.ReaderUtil;
 import org.apache.lucene.index.SortedDocValues;
 import org.apache.lucene.index.SortedNumericDocValues;
 import org.apache.lucene.index.SortedSetDocValues;
-import org.apache.lucene.luke.util.IndexUtils;
 import org.apache.lucene.util.BytesRef;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -49,37 +53,45 @@ final class DocValuesAdapter {
    * Returns the doc values for the specified field in the specified document.
    * Empty Optional instance is returned if no doc values is available for the field.
    *
+   * <p>The values are read from the segment that contains the document; no global ordinal map is built.</p>
+   *
    * @param docid - document id
    * @param field - field name
    * @return doc values, if exists, or empty
    * @throws IOException
    */
   Optional<DocValues> getDocValues(int docid, String field) throws IOException {
-    DocValuesType dvType = IndexUtils.getFieldInfo(reader, field).getDocValuesType();
+    List<LeafReaderContext> leaves = reader.leaves();
+    LeafReaderContext leaf = leaves.get(ReaderUtil.subIndex(docid, leaves));
+    LeafReader leafReader = leaf.reader();
+    int leafDocid = docid - leaf.docBase;
+
+    FieldInfo finfo = leafReader.getFieldInfos().fieldInfo(field);
+    if (finfo == null) {
+      return Optional.empty();
+    }
 
-    switch (dvType) {
+    switch (finfo.getDocValuesType()) {
       case BINARY:
-        return createBinaryDocValues(docid, field, DocValuesType.BINARY);
+        return createBinaryDocValues(leafDocid, leafReader.getBinaryDocValues(field));
       case NUMERIC:
-        return createNumericDocValues(docid, field, DocValuesType.NUMERIC);
+        return createNumericDocValues(leafDocid, leafReader.getNumericDocValues(field));
       case SORTED_NUMERIC:
-        return createSortedNumericDocValues(docid, field, DocValuesType.SORTED_NUMERIC);
+        return createSortedNumericDocValues(leafDocid, leafReader.getSortedNumericDocValues(field));
       case SORTED:
-        return createSortedDocValues(docid, field, DocValuesType.SORTED);
+        return createSortedDocValues(leafDocid, leafReader.getSortedDocValues(field));
       case SORTED_SET:
-        return createSortedSetDocValues(docid, field, DocValuesType.SORTED_SET);
+        return createSortedSetDocValues(leafDocid, leafReader.getSortedSetDocValues(field));
       default:
         return Optional.empty();
     }
   }
 
-  private Optional<DocValues> createBinaryDocValues(int docid, String field, DocValuesType dvType)
+  private Optional<DocValues> createBinaryDocValues(int docid, @Nullable BinaryDocValues bvalues)
       throws IOException {
-    BinaryDocValues bvalues = IndexUtils.getBinaryDocValues(reader, field);
-
-    if (bvalues.advanceExact(docid)) {
+    if (bvalues != null && bvalues.advanceExact(docid)) {
       DocValues dv = DocValues.of(
-          dvType,
+          DocValuesType.BINARY,
           Collections.singletonList(BytesRef.deepCopyOf(bvalues.binaryValue())),
           Collections.emptyList());
       return Optional.of(dv);
@@ -88,13 +100,11 @@ final class DocValuesAdapter {
     return Optional.empty();
   }
 
-  private Optional<DocValues> createNumericDocValues(int docid, String field, DocValuesType dvType)
+  private Optional<DocValues> createNumericDocValues(int docid, @Nullable NumericDocValues nvalues)
       throws IOException{
-    NumericDocValues nvalues = IndexUtils.getNumericDocValues(reader, field);
-
-    if (nvalues.advanceExact(docid)) {
+    if (nvalues != null && nvalues.advanceExact(docid)) {
       DocValues dv = DocValues.of(
-          dvType,
+          DocValuesType.NUMERIC,
           Collections.emptyList(),
           Collections.singletonList(nvalues.longValue())
       );
@@ -104,11 +114,9 @@ final class DocValuesAdapter {
     return Optional.empty();
   }
 
-  private Optional<DocValues> createSortedNumericDocValues(int docid, String field, DocValuesType dvType)
+  private Optional<DocValues> createSortedNumericDocValues(int docid, @Nullable SortedNumericDocValues snvalues)
       throws IOException {
-    SortedNumericDocValues snvalues = IndexUtils.getSortedNumericDocValues(reader, field);
-
-    if (snvalues.advanceExact(docid)) {
+    if (snvalues != null && snvalues.advanceExact(docid)) {
       List<Long> numericValues = new ArrayList<>();
 
       int dvCount = snvalues.docValueCount();
@@ -117,7 +125,7 @@ final class DocValuesAdapter {
       }
 
       DocValues dv = DocValues.of(
-          dvType,
+          DocValuesType.SORTED_NUMERIC,
           Collections.emptyList(),
           numericValues
       );
@@ -127,13 +135,11 @@ final class DocValuesAdapter {
     return Optional.empty();
   }
 
-  private Optional<DocValues> createSortedDocValues(int docid, String field, DocValuesType dvType)
+  private Optional<DocValues> createSortedDocValues(int docid, @Nullable SortedDocValues svalues)
       throws IOException {
-    SortedDocValues svalues = IndexUtils.getSortedDocValues(reader, field);
-
-    if (svalues.advanceExact(docid)) {
+    if (svalues != null && svalues.advanceExact(docid)) {
       DocValues dv = DocValues.of(
-          dvType,
+          DocValuesType.SORTED,
           Collections.singletonList(BytesRef.deepCopyOf(svalues.binaryValue())),
           Collections.emptyList()
       );
@@ -143,20 +149,19 @@ final class DocValuesAdapter {
     return Optional.empty();
   }
 
-  private Optional<DocValues> createSortedSetDocValues(int docid, String field, DocValuesType dvType)
+  private Optional<DocValues> createSortedSetDocValues(int docid, @Nullable SortedSetDocValues ssvalues)
       throws IOException {
-    SortedSetDocValues ssvalues = IndexUtils.getSortedSetDocvalues(reader, field);
-
-    if (ssvalues.advanceExact(docid)) {
+    if (ssvalues != null && ssvalues.advanceExact(docid)) {
       List<BytesRef> values = new ArrayList<>();
 
+      // segment ordinals are resolved by the segment's own terms dictionary
       long ord;
       while ((ord = ssvalues.nextOrd()) != SortedSetDocValues.NO_MORE_ORDS) {
         values.add(BytesRef.deepCopyOf(ssvalues.lookupOrd(ord)));
       }
 
       DocValues dv = DocValues.of(
-          dvType,
+          DocValuesType.SORTED_SET,
           values,
           Collections.emptyList()
       );
@@ -20,14 +20,11 @@ package org.apache.lucene.luke.models.documents;
 import org.apache.lucene.index.DocValuesType;
 import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.index.IndexOptions;
-import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexableField;
-import org.apache.lucene.index.MultiDocValues;
-import org.apache.lucene.index.NumericDocValues;
 import org.apache.lucene.util.BytesRef;
 
 import javax.annotation.Nonnull;
-import java.io.IOException;
+import java.util.OptionalLong;
 
 /**
  * Holder for a document field's information and data.
@@ -57,13 +54,11 @@ public final class DocumentField {
   private int pointDimensionCount;
   private int pointNumBytes;
 
-  static DocumentField of(@Nonnull FieldInfo finfo, @Nonnull IndexReader reader, int docId)
-      throws IOException {
-    return of(finfo, null, reader, docId);
+  static DocumentField of(@Nonnull FieldInfo finfo, @Nonnull OptionalLong norm) {
+    return of(finfo, null, norm);
   }
 
-  static DocumentField of(@Nonnull FieldInfo finfo, IndexableField field, @Nonnull IndexReader reader, int docId)
-      throws IOException {
+  static DocumentField of(@Nonnull FieldInfo finfo, IndexableField field, @Nonnull OptionalLong norm) {
 
     DocumentField dfield = new DocumentField();
 
@@ -73,12 +68,7 @@ public final class DocumentField {
     dfield.hasPayloads = finfo.hasPayloads();
     dfield.hasNorms = finfo.hasNorms();
 
-    if (finfo.hasNorms()) {
-      NumericDocValues norms = MultiDocValues.getNormValues(reader, finfo.name);
-      if (norms.advanceExact(docId)) {
-        dfield.norm = norms.longValue();
-      }
-    }
+    dfield.norm = norm.orElse(0L);
 
     dfield.dvType = finfo.getDocValuesType();
 
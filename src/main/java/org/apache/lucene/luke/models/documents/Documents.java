@@ -20,6 +20,7 @@ package org.apache.lucene.luke.models.documents;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.luke.models.LukeException;
 
+import java.io.Writer;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -34,6 +35,14 @@ public interface Documents {
    */
   int getMaxDoc();
 
+  /**
+   * Returns the name of the shard that the document belongs to.
+   * Empty Optional instance is returned if the index is not sharded.
+   *
+   * @param docid - document id
+   */
+  Optional<String> getShardName(int docid);
+
   /**
    * Returns field names in this index.
    */
@@ -86,6 +95,24 @@ public interface Documents {
    */
   Optional<Term> seekTerm(String termText);
 
+  /**
+   * Returns a page of terms with their statistics, from the term dictionary of the specified field.
+   *
+   * <p>
+   * This does not change the current field and terms iterator used by {@link #firstTerm(String)} and {@link #nextTerm()}.
+   * To get the next page, pass the text of the last returned term as <code>after</code>;
+   * the underlying terms enum is then reused without seeking.
+   * </p>
+   *
+   * @param field - field name
+   * @param after - the last term of the previous page (exclusive), or null to start from the first term
+   * @param pageSize - max number of terms to be returned
+   * @param filter - filter on the terms, e.g. {@link TermsFilter#prefix(String)}, or null for all terms
+   * @return terms in the term dictionary order; fewer than pageSize terms means there are no more terms
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  List<TermEntry> getTerms(String field, String after, int pageSize, TermsFilter filter);
+
   /**
    * Returns the first document id (posting) associated with the current term.
    * Empty Optional instance is returned if the terms iterator has not been positioned yet, or the postings iterator has been exhausted.
@@ -111,6 +138,39 @@ public interface Documents {
    */
   List<TermPosting> getTermPositions();
 
+  /**
+   * Reads the next postings of the current term into the specified batch, and returns the number of read documents.
+   * The first call for a term reads from its first posting; following calls continue after the last document of
+   * the previous batch. This is independent of {@link #firstTermDoc()} and {@link #nextTermDoc()}.
+   * Zero is returned if the terms iterator has not been positioned yet, or the postings have been exhausted.
+   *
+   * @param batch - buffers to be filled; reuse the same instance for the following batches
+   * @return the number of documents in the batch
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  int nextPostings(PostingsBatch batch);
+
+  /**
+   * Skips to the first posting whose document id is greater than or equal to <code>target</code>, and reads
+   * the postings from there into the specified batch. Targets before the next posting are ignored,
+   * i.e. this works as {@link #nextPostings(PostingsBatch)}.
+   *
+   * @param target - document id to skip to
+   * @param batch - buffers to be filled; reuse the same instance for the following batches
+   * @return the number of documents in the batch
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  int advancePostings(int target, PostingsBatch batch);
+
+  /**
+   * Returns a summary of the posting list of the current term.
+   * Empty Optional instance is returned if the terms iterator has not been positioned yet.
+   *
+   * @return postings summary, if exists, or empty
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  Optional<PostingsSummary> getPostingsSummary();
+
   /**
    * Returns the document frequency for the current term (the number of documents containing the current term.)
    * Empty Optional instance is returned if the terms iterator has not been positioned yet.
@@ -130,6 +190,33 @@ public interface Documents {
    */
   List<TermVectorEntry> getTermVectors(int docid, String field);
 
+  /**
+   * Returns a page of the term vector for the specified field in the specified document.
+   * Unlike {@link #getTermVectors(int, String)}, positions and offsets are returned in primitive arrays.
+   * Empty Optional instance is returned if no term vector is available for the field.
+   *
+   * @param docid - document id
+   * @param field - field name
+   * @param after - the last term of the previous page (exclusive), or null for the first page
+   * @param pageSize - max number of terms in the page
+   * @return term vector page, if exists, or empty
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  Optional<TermVectorPage> getTermVectorPage(int docid, String field, String after, int pageSize);
+
+  /**
+   * Aggregates the term vectors for the specified field over the specified documents (e.g. search results),
+   * on multiple threads. Documents without term vector for the field are ignored.
+   *
+   * @param docids - document ids
+   * @param field - field name
+   * @param topN - max number of terms to be returned
+   * @return terms ordered by the total frequency in the documents, in descending order; the docFreq of each entry is
+   *         the number of the specified documents containing the term
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  List<TermEntry> aggregateTermVectors(int[] docids, String field, int topN);
+
   /**
    * Returns the doc values for the specified field in the specified document.
    * Empty Optional instance is returned if no doc values is available for the field.
@@ -140,4 +227,20 @@ public interface Documents {
    * @throws LukeException - if an internal error occurs when accessing index
    */
   Optional<DocValues> getDocValues(int docid, String field);
+
+  /**
+   * Writes all live documents to the specified writer, in docid order.
+   *
+   * <p>
+   * Documents are streamed segment by segment, so that the memory usage does not depend on the size of the index.
+   * The writer is neither flushed nor closed.
+   * Binary stored fields and binary / sorted / sorted set doc values are written in base64.
+   * </p>
+   *
+   * @param out - the writer
+   * @param config - export configurations
+   * @return the number of exported documents
+   * @throws LukeException - if an internal error occurs when accessing index or writing the output
+   */
+  long exportDocuments(Writer out, ExportConfig config);
 }
@@ -0,0 +1,631 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.documents;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DocumentStoredFieldVisitor;
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.Fields;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.luke.util.BytesRefUtils;
+import org.apache.lucene.luke.util.IndexUtils;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Streams documents of an index to a {@link Writer}.
+ *
+ * <p>
+ * Documents are read leaf by leaf in docid order, so that stored field blocks are decompressed sequentially and
+ * doc values / norms iterators only move forward. When more than one thread is configured, the segments are read
+ * and formatted in parallel, while the output is still written in docid order.
+ * Each segment hands its formatted documents over through a small bounded queue, so the memory usage
+ * does not depend on the size of the index.
+ * </p>
+ */
+final class DocumentsExporter {
+
+  // max number of documents formatted in a chunk
+  static final int CHUNK_DOCS = 128;
+
+  // a chunk is handed over early when it exceeds this number of chars
+  static final int CHUNK_CHARS = 1 << 20;
+
+  // max number of chunks queued per segment
+  static final int QUEUE_CAPACITY = 4;
+
+  // marks the end of a segment
+  private static final StringBuilder END_OF_LEAF = new StringBuilder(0);
+
+  private final IndexReader reader;
+
+  private final ExportConfig config;
+
+  private final List<FieldInfo> fields;
+
+  private final Set<String> fieldNames;
+
+  DocumentsExporter(@Nonnull IndexReader reader, @Nonnull ExportConfig config) {
+    this.reader = reader;
+    this.config = config;
+    Set<String> selected = config.getFields();
+    List<FieldInfo> fields = new ArrayList<>();
+    for (FieldInfo finfo : IndexUtils.getFieldInfos(reader)) {
+      if (selected.isEmpty() || selected.contains(finfo.name)) {
+        fields.add(finfo);
+      }
+    }
+    this.fields = Collections.unmodifiableList(fields);
+    this.fieldNames = fields.stream().map(f -> f.name).collect(Collectors.toSet());
+  }
+
+  /**
+   * Writes all live documents to the specified writer.
+   *
+   * @param out - the writer; it is not flushed or closed
+   * @return the number of exported documents
+   * @throws IOException - if an error occurs while reading the index or writing the output
+   */
+  long export(@Nonnull Writer out) throws IOException {
+    RecordFormat format = config.getFormat() == ExportConfig.Format.CSV ? new CsvFormat() : new JsonLinesFormat();
+    format.writeHeader(out);
+
+    List<LeafReaderContext> leaves = reader.leaves();
+    AtomicBoolean aborted = new AtomicBoolean(false);
+    AtomicInteger threadNum = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(config.getNumThreads(), r -> {
+      Thread t = new Thread(r, "luke-export-" + threadNum.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    });
+
+    try {
+      // leaves are submitted in order, so the leaf being written has always been started
+      List<LeafTask> tasks = new ArrayList<>();
+      for (LeafReaderContext leaf : leaves) {
+        LeafTask task = new LeafTask(leaf, format, aborted);
+        task.future = executor.submit(task);
+        tasks.add(task);
+      }
+
+      long count = 0;
+      for (LeafTask task : tasks) {
+        while (true) {
+          StringBuilder chunk = take(task.queue);
+          if (chunk == END_OF_LEAF) {
+            break;
+          }
+          out.append(chunk);
+        }
+        count += get(task.future);
+      }
+      return count;
+    } finally {
+      // never interrupt the readers; let them stop by themselves
+      aborted.set(true);
+      executor.shutdown();
+    }
+  }
+
+  private static StringBuilder take(BlockingQueue<StringBuilder> queue) throws IOException {
+    try {
+      return queue.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Export interrupted.", e);
+    }
+  }
+
+  private static long get(Future<Long> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Export interrupted.", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  /** Reads and formats the documents of a leaf. */
+  private final class LeafTask implements Callable<Long> {
+
+    private final LeafReaderContext context;
+
+    private final RecordFormat format;
+
+    private final AtomicBoolean aborted;
+
+    private final BlockingQueue<StringBuilder> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    // per-field iterators of this leaf, or null if the leaf has no values; they move forward only
+    private final Map<String, Object> docValues = new HashMap<>();
+    private final Map<String, NumericDocValues> norms = new HashMap<>();
+
+    private Future<Long> future;
+
+    LeafTask(LeafReaderContext context, RecordFormat format, AtomicBoolean aborted) {
+      this.context = context;
+      this.format = format;
+      this.aborted = aborted;
+    }
+
+    @Override
+    public Long call() throws Exception {
+      try {
+        return export();
+      } finally {
+        put(END_OF_LEAF);
+      }
+    }
+
+    private long export() throws IOException, InterruptedException {
+      LeafReader leafReader = context.reader();
+      Bits liveDocs = leafReader.getLiveDocs();
+
+      long count = 0;
+      int docsInChunk = 0;
+      StringBuilder chunk = new StringBuilder();
+      for (int docid = 0; docid < leafReader.maxDoc(); docid++) {
+        if (aborted.get()) {
+          return count;
+        }
+        if (liveDocs != null && !liveDocs.get(docid)) {
+          continue;
+        }
+
+        Record record = new Record(context.docBase + docid);
+        if (config.isStoredFields()) {
+          DocumentStoredFieldVisitor visitor = new DocumentStoredFieldVisitor(fieldNames);
+          leafReader.document(docid, visitor);
+          readStoredFields(visitor.getDocument(), record);
+        }
+        if (config.isDocValues()) {
+          readDocValues(leafReader, docid, record);
+        }
+        if (config.isNorms()) {
+          readNorms(leafReader, docid, record);
+        }
+        if (config.isTermVectors()) {
+          readTermVectors(leafReader, docid, record);
+        }
+        format.writeRecord(record, chunk);
+        count++;
+
+        if (++docsInChunk == CHUNK_DOCS || chunk.length() >= CHUNK_CHARS) {
+          if (!put(chunk)) {
+            return count;
+          }
+          chunk = new StringBuilder();
+          docsInChunk = 0;
+        }
+      }
+      if (chunk.length() > 0) {
+        put(chunk);
+      }
+      return count;
+    }
+
+    // blocks until the writer catches up; returns false if the export was aborted
+    private boolean put(StringBuilder chunk) throws InterruptedException {
+      while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+        if (aborted.get()) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void readStoredFields(Document doc, Record record) {
+      for (IndexableField field : doc.getFields()) {
+        Object value;
+        if (field.numericValue() != null) {
+          value = field.numericValue();
+        } else if (field.binaryValue() != null) {
+          value = encode(field.binaryValue());
+        } else {
+          value = field.stringValue();
+        }
+        record.stored.computeIfAbsent(field.name(), k -> new ArrayList<>()).add(value);
+      }
+    }
+
+    // binary values are not necessarily UTF-8 text, so they are written as base64 to be restored exactly
+    private String encode(BytesRef bytes) {
+      return Base64.getEncoder().encodeToString(BytesRef.deepCopyOf(bytes).bytes);
+    }
+
+    private void readDocValues(LeafReader leafReader, int docid, Record record) throws IOException {
+      for (FieldInfo finfo : fields) {
+        if (finfo.getDocValuesType() == DocValuesType.NONE) {
+          continue;
+        }
+        Object iterator;
+        if (docValues.containsKey(finfo.name)) {
+          iterator = docValues.get(finfo.name);
+        } else {
+          iterator = getDocValues(leafReader, finfo.name, finfo.getDocValuesType());
+          docValues.put(finfo.name, iterator);
+        }
+        if (iterator == null) {
+          // no doc values in this leaf
+          continue;
+        }
+        List<Object> values = new ArrayList<>();
+        switch (finfo.getDocValuesType()) {
+          case BINARY:
+            BinaryDocValues bvalues = (BinaryDocValues) iterator;
+            if (bvalues.advanceExact(docid)) {
+              values.add(encode(bvalues.binaryValue()));
+            }
+            break;
+          case NUMERIC:
+            NumericDocValues nvalues = (NumericDocValues) iterator;
+            if (nvalues.advanceExact(docid)) {
+              values.add(nvalues.longValue());
+            }
+            break;
+          case SORTED_NUMERIC:
+            SortedNumericDocValues snvalues = (SortedNumericDocValues) iterator;
+            if (snvalues.advanceExact(docid)) {
+              for (int i = 0; i < snvalues.docValueCount(); i++) {
+                values.add(snvalues.nextValue());
+              }
+            }
+            break;
+          case SORTED:
+            SortedDocValues svalues = (SortedDocValues) iterator;
+            if (svalues.advanceExact(docid)) {
+              values.add(encode(svalues.binaryValue()));
+            }
+            break;
+          case SORTED_SET:
+            SortedSetDocValues ssvalues = (SortedSetDocValues) iterator;
+            if (ssvalues.advanceExact(docid)) {
+              long ord;
+              while ((ord = ssvalues.nextOrd()) != SortedSetDocValues.NO_MORE_ORDS) {
+                values.add(encode(ssvalues.lookupOrd(ord)));
+              }
+            }
+            break;
+          default:
+            break;
+        }
+        if (!values.isEmpty()) {
+          record.docValues.put(finfo.name, values);
+        }
+      }
+    }
+
+    @Nullable
+    private Object getDocValues(LeafReader leafReader, String field, DocValuesType dvType) throws IOException {
+      switch (dvType) {
+        case BINARY:
+          return leafReader.getBinaryDocValues(field);
+        case NUMERIC:
+          return leafReader.getNumericDocValues(field);
+        case SORTED_NUMERIC:
+          return leafReader.getSortedNumericDocValues(field);
+        case SORTED:
+          return leafReader.getSortedDocValues(field);
+        case SORTED_SET:
+          return leafReader.getSortedSetDocValues(field);
+        default:
+          return null;
+      }
+    }
+
+    private void readNorms(LeafReader leafReader, int docid, Record record) throws IOException {
+      for (FieldInfo finfo : fields) {
+        if (!finfo.hasNorms()) {
+          continue;
+        }
+        NumericDocValues nvalues;
+        if (norms.containsKey(finfo.name)) {
+          nvalues = norms.get(finfo.name);
+        } else {
+          nvalues = leafReader.getNormValues(finfo.name);
+          norms.put(finfo.name, nvalues);
+        }
+        if (nvalues != null && nvalues.advanceExact(docid)) {
+          record.norms.put(finfo.name, nvalues.longValue());
+        }
+      }
+    }
+
+    private void readTermVectors(LeafReader leafReader, int docid, Record record) throws IOException {
+      Fields tvFields = leafReader.getTermVectors(docid);
+      if (tvFields == null) {
+        return;
+      }
+      for (FieldInfo finfo : fields) {
+        if (!finfo.hasVectors()) {
+          continue;
+        }
+        Terms terms = tvFields.terms(finfo.name);
+        if (terms == null) {
+          continue;
+        }
+        Map<String, Long> freqs = new LinkedHashMap<>();
+        TermsEnum te = terms.iterator();
+        while (te.next() != null) {
+          freqs.put(BytesRefUtils.decode(te.term()), te.totalTermFreq());
+        }
+        record.termVectors.put(finfo.name, freqs);
+      }
+    }
+  }
+
+  /** Data of a document to be formatted. */
+  static final class Record {
+    final int docid;
+    final Map<String, List<Object>> stored = new LinkedHashMap<>();
+    final Map<String, List<Object>> docValues = new LinkedHashMap<>();
+    final Map<String, Long> norms = new LinkedHashMap<>();
+    final Map<String, Map<String, Long>> termVectors = new LinkedHashMap<>();
+
+    Record(int docid) {
+      this.docid = docid;
+    }
+  }
+
+  /** Output format of the records. */
+  private abstract static class RecordFormat {
+
+    void writeHeader(Writer out) throws IOException {
+    }
+
+    abstract void writeRecord(Record record, StringBuilder sb);
+  }
+
+  /**
+   * One JSON object per line, e.g.
+   * <code>{"docid":0,"stored":{"title":["..."]},"docvalues":{"rank":[3]},"norms":{"title":12},"termvectors":{"body":{"lucene":2}}}</code>.
+   * Sections and fields without values are omitted.
+   */
+  private final class JsonLinesFormat extends RecordFormat {
+
+    @Override
+    void writeRecord(Record record, StringBuilder sb) {
+      sb.append("{\"docid\":").append(record.docid);
+      writeValues("stored", record.stored, sb);
+      writeValues("docvalues", record.docValues, sb);
+      if (!record.norms.isEmpty()) {
+        sb.append(",\"norms\":{");
+        writeEntries(record.norms, sb);
+        sb.append('}');
+      }
+      if (!record.termVectors.isEmpty()) {
+        sb.append(",\"termvectors\":{");
+        boolean first = true;
+        for (Map.Entry<String, Map<String, Long>> e : record.termVectors.entrySet()) {
+          if (!first) {
+            sb.append(',');
+          }
+          first = false;
+          appendString(e.getKey(), sb);
+          sb.append(":{");
+          writeEntries(e.getValue(), sb);
+          sb.append('}');
+        }
+        sb.append('}');
+      }
+      sb.append("}\n");
+    }
+
+    private void writeValues(String section, Map<String, List<Object>> values, StringBuilder sb) {
+      if (values.isEmpty()) {
+        return;
+      }
+      sb.append(",\"").append(section).append("\":{");
+      boolean first = true;
+      for (Map.Entry<String, List<Object>> e : values.entrySet()) {
+        if (!first) {
+          sb.append(',');
+        }
+        first = false;
+        appendString(e.getKey(), sb);
+        sb.append(":[");
+        for (int i = 0; i < e.getValue().size(); i++) {
+          if (i > 0) {
+            sb.append(',');
+          }
+          Object value = e.getValue().get(i);
+          if (value instanceof Number) {
+            sb.append(value);
+          } else {
+            appendString(String.valueOf(value), sb);
+          }
+        }
+        sb.append(']');
+      }
+      sb.append('}');
+    }
+
+    private void writeEntries(Map<String, Long> entries, StringBuilder sb) {
+      boolean first = true;
+      for (Map.Entry<String, Long> e : entries.entrySet()) {
+        if (!first) {
+          sb.append(',');
+        }
+        first = false;
+        appendString(e.getKey(), sb);
+        sb.append(':').append(e.getValue());
+      }
+    }
+
+    private void appendString(String s, StringBuilder sb) {
+      sb.append('"');
+      for (int i = 0; i < s.length(); i++) {
+        char c = s.charAt(i);
+        switch (c) {
+          case '"':
+            sb.append("\\\"");
+            break;
+          case '\\':
+            sb.append("\\\\");
+            break;
+          case '\n':
+            sb.append("\\n");
+            break;
+          case '\r':
+            sb.append("\\r");
+            break;
+          case '\t':
+            sb.append("\\t");
+            break;
+          default:
+            if (c < 0x20) {
+              sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+              sb.append(c);
+            }
+        }
+      }
+      sb.append('"');
+    }
+  }
+
+  /**
+   * Comma separated values (RFC 4180). The columns are <code>docid</code> followed by, for each field,
+   * <code>name</code> (stored values), <code>name#docvalues</code>, <code>name#norm</code> and
+   * <code>name#termvectors</code> (space separated <code>term:freq</code> pairs), depending on the configuration
+   * and the field infos.
+   */
+  private final class CsvFormat extends RecordFormat {
+
+    @Override
+    void writeHeader(Writer out) throws IOException {
+      StringBuilder sb = new StringBuilder("docid");
+      for (FieldInfo finfo : fields) {
+        if (config.isStoredFields()) {
+          sb.append(',');
+          appendCell(finfo.name, sb);
+        }
+        if (config.isDocValues() && finfo.getDocValuesType() != DocValuesType.NONE) {
+          sb.append(',');
+          appendCell(finfo.name + "#docvalues", sb);
+        }
+        if (config.isNorms() && finfo.hasNorms()) {
+          sb.append(',');
+          appendCell(finfo.name + "#norm", sb);
+        }
+        if (config.isTermVectors() && finfo.hasVectors()) {
+          sb.append(',');
+          appendCell(finfo.name + "#termvectors", sb);
+        }
+      }
+      sb.append("\r\n");
+      out.append(sb);
+    }
+
+    @Override
+    void writeRecord(Record record, StringBuilder sb) {
+      sb.append(record.docid);
+      for (FieldInfo finfo : fields) {
+        if (config.isStoredFields()) {
+          sb.append(',');
+          appendCell(join(record.stored.get(finfo.name)), sb);
+        }
+        if (config.isDocValues() && finfo.getDocValuesType() != DocValuesType.NONE) {
+          sb.append(',');
+          appendCell(join(record.docValues.get(finfo.name)), sb);
+        }
+        if (config.isNorms() && finfo.hasNorms()) {
+          sb.append(',');
+          Long norm = record.norms.get(finfo.name);
+          if (norm != null) {
+            sb.append(norm);
+          }
+        }
+        if (config.isTermVectors() && finfo.hasVectors()) {
+          sb.append(',');
+          Map<String, Long> freqs = record.termVectors.get(finfo.name);
+          if (freqs != null) {
+            appendCell(freqs.entrySet().stream()
+                .map(e -> e.getKey() + ":" + e.getValue())
+                .collect(Collectors.joining(" ")), sb);
+          }
+        }
+      }
+      sb.append("\r\n");
+    }
+
+    private String join(List<Object> values) {
+      if (values == null) {
+        return "";
+      }
+      return values.stream().map(String::valueOf).collect(Collectors.joining("|"));
+    }
+
+    private void appendCell(String s, StringBuilder sb) {
+      boolean quote = false;
+      for (int i = 0; i < s.length() && !quote; i++) {
+        char c = s.charAt(i);
+        quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+      }
+      if (quote) {
+        sb.append('"').append(s.replace("\"", "\"\"")).append('"');
+      } else {
+        sb.append(s);
+      }
+    }
+  }
+
+}
@@ -27,6 +27,7 @@ import org.apache.lucene.index.Terms;
 import org.apache.lucene.index.TermsEnum;
 import org.apache.lucene.luke.models.LukeModel;
 import org.apache.lucene.luke.models.LukeException;
+import org.apache.lucene.luke.models.shards.ShardLocator;
 import org.apache.lucene.luke.util.BytesRefUtils;
 import org.apache.lucene.luke.util.IndexUtils;
 import org.apache.lucene.util.BytesRef;
@@ -34,12 +35,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ForkJoinPool;
 
 public final class DocumentsImpl extends LukeModel implements Documents {
 
@@ -49,20 +54,48 @@ public final class DocumentsImpl extends LukeModel implements Documents {
 
   private final DocValuesAdapter dvAdapter;
 
+  private final NormsAdapter normsAdapter;
+
+  private final StoredFieldsCursor storedFieldsCursor;
+
+  private final TermsPager termsPager;
+
+  private final ShardLocator shards;
+
   private String curField;
 
   private TermsEnum tenum;
 
   private PostingsEnum penum;
 
+  // postings enum for batched reads; kept for reuse across terms
+  private PostingsEnum batchPenum;
+
+  private int batchFlags;
+
+  private boolean batchPositioned = false;
+
   /**
    * Constructs an DocumentsImpl that holds given {@link IndexReader}.
    * @param reader - the index reader
    */
   public DocumentsImpl(@Nonnull IndexReader reader) {
+    this(reader, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs an DocumentsImpl that holds given {@link IndexReader}.
+   * @param reader - the index reader
+   * @param pool - fork-join pool to aggregate term vectors
+   */
+  public DocumentsImpl(@Nonnull IndexReader reader, @Nonnull ForkJoinPool pool) {
     super(reader);
-    this.tvAdapter = new TermVectorsAdapter(reader);
+    this.tvAdapter = new TermVectorsAdapter(reader, pool);
     this.dvAdapter = new DocValuesAdapter(reader);
+    this.normsAdapter = new NormsAdapter(reader);
+    this.storedFieldsCursor = new StoredFieldsCursor(reader);
+    this.termsPager = new TermsPager(reader);
+    this.shards = ShardLocator.of(reader);
   }
 
   @Override
@@ -70,6 +103,11 @@ public final class DocumentsImpl extends LukeModel implements Documents {
     return reader.maxDoc();
   }
 
+  @Override
+  public Optional<String> getShardName(int docid) {
+    return Optional.ofNullable(shards.getShardName(docid));
+  }
+
   @Override
   public boolean isLive(int docid) {
     return liveDocs == null || liveDocs.get(docid);
@@ -85,17 +123,18 @@ public final class DocumentsImpl extends LukeModel implements Documents {
     List<DocumentField> res = new ArrayList<>();
 
     try {
-      Document doc = reader.document(docid);
+      Document doc = storedFieldsCursor.document(docid);
 
       for (FieldInfo finfo : IndexUtils.getFieldInfos(reader)) {
         // iterate all fields for this document
         IndexableField[] fields = doc.getFields(finfo.name);
+        OptionalLong norm = finfo.hasNorms() ? normsAdapter.getNorm(docid, finfo.name) : OptionalLong.empty();
         if (fields.length == 0) {
           // no stored data is available
-          res.add(DocumentField.of(finfo, reader, docid));
+          res.add(DocumentField.of(finfo, norm));
         } else {
           for (IndexableField field : fields) {
-            res.add(DocumentField.of(finfo, field, reader, docid));
+            res.add(DocumentField.of(finfo, field, norm));
           }
         }
       }
@@ -141,8 +180,9 @@ public final class DocumentsImpl extends LukeModel implements Documents {
       resetTermsIterator();
       throw new LukeException(String.format(Locale.ENGLISH, "Terms not available for field: %s.", field), e);
     } finally {
-      // discard current postings enum
+      // discard current postings enums
       resetPostingsIterator();
+      resetBatchPostingsIterator();
     }
   }
 
@@ -168,8 +208,9 @@ public final class DocumentsImpl extends LukeModel implements Documents {
       resetTermsIterator();
       throw new LukeException(String.format(Locale.ENGLISH, "Terms not available for field: %s.", curField), e);
     } finally {
-      // discard current postings enum
+      // discard current postings enums
       resetPostingsIterator();
+      resetBatchPostingsIterator();
     }
   }
 
@@ -182,8 +223,11 @@ public final class DocumentsImpl extends LukeModel implements Documents {
     }
 
     try {
-      Terms terms = IndexUtils.getTerms(reader, curField);
-      setTermsIterator(terms.iterator());
+      if (tenum == null) {
+        // the iterator has been exhausted; otherwise, reuse it
+        Terms terms = IndexUtils.getTerms(reader, curField);
+        setTermsIterator(terms.iterator());
+      }
 
       if (tenum.seekCeil(new BytesRef(termText)) == TermsEnum.SeekStatus.END) {
         // reached to the end of the iterator
@@ -197,8 +241,21 @@ public final class DocumentsImpl extends LukeModel implements Documents {
       resetTermsIterator();
       throw new LukeException(String.format(Locale.ENGLISH, "Terms not available for field: %s.", curField), e);
     } finally {
-      // discard current postings enum
+      // discard current postings enums
       resetPostingsIterator();
+      resetBatchPostingsIterator();
+    }
+  }
+
+  @Override
+  public List<TermEntry> getTerms(@Nonnull String field, @Nullable String after, int pageSize, @Nullable TermsFilter filter) {
+    if (pageSize <= 0) {
+      throw new IllegalArgumentException(String.format(Locale.ENGLISH, "'pageSize' must be a positive integer: %d is not accepted.", pageSize));
+    }
+    try {
+      return termsPager.getTerms(field, after, pageSize, filter);
+    } catch (IOException e) {
+      throw new LukeException(String.format(Locale.ENGLISH, "Terms not available for field: %s.", field), e);
     }
   }
 
@@ -281,6 +338,65 @@ public final class DocumentsImpl extends LukeModel implements Documents {
   }
 
 
+  @Override
+  public int nextPostings(@Nonnull PostingsBatch batch) {
+    return readPostings(-1, batch);
+  }
+
+  @Override
+  public int advancePostings(int target, @Nonnull PostingsBatch batch) {
+    return readPostings(target, batch);
+  }
+
+  private int readPostings(int target, PostingsBatch batch) {
+    if (tenum == null) {
+      // terms enum is not initialized
+      logger.warn("Terms enum un-positioned for field: {}.", curField);
+      return 0;
+    }
+
+    try {
+      int current = batchPositioned ? batchPenum.docID() : -1;
+      if (current == PostingsEnum.NO_MORE_DOCS) {
+        // exhausted
+        return 0;
+      }
+
+      int flags = batch.postingsFlags();
+      if (!batchPositioned || (batchFlags & flags) != flags) {
+        // more postings data is required; re-create the enum and go back to the current document
+        batchPenum = tenum.postings(batchPenum, flags);
+        batchFlags = flags;
+        batchPositioned = true;
+      }
+
+      int next = Math.max(target, current + 1);
+      int doc = next <= batchPenum.docID() + 1 ? batchPenum.nextDoc() : batchPenum.advance(next);
+      if (doc == PostingsEnum.NO_MORE_DOCS) {
+        return 0;
+      }
+      return batch.fill(batchPenum);
+    } catch (IOException e) {
+      resetBatchPostingsIterator();
+      throw new LukeException(String.format(Locale.ENGLISH, "Term docs not available for field: %s.", curField), e);
+    }
+  }
+
+  @Override
+  public Optional<PostingsSummary> getPostingsSummary() {
+    if (tenum == null) {
+      // terms enum is not initialized
+      logger.warn("Terms enum un-positioned for field: {}.", curField);
+      return Optional.empty();
+    }
+
+    try {
+      return Optional.of(PostingsSummary.of(tenum.postings(null, PostingsEnum.FREQS)));
+    } catch (IOException e) {
+      throw new LukeException(String.format(Locale.ENGLISH, "Term docs not available for field: %s.", curField), e);
+    }
+  }
+
   @Override
   public Optional<Integer> getDocFreq() {
     if (tenum == null) {
@@ -305,6 +421,30 @@ public final class DocumentsImpl extends LukeModel implements Documents {
     }
   }
 
+  @Override
+  public Optional<TermVectorPage> getTermVectorPage(int docid, @Nonnull String field, @Nullable String after, int pageSize) {
+    if (pageSize <= 0) {
+      throw new IllegalArgumentException(String.format(Locale.ENGLISH, "'pageSize' must be a positive integer: %d is not accepted.", pageSize));
+    }
+    try {
+      return tvAdapter.getTermVectorPage(docid, field, after, pageSize);
+    } catch (IOException e) {
+      throw new LukeException(String.format(Locale.ENGLISH, "Term vector not available for doc: #%d and field: %s", docid, field), e);
+    }
+  }
+
+  @Override
+  public List<TermEntry> aggregateTermVectors(@Nonnull int[] docids, @Nonnull String field, int topN) {
+    if (topN <= 0) {
+      throw new IllegalArgumentException(String.format(Locale.ENGLISH, "'topN' must be a positive integer: %d is not accepted.", topN));
+    }
+    try {
+      return tvAdapter.aggregateTermVectors(docids, field, topN);
+    } catch (IOException e) {
+      throw new LukeException(String.format(Locale.ENGLISH, "Term vectors not available for field: %s", field), e);
+    }
+  }
+
   @Override
   public Optional<DocValues> getDocValues(int docid, String field) {
     try {
@@ -314,6 +454,15 @@ public final class DocumentsImpl extends LukeModel implements Documents {
     }
   }
 
+  @Override
+  public long exportDocuments(@Nonnull Writer out, @Nonnull ExportConfig config) {
+    try {
+      return new DocumentsExporter(reader, config).export(out);
+    } catch (IOException e) {
+      throw new LukeException("Failed to export documents.", e);
+    }
+  }
+
   private void resetCurrentField() {
     this.curField = null;
   }
@@ -334,6 +483,11 @@ public final class DocumentsImpl extends LukeModel implements Documents {
     this.penum = null;
   }
 
+  private void resetBatchPostingsIterator() {
+    // keep the enum instance for reuse
+    this.batchPositioned = false;
+  }
+
   private void setPostingsIterator(PostingsEnum penum) {
     this.penum = penum;
   }
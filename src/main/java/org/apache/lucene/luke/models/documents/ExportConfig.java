@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.documents;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Configurations for exporting documents.
+ */
+public final class ExportConfig {
+
+  /**
+   * Output formats.
+   */
+  public enum Format {
+    /** one JSON object per document and line */
+    JSON_LINES,
+    /** comma separated values with a header line; multiple values in a cell are separated by '|' */
+    CSV
+  }
+
+  private final Format format;
+
+  private final Set<String> fields;
+
+  private final boolean storedFields;
+
+  private final boolean docValues;
+
+  private final boolean norms;
+
+  private final boolean termVectors;
+
+  private final int numThreads;
+
+  public static class Builder {
+
+    private Format format = Format.JSON_LINES;
+    private final Set<String> fields = new LinkedHashSet<>();
+    private boolean storedFields = true;
+    private boolean docValues = false;
+    private boolean norms = false;
+    private boolean termVectors = false;
+    private int numThreads = 1;
+
+    public Builder format(Format val) {
+      format = val;
+      return this;
+    }
+
+    public Builder fields(Collection<String> val) {
+      fields.addAll(val);
+      return this;
+    }
+
+    public Builder storedFields(boolean val) {
+      storedFields = val;
+      return this;
+    }
+
+    public Builder docValues(boolean val) {
+      docValues = val;
+      return this;
+    }
+
+    public Builder norms(boolean val) {
+      norms = val;
+      return this;
+    }
+
+    public Builder termVectors(boolean val) {
+      termVectors = val;
+      return this;
+    }
+
+    public Builder numThreads(int val) {
+      numThreads = val;
+      return this;
+    }
+
+    public ExportConfig build() {
+      return new ExportConfig(this);
+    }
+  }
+
+  private ExportConfig(Builder builder) {
+    if (builder.format == null) {
+      throw new IllegalArgumentException("Format must not be null.");
+    }
+    if (builder.numThreads <= 0) {
+      throw new IllegalArgumentException("Number of threads must be a positive integer.");
+    }
+    this.format = builder.format;
+    this.fields = ImmutableSet.copyOf(builder.fields);
+    this.storedFields = builder.storedFields;
+    this.docValues = builder.docValues;
+    this.norms = builder.norms;
+    this.termVectors = builder.termVectors;
+    this.numThreads = builder.numThreads;
+  }
+
+  public Format getFormat() {
+    return format;
+  }
+
+  /**
+   * Returns the fields to be exported; empty set means all fields.
+   */
+  public Set<String> getFields() {
+    return fields;
+  }
+
+  public boolean isStoredFields() {
+    return storedFields;
+  }
+
+  public boolean isDocValues() {
+    return docValues;
+  }
+
+  public boolean isNorms() {
+    return norms;
+  }
+
+  public boolean isTermVectors() {
+    return termVectors;
+  }
+
+  /**
+   * Returns the number of threads; segments are read in parallel when this is greater than 1.
+   */
+  public int getNumThreads() {
+    return numThreads;
+  }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.documents;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.ReaderUtil;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * An utility class to access to the norms.
+ *
+ * <p>
+ * Norms are read from the segment that contains the document. The per-segment norms iterators are kept and reused
+ * while the requested documents move forward, so stepping through the documents does not re-open the norms.
+ * </p>
+ */
+final class NormsAdapter {
+
+  private final IndexReader reader;
+
+  // norms iterators per field, for the leaf at leafOrd
+  private final Map<String, NumericDocValues> normsCache = new HashMap<>();
+
+  private int leafOrd = -1;
+
+  NormsAdapter(@Nonnull IndexReader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Returns the norm value for the specified field in the specified document.
+   * Empty OptionalLong instance is returned if no norm is available for the field.
+   *
+   * @param docid - document id
+   * @param field - field name
+   * @return norm value, if exists, or empty
+   * @throws IOException
+   */
+  OptionalLong getNorm(int docid, @Nonnull String field) throws IOException {
+    List<LeafReaderContext> leaves = reader.leaves();
+    int ord = ReaderUtil.subIndex(docid, leaves);
+    if (ord != leafOrd) {
+      normsCache.clear();
+      leafOrd = ord;
+    }
+    LeafReaderContext leaf = leaves.get(ord);
+    int leafDocid = docid - leaf.docBase;
+
+    NumericDocValues norms = normsCache.get(field);
+    if (norms == null || norms.docID() >= leafDocid) {
+      // doc values iterators only move forward
+      norms = leaf.reader().getNormValues(field);
+      if (norms == null) {
+        return OptionalLong.empty();
+      }
+      normsCache.put(field, norms);
+    }
+
+    if (norms.advanceExact(leafDocid)) {
+      return OptionalLong.of(norms.longValue());
+    }
+    return OptionalLong.empty();
+  }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.documents;
+
+import org.apache.lucene.index.PostingsEnum;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
+
+import java.io.IOException;
+
+/**
+ * Reusable buffers for a batch of postings: document ids, frequencies, and optionally positions, offsets and payloads.
+ *
+ * <p>
+ * Positions (and offsets) of all documents in the batch are stored in flat arrays; those of the i-th document are found
+ * at <code>[getPositionStart(i), getPositionStart(i) + getFreqs()[i])</code>. Position arrays grow as needed,
+ * and the same instance should be passed again to read the following postings without allocations.
+ * </p>
+ */
+public final class PostingsBatch {
+
+  private final boolean needsPositions;
+
+  private final boolean needsOffsets;
+
+  private final boolean needsPayloads;
+
+  private final int[] docids;
+
+  private final int[] freqs;
+
+  private final int[] positionStarts;
+
+  private int[] positions = new int[0];
+
+  private int[] startOffsets = new int[0];
+
+  private int[] endOffsets = new int[0];
+
+  private BytesRef[] payloads = new BytesRef[0];
+
+  private int size = 0;
+
+  /**
+   * @param capacity - max number of documents in a batch
+   * @param needsPositions - if true, positions are read
+   * @param needsOffsets - if true, offsets (and positions) are read
+   */
+  public PostingsBatch(int capacity, boolean needsPositions, boolean needsOffsets) {
+    this(capacity, needsPositions, needsOffsets, false);
+  }
+
+  /**
+   * @param capacity - max number of documents in a batch
+   * @param needsPositions - if true, positions are read
+   * @param needsOffsets - if true, offsets (and positions) are read
+   * @param needsPayloads - if true, payloads (and positions) are read; unlike the other data, payloads are copied
+   */
+  public PostingsBatch(int capacity, boolean needsPositions, boolean needsOffsets, boolean needsPayloads) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be a positive integer.");
+    }
+    this.needsPositions = needsPositions || needsOffsets || needsPayloads;
+    this.needsOffsets = needsOffsets;
+    this.needsPayloads = needsPayloads;
+    this.docids = new int[capacity];
+    this.freqs = new int[capacity];
+    this.positionStarts = new int[capacity];
+  }
+
+  /**
+   * Returns the flags to be passed to {@link org.apache.lucene.index.TermsEnum#postings(PostingsEnum, int)}.
+   */
+  int postingsFlags() {
+    if (needsOffsets && needsPayloads) {
+      return PostingsEnum.ALL;
+    } else if (needsOffsets) {
+      return PostingsEnum.OFFSETS;
+    } else if (needsPayloads) {
+      return PostingsEnum.PAYLOADS;
+    } else if (needsPositions) {
+      return PostingsEnum.POSITIONS;
+    }
+    return PostingsEnum.FREQS;
+  }
+
+  /**
+   * Fills this batch with the postings, starting from the current document of the postings enum.
+   * The enum is left on the last document of the batch.
+   *
+   * @param penum - postings enum positioned on the first document to be read
+   * @return the number of documents read
+   */
+  int fill(PostingsEnum penum) throws IOException {
+    size = 0;
+    int numPositions = 0;
+    int doc = penum.docID();
+    while (doc != DocIdSetIterator.NO_MORE_DOCS) {
+      int freq = penum.freq();
+      docids[size] = doc;
+      freqs[size] = freq;
+      positionStarts[size] = numPositions;
+      if (needsPositions) {
+        ensurePositionsCapacity(numPositions + freq);
+        for (int i = 0; i < freq; i++, numPositions++) {
+          positions[numPositions] = penum.nextPosition();
+          if (needsOffsets) {
+            startOffsets[numPositions] = penum.startOffset();
+            endOffsets[numPositions] = penum.endOffset();
+          }
+          if (needsPayloads) {
+            BytesRef payload = penum.getPayload();
+            payloads[numPositions] = payload == null ? null : BytesRef.deepCopyOf(payload);
+          }
+        }
+      }
+      if (++size == docids.length) {
+        break;
+      }
+      doc = penum.nextDoc();
+    }
+    return size;
+  }
+
+  private void ensurePositionsCapacity(int minSize) {
+    if (positions.length < minSize) {
+      positions = ArrayUtil.grow(positions, minSize);
+      if (needsOffsets) {
+        startOffsets = ArrayUtil.grow(startOffsets, minSize);
+        endOffsets = ArrayUtil.grow(endOffsets, minSize);
+      }
+      if (needsPayloads) {
+        payloads = ArrayUtil.grow(payloads, minSize);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of documents in this batch.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the max number of documents in a batch.
+   */
+  public int capacity() {
+    return docids.length;
+  }
+
+  /**
+   * Returns the document ids; only the first {@link #size()} elements are valid.
+   */
+  public int[] getDocids() {
+    return docids;
+  }
+
+  /**
+   * Returns the term frequencies in the documents; only the first {@link #size()} elements are valid.
+   */
+  public int[] getFreqs() {
+    return freqs;
+  }
+
+  /**
+   * Returns the index of the first position of the i-th document in {@link #getPositions()}.
+   */
+  public int getPositionStart(int i) {
+    return positionStarts[i];
+  }
+
+  /**
+   * Returns the positions, or an empty array if positions were not requested.
+   * A position is -1 if the field does not index positions.
+   */
+  public int[] getPositions() {
+    return positions;
+  }
+
+  /**
+   * Returns the start offsets, or an empty array if offsets were not requested.
+   * An offset is -1 if the field does not index offsets.
+   */
+  public int[] getStartOffsets() {
+    return startOffsets;
+  }
+
+  /**
+   * Returns the end offsets, or an empty array if offsets were not requested.
+   * An offset is -1 if the field does not index offsets.
+   */
+  public int[] getEndOffsets() {
+    return endOffsets;
+  }
+
+  /**
+   * Returns the payloads, or an empty array if payloads were not requested.
+   * A payload is null if there is no payload at the position.
+   */
+  public BytesRef[] getPayloads() {
+    return payloads;
+  }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.documents;
+
+import org.apache.lucene.index.PostingsEnum;
+import org.apache.lucene.search.DocIdSetIterator;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Summary of the posting list of a term: the number of postings, frequencies and the distribution of docid gaps.
+ */
+public final class PostingsSummary {
+
+  private final int count;
+
+  private final long totalFreq;
+
+  private final int maxFreq;
+
+  private final long[] gapHistogram;
+
+  /**
+   * Returns a summary of the postings, read to the end.
+   *
+   * @param penum - unpositioned postings enum
+   */
+  static PostingsSummary of(@Nonnull PostingsEnum penum) throws IOException {
+    int count = 0;
+    long totalFreq = 0;
+    int maxFreq = 0;
+    long[] histogram = new long[Integer.SIZE];
+    int prevDoc = -1;
+    for (int doc = penum.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = penum.nextDoc()) {
+      int freq = penum.freq();
+      count++;
+      totalFreq += freq;
+      maxFreq = Math.max(maxFreq, freq);
+      if (prevDoc >= 0) {
+        // bucket i counts the gaps in [2^i, 2^(i+1))
+        histogram[31 - Integer.numberOfLeadingZeros(doc - prevDoc)]++;
+      }
+      prevDoc = doc;
+    }
+
+    int numBuckets = histogram.length;
+    while (numBuckets > 0 && histogram[numBuckets - 1] == 0) {
+      numBuckets--;
+    }
+    return new PostingsSummary(count, totalFreq, maxFreq, Arrays.copyOf(histogram, numBuckets));
+  }
+
+  private PostingsSummary(int count, long totalFreq, int maxFreq, long[] gapHistogram) {
+    this.count = count;
+    this.totalFreq = totalFreq;
+    this.maxFreq = maxFreq;
+    this.gapHistogram = gapHistogram;
+  }
+
+  /**
+   * Returns the number of postings (documents), including deleted documents.
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the sum of the term frequencies.
+   */
+  public long getTotalFreq() {
+    return totalFreq;
+  }
+
+  /**
+   * Returns the max term frequency in a document.
+   */
+  public int getMaxFreq() {
+    return maxFreq;
+  }
+
+  /**
+   * Returns the average term frequency per document.
+   */
+  public double getAverageFreq() {
+    return count == 0 ? 0 : (double) totalFreq / count;
+  }
+
+  /**
+   * Returns the histogram of the gaps between consecutive document ids.
+   * The i-th element counts the gaps in <code>[2^i, 2^(i+1))</code>; trailing empty buckets are omitted.
+   */
+  public long[] getGapHistogram() {
+    return gapHistogram.clone();
+  }
+
+  @Override
+  public String toString() {
+    return "PostingsSummary{" +
+        "count=" + count +
+        ", totalFreq=" + totalFreq +
+        ", maxFreq=" + maxFreq +
+        ", gapHistogram=" + Arrays.toString(gapHistogram) +
+        '}';
+  }
+}
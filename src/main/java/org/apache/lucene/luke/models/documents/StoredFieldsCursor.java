@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.documents;
+
+import org.apache.lucene.codecs.StoredFieldsReader;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DocumentStoredFieldVisitor;
+import org.apache.lucene.index.CodecReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.util.Bits;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cursor to read the stored fields of neighbouring documents.
+ *
+ * <p>
+ * Each call of {@link IndexReader#document(int)} decompresses the whole block that contains the document,
+ * so browsing documents one by one decompresses the same block again and again.
+ * This cursor keeps a merge instance of the stored fields reader of the current leaf, which holds on to the last
+ * decompressed block, and prefetches the following documents of the leaf while their block is at hand.
+ * </p>
+ *
+ * <p>This class is not thread safe.</p>
+ */
+final class StoredFieldsCursor {
+
+  // number of documents read at once, including the requested one
+  static final int DEFAULT_PREFETCH_DOCS = 8;
+
+  private final IndexReader reader;
+
+  private final int prefetchDocs;
+
+  // recently read documents of the current leaf
+  private final Map<Integer, Document> cache;
+
+  private int leafOrd = -1;
+
+  private LeafReaderContext leaf;
+
+  // null if the leaf is not a codec reader
+  private StoredFieldsReader fieldsReader;
+
+  StoredFieldsCursor(@Nonnull IndexReader reader) {
+    this(reader, DEFAULT_PREFETCH_DOCS);
+  }
+
+  StoredFieldsCursor(@Nonnull IndexReader reader, int prefetchDocs) {
+    this.reader = reader;
+    this.prefetchDocs = Math.max(1, prefetchDocs);
+    int cacheSize = this.prefetchDocs * 2;
+    this.cache = new LinkedHashMap<Integer, Document>(cacheSize, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Document> eldest) {
+        return size() > cacheSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the stored fields of the specified document.
+   *
+   * @param docid - document id
+   * @return the document
+   * @throws IOException
+   */
+  Document document(int docid) throws IOException {
+    Document doc = cache.get(docid);
+    if (doc != null) {
+      return doc;
+    }
+
+    List<LeafReaderContext> leaves = reader.leaves();
+    int ord = ReaderUtil.subIndex(docid, leaves);
+    if (ord != leafOrd) {
+      setLeaf(ord, leaves.get(ord));
+    }
+
+    doc = read(docid - leaf.docBase);
+    cache.put(docid, doc);
+
+    // prefetch the following live documents, likely in the same block
+    LeafReader leafReader = leaf.reader();
+    Bits liveDocs = leafReader.getLiveDocs();
+    int maxDoc = leafReader.maxDoc();
+    int fetched = 1;
+    for (int leafDocid = docid - leaf.docBase + 1; leafDocid < maxDoc && fetched < prefetchDocs; leafDocid++) {
+      if (liveDocs != null && !liveDocs.get(leafDocid)) {
+        continue;
+      }
+      if (!cache.containsKey(leaf.docBase + leafDocid)) {
+        cache.put(leaf.docBase + leafDocid, read(leafDocid));
+      }
+      fetched++;
+    }
+
+    return doc;
+  }
+
+  /** Returns the number of cached documents. */
+  int cachedDocs() {
+    return cache.size();
+  }
+
+  private void setLeaf(int ord, LeafReaderContext leaf) throws IOException {
+    StoredFieldsReader fieldsReader = null;
+    if (leaf.reader() instanceof CodecReader) {
+      StoredFieldsReader in = ((CodecReader) leaf.reader()).getFieldsReader();
+      fieldsReader = in == null ? null : in.getMergeInstance();
+    }
+    this.fieldsReader = fieldsReader;
+    this.leaf = leaf;
+    this.leafOrd = ord;
+    this.cache.clear();
+  }
+
+  private Document read(int leafDocid) throws IOException {
+    DocumentStoredFieldVisitor visitor = new DocumentStoredFieldVisitor();
+    if (fieldsReader != null) {
+      fieldsReader.visitDocument(leafDocid, visitor);
+    } else {
+      leaf.reader().document(leafDocid, visitor);
+    }
+    return visitor.getDocument();
+  }
+
+}
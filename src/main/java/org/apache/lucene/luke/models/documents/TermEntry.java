@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.documents;
+
+/**
+ * Holder for a term in the term dictionary of a field and its statistics.
+ */
+public final class TermEntry {
+
+  private final String termText;
+
+  private final int docFreq;
+
+  private final long totalTermFreq;
+
+  static TermEntry of(String termText, int docFreq, long totalTermFreq) {
+    return new TermEntry(termText, docFreq, totalTermFreq);
+  }
+
+  private TermEntry(String termText, int docFreq, long totalTermFreq) {
+    this.termText = termText;
+    this.docFreq = docFreq;
+    this.totalTermFreq = totalTermFreq;
+  }
+
+  /**
+   * Returns the string representation for this term.
+   */
+  public String getTermText() {
+    return termText;
+  }
+
+  /**
+   * Returns the number of documents containing this term.
+   */
+  public int getDocFreq() {
+    return docFreq;
+  }
+
+  /**
+   * Returns the total term frequency of this term, or -1 if the field does not index term frequencies.
+   */
+  public long getTotalTermFreq() {
+    return totalTermFreq;
+  }
+
+  @Override
+  public String toString() {
+    return "TermEntry{" +
+        "termText='" + termText + '\'' +
+        ", docFreq=" + docFreq +
+        ", totalTermFreq=" + totalTermFreq +
+        '}';
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.documents;
+
+/**
+ * A page of the term vector of a document field, backed by primitive arrays.
+ *
+ * <p>
+ * Positions (and offsets) of all terms in the page are stored in flat arrays; those of the i-th term are found
+ * at <code>[getPositionStart(i), getPositionStart(i) + getFreqs()[i])</code>.
+ * </p>
+ */
+public final class TermVectorPage {
+
+  private final int size;
+
+  private final String[] termTexts;
+
+  private final int[] freqs;
+
+  private final int[] positionStarts;
+
+  private final int[] positions;
+
+  private final int[] startOffsets;
+
+  private final int[] endOffsets;
+
+  private final boolean hasMore;
+
+  TermVectorPage(int size, String[] termTexts, int[] freqs, int[] positionStarts,
+                 int[] positions, int[] startOffsets, int[] endOffsets, boolean hasMore) {
+    this.size = size;
+    this.termTexts = termTexts;
+    this.freqs = freqs;
+    this.positionStarts = positionStarts;
+    this.positions = positions;
+    this.startOffsets = startOffsets;
+    this.endOffsets = endOffsets;
+    this.hasMore = hasMore;
+  }
+
+  /**
+   * Returns the number of terms in this page.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the string representation for the i-th term.
+   */
+  public String getTermText(int i) {
+    return termTexts[i];
+  }
+
+  /**
+   * Returns the frequencies of the terms in the document; only the first {@link #size()} elements are valid.
+   */
+  public int[] getFreqs() {
+    return freqs;
+  }
+
+  /**
+   * Returns the index of the first position of the i-th term in {@link #getPositions()}.
+   */
+  public int getPositionStart(int i) {
+    return positionStarts[i];
+  }
+
+  /**
+   * Returns the positions, or an empty array if the term vector does not have positions.
+   */
+  public int[] getPositions() {
+    return positions;
+  }
+
+  /**
+   * Returns the start offsets, or an empty array if the term vector does not have offsets.
+   */
+  public int[] getStartOffsets() {
+    return startOffsets;
+  }
+
+  /**
+   * Returns the end offsets, or an empty array if the term vector does not have offsets.
+   */
+  public int[] getEndOffsets() {
+    return endOffsets;
+  }
+
+  /**
+   * Returns the last term of this page, to be passed to get the next page; or null if this page is empty.
+   */
+  public String getLastTermText() {
+    return size == 0 ? null : termTexts[size - 1];
+  }
+
+  /**
+   * Returns true if there are more terms after this page.
+   */
+  public boolean hasMore() {
+    return hasMore;
+  }
+
+}
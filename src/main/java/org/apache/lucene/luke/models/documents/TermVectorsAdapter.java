@@ -21,14 +21,24 @@ import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.PostingsEnum;
 import org.apache.lucene.index.Terms;
 import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.luke.util.BytesRefUtils;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefHash;
+import org.apache.lucene.util.InPlaceMergeSorter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * An utility class to access to the term vectors.
@@ -37,10 +47,20 @@ final class TermVectorsAdapter {
 
   private static Logger logger = LoggerFactory.getLogger(TermVectorsAdapter.class);
 
+  // min number of documents processed by a task when aggregating term vectors
+  static final int AGGREGATE_BATCH_SIZE = 64;
+
   private IndexReader reader;
 
+  private final ForkJoinPool pool;
+
   TermVectorsAdapter(@Nonnull IndexReader reader) {
+    this(reader, ForkJoinPool.commonPool());
+  }
+
+  TermVectorsAdapter(@Nonnull IndexReader reader, @Nonnull ForkJoinPool pool) {
     this.reader = reader;
+    this.pool = pool;
   }
 
   /**
@@ -68,4 +88,214 @@ final class TermVectorsAdapter {
     return res;
   }
 
+  /**
+   * Returns a page of the term vector for the specified field in the specified document.
+   * Empty Optional instance is returned if no term vector is available for the field.
+   *
+   * @param docid - document id
+   * @param field - field name
+   * @param after - the last term of the previous page (exclusive), or null for the first page
+   * @param pageSize - max number of terms in the page
+   * @return term vector page, if exists, or empty
+   * @throws IOException
+   */
+  Optional<TermVectorPage> getTermVectorPage(int docid, String field, @Nullable String after, int pageSize) throws IOException {
+    Terms termVector = reader.getTermVector(docid, field);
+    if (termVector == null) {
+      // no term vector available
+      logger.warn("No term vector indexed for doc: #{} and field: {}", docid, field);
+      return Optional.empty();
+    }
+
+    boolean hasPositions = termVector.hasPositions();
+    boolean hasOffsets = termVector.hasOffsets();
+    int flags = hasOffsets ? PostingsEnum.OFFSETS : PostingsEnum.POSITIONS;
+
+    TermsEnum te = termVector.iterator();
+    BytesRef term;
+    if (after == null) {
+      term = te.next();
+    } else {
+      switch (te.seekCeil(new BytesRef(after))) {
+        case FOUND:
+          term = te.next();
+          break;
+        case NOT_FOUND:
+          term = te.term();
+          break;
+        default:
+          term = null;
+      }
+    }
+
+    int initialSize = (int) Math.min(pageSize, Math.max(termVector.size(), 1));
+    String[] termTexts = new String[initialSize];
+    int[] freqs = new int[initialSize];
+    int[] positionStarts = new int[initialSize];
+    int[] positions = new int[0];
+    int[] startOffsets = new int[0];
+    int[] endOffsets = new int[0];
+
+    int size = 0;
+    int numPositions = 0;
+    PostingsEnum pe = null;
+    for (; term != null && size < pageSize; term = te.next(), size++) {
+      if (size == termTexts.length) {
+        termTexts = ArrayUtil.grow(termTexts, size + 1);
+        freqs = ArrayUtil.grow(freqs, size + 1);
+        positionStarts = ArrayUtil.grow(positionStarts, size + 1);
+      }
+      int freq = (int) te.totalTermFreq();
+      termTexts[size] = BytesRefUtils.decode(term);
+      freqs[size] = freq;
+      positionStarts[size] = numPositions;
+
+      if (hasPositions) {
+        pe = te.postings(pe, flags);
+        pe.nextDoc();
+        if (positions.length < numPositions + freq) {
+          positions = ArrayUtil.grow(positions, numPositions + freq);
+          if (hasOffsets) {
+            startOffsets = ArrayUtil.grow(startOffsets, numPositions + freq);
+            endOffsets = ArrayUtil.grow(endOffsets, numPositions + freq);
+          }
+        }
+        for (int i = 0; i < freq; i++, numPositions++) {
+          positions[numPositions] = pe.nextPosition();
+          if (hasOffsets) {
+            startOffsets[numPositions] = pe.startOffset();
+            endOffsets[numPositions] = pe.endOffset();
+          }
+        }
+      }
+    }
+
+    return Optional.of(new TermVectorPage(size, termTexts, freqs, positionStarts,
+        positions, startOffsets, endOffsets, term != null));
+  }
+
+  /**
+   * Aggregates the term vectors for the specified field over the specified documents, in parallel.
+   * Documents without term vector for the field are ignored.
+   *
+   * @param docids - document ids
+   * @param field - field name
+   * @param topN - max number of terms to be returned
+   * @return terms ordered by the total frequency in the documents, in descending order; the docFreq of
+   *         each entry is the number of the specified documents containing the term
+   * @throws IOException
+   */
+  List<TermEntry> aggregateTermVectors(@Nonnull int[] docids, @Nonnull String field, int topN) throws IOException {
+    TermFreqs freqs;
+    try {
+      freqs = pool.invoke(new AggregateTask(docids, 0, docids.length, field));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    // ids in term order, then stable sort by total frequency
+    int numTerms = freqs.hash.size();
+    int[] ids = freqs.hash.sort();
+    new InPlaceMergeSorter() {
+      @Override
+      protected void swap(int i, int j) {
+        int tmp = ids[i];
+        ids[i] = ids[j];
+        ids[j] = tmp;
+      }
+
+      @Override
+      protected int compare(int i, int j) {
+        return Long.compare(freqs.totalFreqs[ids[j]], freqs.totalFreqs[ids[i]]);
+      }
+    }.sort(0, numTerms);
+
+    BytesRef scratch = new BytesRef();
+    List<TermEntry> res = new ArrayList<>();
+    for (int i = 0; i < Math.min(topN, numTerms); i++) {
+      int id = ids[i];
+      res.add(TermEntry.of(BytesRefUtils.decode(freqs.hash.get(id, scratch)), freqs.docFreqs[id], freqs.totalFreqs[id]));
+    }
+    return res;
+  }
+
+  /** Aggregates term vectors of docids[from, to), split into sub tasks. */
+  private final class AggregateTask extends RecursiveTask<TermFreqs> {
+
+    private final int[] docids;
+
+    private final int from;
+
+    private final int to;
+
+    private final String field;
+
+    AggregateTask(int[] docids, int from, int to, String field) {
+      this.docids = docids;
+      this.from = from;
+      this.to = to;
+      this.field = field;
+    }
+
+    @Override
+    protected TermFreqs compute() {
+      if (to - from > AGGREGATE_BATCH_SIZE) {
+        int mid = (from + to) >>> 1;
+        AggregateTask left = new AggregateTask(docids, from, mid, field);
+        left.fork();
+        TermFreqs res = new AggregateTask(docids, mid, to, field).compute();
+        res.merge(left.join());
+        return res;
+      }
+
+      TermFreqs res = new TermFreqs();
+      try {
+        for (int i = from; i < to; i++) {
+          Terms termVector = reader.getTermVector(docids[i], field);
+          if (termVector == null) {
+            continue;
+          }
+          TermsEnum te = termVector.iterator();
+          BytesRef term;
+          while ((term = te.next()) != null) {
+            res.add(term, 1, te.totalTermFreq());
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return res;
+    }
+  }
+
+  /** Document and total frequencies of terms, keyed by the ids of a {@link BytesRefHash}. */
+  private static final class TermFreqs {
+
+    private final BytesRefHash hash = new BytesRefHash();
+
+    private int[] docFreqs = new int[16];
+
+    private long[] totalFreqs = new long[16];
+
+    void add(BytesRef term, int docFreq, long totalFreq) {
+      int id = hash.add(term);
+      if (id < 0) {
+        // already added
+        id = -id - 1;
+      } else if (id >= docFreqs.length) {
+        docFreqs = ArrayUtil.grow(docFreqs, id + 1);
+        totalFreqs = ArrayUtil.grow(totalFreqs, id + 1);
+      }
+      docFreqs[id] += docFreq;
+      totalFreqs[id] += totalFreq;
+    }
+
+    void merge(TermFreqs other) {
+      BytesRef scratch = new BytesRef();
+      for (int id = 0; id < other.hash.size(); id++) {
+        add(other.hash.get(id, scratch), other.docFreqs[id], other.totalFreqs[id]);
+      }
+    }
+  }
+
 }
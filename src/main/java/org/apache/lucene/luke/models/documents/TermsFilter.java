@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.documents;
+
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.CompiledAutomaton;
+import org.apache.lucene.util.automaton.Operations;
+import org.apache.lucene.util.automaton.RegExp;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A filter on the terms of a field, applied on the term dictionary by {@link org.apache.lucene.index.Terms#intersect}.
+ *
+ * <p>Pass the same instance to retrieve the following pages of the filtered terms.</p>
+ */
+public final class TermsFilter {
+
+  private final String description;
+
+  private final CompiledAutomaton compiled;
+
+  /**
+   * Returns a filter accepting the terms which start with the specified prefix.
+   */
+  public static TermsFilter prefix(@Nonnull String prefix) {
+    return new TermsFilter("prefix: " + prefix, PrefixQuery.toAutomaton(new BytesRef(prefix)), true);
+  }
+
+  /**
+   * Returns a filter accepting the terms which match the specified regular expression.
+   *
+   * @throws IllegalArgumentException - if the regular expression is invalid
+   * @throws org.apache.lucene.util.automaton.TooComplexToDeterminizeException - if the regular expression is too complex
+   */
+  public static TermsFilter regex(@Nonnull String regex) {
+    return new TermsFilter("regex: " + regex, new RegExp(regex).toAutomaton(), false);
+  }
+
+  /**
+   * Returns a filter accepting the terms which are accepted by the specified automaton.
+   *
+   * @param automaton - an automaton; for binary terms, it must be a binary (not unicode) automaton
+   * @param isBinary - true if the automaton accepts bytes, false if it accepts unicode code points
+   */
+  public static TermsFilter automaton(@Nonnull Automaton automaton, boolean isBinary) {
+    return new TermsFilter("automaton", automaton, isBinary);
+  }
+
+  private TermsFilter(String description, Automaton automaton, boolean isBinary) {
+    this.description = description;
+    this.compiled = new CompiledAutomaton(automaton, null, true, Operations.DEFAULT_MAX_DETERMINIZED_STATES, isBinary);
+  }
+
+  CompiledAutomaton getCompiled() {
+    return compiled;
+  }
+
+  @Override
+  public String toString() {
+    return "TermsFilter{" + description + '}';
+  }
+}
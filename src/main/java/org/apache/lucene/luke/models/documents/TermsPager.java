@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.documents;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.luke.util.BytesRefUtils;
+import org.apache.lucene.luke.util.IndexUtils;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefBuilder;
+import org.apache.lucene.util.automaton.CompiledAutomaton;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pages through the term dictionary of a field.
+ *
+ * <p>
+ * The terms enum is kept between calls. When the next page starts right after the last returned term,
+ * the enum just moves forward; otherwise it seeks (or, for filtered terms, intersects from) the requested position.
+ * </p>
+ *
+ * <p>This class is not thread safe.</p>
+ */
+final class TermsPager {
+
+  private final IndexReader reader;
+
+  private String field;
+
+  private TermsFilter filter;
+
+  private Terms terms;
+
+  // null if not positioned
+  private TermsEnum tenum;
+
+  // the term the enum is positioned on
+  private final BytesRefBuilder current = new BytesRefBuilder();
+
+  TermsPager(@Nonnull IndexReader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Returns up to <code>pageSize</code> terms of the field, which are greater than <code>after</code>.
+   *
+   * @param field - field name
+   * @param after - the last term of the previous page, or null for the first page
+   * @param pageSize - max number of terms
+   * @param filter - filter on the terms, or null for all terms
+   * @return terms in the term dictionary order
+   * @throws IOException
+   */
+  List<TermEntry> getTerms(@Nonnull String field, @Nullable String after, int pageSize, @Nullable TermsFilter filter)
+      throws IOException {
+    if (!field.equals(this.field) || filter != this.filter) {
+      this.field = field;
+      this.filter = filter;
+      this.terms = IndexUtils.getTerms(reader, field);
+      this.tenum = null;
+    }
+    if (terms == null) {
+      return Collections.emptyList();
+    }
+
+    BytesRef afterTerm = after == null ? null : new BytesRef(after);
+    BytesRef term;
+    if (tenum != null && afterTerm != null && afterTerm.equals(current.get())) {
+      // continue from the previous page
+      term = tenum.next();
+    } else {
+      term = position(afterTerm);
+    }
+
+    List<TermEntry> res = new ArrayList<>();
+    while (term != null) {
+      res.add(TermEntry.of(BytesRefUtils.decode(term), tenum.docFreq(), tenum.totalTermFreq()));
+      if (res.size() >= pageSize) {
+        current.copyBytes(term);
+        return res;
+      }
+      term = tenum.next();
+    }
+
+    // exhausted
+    tenum = null;
+    return res;
+  }
+
+  // positions the enum on the first term greater than afterTerm, and returns it
+  private BytesRef position(@Nullable BytesRef afterTerm) throws IOException {
+    CompiledAutomaton compiled = filter == null ? null : filter.getCompiled();
+    if (compiled == null || compiled.type == CompiledAutomaton.AUTOMATON_TYPE.ALL) {
+      if (tenum == null || filter != null) {
+        tenum = terms.iterator();
+      }
+      if (afterTerm == null) {
+        return tenum.seekCeil(new BytesRef()) == TermsEnum.SeekStatus.END ? null : tenum.term();
+      }
+      switch (tenum.seekCeil(afterTerm)) {
+        case FOUND:
+          return tenum.next();
+        case NOT_FOUND:
+          return tenum.term();
+        default:
+          return null;
+      }
+    }
+
+    if (compiled.type == CompiledAutomaton.AUTOMATON_TYPE.NORMAL) {
+      // the start term is exclusive
+      tenum = terms.intersect(compiled, afterTerm);
+    } else {
+      // NONE or SINGLE; they do not support a start term
+      tenum = compiled.getTermsEnum(terms);
+      if (afterTerm != null && compiled.term != null && compiled.term.compareTo(afterTerm) <= 0) {
+        return null;
+      }
+    }
+    return tenum.next();
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.overview;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Holder for the estimated disk footprint of a field, broken down by index data structure.
+ */
+public final class FieldFootprint {
+
+  /**
+   * Index data structures a field can use.
+   */
+  public enum Category {
+    /** terms dictionary and terms index */
+    TERMS,
+    /** doc ids, frequencies, positions, offsets and payloads */
+    POSTINGS,
+    STORED_FIELDS,
+    DOC_VALUES,
+    NORMS,
+    POINTS,
+    TERM_VECTORS
+  }
+
+  private final String field;
+
+  private final Map<Category, Long> bytes;
+
+  private final long totalBytes;
+
+  static FieldFootprint of(String field, Map<Category, Long> bytes) {
+    return new FieldFootprint(field, bytes);
+  }
+
+  private FieldFootprint(String field, Map<Category, Long> bytes) {
+    this.field = field;
+    this.bytes = bytes.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(new EnumMap<>(bytes));
+    this.totalBytes = bytes.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  /**
+   * Returns the field name.
+   */
+  public String getField() {
+    return field;
+  }
+
+  /**
+   * Returns the estimated bytes of the field in the specified data structure.
+   */
+  public long getBytes(Category category) {
+    return bytes.getOrDefault(category, 0L);
+  }
+
+  /**
+   * Returns the estimated bytes of the field per data structure; data structures the field does not use are omitted.
+   */
+  public Map<Category, Long> getBytes() {
+    return bytes;
+  }
+
+  /**
+   * Returns the estimated bytes of the field in all data structures.
+   */
+  public long getTotalBytes() {
+    return totalBytes;
+  }
+
+  @Override
+  public String toString() {
+    return "FieldFootprint{" +
+        "field='" + field + '\'' +
+        ", totalBytes=" + totalBytes +
+        ", bytes=" + bytes +
+        '}';
+  }
+}
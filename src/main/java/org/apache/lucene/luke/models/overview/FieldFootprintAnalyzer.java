@@ -0,0 +1,444 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.overview;
+
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.FilterLeafReader;
+import org.apache.lucene.index.IndexFileNames;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.PointValues;
+import org.apache.lucene.index.SegmentCommitInfo;
+import org.apache.lucene.index.SegmentReader;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.index.StoredFieldVisitor;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.index.Fields;
+import org.apache.lucene.luke.models.overview.FieldFootprint.Category;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.packed.PackedInts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * Estimates how many bytes each field takes on disk.
+ *
+ * <p>
+ * Lucene writes the data of all fields in a segment into shared files per data structure (e.g. <code>.tim</code> for
+ * the terms dictionary, <code>.fdt</code> for stored fields), so the bytes of a field cannot be read directly.
+ * For each segment, the size of the files of a data structure is split among the fields in proportion to
+ * a per-field weight measured on the leaf reader: index statistics where they are available (e.g. sum of doc
+ * frequencies for postings, number of points), and sampled reads otherwise (term bytes, stored field and
+ * term vector bytes of evenly spaced documents, doc values lengths). Segments are analyzed in parallel.
+ * </p>
+ */
+final class FieldFootprintAnalyzer {
+
+  private static final Logger logger = LoggerFactory.getLogger(FieldFootprintAnalyzer.class);
+
+  // max number of documents read per segment to estimate stored fields, term vectors and binary doc values
+  static final int DEFAULT_SAMPLE_DOCS = 1000;
+
+  // max number of terms read per field and segment to estimate the terms dictionary
+  static final int DEFAULT_SAMPLE_TERMS = 10_000;
+
+  private static final Map<String, Category> CATEGORIES = new HashMap<>();
+
+  static {
+    CATEGORIES.put("tim", Category.TERMS);
+    CATEGORIES.put("tip", Category.TERMS);
+    CATEGORIES.put("doc", Category.POSTINGS);
+    CATEGORIES.put("pos", Category.POSTINGS);
+    CATEGORIES.put("pay", Category.POSTINGS);
+    CATEGORIES.put("fdt", Category.STORED_FIELDS);
+    CATEGORIES.put("fdx", Category.STORED_FIELDS);
+    CATEGORIES.put("dvd", Category.DOC_VALUES);
+    CATEGORIES.put("dvm", Category.DOC_VALUES);
+    CATEGORIES.put("nvd", Category.NORMS);
+    CATEGORIES.put("nvm", Category.NORMS);
+    CATEGORIES.put("dim", Category.POINTS);
+    CATEGORIES.put("dii", Category.POINTS);
+    CATEGORIES.put("tvd", Category.TERM_VECTORS);
+    CATEGORIES.put("tvx", Category.TERM_VECTORS);
+  }
+
+  private final IndexReader reader;
+
+  private final ForkJoinPool pool;
+
+  private final int sampleDocs;
+
+  private final int sampleTerms;
+
+  FieldFootprintAnalyzer(@Nonnull IndexReader reader, @Nonnull ForkJoinPool pool) {
+    this(reader, pool, DEFAULT_SAMPLE_DOCS, DEFAULT_SAMPLE_TERMS);
+  }
+
+  FieldFootprintAnalyzer(@Nonnull IndexReader reader, @Nonnull ForkJoinPool pool, int sampleDocs, int sampleTerms) {
+    this.reader = reader;
+    this.pool = pool;
+    this.sampleDocs = sampleDocs;
+    this.sampleTerms = sampleTerms;
+  }
+
+  /**
+   * Returns the estimated footprints of all fields, in descending order of total bytes.
+   *
+   * @throws IOException
+   */
+  List<FieldFootprint> analyze() throws IOException {
+    List<LeafTask> tasks = reader.leaves().stream().map(LeafTask::new).collect(Collectors.toList());
+    Map<String, Map<Category, Long>> total = new HashMap<>();
+    try {
+      pool.invoke(new RecursiveTask<Void>() {
+        @Override
+        protected Void compute() {
+          invokeAll(tasks);
+          return null;
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    for (LeafTask task : tasks) {
+      task.join().forEach((field, bytes) -> {
+        Map<Category, Long> fieldTotal = total.computeIfAbsent(field, k -> new EnumMap<>(Category.class));
+        bytes.forEach((category, b) -> fieldTotal.merge(category, b, Long::sum));
+      });
+    }
+
+    return total.entrySet().stream()
+        .map(e -> FieldFootprint.of(e.getKey(), e.getValue()))
+        .sorted(Comparator.comparingLong(FieldFootprint::getTotalBytes).reversed()
+            .thenComparing(FieldFootprint::getField))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the file sizes of a segment per data structure, looking into the compound file if needed.
+   */
+  static Map<Category, Long> fileSizes(@Nonnull SegmentCommitInfo info) throws IOException {
+    Map<Category, Long> sizes = new EnumMap<>(Category.class);
+    Directory dir = info.info.dir;
+    if (info.info.getUseCompoundFile()) {
+      try (Directory cfs = info.info.getCodec().compoundFormat().getCompoundReader(dir, info.info, IOContext.READ)) {
+        for (String file : cfs.listAll()) {
+          addFileSize(sizes, file, cfs.fileLength(file));
+        }
+      }
+      // doc values updates are written outside of the compound file
+      for (String file : info.getDocValuesUpdatesFiles().values().stream().flatMap(Set::stream).collect(Collectors.toList())) {
+        addFileSize(sizes, file, dir.fileLength(file));
+      }
+    } else {
+      for (String file : info.files()) {
+        addFileSize(sizes, file, dir.fileLength(file));
+      }
+    }
+    return sizes;
+  }
+
+  private static void addFileSize(Map<Category, Long> sizes, String file, long length) {
+    Category category = CATEGORIES.get(IndexFileNames.getExtension(file));
+    if (category != null) {
+      sizes.merge(category, length, Long::sum);
+    }
+  }
+
+  /** Estimates the bytes per field and data structure in a leaf. */
+  private final class LeafTask extends RecursiveTask<Map<String, Map<Category, Long>>> {
+
+    private final LeafReaderContext context;
+
+    LeafTask(LeafReaderContext context) {
+      this.context = context;
+    }
+
+    @Override
+    protected Map<String, Map<Category, Long>> compute() {
+      try {
+        return analyze();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private Map<String, Map<Category, Long>> analyze() throws IOException {
+      LeafReader leafReader = FilterLeafReader.unwrap(context.reader());
+      if (!(leafReader instanceof SegmentReader)) {
+        logger.warn("Cannot analyze the files of leaf reader: {}", leafReader);
+        return new HashMap<>();
+      }
+      Map<Category, Long> fileSizes = fileSizes(((SegmentReader) leafReader).getSegmentInfo());
+
+      Map<Category, Map<String, Double>> weights = new EnumMap<>(Category.class);
+      for (Category category : Category.values()) {
+        weights.put(category, new HashMap<>());
+      }
+      for (FieldInfo finfo : leafReader.getFieldInfos()) {
+        addTermsWeights(leafReader, finfo, weights);
+        addDocValuesWeight(leafReader, finfo, weights.get(Category.DOC_VALUES));
+        if (finfo.hasNorms()) {
+          NumericDocValues norms = leafReader.getNormValues(finfo.name);
+          if (norms != null) {
+            weights.get(Category.NORMS).put(finfo.name, (double) norms.cost());
+          }
+        }
+        if (finfo.getPointDimensionCount() > 0) {
+          PointValues points = leafReader.getPointValues(finfo.name);
+          if (points != null) {
+            weights.get(Category.POINTS).put(finfo.name, (double) points.size() * points.getBytesPerDimension() * points.getNumDimensions());
+          }
+        }
+      }
+      addSampledDocsWeights(leafReader, weights);
+
+      // split the file sizes in proportion to the weights
+      Map<String, Map<Category, Long>> res = new HashMap<>();
+      for (Map.Entry<Category, Long> e : fileSizes.entrySet()) {
+        Map<String, Double> fieldWeights = weights.get(e.getKey());
+        double sum = fieldWeights.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (sum <= 0) {
+          continue;
+        }
+        for (Map.Entry<String, Double> fw : fieldWeights.entrySet()) {
+          long bytes = Math.round(e.getValue() * fw.getValue() / sum);
+          res.computeIfAbsent(fw.getKey(), k -> new EnumMap<>(Category.class)).merge(e.getKey(), bytes, Long::sum);
+        }
+      }
+      return res;
+    }
+
+    private void addTermsWeights(LeafReader leafReader, FieldInfo finfo, Map<Category, Map<String, Double>> weights)
+        throws IOException {
+      if (finfo.getIndexOptions() == IndexOptions.NONE) {
+        return;
+      }
+      Terms terms = leafReader.terms(finfo.name);
+      if (terms == null) {
+        return;
+      }
+
+      // sampled term bytes, extrapolated by the number of terms or the doc frequencies
+      long termBytes = 0;
+      long docFreqs = 0;
+      int numTerms = 0;
+      TermsEnum te = terms.iterator();
+      BytesRef term;
+      while (numTerms < sampleTerms && (term = te.next()) != null) {
+        termBytes += term.length;
+        docFreqs += te.docFreq();
+        numTerms++;
+      }
+      double termsWeight;
+      if (numTerms < sampleTerms || numTerms == 0) {
+        termsWeight = termBytes;
+      } else if (terms.size() >= 0) {
+        termsWeight = (double) termBytes / numTerms * terms.size();
+      } else {
+        termsWeight = (double) termBytes * terms.getSumDocFreq() / Math.max(1, docFreqs);
+      }
+      weights.get(Category.TERMS).put(finfo.name, termsWeight);
+
+      // postings: a doc id (and freq) per posting, plus positions, offsets and payloads per occurrence
+      double postingsWeight = Math.max(terms.getSumDocFreq(), 0);
+      if (terms.hasPositions() && terms.getSumTotalTermFreq() > 0) {
+        int perPosition = 1 + (terms.hasOffsets() ? 2 : 0) + (terms.hasPayloads() ? 1 : 0);
+        postingsWeight += (double) terms.getSumTotalTermFreq() * perPosition;
+      }
+      weights.get(Category.POSTINGS).put(finfo.name, postingsWeight);
+    }
+
+    private void addDocValuesWeight(LeafReader leafReader, FieldInfo finfo, Map<String, Double> weights) throws IOException {
+      double weight;
+      switch (finfo.getDocValuesType()) {
+        case NUMERIC:
+          NumericDocValues numeric = leafReader.getNumericDocValues(finfo.name);
+          weight = numeric == null ? 0 : numeric.cost() * (double) Long.BYTES;
+          break;
+        case SORTED_NUMERIC:
+          SortedNumericDocValues sortedNumeric = leafReader.getSortedNumericDocValues(finfo.name);
+          weight = sortedNumeric == null ? 0 : sortedNumeric.cost() * (double) Long.BYTES;
+          break;
+        case BINARY:
+          BinaryDocValues binary = leafReader.getBinaryDocValues(finfo.name);
+          weight = binary == null ? 0 : sampleBinaryLength(binary, binary.cost());
+          break;
+        case SORTED:
+          SortedDocValues sorted = leafReader.getSortedDocValues(finfo.name);
+          weight = sorted == null ? 0 : sortedWeight(sorted.getValueCount(), sorted.cost(), ord -> sorted.lookupOrd((int) ord));
+          break;
+        case SORTED_SET:
+          SortedSetDocValues sortedSet = leafReader.getSortedSetDocValues(finfo.name);
+          weight = sortedSet == null ? 0 : sortedWeight(sortedSet.getValueCount(), sortedSet.cost(), sortedSet::lookupOrd);
+          break;
+        default:
+          return;
+      }
+      if (weight > 0) {
+        weights.put(finfo.name, weight);
+      }
+    }
+
+    // average length of the first values, times the number of documents with values
+    private double sampleBinaryLength(BinaryDocValues values, long cost) throws IOException {
+      long bytes = 0;
+      int n = 0;
+      while (n < sampleDocs && values.nextDoc() != BinaryDocValues.NO_MORE_DOCS) {
+        bytes += values.binaryValue().length;
+        n++;
+      }
+      return n == 0 ? 0 : (double) bytes / n * cost;
+    }
+
+    // dictionary of unique values, plus an ordinal per document
+    private double sortedWeight(long valueCount, long cost, OrdLookup lookup) throws IOException {
+      if (valueCount <= 0) {
+        return 0;
+      }
+      long bytes = 0;
+      int n = (int) Math.min(valueCount, sampleDocs);
+      long step = Math.max(1, valueCount / n);
+      for (int i = 0; i < n; i++) {
+        bytes += lookup.lookupOrd(i * step).length;
+      }
+      double dictionary = (double) bytes / n * valueCount;
+      double ords = cost * PackedInts.bitsRequired(valueCount) / 8.0;
+      return dictionary + ords;
+    }
+
+    // stored fields and term vectors of evenly spaced documents, extrapolated to the whole segment
+    private void addSampledDocsWeights(LeafReader leafReader, Map<Category, Map<String, Double>> weights) throws IOException {
+      int maxDoc = leafReader.maxDoc();
+      if (maxDoc == 0) {
+        return;
+      }
+      boolean hasVectors = leafReader.getFieldInfos().hasVectors();
+      boolean hasStored = false;
+      Map<String, Long> storedBytes = new HashMap<>();
+      Map<String, Long> vectorBytes = new HashMap<>();
+      StoredBytesVisitor visitor = new StoredBytesVisitor(storedBytes);
+
+      int n = Math.min(maxDoc, sampleDocs);
+      for (int i = 0; i < n; i++) {
+        int docid = (int) ((long) i * maxDoc / n);
+        leafReader.document(docid, visitor);
+        if (hasVectors) {
+          Fields vectors = leafReader.getTermVectors(docid);
+          if (vectors != null) {
+            for (String field : vectors) {
+              Terms terms = vectors.terms(field);
+              if (terms == null) {
+                continue;
+              }
+              int perPosition = (terms.hasPositions() ? 1 : 0) + (terms.hasOffsets() ? 2 : 0);
+              long bytes = 0;
+              TermsEnum te = terms.iterator();
+              BytesRef term;
+              while ((term = te.next()) != null) {
+                bytes += term.length + 1 + te.totalTermFreq() * perPosition;
+              }
+              vectorBytes.merge(field, bytes, Long::sum);
+            }
+          }
+        }
+      }
+
+      double scale = (double) maxDoc / n;
+      storedBytes.forEach((field, bytes) -> weights.get(Category.STORED_FIELDS).put(field, bytes * scale));
+      vectorBytes.forEach((field, bytes) -> weights.get(Category.TERM_VECTORS).put(field, bytes * scale));
+    }
+  }
+
+  @FunctionalInterface
+  private interface OrdLookup {
+    BytesRef lookupOrd(long ord) throws IOException;
+  }
+
+  /** Sums the bytes of stored values per field. */
+  private static final class StoredBytesVisitor extends StoredFieldVisitor {
+
+    private final Map<String, Long> bytes;
+
+    StoredBytesVisitor(Map<String, Long> bytes) {
+      this.bytes = bytes;
+    }
+
+    @Override
+    public Status needsField(FieldInfo fieldInfo) {
+      return Status.YES;
+    }
+
+    @Override
+    public void binaryField(FieldInfo fieldInfo, byte[] value) {
+      add(fieldInfo, value.length);
+    }
+
+    @Override
+    public void stringField(FieldInfo fieldInfo, byte[] value) {
+      add(fieldInfo, value.length);
+    }
+
+    @Override
+    public void intField(FieldInfo fieldInfo, int value) {
+      add(fieldInfo, Integer.BYTES);
+    }
+
+    @Override
+    public void longField(FieldInfo fieldInfo, long value) {
+      add(fieldInfo, Long.BYTES);
+    }
+
+    @Override
+    public void floatField(FieldInfo fieldInfo, float value) {
+      add(fieldInfo, Float.BYTES);
+    }
+
+    @Override
+    public void doubleField(FieldInfo fieldInfo, double value) {
+      add(fieldInfo, Double.BYTES);
+    }
+
+    private void add(FieldInfo fieldInfo, int length) {
+      // plus the field number and type
+      bytes.merge(fieldInfo.name, (long) length + 1, Long::sum);
+    }
+  }
+}
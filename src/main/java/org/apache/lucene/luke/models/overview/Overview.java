@@ -17,9 +17,13 @@
 
 package org.apache.lucene.luke.models.overview;
 
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.luke.models.ReaderDelta;
+
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A dedicated interface for Luke's Overview tab.
@@ -44,6 +48,7 @@ public interface Overview {
 
   /**
    * Returns the total number of terms in this index.
+   * This blocks until the term counts for all fields are collected.
    *
    * @throws org.apache.lucene.luke.models.LukeException - if an internal error occurs when accessing index
    */
@@ -100,6 +105,29 @@ public interface Overview {
    */
   Optional<String> getCommitUserData();
 
+  /**
+   * Starts collecting the number of terms for each field in background, if not started yet,
+   * and registers the listener that is notified each time the term count for a field is collected.
+   * Term counts those have been already collected are delivered to the listener on registration.
+   *
+   * <p>
+   * The index reader is kept open until the counting is completed or stopped, even if it is closed in the meantime.
+   * </p>
+   *
+   * @param listener - the listener to be notified
+   * @return the future that is completed with the total number of terms in this index
+   */
+  CompletableFuture<Long> addTermCountsListener(TermCountsListener listener);
+
+  /**
+   * Stops collecting term counts in background. The future returned by {@link #addTermCountsListener(TermCountsListener)}
+   * is completed exceptionally with {@link java.util.concurrent.CancellationException} if the counting has not been completed.
+   * Term counts collected so far are still carried over by {@link #reopen(IndexReader, ReaderDelta)}.
+   *
+   * <p>Call this when the model is no longer used, e.g. the index has been closed or reopened.</p>
+   */
+  void cancelTermCounts();
+
   /**
    * Returns all fields with the number of terms for each field sorted by {@link TermCountsOrder}
    *
@@ -118,4 +146,39 @@ public interface Overview {
    * @throws org.apache.lucene.luke.models.LukeException - if an internal error occurs when accessing index
    */
   List<TermStats> getTopTerms(String field, int numTerms);
+
+  /**
+   * Returns the top indexed terms with their statistics for the specified field, ranked by the given order.
+   *
+   * @param field - the field name
+   * @param numTerms - the max number of terms to be returned
+   * @param order - the ranking order
+   * @return the list of top terms and their frequencies
+   * @throws org.apache.lucene.luke.models.LukeException - if an internal error occurs when accessing index
+   */
+  List<TermStats> getTopTerms(String field, int numTerms, TopTermsOrder order);
+
+  /**
+   * Returns the estimated disk footprint of each field, broken down by data structure
+   * (terms dictionary, postings, stored fields, doc values, norms, points and term vectors).
+   *
+   * <p>
+   * Index files are shared among fields, so the bytes are estimated: the size of the files of each segment
+   * is split among the fields in proportion to their index statistics or sampled values.
+   * </p>
+   *
+   * @return the footprints of all fields, in descending order of total bytes
+   * @throws org.apache.lucene.luke.models.LukeException - if an internal error occurs when accessing index
+   */
+  List<FieldFootprint> getFieldFootprints();
+
+  /**
+   * Returns a new instance for the index reader reopened from the current one.
+   * Term statistics already collected for the fields not changed by the reopen are carried over,
+   * so that only the fields indexed in new (or merged) segments are scanned again.
+   *
+   * @param newReader - the reopened index reader
+   * @param delta - the difference between the current reader and the reopened reader
+   */
+  Overview reopen(IndexReader newReader, ReaderDelta delta);
 }
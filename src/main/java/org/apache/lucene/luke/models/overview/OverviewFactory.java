@@ -19,10 +19,17 @@ package org.apache.lucene.luke.models.overview;
 
 import org.apache.lucene.index.IndexReader;
 
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
 public class OverviewFactory {
 
   public Overview newInstance(IndexReader reader, String indexPath) {
     return new OverviewImpl(reader, indexPath);
   }
 
+  public Overview newInstance(IndexReader reader, String indexPath, Path cacheDir) {
+    return new OverviewImpl(reader, indexPath, ForkJoinPool.commonPool(), cacheDir);
+  }
+
 }
@@ -21,40 +21,91 @@ import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.luke.models.LukeModel;
 import org.apache.lucene.luke.models.LukeException;
+import org.apache.lucene.luke.models.ReaderDelta;
 import org.apache.lucene.luke.util.IndexUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 public final class OverviewImpl extends LukeModel implements Overview {
 
+  private static final Logger logger = LoggerFactory.getLogger(OverviewImpl.class);
+
   private final String indexPath;
 
-  private final TermCounts termCounts;
+  private final ForkJoinPool pool;
 
   private final TopTerms topTerms;
 
+  private final Path cacheDir;
+
+  private final StatsCache statsCache;
+
+  // term counts carried over from the reader before reopen
+  private final Map<String, Long> reusedTermCounts = new HashMap<>();
+
+  // term counts are lazily collected in background
+  private CompletableFuture<TermCounts> termCounts;
+
+  private final AtomicBoolean termCountsCancelled = new AtomicBoolean();
+
+  private final Map<String, Long> collectedTermCounts = new LinkedHashMap<>();
+
+  private final List<TermCountsListener> termCountsListeners = new ArrayList<>();
+
   /**
    * Constructs an OverviewImpl that holds the given {@link IndexReader}.
    *
    * @param reader - the index reader
    * @param indexPath - the (root) index directory path
-   * @throws LukeException - if an internal error is occurred when accessing index
    */
   public OverviewImpl(@Nonnull IndexReader reader, @Nonnull String indexPath) {
+    this(reader, indexPath, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs an OverviewImpl that holds the given {@link IndexReader}.
+   *
+   * @param reader - the index reader
+   * @param indexPath - the (root) index directory path
+   * @param pool - fork-join pool for collecting term statistics
+   */
+  public OverviewImpl(@Nonnull IndexReader reader, @Nonnull String indexPath, @Nonnull ForkJoinPool pool) {
+    this(reader, indexPath, pool, null);
+  }
+
+  /**
+   * Constructs an OverviewImpl that holds the given {@link IndexReader}.
+   *
+   * @param reader - the index reader
+   * @param indexPath - the (root) index directory path
+   * @param pool - fork-join pool for collecting term statistics
+   * @param cacheDir - directory to persist term statistics, or null if the statistics should not be persisted
+   */
+  public OverviewImpl(@Nonnull IndexReader reader, @Nonnull String indexPath, @Nonnull ForkJoinPool pool,
+                      @Nullable Path cacheDir) {
     super(reader);
     this.indexPath = indexPath;
-    try {
-      this.termCounts = new TermCounts(reader);
-    } catch (IOException e) {
-      throw new LukeException("An error occurred when collecting term statistics.");
-    }
-    this.topTerms = new TopTerms(reader);
+    this.pool = pool;
+    this.cacheDir = cacheDir;
+    this.statsCache = cacheDir == null ? null : new StatsCache(cacheDir, indexPath, reader, commit);
+    this.topTerms = new TopTerms(reader, pool, statsCache);
   }
 
   @Override
@@ -74,7 +125,7 @@ public final class OverviewImpl extends LukeModel implements Overview {
 
   @Override
   public long getNumTerms() {
-    return termCounts.numTerms();
+    return termCounts().numTerms();
   }
 
   @Override
@@ -151,19 +202,128 @@ public final class OverviewImpl extends LukeModel implements Overview {
     if (order == null) {
       order = TermCountsOrder.COUNT_DESC;
     }
-    return termCounts.sortedTermCounts(order);
+    return termCounts().sortedTermCounts(order);
+  }
+
+  @Override
+  public CompletableFuture<Long> addTermCountsListener(@Nonnull TermCountsListener listener) {
+    synchronized (this) {
+      collectedTermCounts.forEach(listener::termCountCollected);
+      termCountsListeners.add(listener);
+    }
+    return termCountsFuture().thenApply(TermCounts::numTerms);
+  }
+
+  @Override
+  public void cancelTermCounts() {
+    termCountsCancelled.set(true);
+  }
+
+  private synchronized CompletableFuture<TermCounts> termCountsFuture() {
+    if (termCounts == null) {
+      // counting may take long; the reader must not be closed under it when the index is reopened or closed
+      reader.incRef();
+      termCounts = CompletableFuture.supplyAsync(() -> {
+        try {
+          return collectTermCounts();
+        } catch (IOException e) {
+          throw new LukeException("An error occurred when collecting term statistics.", e);
+        }
+      }, pool).whenComplete((res, e) -> {
+        try {
+          reader.decRef();
+        } catch (IOException ex) {
+          logger.error(ex.getMessage(), ex);
+        }
+      });
+    }
+    return termCounts;
+  }
+
+  private TermCounts collectTermCounts() throws IOException {
+    if (statsCache == null && reusedTermCounts.isEmpty()) {
+      return new TermCounts(reader, pool, this::fireTermCountCollected, termCountsCancelled::get);
+    }
+
+    // reuse persisted or carried over counts, and count terms only for the fields those have been changed
+    Map<String, Long> counts = new HashMap<>(reusedTermCounts);
+    if (statsCache != null) {
+      counts.putAll(statsCache.getTermCounts());
+    }
+    counts.keySet().retainAll(getFieldNames());
+    counts.forEach(this::fireTermCountCollected);
+
+    List<String> staleFields = getFieldNames().stream()
+        .filter(field -> !counts.containsKey(field))
+        .collect(Collectors.toList());
+    if (!staleFields.isEmpty()) {
+      Map<String, Long> newCounts = IndexUtils.countTerms(reader, staleFields, pool, this::fireTermCountCollected,
+          termCountsCancelled::get);
+      counts.putAll(newCounts);
+    }
+    if (statsCache != null && (!staleFields.isEmpty() || !reusedTermCounts.isEmpty())) {
+      statsCache.putTermCounts(counts);
+      statsCache.save();
+    }
+    return new TermCounts(counts);
+  }
+
+  private synchronized void fireTermCountCollected(String field, long count) {
+    collectedTermCounts.put(field, count);
+    for (TermCountsListener listener : termCountsListeners) {
+      listener.termCountCollected(field, count);
+    }
+  }
+
+  private TermCounts termCounts() {
+    try {
+      return termCountsFuture().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof LukeException) {
+        throw (LukeException) e.getCause();
+      }
+      throw new LukeException("An error occurred when collecting term statistics.", e.getCause());
+    }
   }
 
   @Override
   public List<TermStats> getTopTerms(@Nonnull String field, int numTerms) {
+    return getTopTerms(field, numTerms, TopTermsOrder.DOC_FREQ);
+  }
+
+  @Override
+  public List<TermStats> getTopTerms(@Nonnull String field, int numTerms, @Nonnull TopTermsOrder order) {
     if (numTerms < 0) {
       throw new IllegalArgumentException(String.format(Locale.ENGLISH, "'numTerms' must be a positive integer: %d is not accepted.", numTerms));
     }
     try {
-      return topTerms.getTopTerms(field, numTerms);
-    } catch (Exception e) {
+      return topTerms.getTopTerms(field, numTerms, order);
+    } catch (IOException e) {
       throw new LukeException(String.format(Locale.ENGLISH, "Top terms for field %s not available.", field), e);
     }
   }
 
+  @Override
+  public Overview reopen(@Nonnull IndexReader newReader, @Nonnull ReaderDelta delta) {
+    OverviewImpl reopened = new OverviewImpl(newReader, indexPath, pool, cacheDir);
+    synchronized (this) {
+      collectedTermCounts.forEach((field, count) -> {
+        if (!delta.getChangedFields().contains(field)) {
+          reopened.reusedTermCounts.put(field, count);
+        }
+      });
+    }
+    reopened.topTerms.reuse(topTerms, delta.getChangedFields());
+    return reopened;
+  }
+
+  @Override
+  public List<FieldFootprint> getFieldFootprints() {
+    try {
+      return new FieldFootprintAnalyzer(reader, pool).analyze();
+    } catch (IOException e) {
+      throw new LukeException("Field footprints not available.", e);
+    }
+  }
+
 }
@@ -0,0 +1,373 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.lucene.luke.models.overview;
+
+import com.google.common.hash.Hashing;
+import org.apache.lucene.index.FilterLeafReader;
+import org.apache.lucene.index.IndexCommit;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SegmentReader;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.luke.util.IndexUtils;
+import org.apache.lucene.util.StringHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A persistent cache of term statistics for an index, stored as a file per index path in the cache directory.
+ *
+ * <p>
+ * The cache records the commit (segments file name and generation) and the segments (name and id)
+ * that the statistics were collected from, with the fields indexed in each segment.
+ * When the same commit is opened again, all cached statistics are reused. Otherwise the statistics for a field
+ * are reused only if the set of segments having terms for the field has not changed, so only fields
+ * indexed in new segments need to be scanned again. Deletions do not change term dictionaries,
+ * thus commits which only delete documents reuse all statistics.
+ * </p>
+ *
+ * <p>The cache is best effort; read and write errors are logged and the statistics are recomputed.</p>
+ */
+final class StatsCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(StatsCache.class);
+
+  private static final int VERSION = 2;
+
+  private static final String FILE_SUFFIX = ".stats";
+
+  private static final int MAX_STRING_LENGTH = 1 << 20;
+
+  private final Path cacheFile;
+
+  private final String indexPath;
+
+  private final IndexReader reader;
+
+  private final IndexCommit commit;
+
+  private boolean loaded = false;
+
+  // segment key -> term counts (by Terms#size()) for each field in the segment
+  private Map<String, Map<String, Long>> segments = new TreeMap<>();
+
+  private final Map<String, Long> termCounts = new HashMap<>();
+
+  // "<order>:<field>" -> top terms
+  private final Map<String, CachedTopTerms> topTerms = new HashMap<>();
+
+  /**
+   * Creates a stats cache for the index. Cached statistics are loaded lazily on first access.
+   *
+   * @param cacheDir - directory for cache files
+   * @param indexPath - the (root) index directory path
+   * @param reader - the index reader
+   * @param commit - the commit point that the reader has opened, or null if not available
+   */
+  StatsCache(@Nonnull Path cacheDir, @Nonnull String indexPath, @Nonnull IndexReader reader, @Nullable IndexCommit commit) {
+    this.indexPath = indexPath;
+    this.cacheFile = cacheDir.resolve(Hashing.sha1().hashString(indexPath, StandardCharsets.UTF_8).toString() + FILE_SUFFIX);
+    this.reader = reader;
+    this.commit = commit;
+  }
+
+  /**
+   * Returns the cached term counts those are still valid for the current index.
+   */
+  synchronized Map<String, Long> getTermCounts() {
+    ensureLoaded();
+    return Collections.unmodifiableMap(new HashMap<>(termCounts));
+  }
+
+  /**
+   * Puts the term counts for the current index.
+   */
+  synchronized void putTermCounts(@Nonnull Map<String, Long> counts) {
+    ensureLoaded();
+    termCounts.putAll(counts);
+  }
+
+  /**
+   * Returns the cached top terms for the field, if at least <code>numTerms</code> top terms have been collected.
+   */
+  synchronized List<TermStats> getTopTerms(@Nonnull String field, @Nonnull TopTermsOrder order, int numTerms) {
+    ensureLoaded();
+    CachedTopTerms cached = topTerms.get(topTermsKey(order, field));
+    if (cached == null || cached.numTerms < numTerms) {
+      return null;
+    }
+    return cached.terms.subList(0, Math.min(numTerms, cached.terms.size()));
+  }
+
+  /**
+   * Puts the top terms for the field.
+   *
+   * @param field - the field name
+   * @param order - the ranking order
+   * @param numTerms - the max number of terms requested when the terms are collected
+   * @param terms - the top terms
+   */
+  synchronized void putTopTerms(@Nonnull String field, @Nonnull TopTermsOrder order, int numTerms,
+                                @Nonnull List<TermStats> terms) {
+    ensureLoaded();
+    String key = topTermsKey(order, field);
+    CachedTopTerms cached = topTerms.get(key);
+    if (cached == null || cached.numTerms < numTerms) {
+      topTerms.put(key, new CachedTopTerms(numTerms, new ArrayList<>(terms)));
+    }
+  }
+
+  /**
+   * Writes the cached statistics to the cache file.
+   */
+  synchronized void save() {
+    if (!loaded || segments == null) {
+      return;
+    }
+    try {
+      Files.createDirectories(cacheFile.getParent());
+      Path tmpFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+        write(out);
+      }
+      Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      logger.debug("Stats cache saved: {}", cacheFile);
+    } catch (IOException e) {
+      logger.warn("Failed to save stats cache: " + cacheFile, e);
+    }
+  }
+
+  private void ensureLoaded() {
+    if (loaded) {
+      return;
+    }
+    loaded = true;
+
+    try {
+      segments = currentSegments();
+    } catch (IOException e) {
+      logger.warn(e.getMessage(), e);
+      segments = null;
+    }
+    if (segments == null) {
+      // statistics can't be identified by segments; the cache is disabled
+      return;
+    }
+
+    if (!Files.exists(cacheFile)) {
+      return;
+    }
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+      read(in);
+    } catch (IOException e) {
+      logger.warn("Failed to load stats cache: " + cacheFile, e);
+      termCounts.clear();
+      topTerms.clear();
+    }
+  }
+
+  private void read(DataInputStream in) throws IOException {
+    if (in.readInt() != VERSION || !indexPath.equals(readString(in))) {
+      return;
+    }
+    String segmentsFileName = readString(in);
+    long generation = in.readLong();
+
+    Map<String, Map<String, Long>> cachedSegments = new TreeMap<>();
+    int numSegments = in.readInt();
+    for (int i = 0; i < numSegments; i++) {
+      String segKey = readString(in);
+      Map<String, Long> fields = new TreeMap<>();
+      int numFields = in.readInt();
+      for (int j = 0; j < numFields; j++) {
+        fields.put(readString(in), in.readLong());
+      }
+      cachedSegments.put(segKey, fields);
+    }
+
+    Map<String, Long> cachedTermCounts = new HashMap<>();
+    int numTermCounts = in.readInt();
+    for (int i = 0; i < numTermCounts; i++) {
+      cachedTermCounts.put(readString(in), in.readLong());
+    }
+
+    Map<String, CachedTopTerms> cachedTopTerms = new HashMap<>();
+    int numTopTerms = in.readInt();
+    for (int i = 0; i < numTopTerms; i++) {
+      String key = readString(in);
+      String field = key.substring(key.indexOf(':') + 1);
+      int numTerms = in.readInt();
+      int size = in.readInt();
+      List<TermStats> terms = new ArrayList<>(size);
+      for (int j = 0; j < size; j++) {
+        terms.add(TermStats.of(readString(in), field, in.readInt(), in.readLong()));
+      }
+      cachedTopTerms.put(key, new CachedTopTerms(numTerms, terms));
+    }
+
+    boolean sameCommit = commit != null
+        && commit.getSegmentsFileName().equals(segmentsFileName)
+        && commit.getGeneration() == generation
+        && cachedSegments.equals(segments);
+
+    Map<String, Set<String>> cachedFieldSegments = fieldSegments(cachedSegments);
+    Map<String, Set<String>> currentFieldSegments = fieldSegments(segments);
+    for (Map.Entry<String, Long> e : cachedTermCounts.entrySet()) {
+      String field = e.getKey();
+      if (sameCommit || Objects.equals(cachedFieldSegments.get(field), currentFieldSegments.get(field))) {
+        termCounts.put(field, e.getValue());
+      }
+    }
+    for (Map.Entry<String, CachedTopTerms> e : cachedTopTerms.entrySet()) {
+      String field = e.getKey().substring(e.getKey().indexOf(':') + 1);
+      if (sameCommit || Objects.equals(cachedFieldSegments.get(field), currentFieldSegments.get(field))) {
+        topTerms.put(e.getKey(), e.getValue());
+      }
+    }
+    logger.info("Stats cache loaded: {} ({} of {} term counts reused)", cacheFile, termCounts.size(), cachedTermCounts.size());
+  }
+
+  private void write(DataOutputStream out) throws IOException {
+    out.writeInt(VERSION);
+    writeString(out, indexPath);
+    writeString(out, commit == null ? "" : commit.getSegmentsFileName());
+    out.writeLong(commit == null ? -1 : commit.getGeneration());
+
+    out.writeInt(segments.size());
+    for (Map.Entry<String, Map<String, Long>> e : segments.entrySet()) {
+      writeString(out, e.getKey());
+      out.writeInt(e.getValue().size());
+      for (Map.Entry<String, Long> f : e.getValue().entrySet()) {
+        writeString(out, f.getKey());
+        out.writeLong(f.getValue());
+      }
+    }
+
+    out.writeInt(termCounts.size());
+    for (Map.Entry<String, Long> e : termCounts.entrySet()) {
+      writeString(out, e.getKey());
+      out.writeLong(e.getValue());
+    }
+
+    out.writeInt(topTerms.size());
+    for (Map.Entry<String, CachedTopTerms> e : topTerms.entrySet()) {
+      writeString(out, e.getKey());
+      out.writeInt(e.getValue().numTerms);
+      out.writeInt(e.getValue().terms.size());
+      for (TermStats ts : e.getValue().terms) {
+        writeString(out, ts.getDecodedTermText());
+        out.writeInt(ts.getDocFreq());
+        out.writeLong(ts.getTotalTermFreq());
+      }
+    }
+  }
+
+  /**
+   * Returns the segments of the current reader with their indexed fields,
+   * or null if any of the leaves is not a segment reader.
+   */
+  private Map<String, Map<String, Long>> currentSegments() throws IOException {
+    Collection<String> fieldNames = IndexUtils.getFieldNames(reader);
+    Map<String, Map<String, Long>> res = new TreeMap<>();
+    for (LeafReaderContext ctx : reader.leaves()) {
+      LeafReader leaf = FilterLeafReader.unwrap(ctx.reader());
+      if (!(leaf instanceof SegmentReader)) {
+        return null;
+      }
+      SegmentReader segReader = (SegmentReader) leaf;
+      String segKey = segReader.getSegmentName() + "_" + StringHelper.idToString(segReader.getSegmentInfo().info.getId());
+
+      Map<String, Long> fields = new TreeMap<>();
+      for (String field : fieldNames) {
+        Terms terms = segReader.terms(field);
+        if (terms != null) {
+          fields.put(field, terms.size());
+        }
+      }
+      res.put(segKey, fields);
+    }
+    return res;
+  }
+
+  private static String topTermsKey(TopTermsOrder order, String field) {
+    return order.name() + ":" + field;
+  }
+
+  private static Map<String, Set<String>> fieldSegments(Map<String, Map<String, Long>> segments) {
+    Map<String, Set<String>> res = new HashMap<>();
+    for (Map.Entry<String, Map<String, Long>> e : segments.entrySet()) {
+      for (String field : e.getValue().keySet()) {
+        res.computeIfAbsent(field, k -> new TreeSet<>()).add(e.getKey());
+      }
+    }
+    return res;
+  }
+
+  private static void writeString(DataOutputStream out, String s) throws IOException {
+    // DataOutput#writeUTF() cannot handle strings longer than 64KB, e.g. huge terms
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0 || length > MAX_STRING_LENGTH) {
+      throw new IOException("Broken stats cache file.");
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static final class CachedTopTerms {
+
+    private final int numTerms;
+
+    private final List<TermStats> terms;
+
+    CachedTopTerms(int numTerms, List<TermStats> terms) {
+      this.numTerms = numTerms;
+      this.terms = terms;
+    }
+  }
+
+}
@@ -21,10 +21,14 @@ import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.luke.util.IndexUtils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 /**
@@ -35,7 +39,50 @@ final class TermCounts {
   private final Map<String, Long> termCountMap;
 
   TermCounts(@Nonnull IndexReader reader) throws IOException {
-    termCountMap = IndexUtils.countTerms(reader, IndexUtils.getFieldNames(reader));
+    this(reader, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param reader - the index reader
+   * @param pool - fork-join pool for counting terms; if null, terms are counted serially
+   */
+  TermCounts(@Nonnull IndexReader reader, @Nullable ForkJoinPool pool) throws IOException {
+    this(reader, pool, null);
+  }
+
+  /**
+   * @param reader - the index reader
+   * @param pool - fork-join pool for counting terms; if null, terms are counted serially
+   * @param listener - callback receiving each field name and its term count as soon as the count is collected
+   */
+  TermCounts(@Nonnull IndexReader reader, @Nullable ForkJoinPool pool, @Nullable BiConsumer<String, Long> listener)
+      throws IOException {
+    this(reader, pool, listener, () -> false);
+  }
+
+  /**
+   * @param reader - the index reader
+   * @param pool - fork-join pool for counting terms; if null, terms are counted serially
+   * @param listener - callback receiving each field name and its term count as soon as the count is collected
+   * @param stopRequested - checked periodically while counting in parallel; counting is stopped if this returns true
+   */
+  TermCounts(@Nonnull IndexReader reader, @Nullable ForkJoinPool pool, @Nullable BiConsumer<String, Long> listener,
+             @Nonnull BooleanSupplier stopRequested) throws IOException {
+    if (pool == null) {
+      termCountMap = IndexUtils.countTerms(reader, IndexUtils.getFieldNames(reader));
+      if (listener != null) {
+        termCountMap.forEach(listener);
+      }
+    } else {
+      termCountMap = IndexUtils.countTerms(reader, IndexUtils.getFieldNames(reader), pool, listener, stopRequested);
+    }
+  }
+
+  /**
+   * @param termCountMap - field names and their term counts those are already collected
+   */
+  TermCounts(@Nonnull Map<String, Long> termCountMap) {
+    this.termCountMap = termCountMap;
   }
 
   /**
@@ -17,7 +17,10 @@
 
 package org.apache.lucene.luke.models.overview;
 
-import org.apache.lucene.luke.util.BytesRefUtils;
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Holder for statistics for a term in a specific field.
@@ -30,18 +33,34 @@ public final class TermStats {
 
   private final int docFreq;
 
+  private final long totalTermFreq;
+
+  private final List<Integer> shardDocFreqs;
+
   /**
-   * Returns a TermStats instance representing the specified {@link org.apache.lucene.misc.TermStats} value.
+   * Returns a TermStats instance representing the specified term and its frequencies.
    */
-  static TermStats of(org.apache.lucene.misc.TermStats stats) {
-    String termText = BytesRefUtils.decode(stats.termtext);
-    return new TermStats(termText, stats.field, stats.docFreq);
+  static TermStats of(String decodedTermText, String field, int docFreq, long totalTermFreq) {
+    return new TermStats(decodedTermText, field, docFreq, totalTermFreq, Collections.emptyList());
   }
 
-  private TermStats(String decodedTermText, String field, int docFreq) {
+  /**
+   * Returns a TermStats instance representing the specified term, its frequencies and the document frequencies per shard.
+   */
+  static TermStats of(String decodedTermText, String field, int docFreq, long totalTermFreq, @Nonnull int[] shardDocFreqs) {
+    List<Integer> dfs = new ArrayList<>(shardDocFreqs.length);
+    for (int df : shardDocFreqs) {
+      dfs.add(df);
+    }
+    return new TermStats(decodedTermText, field, docFreq, totalTermFreq, Collections.unmodifiableList(dfs));
+  }
+
+  private TermStats(String decodedTermText, String field, int docFreq, long totalTermFreq, List<Integer> shardDocFreqs) {
     this.decodedTermText = decodedTermText;
     this.field = field;
     this.docFreq = docFreq;
+    this.totalTermFreq = totalTermFreq;
+    this.shardDocFreqs = shardDocFreqs;
   }
 
   /**
@@ -65,12 +84,28 @@ public final class TermStats {
     return docFreq;
   }
 
+  /**
+   * Returns the total term frequency of this term, or -1 if the field does not index term frequencies.
+   */
+  public long getTotalTermFreq() {
+    return totalTermFreq;
+  }
+
+  /**
+   * Returns the document frequencies of this term in each shard, in the order of the shards;
+   * or an empty list if the index is not sharded (or the statistics were restored from the persistent cache).
+   */
+  public List<Integer> getShardDocFreqs() {
+    return shardDocFreqs;
+  }
+
   @Override
   public String toString() {
     return "TermStats{" +
         "decodedTermText='" + decodedTermText + '\'' +
         ", field='" + field + '\'' +
         ", docFreq=" + docFreq +
+        ", totalTermFreq=" + totalTermFreq +
         '}';
   }
 }
@@ -19,27 +19,86 @@ package org.apache.lucene.luke.models.overview;
 
 import com.google.common.collect.ImmutableList;
 import org.apache.lucene.index.IndexReader;
-import org.apache.lucene.misc.HighFreqTerms;
 
 import javax.annotation.Nonnull;
-import java.util.Arrays;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
- * An utility class that collects terms and their statistics in a specific field.
+ * An utility class that collects terms and their statistics in specific fields.
+ *
+ * <p>
+ * Collected terms are kept in a LRU cache per field and ranking order, and a request for a smaller number of terms
+ * is served from the cached larger one.
+ * </p>
  */
 final class TopTerms {
 
-  private final IndexReader reader;
+  private static final int MAX_CACHE_ENTRIES = 64;
+
+  private final TopTermsCollector collector;
+
+  private final Map<CacheKey, CachedTopTerms> topTermsCache;
 
-  private final Map<String, List<TermStats>> topTermsCache;
+  private final StatsCache statsCache;
 
   TopTerms(@Nonnull IndexReader reader) {
-    this.reader = reader;
-    this.topTermsCache = new WeakHashMap<>();
+    this(reader, ForkJoinPool.commonPool(), null);
+  }
+
+  /**
+   * @param reader - the index reader
+   * @param pool - fork-join pool for collecting top terms
+   * @param statsCache - persistent cache for top terms, or null
+   */
+  TopTerms(@Nonnull IndexReader reader, @Nonnull ForkJoinPool pool, @Nullable StatsCache statsCache) {
+    this.collector = new TopTermsCollector(reader, pool);
+    this.topTermsCache = new LinkedHashMap<CacheKey, CachedTopTerms>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedTopTerms> eldest) {
+        return size() > MAX_CACHE_ENTRIES;
+      }
+    };
+    this.statsCache = statsCache;
+  }
+
+  /**
+   * Copies the cached top terms from the instance for the previous reader, except for the specified fields.
+   *
+   * @param previous - top terms for the reader before reopen
+   * @param changedFields - fields whose terms may have been changed since the previous reader
+   */
+  void reuse(@Nonnull TopTerms previous, @Nonnull Set<String> changedFields) {
+    synchronized (previous.topTermsCache) {
+      synchronized (topTermsCache) {
+        previous.topTermsCache.forEach((key, cached) -> {
+          if (!changedFields.contains(key.field)) {
+            topTermsCache.put(key, cached);
+          }
+        });
+      }
+    }
+  }
+
+  /**
+   * Returns the top indexed terms with their statistics for the specified field, ranked by the document frequency.
+   *
+   * @param field - the field name
+   * @param numTerms - the max number of terms to be returned
+   * @throws IOException - if an error occurs when collecting term statistics
+   */
+  List<TermStats> getTopTerms(String field, int numTerms) throws IOException {
+    return getTopTerms(field, numTerms, TopTermsOrder.DOC_FREQ);
   }
 
   /**
@@ -47,22 +106,110 @@ final class TopTerms {
    *
    * @param field - the field name
    * @param numTerms - the max number of terms to be returned
-   * @throws Exception - if an error occurs when collecting term statistics
+   * @param order - the ranking order
+   * @throws IOException - if an error occurs when collecting term statistics
    */
-  List<TermStats> getTopTerms(String field, int numTerms) throws Exception {
+  List<TermStats> getTopTerms(String field, int numTerms, TopTermsOrder order) throws IOException {
+    return getTopTerms(Collections.singletonList(field), numTerms, order).get(field);
+  }
 
-    if (!topTermsCache.containsKey(field) || topTermsCache.get(field).size() < numTerms) {
-      org.apache.lucene.misc.TermStats[] stats =
-          HighFreqTerms.getHighFreqTerms(reader, numTerms, field, new HighFreqTerms.DocFreqComparator());
+  /**
+   * Returns the top indexed terms with their statistics for the specified fields.
+   * Fields not found in the caches are collected together in one pass.
+   *
+   * @param fields - the field names
+   * @param numTerms - the max number of terms to be returned for each field
+   * @param order - the ranking order
+   * @return a map contains field names and their top terms
+   * @throws IOException - if an error occurs when collecting term statistics
+   */
+  Map<String, List<TermStats>> getTopTerms(Collection<String> fields, int numTerms, TopTermsOrder order) throws IOException {
+    Map<String, List<TermStats>> res = new HashMap<>();
+    List<String> missingFields = new ArrayList<>();
+    for (String field : fields) {
+      List<TermStats> cached = getCached(field, numTerms, order);
+      if (cached != null) {
+        res.put(field, cached);
+      } else {
+        missingFields.add(field);
+      }
+    }
+
+    if (!missingFields.isEmpty()) {
+      Map<String, List<TermStats>> collected = collector.collect(missingFields, numTerms, order);
+      for (Map.Entry<String, List<TermStats>> e : collected.entrySet()) {
+        List<TermStats> topTerms = ImmutableList.copyOf(e.getValue());
+        synchronized (topTermsCache) {
+          // cache computed statistics for later uses
+          topTermsCache.put(new CacheKey(e.getKey(), order), new CachedTopTerms(numTerms, topTerms));
+        }
+        if (statsCache != null) {
+          statsCache.putTopTerms(e.getKey(), order, numTerms, topTerms);
+        }
+        res.put(e.getKey(), topTerms);
+      }
+      if (statsCache != null) {
+        statsCache.save();
+      }
+    }
+
+    return res;
+  }
+
+  private List<TermStats> getCached(String field, int numTerms, TopTermsOrder order) {
+    CacheKey key = new CacheKey(field, order);
+    synchronized (topTermsCache) {
+      CachedTopTerms cached = topTermsCache.get(key);
+      if (cached != null && cached.numTerms >= numTerms) {
+        return cached.terms.subList(0, Math.min(numTerms, cached.terms.size()));
+      }
+    }
+
+    if (statsCache != null) {
+      // persisted statistics collected with equal or larger numTerms
+      List<TermStats> persisted = statsCache.getTopTerms(field, order, numTerms);
+      if (persisted != null) {
+        return ImmutableList.copyOf(persisted);
+      }
+    }
+    return null;
+  }
 
-      List<TermStats> topTerms = Arrays.stream(stats)
-          .map(TermStats::of)
-          .collect(Collectors.toList());
+  private static final class CacheKey {
 
-      // cache computed statistics for later uses
-      topTermsCache.put(field, topTerms);
+    private final String field;
+
+    private final TopTermsOrder order;
+
+    CacheKey(String field, TopTermsOrder order) {
+      this.field = field;
+      this.order = order;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      CacheKey cacheKey = (CacheKey) o;
+      return field.equals(cacheKey.field) && order == cacheKey.order;
     }
 
-    return ImmutableList.copyOf(topTermsCache.get(field));
+    @Override
+    public int hashCode() {
+      return Objects.hash(field, order);
+    }
+  }
+
+  private static final class CachedTopTerms {
+
+    // the number of terms requested, the list may have fewer terms
+    private final int numTerms;
+
+    private final List<TermStats> terms;
+
+    CachedTopTerms(int numTerms, List<TermStats> terms) {
+      this.numTerms = numTerms;
+      this.terms = terms;
+    }
   }
 }
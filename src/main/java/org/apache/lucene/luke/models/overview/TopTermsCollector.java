@@ -0,0 +1,403 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.overview;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.MultiFields;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.luke.models.shards.ShardLocator;
+import org.apache.lucene.luke.util.BytesRefUtils;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefBuilder;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Collects the top terms of fields in one pass over their terms dictionaries.
+ *
+ * <p>
+ * Each field is collected as a sub task on a fork-join pool. Terms are kept in a bounded min-heap
+ * backed by primitive arrays, so no objects are allocated for terms which do not enter the heap.
+ * </p>
+ *
+ * <p>
+ * For a sharded index, the top terms of each shard are collected in parallel, and the exact statistics of the union of
+ * them are summed up over the shards. A term which is not ranked high in any shard is not a candidate, so the result
+ * may miss a term evenly spread over many shards; each shard contributes {@value #SHARD_OVERSAMPLING} times as many
+ * candidates as requested to make it unlikely.
+ * </p>
+ */
+final class TopTermsCollector {
+
+  static final int SHARD_OVERSAMPLING = 2;
+
+  private final IndexReader reader;
+
+  private final ForkJoinPool pool;
+
+  private final ShardLocator shards;
+
+  TopTermsCollector(@Nonnull IndexReader reader, @Nonnull ForkJoinPool pool) {
+    this.reader = reader;
+    this.pool = pool;
+    this.shards = ShardLocator.of(reader);
+  }
+
+  /**
+   * Collects the top terms for the specified fields.
+   *
+   * @param fields - field names
+   * @param numTerms - the max number of terms to be collected for each field
+   * @param order - the ranking order
+   * @return a map contains field names and their top terms, ranked from the highest
+   * @throws IOException
+   */
+  Map<String, List<TermStats>> collect(@Nonnull Collection<String> fields, int numTerms, @Nonnull TopTermsOrder order)
+      throws IOException {
+    List<FieldTask> tasks = new ArrayList<>();
+    for (String field : fields) {
+      tasks.add(new FieldTask(field, numTerms, order));
+    }
+    try {
+      return pool.invoke(new RecursiveTask<Map<String, List<TermStats>>>() {
+        @Override
+        protected Map<String, List<TermStats>> compute() {
+          invokeAll(tasks);
+          Map<String, List<TermStats>> res = new HashMap<>();
+          for (FieldTask task : tasks) {
+            res.put(task.field, task.join());
+          }
+          return res;
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private final class FieldTask extends RecursiveTask<List<TermStats>> {
+
+    private final String field;
+
+    private final int numTerms;
+
+    private final TopTermsOrder order;
+
+    FieldTask(String field, int numTerms, TopTermsOrder order) {
+      this.field = field;
+      this.numTerms = numTerms;
+      this.order = order;
+    }
+
+    @Override
+    protected List<TermStats> compute() {
+      try {
+        return collect();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private List<TermStats> collect() throws IOException {
+      if (numTerms == 0) {
+        return Collections.emptyList();
+      }
+      if (shards.isSharded()) {
+        return collectSharded();
+      }
+      Terms terms = MultiFields.getTerms(reader, field);
+      if (terms == null) {
+        return Collections.emptyList();
+      }
+      return collectTop(terms, numTerms).drain(field);
+    }
+
+    private TermHeap collectTop(Terms terms, int maxSize) throws IOException {
+      TermHeap heap = new TermHeap(maxSize);
+      TermsEnum te = terms.iterator();
+      BytesRef term;
+      while ((term = te.next()) != null) {
+        int docFreq = te.docFreq();
+        long totalTermFreq = te.totalTermFreq();
+        long score = score(docFreq, totalTermFreq);
+        if (heap.isCompetitive(score)) {
+          heap.add(term, docFreq, totalTermFreq, score);
+        }
+      }
+      return heap;
+    }
+
+    private long score(int docFreq, long totalTermFreq) {
+      // fields without term frequencies are ranked by the document frequency
+      return order == TopTermsOrder.TOTAL_TERM_FREQ && totalTermFreq >= 0 ? totalTermFreq : docFreq;
+    }
+
+    private List<TermStats> collectSharded() {
+      List<IndexReader> shardReaders = shards.getShardReaders();
+
+      // candidates from the top terms of each shard
+      List<RecursiveTask<List<BytesRef>>> candidateTasks = new ArrayList<>();
+      for (IndexReader shardReader : shardReaders) {
+        candidateTasks.add(task(() -> {
+          Terms terms = MultiFields.getTerms(shardReader, field);
+          return terms == null ? Collections.<BytesRef>emptyList() : collectTop(terms, numTerms * SHARD_OVERSAMPLING).terms();
+        }));
+      }
+      invokeAll(candidateTasks);
+      SortedSet<BytesRef> candidateSet = new TreeSet<>();
+      for (RecursiveTask<List<BytesRef>> task : candidateTasks) {
+        candidateSet.addAll(task.join());
+      }
+      if (candidateSet.isEmpty()) {
+        return Collections.emptyList();
+      }
+      BytesRef[] candidates = candidateSet.toArray(new BytesRef[0]);
+
+      // exact statistics of the candidates in each shard
+      int[][] shardDocFreqs = new int[shardReaders.size()][];
+      long[][] shardTotalTermFreqs = new long[shardReaders.size()][];
+      List<RecursiveTask<Void>> statsTasks = new ArrayList<>();
+      for (int i = 0; i < shardReaders.size(); i++) {
+        IndexReader shardReader = shardReaders.get(i);
+        int shard = i;
+        statsTasks.add(task(() -> {
+          shardDocFreqs[shard] = new int[candidates.length];
+          shardTotalTermFreqs[shard] = new long[candidates.length];
+          Terms terms = MultiFields.getTerms(shardReader, field);
+          if (terms != null) {
+            TermsEnum te = terms.iterator();
+            // candidates are sorted in the index order
+            for (int c = 0; c < candidates.length; c++) {
+              if (te.seekExact(candidates[c])) {
+                shardDocFreqs[shard][c] = te.docFreq();
+                shardTotalTermFreqs[shard][c] = te.totalTermFreq();
+              }
+            }
+          }
+          return null;
+        }));
+      }
+      invokeAll(statsTasks);
+
+      int[] docFreqs = new int[candidates.length];
+      long[] totalTermFreqs = new long[candidates.length];
+      long[] scores = new long[candidates.length];
+      List<Integer> ranking = new ArrayList<>(candidates.length);
+      for (int c = 0; c < candidates.length; c++) {
+        for (int shard = 0; shard < shardReaders.size(); shard++) {
+          docFreqs[c] += shardDocFreqs[shard][c];
+          long ttf = shardTotalTermFreqs[shard][c];
+          if (ttf < 0 || totalTermFreqs[c] < 0) {
+            totalTermFreqs[c] = -1;
+          } else {
+            totalTermFreqs[c] += ttf;
+          }
+        }
+        scores[c] = score(docFreqs[c], totalTermFreqs[c]);
+        ranking.add(c);
+      }
+      // ties are ranked by the term order, as for a non-sharded index
+      ranking.sort((c1, c2) -> scores[c1] != scores[c2] ? Long.compare(scores[c2], scores[c1]) : Integer.compare(c1, c2));
+
+      List<TermStats> res = new ArrayList<>(Math.min(numTerms, candidates.length));
+      for (int c : ranking.subList(0, Math.min(numTerms, ranking.size()))) {
+        int[] dfs = new int[shardReaders.size()];
+        for (int shard = 0; shard < dfs.length; shard++) {
+          dfs[shard] = shardDocFreqs[shard][c];
+        }
+        res.add(TermStats.of(BytesRefUtils.decode(candidates[c]), field, docFreqs[c], totalTermFreqs[c], dfs));
+      }
+      return res;
+    }
+  }
+
+  private interface IOCallable<T> {
+    T call() throws IOException;
+  }
+
+  private static <T> RecursiveTask<T> task(IOCallable<T> callable) {
+    return new RecursiveTask<T>() {
+      @Override
+      protected T compute() {
+        try {
+          return callable.call();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    };
+  }
+
+  /**
+   * A bounded min-heap of terms ordered by scores. Term statistics are held in parallel arrays indexed by slots,
+   * and the heap itself only moves slot numbers.
+   *
+   * <p>
+   * Terms must be added in the index order; since a term added later is always greater than the terms in the heap,
+   * a term having the same score as the least one is never competitive. Thus ties are ranked by the term order.
+   * </p>
+   */
+  static final class TermHeap {
+
+    private final int maxSize;
+
+    private int size = 0;
+
+    // 1-based heap of slots
+    private int[] heap;
+
+    private long[] scores;
+
+    private int[] docFreqs;
+
+    private long[] totalTermFreqs;
+
+    private BytesRefBuilder[] terms;
+
+    TermHeap(int maxSize) {
+      this.maxSize = maxSize;
+      int initialSize = Math.min(maxSize, 64);
+      this.heap = new int[initialSize + 1];
+      this.scores = new long[initialSize];
+      this.docFreqs = new int[initialSize];
+      this.totalTermFreqs = new long[initialSize];
+      this.terms = new BytesRefBuilder[initialSize];
+    }
+
+    boolean isCompetitive(long score) {
+      return size < maxSize || score > scores[heap[1]];
+    }
+
+    void add(BytesRef term, int docFreq, long totalTermFreq, long score) {
+      int slot;
+      if (size < maxSize) {
+        slot = size++;
+        grow(size);
+        terms[slot] = new BytesRefBuilder();
+        heap[size] = slot;
+        set(slot, term, docFreq, totalTermFreq, score);
+        upHeap(size);
+      } else {
+        // replace the least term
+        slot = heap[1];
+        set(slot, term, docFreq, totalTermFreq, score);
+        downHeap(1);
+      }
+    }
+
+    /**
+     * Returns copies of the terms in the heap, in no particular order.
+     */
+    List<BytesRef> terms() {
+      List<BytesRef> res = new ArrayList<>(size);
+      for (int i = 1; i <= size; i++) {
+        res.add(terms[heap[i]].toBytesRef());
+      }
+      return res;
+    }
+
+    /**
+     * Empties the heap and returns the terms, ranked from the highest.
+     */
+    List<TermStats> drain(String field) {
+      TermStats[] res = new TermStats[size];
+      for (int i = size - 1; i >= 0; i--) {
+        int slot = heap[1];
+        res[i] = TermStats.of(BytesRefUtils.decode(terms[slot].get()), field, docFreqs[slot], totalTermFreqs[slot]);
+        heap[1] = heap[size];
+        size--;
+        downHeap(1);
+      }
+      List<TermStats> list = new ArrayList<>(res.length);
+      Collections.addAll(list, res);
+      return list;
+    }
+
+    private void set(int slot, BytesRef term, int docFreq, long totalTermFreq, long score) {
+      terms[slot].copyBytes(term);
+      docFreqs[slot] = docFreq;
+      totalTermFreqs[slot] = totalTermFreq;
+      scores[slot] = score;
+    }
+
+    private void grow(int minSize) {
+      if (scores.length < minSize) {
+        int newSize = Math.min(maxSize, ArrayUtil.oversize(minSize, Long.BYTES));
+        heap = ArrayUtil.growExact(heap, newSize + 1);
+        scores = ArrayUtil.growExact(scores, newSize);
+        docFreqs = ArrayUtil.growExact(docFreqs, newSize);
+        totalTermFreqs = ArrayUtil.growExact(totalTermFreqs, newSize);
+        terms = ArrayUtil.growExact(terms, newSize);
+      }
+    }
+
+    /** Returns true if the term in slot a ranks lower than the term in slot b. */
+    private boolean lessThan(int a, int b) {
+      if (scores[a] != scores[b]) {
+        return scores[a] < scores[b];
+      }
+      return terms[a].get().compareTo(terms[b].get()) > 0;
+    }
+
+    private void upHeap(int i) {
+      int slot = heap[i];
+      int j = i >>> 1;
+      while (j > 0 && lessThan(slot, heap[j])) {
+        heap[i] = heap[j];
+        i = j;
+        j = j >>> 1;
+      }
+      heap[i] = slot;
+    }
+
+    private void downHeap(int i) {
+      if (size == 0) {
+        return;
+      }
+      int slot = heap[i];
+      int j = i << 1;
+      while (j <= size) {
+        int k = j + 1;
+        if (k <= size && lessThan(heap[k], heap[j])) {
+          j = k;
+        }
+        if (!lessThan(heap[j], slot)) {
+          break;
+        }
+        heap[i] = heap[j];
+        i = j;
+        j = i << 1;
+      }
+      heap[i] = slot;
+    }
+  }
+
+}
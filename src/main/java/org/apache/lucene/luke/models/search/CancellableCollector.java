@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.search;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.FilterCollector;
+import org.apache.lucene.search.FilterLeafCollector;
+import org.apache.lucene.search.LeafCollector;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A collector wrapper which stops the collection when the deadline is exceeded or the search is cancelled.
+ *
+ * <p>
+ * When the collection is stopped, {@link CollectionTerminatedException} is thrown so that the searcher
+ * skips the remaining documents and leaves, and {@link #isStopped()} turns to true.
+ * The hits collected so far are still available from the wrapped collector.
+ * Each slice of a concurrent search has its own instance, all of them sharing the same cancel flag.
+ * </p>
+ */
+final class CancellableCollector extends FilterCollector {
+
+  // reading the clock for every hit is too expensive
+  private static final int CLOCK_CHECK_INTERVAL = 256;
+
+  private final long deadline;
+
+  private final AtomicBoolean cancelled;
+
+  private volatile String stopReason;
+
+  /**
+   * @param in - the collector to be wrapped
+   * @param deadline - the deadline in {@link System#nanoTime()}, or {@link Long#MAX_VALUE} for no time limit
+   * @param cancelled - flag to cancel the collection
+   */
+  CancellableCollector(@Nonnull Collector in, long deadline, @Nonnull AtomicBoolean cancelled) {
+    super(in);
+    this.deadline = deadline;
+    this.cancelled = cancelled;
+  }
+
+  /**
+   * Returns the deadline in {@link System#nanoTime()} for the specified timeout.
+   *
+   * @param timeoutMillis - timeout in milliseconds; zero or a negative value means no time limit
+   */
+  static long deadline(long timeoutMillis) {
+    if (timeoutMillis <= 0) {
+      return Long.MAX_VALUE;
+    }
+    long now = System.nanoTime();
+    long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    // avoid overflow
+    return timeoutNanos > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + timeoutNanos;
+  }
+
+  @Override
+  public LeafCollector getLeafCollector(LeafReaderContext context) throws IOException {
+    checkCancelled();
+    checkTimeout();
+    return new FilterLeafCollector(super.getLeafCollector(context)) {
+
+      private int count = 0;
+
+      @Override
+      public void collect(int doc) throws IOException {
+        checkCancelled();
+        if (++count % CLOCK_CHECK_INTERVAL == 0) {
+          checkTimeout();
+        }
+        super.collect(doc);
+      }
+    };
+  }
+
+  /**
+   * Returns true if the collection was stopped by cancellation or timeout.
+   */
+  boolean isStopped() {
+    return stopReason != null;
+  }
+
+  /**
+   * Returns the reason why the collection was stopped, or null if it was not stopped.
+   */
+  String getStopReason() {
+    return stopReason;
+  }
+
+  private void checkCancelled() {
+    if (cancelled.get()) {
+      stop("Search cancelled.");
+    }
+  }
+
+  private void checkTimeout() {
+    if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline > 0) {
+      stop("Search timed out.");
+    }
+  }
+
+  private void stop(String reason) {
+    stopReason = reason;
+    throw new CollectionTerminatedException();
+  }
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.search;
+
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Pages through the hits of a query with "search after" cursors.
+ *
+ * <p>
+ * Only a bounded window of recently visited pages is kept, plus sparse checkpoints (the cursor of every N-th page).
+ * A page out of the window is fetched from the nearest page before it whose cursor is known,
+ * so jumping to a page or going back beyond the window never re-runs the query from the first page
+ * once a checkpoint has been passed.
+ * </p>
+ *
+ * <p>
+ * When a fetch is stopped (by timeout or cancellation), its hits and total hits are provisional:
+ * they are returned but not cached, and the total hits do not limit the pages until a complete fetch corrects them.
+ * </p>
+ */
+final class Pager {
+
+  /** Fetches the top hits after the given cursor. */
+  @FunctionalInterface
+  interface HitsFetcher {
+    FetchedHits fetch(@Nullable ScoreDoc after, int numHits) throws IOException;
+  }
+
+  /** Top hits returned by a fetch. */
+  static final class FetchedHits {
+
+    private final TopDocs topDocs;
+
+    private final boolean complete;
+
+    /**
+     * @param topDocs - the top hits
+     * @param complete - false if the collection was stopped before all hits were collected
+     */
+    static FetchedHits of(@Nonnull TopDocs topDocs, boolean complete) {
+      return new FetchedHits(topDocs, complete);
+    }
+
+    private FetchedHits(TopDocs topDocs, boolean complete) {
+      this.topDocs = topDocs;
+      this.complete = complete;
+    }
+
+    TopDocs getTopDocs() {
+      return topDocs;
+    }
+
+    boolean isComplete() {
+      return complete;
+    }
+  }
+
+  /** Default number of pages kept in the window */
+  static final int DEFAULT_WINDOW_PAGES = 10;
+
+  /** Default interval of pages between checkpoints */
+  static final int DEFAULT_CHECKPOINT_INTERVAL = 10;
+
+  /** Maximum number of hits collected by a query; longer jumps are split into several queries */
+  static final int MAX_HITS_PER_FETCH = 10_000;
+
+  private final HitsFetcher fetcher;
+
+  private final int pageSize;
+
+  private final int windowPages;
+
+  private final int checkpointInterval;
+
+  // recently visited pages
+  private final Map<Integer, ScoreDoc[]> window;
+
+  // page number -> the last hit of the previous page; page 0 starts without cursor
+  private final TreeMap<Integer, ScoreDoc> checkpoints = new TreeMap<>();
+
+  private long totalHits = -1;
+
+  // true if the total hits were reported by a stopped fetch
+  private boolean provisional = false;
+
+  // the number of pages, known when the last hit has been fetched
+  private int numPages = -1;
+
+  Pager(@Nonnull HitsFetcher fetcher, int pageSize) {
+    this(fetcher, pageSize, DEFAULT_WINDOW_PAGES, DEFAULT_CHECKPOINT_INTERVAL);
+  }
+
+  Pager(@Nonnull HitsFetcher fetcher, int pageSize, int windowPages, int checkpointInterval) {
+    if (pageSize <= 0 || windowPages <= 0 || checkpointInterval <= 0) {
+      throw new IllegalArgumentException("Page size, window size and checkpoint interval must be positive.");
+    }
+    this.fetcher = fetcher;
+    this.pageSize = pageSize;
+    this.windowPages = windowPages;
+    this.checkpointInterval = checkpointInterval;
+    this.window = new LinkedHashMap<Integer, ScoreDoc[]>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, ScoreDoc[]> eldest) {
+        return size() > Pager.this.windowPages;
+      }
+    };
+  }
+
+  /**
+   * Returns the total number of hits reported by the last query, or -1 if no query has been run.
+   */
+  long getTotalHits() {
+    return totalHits;
+  }
+
+  /**
+   * Returns true if the last query was stopped before all hits were collected;
+   * the total hits is then a lower bound and is recomputed by the next complete query.
+   */
+  boolean isProvisional() {
+    return provisional;
+  }
+
+  /**
+   * Returns the hits of the page.
+   *
+   * @param page - page number, starting from 0
+   * @return hits of the page, or null if the page is beyond the last hit
+   * @throws IOException
+   */
+  ScoreDoc[] getPage(int page) throws IOException {
+    if (page < 0) {
+      throw new IllegalArgumentException("Negative page number: " + page);
+    }
+    ScoreDoc[] hits = window.get(page);
+    if (hits != null) {
+      return hits;
+    }
+    if (isBeyondLastPage(page)) {
+      return null;
+    }
+
+    // find the nearest page whose cursor is known
+    int startPage = 0;
+    ScoreDoc after = null;
+    Map.Entry<Integer, ScoreDoc> checkpoint = checkpoints.floorEntry(page);
+    if (checkpoint != null) {
+      startPage = checkpoint.getKey();
+      after = checkpoint.getValue();
+    }
+    for (Map.Entry<Integer, ScoreDoc[]> e : window.entrySet()) {
+      int p = e.getKey();
+      if (p < page && p + 1 > startPage && e.getValue().length == pageSize) {
+        startPage = p + 1;
+        after = e.getValue()[pageSize - 1];
+      }
+    }
+
+    int maxPagesPerFetch = Math.max(1, MAX_HITS_PER_FETCH / pageSize);
+    while (true) {
+      int pages = Math.min(page - startPage + 1, maxPagesPerFetch);
+      FetchedHits fetched = fetcher.fetch(after, pages * pageSize);
+      TopDocs topDocs = fetched.getTopDocs();
+      totalHits = topDocs.totalHits;
+      ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+
+      if (!fetched.isComplete()) {
+        // the ranking is partial; neither the hits nor the cursors are cached so that they are fetched again later
+        provisional = true;
+        int from = Math.min((page - startPage) * pageSize, scoreDocs.length);
+        return Arrays.copyOfRange(scoreDocs, from, Math.min(from + pageSize, scoreDocs.length));
+      }
+      provisional = false;
+
+      for (int i = 0; i < pages && i * pageSize < scoreDocs.length; i++) {
+        int p = startPage + i;
+        if (p % checkpointInterval == 0 && p > 0) {
+          checkpoints.put(p, i == 0 ? after : scoreDocs[i * pageSize - 1]);
+        }
+        if (page - p < windowPages) {
+          window.put(p, Arrays.copyOfRange(scoreDocs, i * pageSize, Math.min((i + 1) * pageSize, scoreDocs.length)));
+        }
+      }
+
+      if (scoreDocs.length < pages * pageSize) {
+        // no more hits
+        numPages = startPage + (scoreDocs.length + pageSize - 1) / pageSize;
+        return page < numPages ? window.get(page) : null;
+      }
+      if (startPage + pages > page) {
+        return window.get(page);
+      }
+      startPage += pages;
+      after = scoreDocs[scoreDocs.length - 1];
+    }
+  }
+
+  private boolean isBeyondLastPage(int page) {
+    if (numPages >= 0 && page >= numPages) {
+      return true;
+    }
+    return !provisional && totalHits >= 0 && (long) page * pageSize >= totalHits;
+  }
+
+  int cachedPages() {
+    return window.size();
+  }
+
+  int checkpoints() {
+    return checkpoints.size();
+  }
+
+}
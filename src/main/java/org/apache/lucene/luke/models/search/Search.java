@@ -18,7 +18,9 @@
 package org.apache.lucene.luke.models.search;
 
 import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.luke.models.LukeException;
+import org.apache.lucene.luke.models.ReaderDelta;
 import org.apache.lucene.search.Explanation;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.Sort;
@@ -54,6 +56,16 @@ public interface Search {
    */
   Collection<String> getRangeSearchableFieldNames();
 
+  /**
+   * Returns a new instance for the index reader reopened from the current one.
+   * The query cache and the field names by capability are carried over when they are still valid,
+   * and the current query is kept.
+   *
+   * @param newReader - the reopened index reader
+   * @param delta - the difference between the current reader and the reopened reader
+   */
+  Search reopen(IndexReader newReader, ReaderDelta delta);
+
   /**
    * Returns the current query.
    */
@@ -108,6 +120,42 @@ public interface Search {
    */
   SearchResults search(Query query, SimilarityConfig simConfig, Sort sort, Set<String> fieldsToLoad, int pageSize);
 
+  /**
+   * Searches this index by the query with given sort criteria and configurations, within the time limit.
+   *
+   * <p>
+   * If the time limit is exceeded or the search is cancelled by {@link #cancel()}, the collection is stopped
+   * and the top hits collected so far are returned as partial results (see {@link SearchResults#isPartial()}).
+   * The time limit is also applied when the following pages are fetched by {@link #nextPage()}.
+   * </p>
+   *
+   * @param query - search query
+   * @param simConfig - similarity configuration
+   * @param sort - sort criteria
+   * @param fieldsToLoad - fields to load
+   * @param pageSize - page size
+   * @param timeoutMillis - time limit in milliseconds for collecting hits, zero means no limit
+   * @return search results
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  SearchResults search(Query query, SimilarityConfig simConfig, Sort sort, Set<String> fieldsToLoad, int pageSize, long timeoutMillis);
+
+  /**
+   * Cancels the running search or page fetch, if any. This method can be called from any thread.
+   *
+   * <p>
+   * The cancellation stays in effect until {@link #resetCancel()} is called,
+   * so a cancel request issued before the operation actually starts is not lost.
+   * </p>
+   */
+  void cancel();
+
+  /**
+   * Clears the cancellation by {@link #cancel()}.
+   * Call this before starting (or submitting to a background thread) a search or a page navigation which can be cancelled.
+   */
+  void resetCancel();
+
   /**
    * Returns the next page for the current query.
    *
@@ -124,6 +172,15 @@ public interface Search {
    */
   Optional<SearchResults> prevPage();
 
+  /**
+   * Returns the specified page for the current query. The page becomes the current page if it exists.
+   *
+   * @param page - page number, starting from 0
+   * @return search results, or empty if the page is beyond the last hit
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  Optional<SearchResults> goToPage(int page);
+
   /**
    * Explains the document for the specified query.
    *
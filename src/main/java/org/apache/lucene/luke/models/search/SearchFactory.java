@@ -19,10 +19,52 @@ package org.apache.lucene.luke.models.search;
 
 import org.apache.lucene.index.IndexReader;
 
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class SearchFactory {
 
+  // shared by all search models created by this factory; created on demand
+  private ThreadPoolExecutor executor;
+
   public Search newInstance(IndexReader reader) {
     return new SearchImpl(reader);
   }
 
+  /**
+   * Returns a new Search which searches slices of the index concurrently.
+   * The search threads are shared by all instances created by this factory, and resized to the given number.
+   *
+   * @param reader - the index reader
+   * @param numThreads - the number of search threads; 1 or less means sequential search
+   * @param maxDocsPerSlice - maximum number of documents searched by one thread at a time
+   * @param maxSegmentsPerSlice - maximum number of segments searched by one thread at a time
+   */
+  public synchronized Search newInstance(IndexReader reader, int numThreads, int maxDocsPerSlice, int maxSegmentsPerSlice) {
+    if (numThreads <= 1) {
+      return new SearchImpl(reader, null, maxDocsPerSlice, maxSegmentsPerSlice);
+    }
+
+    if (executor == null) {
+      AtomicInteger threadNum = new AtomicInteger();
+      executor = new ThreadPoolExecutor(numThreads, numThreads, 60L, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(),
+          r -> {
+            Thread t = new Thread(r, "luke-search-" + threadNum.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+          });
+      executor.allowCoreThreadTimeOut(true);
+    } else if (numThreads > executor.getMaximumPoolSize()) {
+      executor.setMaximumPoolSize(numThreads);
+      executor.setCorePoolSize(numThreads);
+    } else if (numThreads < executor.getMaximumPoolSize()) {
+      executor.setCorePoolSize(numThreads);
+      executor.setMaximumPoolSize(numThreads);
+    }
+    return new SearchImpl(reader, executor, maxDocsPerSlice, maxSegmentsPerSlice);
+  }
+
 }
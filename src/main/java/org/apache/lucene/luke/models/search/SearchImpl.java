@@ -24,8 +24,11 @@ import org.apache.lucene.index.DocValuesType;
 import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.index.IndexOptions;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.luke.models.LukeModel;
 import org.apache.lucene.luke.models.LukeException;
+import org.apache.lucene.luke.models.ReaderDelta;
+import org.apache.lucene.luke.models.shards.ShardLocator;
 import org.apache.lucene.luke.util.IndexUtils;
 import org.apache.lucene.queries.mlt.MoreLikeThis;
 import org.apache.lucene.queryparser.classic.ParseException;
@@ -34,7 +37,9 @@ import org.apache.lucene.queryparser.flexible.core.QueryNodeException;
 import org.apache.lucene.queryparser.flexible.standard.StandardQueryParser;
 import org.apache.lucene.queryparser.flexible.standard.config.PointsConfig;
 import org.apache.lucene.queryparser.flexible.standard.config.StandardQueryConfigHandler;
+import org.apache.lucene.search.CollectorManager;
 import org.apache.lucene.search.Explanation;
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
@@ -43,6 +48,10 @@ import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.SortedNumericSortField;
 import org.apache.lucene.search.SortedSetSortField;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopDocsCollector;
+import org.apache.lucene.search.TopFieldCollector;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.TopScoreDocCollector;
 import org.apache.lucene.search.similarities.BM25Similarity;
 import org.apache.lucene.search.similarities.ClassicSimilarity;
 import org.apache.lucene.search.similarities.Similarity;
@@ -53,15 +62,18 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.text.NumberFormat;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 public final class SearchImpl extends LukeModel implements Search {
@@ -72,13 +84,26 @@ public final class SearchImpl extends LukeModel implements Search {
 
   private final IndexSearcher searcher;
 
+  private final ExecutorService executor;
+
+  private final int maxDocsPerSlice;
+
+  private final int maxSegmentsPerSlice;
+
+  private final ShardLocator shards;
+
+  // field names by capability; computed on first access and carried over on reopen if no fields are added
+  private Collection<String> sortableFieldNames;
+
+  private Collection<String> searchableFieldNames;
+
+  private Collection<String> rangeSearchableFieldNames;
+
   private int pageSize = DEFAULT_PAGE_SIZE;
 
   private int currentPage = -1;
 
-  private long totalHits = -1;
-
-  private ScoreDoc[] docs = new ScoreDoc[0];
+  private Pager pager;
 
   private Query query;
 
@@ -86,40 +111,104 @@ public final class SearchImpl extends LukeModel implements Search {
 
   private Set<String> fieldsToLoad;
 
+  private StoredDocLoader docLoader;
+
+  private long timeoutMillis = 0;
+
+  // flag to cancel the running search; shared by all fetches until reset by resetCancel()
+  private final AtomicBoolean cancelled = new AtomicBoolean();
+
   /**
    * Constructs a SearchImpl that holds given {@link IndexReader}
    * @param reader - the index reader
    */
   public SearchImpl(@Nonnull IndexReader reader) {
+    this(reader, null, SlicedIndexSearcher.DEFAULT_MAX_DOCS_PER_SLICE, SlicedIndexSearcher.DEFAULT_MAX_SEGMENTS_PER_SLICE);
+  }
+
+  /**
+   * Constructs a SearchImpl that holds given {@link IndexReader} and searches slices of the index concurrently.
+   * @param reader - the index reader
+   * @param executor - executor shared by searches; if null, searches run sequentially on the caller thread
+   * @param maxDocsPerSlice - maximum number of documents searched by one task
+   * @param maxSegmentsPerSlice - maximum number of segments searched by one task
+   */
+  public SearchImpl(@Nonnull IndexReader reader, @Nullable ExecutorService executor,
+                    int maxDocsPerSlice, int maxSegmentsPerSlice) {
     super(reader);
-    this.searcher = new IndexSearcher(reader);
+    this.searcher = new SlicedIndexSearcher(reader, executor, maxDocsPerSlice, maxSegmentsPerSlice);
+    this.executor = executor;
+    this.maxDocsPerSlice = maxDocsPerSlice;
+    this.maxSegmentsPerSlice = maxSegmentsPerSlice;
+    this.shards = ShardLocator.of(reader);
   }
 
   @Override
-  public Collection<String> getSortableFieldNames() {
-    return IndexUtils.getFieldNames(reader).stream()
-        .map(f -> IndexUtils.getFieldInfo(reader, f))
-        .filter(info -> !info.getDocValuesType().equals(DocValuesType.NONE))
-        .map(info -> info.name)
-        .collect(Collectors.toList());
+  public synchronized Collection<String> getSortableFieldNames() {
+    if (sortableFieldNames == null) {
+      sortableFieldNames = IndexUtils.getFieldNames(reader).stream()
+          .map(f -> IndexUtils.getFieldInfo(reader, f))
+          .filter(info -> !info.getDocValuesType().equals(DocValuesType.NONE))
+          .map(info -> info.name)
+          .collect(Collectors.toList());
+    }
+    return sortableFieldNames;
   }
 
   @Override
-  public Collection<String> getSearchableFieldNames() {
-    return IndexUtils.getFieldNames(reader).stream()
-        .map(f -> IndexUtils.getFieldInfo(reader, f))
-        .filter(info -> !info.getIndexOptions().equals(IndexOptions.NONE))
-        .map(info -> info.name)
-        .collect(Collectors.toList());
+  public synchronized Collection<String> getSearchableFieldNames() {
+    if (searchableFieldNames == null) {
+      searchableFieldNames = IndexUtils.getFieldNames(reader).stream()
+          .map(f -> IndexUtils.getFieldInfo(reader, f))
+          .filter(info -> !info.getIndexOptions().equals(IndexOptions.NONE))
+          .map(info -> info.name)
+          .collect(Collectors.toList());
+    }
+    return searchableFieldNames;
+  }
+
+  @Override
+  public synchronized Collection<String> getRangeSearchableFieldNames() {
+    if (rangeSearchableFieldNames == null) {
+      rangeSearchableFieldNames = IndexUtils.getFieldNames(reader).stream()
+          .map(f -> IndexUtils.getFieldInfo(reader, f))
+          .filter(info -> info.getPointDimensionCount() > 0)
+          .map(info -> info.name)
+          .collect(Collectors.toSet());
+    }
+    return rangeSearchableFieldNames;
   }
 
   @Override
-  public Collection<String> getRangeSearchableFieldNames() {
-    return IndexUtils.getFieldNames(reader).stream()
-        .map(f -> IndexUtils.getFieldInfo(reader, f))
-        .filter(info -> info.getPointDimensionCount() > 0)
-        .map(info -> info.name)
-        .collect(Collectors.toSet());
+  public synchronized Search reopen(@Nonnull IndexReader newReader, @Nonnull ReaderDelta delta) {
+    SearchImpl reopened = new SearchImpl(newReader, executor, maxDocsPerSlice, maxSegmentsPerSlice);
+    // cached queries are keyed by segment cores, so entries for unchanged segments are hit again
+    reopened.searcher.setQueryCache(searcher.getQueryCache());
+    reopened.searcher.setQueryCachingPolicy(searcher.getQueryCachingPolicy());
+    if (delta.getNewFields().isEmpty() && coversFieldCapabilities(delta.getAddedLeaves())) {
+      reopened.sortableFieldNames = sortableFieldNames;
+      reopened.searchableFieldNames = searchableFieldNames;
+      reopened.rangeSearchableFieldNames = rangeSearchableFieldNames;
+    }
+    reopened.query = query;
+    return reopened;
+  }
+
+  // true if the field names by capability already include all fields of the leaves with their capabilities
+  private boolean coversFieldCapabilities(List<LeafReaderContext> leaves) {
+    if (sortableFieldNames == null || searchableFieldNames == null || rangeSearchableFieldNames == null) {
+      return false;
+    }
+    for (LeafReaderContext context : leaves) {
+      for (FieldInfo finfo : context.reader().getFieldInfos()) {
+        if ((finfo.getDocValuesType() != DocValuesType.NONE && !sortableFieldNames.contains(finfo.name))
+            || (finfo.getIndexOptions() != IndexOptions.NONE && !searchableFieldNames.contains(finfo.name))
+            || (finfo.getPointDimensionCount() > 0 && !rangeSearchableFieldNames.contains(finfo.name))) {
+          return false;
+        }
+      }
+    }
+    return true;
   }
 
   @Override
@@ -256,17 +345,29 @@ public final class SearchImpl extends LukeModel implements Search {
   @Override
   public SearchResults search(
       @Nonnull Query query, @Nonnull SimilarityConfig simConfig, @Nullable Sort sort, @Nullable Set<String> fieldsToLoad, int pageSize) {
-    if (pageSize < 0) {
-      throw new LukeException(new IllegalArgumentException("Negative integer is not acceptable for page size."));
+    return search(query, simConfig, sort, fieldsToLoad, pageSize, 0);
+  }
+
+  @Override
+  public SearchResults search(
+      @Nonnull Query query, @Nonnull SimilarityConfig simConfig, @Nullable Sort sort, @Nullable Set<String> fieldsToLoad,
+      int pageSize, long timeoutMillis) {
+    if (pageSize <= 0) {
+      throw new LukeException(new IllegalArgumentException("Page size must be a positive integer."));
     }
 
     // reset internal status to prepare for a new search session
-    this.docs = new ScoreDoc[0];
+    this.pager = new Pager(this::fetch, pageSize);
     this.currentPage = 0;
     this.pageSize = pageSize;
     this.query = query;
     this.sort = sort;
     this.fieldsToLoad = fieldsToLoad == null ? null : ImmutableSet.copyOf(fieldsToLoad);
+    if (docLoader == null || !Objects.equals(docLoader.getFieldsToLoad(), this.fieldsToLoad)) {
+      // cached documents are reused while the same fields are requested
+      this.docLoader = new StoredDocLoader(reader, this.fieldsToLoad);
+    }
+    this.timeoutMillis = timeoutMillis;
     searcher.setSimilarity(createSimilarity(simConfig));
 
     try {
@@ -277,22 +378,104 @@ public final class SearchImpl extends LukeModel implements Search {
   }
 
   private SearchResults search() throws IOException {
-    // execute search
-    ScoreDoc after = docs.length == 0 ? null : docs[docs.length - 1];
-    TopDocs topDocs = sort == null ?
-        searcher.searchAfter(after, query, pageSize) :
-        searcher.searchAfter(after, query, pageSize, sort);
-
-    // reset total hits for the current query
-    this.totalHits = topDocs.totalHits;
-
-    // cache search results for later use
-    ScoreDoc[] newDocs = new ScoreDoc[docs.length + topDocs.scoreDocs.length];
-    System.arraycopy(docs, 0, newDocs, 0, docs.length);
-    System.arraycopy(topDocs.scoreDocs, 0, newDocs, docs.length, topDocs.scoreDocs.length);
-    this.docs = newDocs;
-
-    return SearchResults.of(topDocs.totalHits, topDocs.scoreDocs, currentPage * pageSize, searcher, fieldsToLoad);
+    return page(currentPage).orElseGet(() ->
+        SearchResults.of(pager.getTotalHits(), new ScoreDoc[0], currentPage * pageSize, docLoader, shards, pager.isProvisional()));
+  }
+
+  private Optional<SearchResults> page(int page) throws IOException {
+    ScoreDoc[] hits = pager.getPage(page);
+    if (hits == null) {
+      return Optional.empty();
+    }
+    return Optional.of(SearchResults.of(pager.getTotalHits(), hits, page * pageSize, docLoader, shards, pager.isProvisional()));
+  }
+
+  private Pager.FetchedHits fetch(@Nullable ScoreDoc after, int numHits) throws IOException {
+    // execute search; all fetches of a page navigation share the cancel flag
+    TopDocsCollectorManager manager = new TopDocsCollectorManager(after, numHits);
+    TopDocs topDocs = searcher.search(query, manager);
+    if (manager.stopReason != null) {
+      logger.warn("{} Partial results are returned.", manager.stopReason);
+    }
+    return Pager.FetchedHits.of(topDocs, manager.stopReason == null);
+  }
+
+  @Override
+  public void cancel() {
+    cancelled.set(true);
+  }
+
+  @Override
+  public void resetCancel() {
+    cancelled.set(false);
+  }
+
+  /** Creates a top docs collector for each slice and merges their hits. */
+  private final class TopDocsCollectorManager implements CollectorManager<CancellableCollector, TopDocs> {
+
+    private final ScoreDoc after;
+
+    private final int numHits;
+
+    private final Sort sort;
+
+    private final long deadline;
+
+    private final List<TopDocsCollector<?>> collectors = new ArrayList<>();
+
+    private String stopReason;
+
+    TopDocsCollectorManager(@Nullable ScoreDoc after, int numHits) throws IOException {
+      this.after = after;
+      // same as IndexSearcher#searchAfter() does
+      this.numHits = Math.min(numHits, Math.max(1, searcher.getIndexReader().maxDoc()));
+      this.sort = SearchImpl.this.sort == null ? null : SearchImpl.this.sort.rewrite(searcher);
+      this.deadline = CancellableCollector.deadline(timeoutMillis);
+    }
+
+    @Override
+    public CancellableCollector newCollector() throws IOException {
+      // sorted hits are not scored (unless the sort is by relevance), same as IndexSearcher#searchAfter() does;
+      // field values are filled to merge the hits of the slices
+      boolean fillFields = true;
+      boolean trackDocScores = false;
+      boolean trackMaxScore = false;
+      // the total hit count is shown and used for paging
+      boolean trackTotalHits = true;
+      TopDocsCollector<?> collector = sort == null ?
+          TopScoreDocCollector.create(numHits, after) :
+          TopFieldCollector.create(sort, numHits, (FieldDoc) after, fillFields, trackDocScores, trackMaxScore, trackTotalHits);
+      // collectors are created and reduced in the same order
+      collectors.add(collector);
+      return new CancellableCollector(collector, deadline, cancelled);
+    }
+
+    @Override
+    public TopDocs reduce(Collection<CancellableCollector> cancellables) {
+      for (CancellableCollector c : cancellables) {
+        if (c.isStopped()) {
+          stopReason = c.getStopReason();
+          break;
+        }
+      }
+
+      if (collectors.size() == 1) {
+        return collectors.get(0).topDocs();
+      }
+      if (sort == null) {
+        TopDocs[] topDocs = new TopDocs[collectors.size()];
+        for (int i = 0; i < topDocs.length; i++) {
+          topDocs[i] = collectors.get(i).topDocs();
+        }
+        return TopDocs.merge(0, numHits, topDocs, true);
+      } else {
+        TopFieldDocs[] topDocs = new TopFieldDocs[collectors.size()];
+        for (int i = 0; i < topDocs.length; i++) {
+          topDocs[i] = (TopFieldDocs) collectors.get(i).topDocs();
+        }
+        return TopDocs.merge(sort, 0, numHits, topDocs, true);
+      }
+    }
   }
 
   @Override
@@ -304,23 +487,15 @@ public final class SearchImpl extends LukeModel implements Search {
     // proceed to next page
     currentPage += 1;
 
-    if (totalHits == 0 || currentPage * pageSize >= totalHits) {
+    // provisional total hits do not limit the pages
+    long totalHits = pager.getTotalHits();
+    if (!pager.isProvisional() && (totalHits == 0 || (long) currentPage * pageSize >= totalHits)) {
       logger.warn("No more next search results are available.");
       return Optional.empty();
     }
 
     try {
-
-      if (currentPage * pageSize < docs.length) {
-        // if cached results exist, return that.
-        int from = currentPage * pageSize;
-        int to = Math.min(from + pageSize, docs.length);
-        ScoreDoc[] part = Arrays.copyOfRange(docs, from, to);
-        return Optional.of(SearchResults.of(totalHits, part, from, searcher, fieldsToLoad));
-      } else {
-        return Optional.of(search());
-      }
-
+      return page(currentPage);
     } catch (IOException e) {
       throw new LukeException("Search Failed.", e);
     }
@@ -342,11 +517,30 @@ public final class SearchImpl extends LukeModel implements Search {
     }
 
     try {
-      // there should be cached results for this page
-      int from = currentPage * pageSize;
-      int to = Math.min(from + pageSize, docs.length);
-      ScoreDoc[] part = Arrays.copyOfRange(docs, from, to);
-      return Optional.of(SearchResults.of(totalHits, part, from, searcher, fieldsToLoad));
+      // pages out of the cached window are fetched again from the nearest checkpoint
+      return page(currentPage);
+    } catch (IOException e) {
+      throw new LukeException("Search Failed.", e);
+    }
+  }
+
+  @Override
+  public Optional<SearchResults> goToPage(int page) {
+    if (currentPage < 0 || query == null) {
+      throw new LukeException(new IllegalStateException("Search session not started."));
+    }
+    if (page < 0) {
+      throw new LukeException(new IllegalArgumentException("Negative integer is not acceptable for page number."));
+    }
+
+    try {
+      Optional<SearchResults> res = page(page);
+      if (res.isPresent()) {
+        currentPage = page;
+      } else {
+        logger.warn("No search results are available for page {}.", page);
+      }
+      return res;
     } catch (IOException e) {
       throw new LukeException("Search Failed.", e);
     }
@@ -18,20 +18,17 @@
 package org.apache.lucene.luke.models.search;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
-import org.apache.lucene.document.Document;
-import org.apache.lucene.index.IndexableField;
-import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.luke.models.LukeException;
+import org.apache.lucene.luke.models.shards.ShardLocator;
 import org.apache.lucene.search.ScoreDoc;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 /**
  * Holder for a search result page.
@@ -42,30 +39,31 @@ public final class SearchResults {
 
   private int offset = 0;
 
+  private boolean partial = false;
+
   private List<Doc> hits = new ArrayList<>();
 
   /**
    * Creates a search result page for the given raw Lucene hits.
+   * Stored fields of the hits are not loaded until {@link Doc#getFieldValues()} is called.
    *
    * @param totalHits - total number of hits for this query
    * @param docs - array of hits
    * @param offset - offset of the current page
-   * @param searcher - index searcher
-   * @param fieldsToLoad - fields to load
+   * @param loader - loader of stored fields
+   * @param shards - locator to label the hits with their shards
+   * @param partial - true if the collection was stopped before all hits were collected
    * @return the search result page
-   * @throws IOException
    */
   static SearchResults of(long totalHits, @Nonnull ScoreDoc[] docs, int offset,
-                          @Nonnull IndexSearcher searcher, Set<String> fieldsToLoad)
-      throws IOException {
+                          @Nonnull StoredDocLoader loader, @Nonnull ShardLocator shards, boolean partial) {
     SearchResults res = new SearchResults();
 
     res.totalHits = totalHits;
+    res.partial = partial;
 
     for (ScoreDoc sd : docs) {
-      Document luceneDoc = (fieldsToLoad == null) ?
-          searcher.doc(sd.doc) : searcher.doc(sd.doc, fieldsToLoad);
-      res.hits.add(Doc.of(sd.doc, sd.score, luceneDoc));
+      res.hits.add(Doc.of(sd.doc, sd.score, loader, shards.getShardName(sd.doc)));
       res.offset = offset;
     }
 
@@ -79,6 +77,15 @@ public final class SearchResults {
     return totalHits;
   }
 
+  /**
+   * Returns true if the search was timed out or cancelled. In that case, the total hits and the ranking are
+   * based on the hits collected before the search was stopped; the total hits is provisional
+   * and is corrected when a later page is fetched completely.
+   */
+  public boolean isPartial() {
+    return partial;
+  }
+
   /**
    * Returns the offset of the current page.
    */
@@ -100,6 +107,20 @@ public final class SearchResults {
     return hits.size();
   }
 
+  /**
+   * Loads the field values of all hits of the current page, if not loaded yet.
+   * Call this on a background thread before the values are displayed.
+   *
+   * @return this search result page
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  public SearchResults loadFieldValues() {
+    for (Doc doc : hits) {
+      doc.getFieldValues();
+    }
+    return this;
+  }
+
   private SearchResults() {
   }
 
@@ -109,24 +130,25 @@ public final class SearchResults {
   public static class Doc {
     private int docId;
     private float score;
-    private Map<String, String[]> fieldValues = new HashMap<>();
+    private String shard;
+    private StoredDocLoader loader;
+    private volatile Map<String, String[]> fieldValues;
 
     /**
      * Creates a hit.
      *
      * @param docId - document id
      * @param score - score of this document for the query
-     * @param luceneDoc - raw Lucene document
+     * @param loader - loader of stored fields
+     * @param shard - name of the shard that the document belongs to, or null if the index is not sharded
      * @return the hit
      */
-    static Doc of(int docId, float score, @Nonnull Document luceneDoc) {
+    static Doc of(int docId, float score, @Nonnull StoredDocLoader loader, @Nullable String shard) {
       Doc doc = new Doc();
       doc.docId = docId;
       doc.score = score;
-      Set<String> fields = luceneDoc.getFields().stream().map(IndexableField::name).collect(Collectors.toSet());
-      for (String f : fields) {
-        doc.fieldValues.put(f, luceneDoc.getValues(f));
-      }
+      doc.shard = shard;
+      doc.loader = loader;
       return doc;
     }
 
@@ -145,10 +167,33 @@ public final class SearchResults {
     }
 
     /**
-     * Returns the field data of this document.
+     * Returns the name of the shard that this document belongs to.
+     * Empty Optional instance is returned if the index is not sharded.
+     */
+    public Optional<String> getShard() {
+      return Optional.ofNullable(shard);
+    }
+
+    /**
+     * Returns the field data of this document. Values are loaded on the first call, and long values are truncated.
      */
     public Map<String, String[]> getFieldValues() {
-      return ImmutableMap.copyOf(fieldValues);
+      if (fieldValues == null) {
+        try {
+          fieldValues = loader.load(docId);
+        } catch (IOException e) {
+          throw new LukeException("Failed to load stored fields of doc: " + docId, e);
+        }
+      }
+      return fieldValues;
+    }
+
+    /**
+     * Returns the field data of this document if they have been loaded, without accessing the index.
+     * Empty Optional instance is returned if the values are not loaded yet.
+     */
+    public Optional<Map<String, String[]>> getLoadedFieldValues() {
+      return Optional.ofNullable(fieldValues);
     }
 
     private Doc() {
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.search;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.CollectorManager;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.util.ThreadInterruptedException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An {@link IndexSearcher} which searches groups of leaves (slices) concurrently on a shared executor.
+ *
+ * <p>
+ * {@link IndexSearcher} computes its slices in the constructor, before a subclass can be configured,
+ * so the executor is not passed to the super class and slices are searched here instead.
+ * A slice holds adjacent leaves only; hits of the slices are merged in doc id order,
+ * which keeps ties in the same order as a sequential search and paging with "search after" consistent.
+ * </p>
+ */
+final class SlicedIndexSearcher extends IndexSearcher {
+
+  /** Default maximum number of documents in a slice */
+  static final int DEFAULT_MAX_DOCS_PER_SLICE = 250_000;
+
+  /** Default maximum number of segments in a slice */
+  static final int DEFAULT_MAX_SEGMENTS_PER_SLICE = 5;
+
+  private final ExecutorService executor;
+
+  private final LeafSlice[] slices;
+
+  /**
+   * @param reader - the index reader
+   * @param executor - executor to search slices; if null, all leaves are searched sequentially on the caller thread
+   * @param maxDocsPerSlice - maximum number of documents in a slice (a larger segment forms a slice by itself)
+   * @param maxSegmentsPerSlice - maximum number of segments in a slice
+   */
+  SlicedIndexSearcher(@Nonnull IndexReader reader, @Nullable ExecutorService executor,
+                      int maxDocsPerSlice, int maxSegmentsPerSlice) {
+    super(reader);
+    if (maxDocsPerSlice <= 0 || maxSegmentsPerSlice <= 0) {
+      throw new IllegalArgumentException("Slice limits must be positive.");
+    }
+    this.executor = executor;
+    this.slices = slices(getTopReaderContext().leaves(), maxDocsPerSlice, maxSegmentsPerSlice);
+  }
+
+  static LeafSlice[] slices(List<LeafReaderContext> leaves, int maxDocsPerSlice, int maxSegmentsPerSlice) {
+    List<LeafSlice> slices = new ArrayList<>();
+    List<LeafReaderContext> group = new ArrayList<>();
+    long docs = 0;
+    for (LeafReaderContext ctx : leaves) {
+      int maxDoc = ctx.reader().maxDoc();
+      if (!group.isEmpty() && (docs + maxDoc > maxDocsPerSlice || group.size() >= maxSegmentsPerSlice)) {
+        slices.add(new LeafSlice(group.toArray(new LeafReaderContext[0])));
+        group.clear();
+        docs = 0;
+      }
+      group.add(ctx);
+      docs += maxDoc;
+    }
+    if (!group.isEmpty()) {
+      slices.add(new LeafSlice(group.toArray(new LeafReaderContext[0])));
+    }
+    return slices.toArray(new LeafSlice[0]);
+  }
+
+  @Override
+  public LeafSlice[] getSlices() {
+    return slices;
+  }
+
+  @Override
+  public <C extends Collector, T> T search(Query query, CollectorManager<C, T> collectorManager) throws IOException {
+    if (executor == null || slices.length <= 1) {
+      return super.search(query, collectorManager);
+    }
+
+    List<C> collectors = new ArrayList<>(slices.length);
+    boolean needsScores = false;
+    for (int i = 0; i < slices.length; i++) {
+      C collector = collectorManager.newCollector();
+      collectors.add(collector);
+      needsScores |= collector.needsScores();
+    }
+
+    Weight weight = createWeight(rewrite(query), needsScores, 1f);
+    // set when a slice fails or the caller stops waiting; the other slices skip their remaining leaves
+    AtomicBoolean aborted = new AtomicBoolean();
+    List<Future<C>> futures = new ArrayList<>(slices.length);
+    for (int i = 0; i < slices.length; i++) {
+      LeafReaderContext[] leaves = slices[i].leaves;
+      C collector = collectors.get(i);
+      futures.add(executor.submit(() -> {
+        for (LeafReaderContext leaf : leaves) {
+          if (aborted.get()) {
+            break;
+          }
+          search(Collections.singletonList(leaf), weight, collector);
+        }
+        return collector;
+      }));
+    }
+
+    List<C> collected = new ArrayList<>(slices.length);
+    try {
+      for (Future<C> future : futures) {
+        collected.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      abort(futures, aborted);
+      throw new ThreadInterruptedException(e);
+    } catch (ExecutionException e) {
+      abort(futures, aborted);
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new RuntimeException(cause);
+    }
+    return collectorManager.reduce(collected);
+  }
+
+  private static void abort(List<? extends Future<?>> futures, AtomicBoolean aborted) {
+    aborted.set(true);
+    for (Future<?> future : futures) {
+      // running slices are not interrupted, since interrupting a thread reading via NIOFSDirectory closes the file channel;
+      // they stop at the next leaf instead
+      future.cancel(false);
+    }
+  }
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.search;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.StoredFieldVisitor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads stored field values of hits, and keeps recently loaded documents in a small LRU cache.
+ *
+ * <p>
+ * Values are read through a {@link StoredFieldVisitor} which skips unrequested fields, truncates long values
+ * and stops reading a document once enough characters are loaded, so that huge stored fields are never fully decoded.
+ * One loader is used for a set of fields to load; the cache is shared by all pages of the search sessions using it.
+ * </p>
+ */
+final class StoredDocLoader {
+
+  /** Default number of cached documents */
+  static final int DEFAULT_CACHE_SIZE = 128;
+
+  /** Default maximum number of characters of a value; longer values are truncated */
+  static final int DEFAULT_MAX_VALUE_LENGTH = 1024;
+
+  /** Default maximum number of characters loaded for a document */
+  static final int DEFAULT_MAX_DOC_LENGTH = 16 * 1024;
+
+  static final String TRUNCATED_MARK = "...";
+
+  private final IndexReader reader;
+
+  private final Set<String> fieldsToLoad;
+
+  private final int maxValueLength;
+
+  private final int maxDocLength;
+
+  private final Map<Integer, Map<String, String[]>> cache;
+
+  StoredDocLoader(@Nonnull IndexReader reader, @Nullable Set<String> fieldsToLoad) {
+    this(reader, fieldsToLoad, DEFAULT_CACHE_SIZE, DEFAULT_MAX_VALUE_LENGTH, DEFAULT_MAX_DOC_LENGTH);
+  }
+
+  /**
+   * @param reader - the index reader
+   * @param fieldsToLoad - fields to load; if null, all stored fields are loaded
+   * @param cacheSize - maximum number of cached documents
+   * @param maxValueLength - maximum number of characters of a value
+   * @param maxDocLength - maximum number of characters loaded for a document
+   */
+  StoredDocLoader(@Nonnull IndexReader reader, @Nullable Set<String> fieldsToLoad,
+                  int cacheSize, int maxValueLength, int maxDocLength) {
+    this.reader = reader;
+    this.fieldsToLoad = fieldsToLoad == null ? null : ImmutableSet.copyOf(fieldsToLoad);
+    this.maxValueLength = maxValueLength;
+    this.maxDocLength = maxDocLength;
+    this.cache = new LinkedHashMap<Integer, Map<String, String[]>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Map<String, String[]>> eldest) {
+        return size() > cacheSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the fields this loader loads, or null for all stored fields.
+   */
+  Set<String> getFieldsToLoad() {
+    return fieldsToLoad;
+  }
+
+  /**
+   * Returns the stored values of the document, from the cache if possible.
+   *
+   * @param docid - document id
+   * @return an immutable map of field names and their values, in the stored order
+   * @throws IOException
+   */
+  Map<String, String[]> load(int docid) throws IOException {
+    synchronized (cache) {
+      Map<String, String[]> values = cache.get(docid);
+      if (values != null) {
+        return values;
+      }
+    }
+
+    // documents are read outside the lock; index readers are thread safe
+    StoredValuesVisitor visitor = new StoredValuesVisitor();
+    reader.document(docid, visitor);
+    Map<String, String[]> values = visitor.values();
+
+    synchronized (cache) {
+      cache.put(docid, values);
+    }
+    return values;
+  }
+
+  int cachedDocs() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * Returns the value decoded from the UTF-8 bytes, truncated to maxLength characters.
+   */
+  static String decode(@Nonnull byte[] utf8, int maxLength) {
+    // a character takes at most 4 bytes; no need to decode the rest
+    int len = (int) Math.min(utf8.length, 4L * maxLength);
+    if (len < utf8.length) {
+      // do not split a multibyte character
+      while (len > 0 && (utf8[len] & 0xC0) == 0x80) {
+        len--;
+      }
+    }
+    String s = new String(utf8, 0, len, StandardCharsets.UTF_8);
+    if (s.length() <= maxLength && len == utf8.length) {
+      return s;
+    }
+    return truncate(s, maxLength);
+  }
+
+  private static String truncate(String s, int maxLength) {
+    if (s.length() <= maxLength) {
+      return s + TRUNCATED_MARK;
+    }
+    int end = maxLength;
+    if (Character.isHighSurrogate(s.charAt(end - 1))) {
+      end--;
+    }
+    return s.substring(0, end) + TRUNCATED_MARK;
+  }
+
+  private final class StoredValuesVisitor extends StoredFieldVisitor {
+
+    private final Map<String, List<String>> values = new LinkedHashMap<>();
+
+    private int loadedLength = 0;
+
+    @Override
+    public Status needsField(FieldInfo fieldInfo) {
+      if (loadedLength >= maxDocLength) {
+        return Status.STOP;
+      }
+      return (fieldsToLoad == null || fieldsToLoad.contains(fieldInfo.name)) ? Status.YES : Status.NO;
+    }
+
+    @Override
+    public void stringField(FieldInfo fieldInfo, byte[] value) {
+      add(fieldInfo.name, decode(value, Math.min(maxValueLength, maxDocLength - loadedLength)));
+    }
+
+    @Override
+    public void intField(FieldInfo fieldInfo, int value) {
+      add(fieldInfo.name, Integer.toString(value));
+    }
+
+    @Override
+    public void longField(FieldInfo fieldInfo, long value) {
+      add(fieldInfo.name, Long.toString(value));
+    }
+
+    @Override
+    public void floatField(FieldInfo fieldInfo, float value) {
+      add(fieldInfo.name, Float.toString(value));
+    }
+
+    @Override
+    public void doubleField(FieldInfo fieldInfo, double value) {
+      add(fieldInfo.name, Double.toString(value));
+    }
+
+    private void add(String field, String value) {
+      values.computeIfAbsent(field, k -> new ArrayList<>()).add(value);
+      loadedLength += value.length();
+    }
+
+    Map<String, String[]> values() {
+      ImmutableMap.Builder<String, String[]> builder = ImmutableMap.builder();
+      for (Map.Entry<String, List<String>> e : values.entrySet()) {
+        builder.put(e.getKey(), e.getValue().toArray(new String[0]));
+      }
+      return builder.build();
+    }
+  }
+
+}
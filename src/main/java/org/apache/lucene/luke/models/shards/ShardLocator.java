@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.shards;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexReaderContext;
+import org.apache.lucene.index.MultiReader;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.FilterDirectory;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Maps documents of a sharded index, i.e. a {@link MultiReader} over several index directories, to their shards.
+ *
+ * <p>
+ * A reader which is not sharded is regarded as a single shard.
+ * Shards are named after their directory paths relative to the common parent directory.
+ * </p>
+ */
+public final class ShardLocator {
+
+  private final List<IndexReader> shardReaders;
+
+  private final List<String> shardNames;
+
+  private final int[] docStarts;
+
+  private final boolean sharded;
+
+  /**
+   * Creates a locator for the reader.
+   *
+   * @param reader - the index reader
+   */
+  public static ShardLocator of(@Nonnull IndexReader reader) {
+    List<IndexReader> shardReaders = new ArrayList<>();
+    List<Integer> docBases = new ArrayList<>();
+    boolean sharded = false;
+    if (reader instanceof MultiReader) {
+      List<IndexReaderContext> children = reader.getContext().children();
+      sharded = children.size() > 1 && children.stream().allMatch(c -> c.reader() instanceof DirectoryReader);
+      if (sharded) {
+        for (IndexReaderContext child : children) {
+          shardReaders.add(child.reader());
+          docBases.add(child.docBaseInParent);
+        }
+      }
+    }
+    if (!sharded) {
+      shardReaders.add(reader);
+      docBases.add(0);
+    }
+
+    int[] docStarts = new int[docBases.size()];
+    for (int i = 0; i < docStarts.length; i++) {
+      docStarts[i] = docBases.get(i);
+    }
+    return new ShardLocator(shardReaders, shardNames(shardReaders), docStarts, sharded);
+  }
+
+  private static List<String> shardNames(List<IndexReader> shardReaders) {
+    List<Path> paths = new ArrayList<>();
+    for (IndexReader shardReader : shardReaders) {
+      Path path = shardReader instanceof DirectoryReader ? fsPath(((DirectoryReader) shardReader).directory()) : null;
+      if (path == null) {
+        paths = null;
+        break;
+      }
+      paths.add(path.toAbsolutePath().normalize());
+    }
+
+    List<String> names = new ArrayList<>();
+    if (paths == null) {
+      for (int i = 0; i < shardReaders.size(); i++) {
+        names.add("shard" + i);
+      }
+      return names;
+    }
+
+    Path parent = commonParent(paths);
+    for (Path path : paths) {
+      Path relative = parent == null ? path : parent.relativize(path);
+      names.add(relative.toString().isEmpty() ? path.toString() : relative.toString());
+    }
+    return names;
+  }
+
+  private static Path fsPath(Directory dir) {
+    Directory unwrapped = FilterDirectory.unwrap(dir);
+    return unwrapped instanceof FSDirectory ? ((FSDirectory) unwrapped).getDirectory() : null;
+  }
+
+  private static Path commonParent(List<Path> paths) {
+    Path parent = paths.get(0).getParent();
+    while (parent != null) {
+      Path candidate = parent;
+      if (paths.stream().allMatch(p -> p.startsWith(candidate))) {
+        return parent;
+      }
+      parent = parent.getParent();
+    }
+    return null;
+  }
+
+  private ShardLocator(List<IndexReader> shardReaders, List<String> shardNames, int[] docStarts, boolean sharded) {
+    this.shardReaders = Collections.unmodifiableList(shardReaders);
+    this.shardNames = Collections.unmodifiableList(shardNames);
+    this.docStarts = docStarts;
+    this.sharded = sharded;
+  }
+
+  /**
+   * Returns true if the reader consists of several index directories.
+   */
+  public boolean isSharded() {
+    return sharded;
+  }
+
+  public int getNumShards() {
+    return shardReaders.size();
+  }
+
+  /**
+   * Returns the sub readers for the shards, in the order of the document ids.
+   */
+  public List<IndexReader> getShardReaders() {
+    return shardReaders;
+  }
+
+  /**
+   * Returns the shard names, in the order of the document ids.
+   */
+  public List<String> getShardNames() {
+    return shardNames;
+  }
+
+  /**
+   * Returns the document id base of the shard.
+   *
+   * @param shard - the shard ordinal
+   */
+  public int getDocBase(int shard) {
+    return docStarts[shard];
+  }
+
+  /**
+   * Returns the ordinal of the shard that the document belongs to.
+   *
+   * @param docid - the (top-level) document id
+   */
+  public int getShard(int docid) {
+    return ReaderUtil.subIndex(docid, docStarts);
+  }
+
+  /**
+   * Returns the name of the shard that the document belongs to, or null if the reader is not sharded.
+   *
+   * @param docid - the (top-level) document id
+   */
+  public String getShardName(int docid) {
+    return sharded ? shardNames.get(getShard(docid)) : null;
+  }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.shards;
+
+/**
+ * Holder for statistics of a shard.
+ */
+public final class ShardStats {
+
+  private String name;
+
+  private int docBase;
+
+  private int numDocs;
+
+  private int maxDoc;
+
+  private int numSegments;
+
+  private double docsSkew;
+
+  static ShardStats of(String name, int docBase, int numDocs, int maxDoc, int numSegments, double docsSkew) {
+    ShardStats stats = new ShardStats();
+    stats.name = name;
+    stats.docBase = docBase;
+    stats.numDocs = numDocs;
+    stats.maxDoc = maxDoc;
+    stats.numSegments = numSegments;
+    stats.docsSkew = docsSkew;
+    return stats;
+  }
+
+  /**
+   * Returns the shard name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the first (top-level) document id of this shard.
+   */
+  public int getDocBase() {
+    return docBase;
+  }
+
+  /**
+   * Returns the number of live documents in this shard.
+   */
+  public int getNumDocs() {
+    return numDocs;
+  }
+
+  /**
+   * Returns the number of deleted documents in this shard.
+   */
+  public int getNumDeletedDocs() {
+    return maxDoc - numDocs;
+  }
+
+  public int getNumSegments() {
+    return numSegments;
+  }
+
+  /**
+   * Returns the ratio of the number of live documents to the average over all shards.
+   * 1.0 means a perfectly balanced shard; e.g. 2.0 means the shard has twice as many documents as the average.
+   */
+  public double getDocsSkew() {
+    return docsSkew;
+  }
+
+  @Override
+  public String toString() {
+    return "ShardStats{" +
+        "name='" + name + '\'' +
+        ", numDocs=" + numDocs +
+        ", maxDoc=" + maxDoc +
+        ", numSegments=" + numSegments +
+        ", docsSkew=" + docsSkew +
+        '}';
+  }
+
+  private ShardStats() {
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.shards;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A dedicated interface for the statistics of a sharded index, i.e. several index directories opened together.
+ *
+ * <p>A non-sharded index is regarded as a single shard.</p>
+ */
+public interface Shards {
+
+  /**
+   * Returns true if the index consists of several index directories.
+   */
+  boolean isSharded();
+
+  /**
+   * Returns the shard names, in the order of the document ids.
+   */
+  List<String> getShardNames();
+
+  /**
+   * Returns the statistics of the shards, in the order of the document ids.
+   */
+  List<ShardStats> getShardStats();
+
+  /**
+   * Returns the number of unique terms for each field in each shard. Shards are counted in parallel.
+   * Note that the number of unique terms in the whole index is not the sum of them; a term may occur in several shards.
+   *
+   * @return a map contains shard names (in the order of the document ids) and their term counts by field
+   * @throws org.apache.lucene.luke.models.LukeException - if an internal error occurs when accessing index
+   */
+  Map<String, Map<String, Long>> getTermCounts();
+
+  /**
+   * Returns the name of the shard that the document belongs to.
+   * Empty Optional instance is returned if the index is not sharded.
+   *
+   * @param docid - document id
+   */
+  Optional<String> getShardName(int docid);
+
+}
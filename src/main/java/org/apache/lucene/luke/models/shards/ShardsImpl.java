@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.shards;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.luke.models.LukeException;
+import org.apache.lucene.luke.models.LukeModel;
+import org.apache.lucene.luke.util.IndexUtils;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public final class ShardsImpl extends LukeModel implements Shards {
+
+  private final ShardLocator locator;
+
+  private final ForkJoinPool pool;
+
+  private Map<String, Map<String, Long>> termCounts;
+
+  /**
+   * Constructs a ShardsImpl that holds the given {@link IndexReader}.
+   *
+   * @param reader - the index reader
+   */
+  public ShardsImpl(@Nonnull IndexReader reader) {
+    this(reader, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a ShardsImpl that holds the given {@link IndexReader}.
+   *
+   * @param reader - the index reader
+   * @param pool - fork-join pool for collecting per-shard statistics
+   */
+  public ShardsImpl(@Nonnull IndexReader reader, @Nonnull ForkJoinPool pool) {
+    super(reader);
+    this.locator = ShardLocator.of(reader);
+    this.pool = pool;
+  }
+
+  @Override
+  public boolean isSharded() {
+    return locator.isSharded();
+  }
+
+  @Override
+  public List<String> getShardNames() {
+    return locator.getShardNames();
+  }
+
+  @Override
+  public List<ShardStats> getShardStats() {
+    List<IndexReader> shardReaders = locator.getShardReaders();
+    double avgDocs = (double) reader.numDocs() / shardReaders.size();
+    List<ShardStats> res = new ArrayList<>();
+    for (int i = 0; i < shardReaders.size(); i++) {
+      IndexReader shardReader = shardReaders.get(i);
+      double skew = avgDocs == 0 ? 1.0 : shardReader.numDocs() / avgDocs;
+      res.add(ShardStats.of(locator.getShardNames().get(i), locator.getDocBase(i),
+          shardReader.numDocs(), shardReader.maxDoc(), shardReader.leaves().size(), skew));
+    }
+    return res;
+  }
+
+  @Override
+  public synchronized Map<String, Map<String, Long>> getTermCounts() {
+    if (termCounts == null) {
+      List<ShardTask> tasks = new ArrayList<>();
+      for (IndexReader shardReader : locator.getShardReaders()) {
+        tasks.add(new ShardTask(shardReader));
+      }
+      try {
+        pool.invoke(new RecursiveTask<Void>() {
+          @Override
+          protected Void compute() {
+            invokeAll(tasks);
+            return null;
+          }
+        });
+      } catch (UncheckedIOException e) {
+        throw new LukeException("Error occurred when counting terms in shards.", e.getCause());
+      }
+
+      Map<String, Map<String, Long>> res = new LinkedHashMap<>();
+      for (int i = 0; i < tasks.size(); i++) {
+        res.put(locator.getShardNames().get(i), Collections.unmodifiableMap(tasks.get(i).join()));
+      }
+      termCounts = Collections.unmodifiableMap(res);
+    }
+    return termCounts;
+  }
+
+  @Override
+  public Optional<String> getShardName(int docid) {
+    return Optional.ofNullable(locator.getShardName(docid));
+  }
+
+  private static final class ShardTask extends RecursiveTask<Map<String, Long>> {
+
+    private final IndexReader shardReader;
+
+    ShardTask(IndexReader shardReader) {
+      this.shardReader = shardReader;
+    }
+
+    @Override
+    protected Map<String, Long> compute() {
+      try {
+        return IndexUtils.countTerms(shardReader, IndexUtils.getFieldNames(shardReader));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.tools;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.DelegatingAnalyzerWrapper;
+import org.apache.lucene.analysis.core.WhitespaceAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.luke.models.LukeException;
+import org.apache.lucene.luke.util.IndexUtils;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.store.Directory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * An index editing session which keeps one {@link IndexWriter} open, so that a series of changes does not pay for
+ * acquiring the write lock, committing and closing the writer on each change.
+ *
+ * <p>
+ * Changes are visible to near-real-time readers opened by {@link #openReader()} or {@link #refresh(DirectoryReader)}
+ * immediately, and are persisted only by {@link #commit()}. Closing the session discards uncommitted changes.
+ * The session holds the write lock of the index until it is closed.
+ * </p>
+ */
+public final class EditingSession implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(EditingSession.class);
+
+  private final IndexWriter writer;
+
+  private final SwitchableAnalyzer analyzer;
+
+  private int numPendingChanges = 0;
+
+  /**
+   * Opens an editing session on the specified directory.
+   *
+   * @param dir - the index directory
+   * @param useCompound - if true, compound file format is used
+   * @param keepAllCommits - if true, all commit points are reserved
+   * @throws LukeException - if the index writer cannot be opened (e.g. the index is locked by another writer)
+   */
+  public static EditingSession open(@Nonnull Directory dir, boolean useCompound, boolean keepAllCommits) {
+    SwitchableAnalyzer analyzer = new SwitchableAnalyzer();
+    try {
+      IndexWriter writer = IndexUtils.createWriter(dir, analyzer, useCompound, keepAllCommits);
+      logger.info("Editing session started.");
+      return new EditingSession(writer, analyzer);
+    } catch (IOException e) {
+      throw new LukeException("Failed to open index writer.", e);
+    }
+  }
+
+  private EditingSession(IndexWriter writer, SwitchableAnalyzer analyzer) {
+    this.writer = writer;
+    this.analyzer = analyzer;
+  }
+
+  /**
+   * Adds a document.
+   *
+   * @param doc - document to be added
+   * @param analyzer - analyzer for the document; if null, {@link WhitespaceAnalyzer} is used
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  public synchronized void addDocument(@Nonnull Document doc, @Nullable Analyzer analyzer) {
+    this.analyzer.delegate = analyzer;
+    try {
+      writer.addDocument(doc);
+      numPendingChanges++;
+    } catch (IOException e) {
+      throw new LukeException("Failed to add document.", e);
+    }
+  }
+
+  /**
+   * Replaces the documents containing the term with a new document.
+   *
+   * @param term - term identifying the documents to be replaced
+   * @param doc - new document
+   * @param analyzer - analyzer for the document; if null, {@link WhitespaceAnalyzer} is used
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  public synchronized void updateDocument(@Nonnull Term term, @Nonnull Document doc, @Nullable Analyzer analyzer) {
+    this.analyzer.delegate = analyzer;
+    try {
+      writer.updateDocument(term, doc);
+      numPendingChanges++;
+    } catch (IOException e) {
+      throw new LukeException("Failed to update document.", e);
+    }
+  }
+
+  /**
+   * Deletes the documents matching the query.
+   *
+   * @param query - query for deleting
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  public synchronized void deleteDocuments(@Nonnull Query query) {
+    try {
+      writer.deleteDocuments(query);
+      numPendingChanges++;
+    } catch (IOException e) {
+      throw new LukeException("Failed to delete documents.", e);
+    }
+  }
+
+  /**
+   * Returns the number of add, update and delete operations since the last commit.
+   */
+  public synchronized int getNumPendingChanges() {
+    return numPendingChanges;
+  }
+
+  /**
+   * Opens a near-real-time reader which sees all changes made in this session, including uncommitted ones.
+   *
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  public synchronized DirectoryReader openReader() {
+    try {
+      return DirectoryReader.open(writer);
+    } catch (IOException e) {
+      throw new LukeException("Failed to open near-real-time reader.", e);
+    }
+  }
+
+  /**
+   * Reopens the reader to see the changes made since it was opened.
+   * Segments which have not been changed are shared with the current reader.
+   *
+   * @param current - the current reader, which is not closed by this method
+   * @return a new near-real-time reader, or null if there are no changes
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  public synchronized DirectoryReader refresh(@Nonnull DirectoryReader current) {
+    try {
+      return DirectoryReader.openIfChanged(current, writer);
+    } catch (IOException e) {
+      throw new LukeException("Failed to reopen near-real-time reader.", e);
+    }
+  }
+
+  /**
+   * Commits all pending changes, with fsync.
+   *
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  public synchronized void commit() {
+    try {
+      long start = System.nanoTime();
+      writer.commit();
+      logger.info(String.format(Locale.ENGLISH, "%d changes committed in %d ms.",
+          numPendingChanges, (System.nanoTime() - start) / 1_000_000));
+      numPendingChanges = 0;
+    } catch (IOException e) {
+      throw new LukeException("Failed to commit changes.", e);
+    }
+  }
+
+  /**
+   * Closes the session and releases the write lock. Uncommitted changes are discarded.
+   */
+  @Override
+  public synchronized void close() {
+    try {
+      if (numPendingChanges > 0) {
+        logger.info(String.format(Locale.ENGLISH, "%d uncommitted changes discarded.", numPendingChanges));
+      }
+      writer.rollback();
+      logger.info("Editing session closed.");
+    } catch (IOException e) {
+      logger.error(e.getMessage(), e);
+    }
+  }
+
+  /** An analyzer wrapper which delegates to the analyzer of the document being written. */
+  private static final class SwitchableAnalyzer extends DelegatingAnalyzerWrapper {
+
+    private final Analyzer defaultAnalyzer = new WhitespaceAnalyzer();
+
+    // guarded by the session
+    private Analyzer delegate;
+
+    SwitchableAnalyzer() {
+      super(PER_FIELD_REUSE_STRATEGY);
+    }
+
+    @Override
+    protected Analyzer getWrappedAnalyzer(String fieldName) {
+      return delegate == null ? defaultAnalyzer : delegate;
+    }
+  }
+
+}
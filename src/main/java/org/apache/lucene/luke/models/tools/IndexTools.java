@@ -21,6 +21,7 @@ import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.index.CheckIndex;
+import org.apache.lucene.index.Term;
 import org.apache.lucene.luke.models.LukeException;
 import org.apache.lucene.search.Query;
 
@@ -29,6 +30,11 @@ import java.util.Collection;
 
 /**
  * A dedicated interface for Luke's various index manipulations.
+ *
+ * <p>
+ * Unless the instance is bound to an {@link EditingSession}, each document change opens its own index writer
+ * and is committed immediately.
+ * </p>
  */
 public interface IndexTools {
 
@@ -84,6 +90,16 @@ public interface IndexTools {
    */
   void deleteDocuments(Query query);
 
+  /**
+   * Replace the documents containing the specified term with new document.
+   *
+   * @param term - term identifying the documents to be replaced
+   * @param doc - new document
+   * @param analyzer - analyzer for parsing to document
+   * @throws LukeException - if an internal error occurs when accessing index
+   */
+  void updateDocument(Term term, Document doc, Analyzer analyzer);
+
   /**
    * Returns preset {@link Field} classes.
    */
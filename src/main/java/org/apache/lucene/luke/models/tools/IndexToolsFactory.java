@@ -30,4 +30,8 @@ public class IndexToolsFactory {
     return new IndexToolsImpl(reader, useCompound, keepAllCommits);
   }
 
+  public IndexTools newInstance(IndexReader reader, boolean useCompound, boolean keepAllCommits, EditingSession session) {
+    return new IndexToolsImpl(reader, useCompound, keepAllCommits, session);
+  }
+
 }
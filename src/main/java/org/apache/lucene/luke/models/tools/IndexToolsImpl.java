@@ -35,6 +35,7 @@ import org.apache.lucene.index.CheckIndex;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.Term;
 import org.apache.lucene.luke.models.LukeModel;
 import org.apache.lucene.luke.models.LukeException;
 import org.apache.lucene.luke.util.IndexUtils;
@@ -54,6 +55,8 @@ public final class IndexToolsImpl extends LukeModel implements IndexTools {
 
   private final boolean keepAllCommits;
 
+  private final EditingSession session;
+
   private static final Class[] presetFieldClasses = new Class[]{
       TextField.class, StringField.class,
       IntPoint.class, LongPoint.class, FloatPoint.class, DoublePoint.class,
@@ -73,6 +76,7 @@ public final class IndexToolsImpl extends LukeModel implements IndexTools {
     super(dir);
     this.useCompound = useCompound;
     this.keepAllCommits = keepAllCommits;
+    this.session = null;
   }
 
   /**
@@ -83,9 +87,22 @@ public final class IndexToolsImpl extends LukeModel implements IndexTools {
    * @param keepAllCommits - if true, all commit points are reserved
    */
   public IndexToolsImpl(@Nonnull IndexReader reader, boolean useCompound, boolean keepAllCommits) {
+    this(reader, useCompound, keepAllCommits, null);
+  }
+
+  /**
+   * Constructs an IndexToolsImpl that holds given {@link IndexReader} and writes changes via the editing session.
+   *
+   * @param reader - the index reader
+   * @param useCompound - if true, compound file format is used
+   * @param keepAllCommits - if true, all commit points are reserved
+   * @param session - the editing session; if null, each change opens its own index writer and is committed immediately
+   */
+  public IndexToolsImpl(@Nonnull IndexReader reader, boolean useCompound, boolean keepAllCommits, @Nullable EditingSession session) {
     super(reader);
     this.useCompound = useCompound;
     this.keepAllCommits = keepAllCommits;
+    this.session = session;
   }
 
   @Override
@@ -133,7 +150,9 @@ public final class IndexToolsImpl extends LukeModel implements IndexTools {
 
   @Override
   public void addDocument(Document doc, @Nullable Analyzer analyzer) {
-    if (reader instanceof DirectoryReader) {
+    if (session != null) {
+      session.addDocument(doc, analyzer);
+    } else if (reader instanceof DirectoryReader) {
       Directory dir = ((DirectoryReader) reader).directory();
       try (IndexWriter writer = IndexUtils.createWriter(dir, analyzer, useCompound, keepAllCommits)) {
         writer.addDocument(doc);
@@ -148,7 +167,9 @@ public final class IndexToolsImpl extends LukeModel implements IndexTools {
 
   @Override
   public void deleteDocuments(@Nonnull Query query) {
-    if (reader instanceof DirectoryReader) {
+    if (session != null) {
+      session.deleteDocuments(query);
+    } else if (reader instanceof DirectoryReader) {
       Directory dir = ((DirectoryReader) reader).directory();
       try (IndexWriter writer = IndexUtils.createWriter(dir, null, useCompound, keepAllCommits)) {
         writer.deleteDocuments(query);
@@ -161,6 +182,23 @@ public final class IndexToolsImpl extends LukeModel implements IndexTools {
     }
   }
 
+  @Override
+  public void updateDocument(@Nonnull Term term, Document doc, @Nullable Analyzer analyzer) {
+    if (session != null) {
+      session.updateDocument(term, doc, analyzer);
+    } else if (reader instanceof DirectoryReader) {
+      Directory dir = ((DirectoryReader) reader).directory();
+      try (IndexWriter writer = IndexUtils.createWriter(dir, analyzer, useCompound, keepAllCommits)) {
+        writer.updateDocument(term, doc);
+        writer.commit();
+      } catch (IOException e) {
+        throw new LukeException("Failed to update document", e);
+      }
+    } else {
+      throw new LukeException("Current reader is not an instance of DirectoryReader.");
+    }
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public Collection<Class<? extends Field>> getPresetFields() {
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.util;
+
+import java.util.Locale;
+
+/**
+ * Tuning options for opening index directories.
+ *
+ * <p>
+ * Memory-mapping options (preload, max chunk size and the NIO hybrid) take effect only when the directory
+ * is a {@link org.apache.lucene.store.MMapDirectory}, i.e. when MMapDirectory is chosen or FSDirectory picks it on this platform.
+ * </p>
+ */
+public final class DirectoryConfig {
+
+  /** max allowed chunk size of memory-mapped files, in megabytes */
+  public static final int MAX_CHUNK_SIZE_MB = 1024;
+
+  private final boolean preload;
+
+  private final int maxChunkSizeMB;
+
+  private final boolean nrtCaching;
+
+  private final boolean nioStoredFields;
+
+  public static class Builder {
+
+    private boolean preload = false;
+    private int maxChunkSizeMB = 0;
+    private boolean nrtCaching = false;
+    private boolean nioStoredFields = false;
+
+    public Builder preload(boolean val) {
+      preload = val;
+      return this;
+    }
+
+    public Builder maxChunkSizeMB(int val) {
+      maxChunkSizeMB = val;
+      return this;
+    }
+
+    public Builder nrtCaching(boolean val) {
+      nrtCaching = val;
+      return this;
+    }
+
+    public Builder nioStoredFields(boolean val) {
+      nioStoredFields = val;
+      return this;
+    }
+
+    public DirectoryConfig build() {
+      return new DirectoryConfig(this);
+    }
+  }
+
+  private DirectoryConfig(Builder builder) {
+    if (builder.maxChunkSizeMB < 0 || builder.maxChunkSizeMB > MAX_CHUNK_SIZE_MB) {
+      throw new IllegalArgumentException(
+          String.format(Locale.ENGLISH, "Max chunk size must be between 0 and %d MB: %d is not accepted.", MAX_CHUNK_SIZE_MB, builder.maxChunkSizeMB));
+    }
+    this.preload = builder.preload;
+    this.maxChunkSizeMB = builder.maxChunkSizeMB;
+    this.nrtCaching = builder.nrtCaching;
+    this.nioStoredFields = builder.nioStoredFields;
+  }
+
+  /**
+   * Returns true if the pages of memory-mapped files are loaded into physical memory when the files are opened.
+   */
+  public boolean isPreload() {
+    return preload;
+  }
+
+  /**
+   * Returns the max chunk size of memory-mapped files in megabytes; 0 means the default of MMapDirectory.
+   */
+  public int getMaxChunkSizeMB() {
+    return maxChunkSizeMB;
+  }
+
+  /**
+   * Returns true if the directory is wrapped in an {@link org.apache.lucene.store.NRTCachingDirectory},
+   * which keeps small newly flushed segments in memory.
+   */
+  public boolean isNrtCaching() {
+    return nrtCaching;
+  }
+
+  /**
+   * Returns true if stored fields files are read via NIO, while the other files are memory-mapped.
+   * Stored fields are typically read only for a few documents, so there is little point in mapping them.
+   * This does not apply to segments in the compound file format, whose files (including stored fields) are packed
+   * into one <code>.cfs</code> file which is memory-mapped as a whole.
+   */
+  public boolean isNioStoredFields() {
+    return nioStoredFields;
+  }
+
+}
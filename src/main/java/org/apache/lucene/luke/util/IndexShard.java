@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.util;
+
+import org.apache.lucene.index.DirectoryReader;
+
+import java.nio.file.Path;
+
+/**
+ * Holder for an index (shard) found under the index path, and its reader.
+ */
+public final class IndexShard {
+
+  private Path path;
+
+  private DirectoryReader reader;
+
+  private long openTimeMillis;
+
+  static IndexShard of(Path path, DirectoryReader reader, long openTimeMillis) {
+    IndexShard shard = new IndexShard();
+    shard.path = path;
+    shard.reader = reader;
+    shard.openTimeMillis = openTimeMillis;
+    return shard;
+  }
+
+  /**
+   * Returns the path to the index directory.
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  public DirectoryReader getReader() {
+    return reader;
+  }
+
+  /**
+   * Returns the time taken to open the directory and reader, in milliseconds.
+   */
+  public long getOpenTimeMillis() {
+    return openTimeMillis;
+  }
+
+  @Override
+  public String toString() {
+    return path + ": " + openTimeMillis + " ms";
+  }
+
+  private IndexShard() {
+  }
+}
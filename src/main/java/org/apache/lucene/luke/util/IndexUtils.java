@@ -17,25 +17,31 @@
 
 package org.apache.lucene.luke.util;
 
+import com.google.common.collect.ImmutableSet;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.core.WhitespaceAnalyzer;
 import org.apache.lucene.codecs.CodecUtil;
 import org.apache.lucene.index.BinaryDocValues;
 import org.apache.lucene.index.CheckIndex;
 import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.DocValues;
 import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.index.FieldInfos;
 import org.apache.lucene.index.IndexCommit;
+import org.apache.lucene.index.IndexFileNames;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexReaderContext;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.KeepOnlyLastCommitDeletionPolicy;
 import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.MultiDocValues;
 import org.apache.lucene.index.MultiFields;
 import org.apache.lucene.index.MultiReader;
 import org.apache.lucene.index.NoDeletionPolicy;
 import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.OrdinalMap;
 import org.apache.lucene.index.SegmentInfos;
 import org.apache.lucene.index.SortedDocValues;
 import org.apache.lucene.index.SortedNumericDocValues;
@@ -44,10 +50,16 @@ import org.apache.lucene.index.Terms;
 import org.apache.lucene.index.TermsEnum;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.FSLockFactory;
+import org.apache.lucene.store.FileSwitchDirectory;
 import org.apache.lucene.store.IOContext;
 import org.apache.lucene.store.IndexInput;
 import org.apache.lucene.store.LockFactory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.store.NIOFSDirectory;
+import org.apache.lucene.store.NRTCachingDirectory;
 import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.packed.PackedInts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,6 +68,7 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.reflect.Constructor;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
@@ -63,11 +76,21 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -82,6 +105,19 @@ public final class IndexUtils {
 
   private static final Logger logger = LoggerFactory.getLogger(IndexUtils.class);
 
+  // global ordinal maps of composite readers by reader and field; removed when the reader is closed
+  private static final Map<IndexReader.CacheKey, Map<String, OrdinalMap>> ordinalMaps = new ConcurrentHashMap<>();
+
+  // stored fields data and index; read via NIO when the other files are memory-mapped
+  private static final Set<String> STORED_FIELDS_EXTENSIONS = ImmutableSet.of("fdt", "fdx");
+
+  private static final double NRT_CACHING_MAX_MERGE_SIZE_MB = 5.0;
+
+  private static final double NRT_CACHING_MAX_CACHED_MB = 60.0;
+
+  // opening a shard is mostly I/O bound
+  private static final int MAX_OPEN_THREADS = 8;
+
   /**
    * Opens index(es) reader for given index path.
    *
@@ -92,34 +128,162 @@ public final class IndexUtils {
    */
   public static IndexReader openIndex(@Nonnull String indexPath, @Nullable String dirImpl)
       throws Exception {
+    return openIndex(indexPath, dirImpl, new DirectoryConfig.Builder().build());
+  }
+
+  /**
+   * Opens index(es) reader for given index path, with the specified directory tuning options.
+   *
+   * <p>
+   * When several indexes are found under the path, they are opened concurrently on a dedicated pool
+   * of at most {@value #MAX_OPEN_THREADS} threads.
+   * </p>
+   *
+   * @param indexPath - path to the index directory
+   * @param dirImpl - class name for the specific directory implementation
+   * @param dirConfig - directory tuning options
+   * @return index reader
+   * @throws Exception
+   */
+  public static IndexReader openIndex(@Nonnull String indexPath, @Nullable String dirImpl, @Nonnull DirectoryConfig dirConfig)
+      throws Exception {
     final Path root = FileSystems.getDefault().getPath(indexPath);
-    final List<DirectoryReader> readers = new ArrayList<>();
+    List<Path> indexDirs = findIndexDirectories(root);
+    if (indexDirs.size() <= 1) {
+      return openIndex(indexPath, indexDirs, dirImpl, dirConfig, ForkJoinPool.commonPool());
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(Math.min(indexDirs.size(), MAX_OPEN_THREADS));
+    try {
+      return openIndex(indexPath, indexDirs, dirImpl, dirConfig, pool);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Opens index(es) reader for given index path, with the specified directory tuning options.
+   * Indexes found under the path are opened concurrently on the given pool.
+   *
+   * @param indexPath - path to the index directory
+   * @param dirImpl - class name for the specific directory implementation
+   * @param dirConfig - directory tuning options
+   * @param pool - fork-join pool to open the indexes
+   * @return index reader
+   * @throws Exception
+   */
+  public static IndexReader openIndex(@Nonnull String indexPath, @Nullable String dirImpl, @Nonnull DirectoryConfig dirConfig,
+                                      @Nonnull ForkJoinPool pool) throws Exception {
+    final Path root = FileSystems.getDefault().getPath(indexPath);
+    return openIndex(indexPath, findIndexDirectories(root), dirImpl, dirConfig, pool);
+  }
+
+  private static IndexReader openIndex(String indexPath, List<Path> indexDirs, String dirImpl, DirectoryConfig dirConfig,
+                                       ForkJoinPool pool) throws IOException {
+    List<IndexShard> shards = openShards(indexDirs, dirImpl, dirConfig, pool);
+    if (shards.isEmpty()) {
+      throw new RuntimeException("No valid directory at the location: " + indexPath);
+    }
+
+    logger.info(String.format(Locale.ENGLISH, "IndexReaders (%d leaf readers) successfully opened. Index path=%s", shards.size(), indexPath));
+
+    if (shards.size() == 1) {
+      return shards.get(0).getReader();
+    } else {
+      IndexShard slowest = Collections.max(shards, Comparator.comparingLong(IndexShard::getOpenTimeMillis));
+      logger.info(String.format(Locale.ENGLISH, "Slowest shard opened in %d ms. Path=%s", slowest.getOpenTimeMillis(), slowest.getPath()));
+      return new MultiReader(shards.stream().map(IndexShard::getReader).toArray(IndexReader[]::new));
+    }
+  }
 
-    // find all valid index directories in this directory
+  /**
+   * Finds index directories, i.e. directories containing a commit point ({@code segments_N} file), under the path.
+   *
+   * <p>No {@link Directory} is opened in this phase.</p>
+   *
+   * @param root - path to be searched
+   * @return index directories in the order of the file tree walk
+   * @throws IOException
+   */
+  public static List<Path> findIndexDirectories(@Nonnull Path root) throws IOException {
+    final List<Path> indexDirs = new ArrayList<>();
     Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
       @Override
       public FileVisitResult preVisitDirectory(Path path, BasicFileAttributes attrs) throws IOException {
-        Directory dir = openDirectory(path, dirImpl);
-        try {
-          DirectoryReader dr = DirectoryReader.open(dir);
-          readers.add(dr);
-        } catch (IOException e) {
-          logger.warn(e.getMessage(), e);
+        try (DirectoryStream<Path> commits = Files.newDirectoryStream(path, IndexFileNames.SEGMENTS + "_*")) {
+          if (commits.iterator().hasNext()) {
+            indexDirs.add(path);
+          }
         }
         return FileVisitResult.CONTINUE;
       }
+
+      @Override
+      public FileVisitResult visitFileFailed(Path path, IOException e) {
+        logger.warn(e.getMessage(), e);
+        return FileVisitResult.CONTINUE;
+      }
     });
+    return indexDirs;
+  }
 
-    if (readers.isEmpty()) {
-      throw new RuntimeException("No valid directory at the location: " + indexPath);
-    }
+  /**
+   * Opens the index directories concurrently on the given pool.
+   *
+   * <p>
+   * Directories which cannot be opened as an index are skipped (and closed) with a warning.
+   * If an unexpected error occurs, all shards opened so far are closed.
+   * </p>
+   *
+   * @param indexDirs - index directories; e.g. the result of {@link #findIndexDirectories(Path)}
+   * @param dirImpl - class name for the specific directory implementation
+   * @param dirConfig - directory tuning options
+   * @param pool - fork-join pool to open the indexes
+   * @return opened shards, in the order of the given directories
+   */
+  public static List<IndexShard> openShards(@Nonnull List<Path> indexDirs, @Nullable String dirImpl, @Nonnull DirectoryConfig dirConfig,
+                                            @Nonnull ForkJoinPool pool) {
+    List<ForkJoinTask<IndexShard>> tasks = indexDirs.stream()
+        .map(path -> pool.submit(() -> openShard(path, dirImpl, dirConfig)))
+        .collect(Collectors.toList());
 
-    logger.info(String.format(Locale.ENGLISH, "IndexReaders (%d leaf readers) successfully opened. Index path=%s", readers.size(), indexPath));
+    List<IndexShard> shards = new ArrayList<>();
+    RuntimeException error = null;
+    for (ForkJoinTask<IndexShard> task : tasks) {
+      try {
+        IndexShard shard = task.join();
+        if (shard != null) {
+          shards.add(shard);
+        }
+      } catch (RuntimeException e) {
+        // wait for the other tasks, so that no reader is left open
+        if (error == null) {
+          error = e;
+        } else {
+          error.addSuppressed(e);
+        }
+      }
+    }
+    if (error != null) {
+      shards.forEach(shard -> close(shard.getReader()));
+      throw error;
+    }
+    return shards;
+  }
 
-    if (readers.size() == 1) {
-      return readers.get(0);
-    } else {
-      return new MultiReader(readers.toArray(new IndexReader[readers.size()]));
+  private static IndexShard openShard(Path path, String dirImpl, DirectoryConfig dirConfig) throws IOException {
+    long start = System.nanoTime();
+    Directory dir = openDirectory(path, dirImpl, dirConfig);
+    try {
+      DirectoryReader reader = DirectoryReader.open(dir);
+      long openTimeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      logger.debug(String.format(Locale.ENGLISH, "Shard opened in %d ms (%d docs, %d segments). Path=%s",
+          openTimeMillis, reader.numDocs(), reader.leaves().size(), path));
+      return IndexShard.of(path, reader, openTimeMillis);
+    } catch (IOException e) {
+      logger.warn("Skipped {}: {}", path, e.toString());
+      dir.close();
+      return null;
     }
   }
 
@@ -134,29 +298,75 @@ public final class IndexUtils {
    * @throws IOException
    */
   public static Directory openDirectory(@Nonnull String dirPath, @Nullable String dirImpl) throws IOException {
+    return openDirectory(dirPath, dirImpl, new DirectoryConfig.Builder().build());
+  }
+
+  /**
+   * Opens an index directory for given index path, with the specified directory tuning options.
+   *
+   * @param dirPath - index directory path
+   * @param dirImpl - class name for the specific directory implementation
+   * @param dirConfig - directory tuning options
+   * @return directory
+   * @throws IOException
+   */
+  public static Directory openDirectory(@Nonnull String dirPath, @Nullable String dirImpl, @Nonnull DirectoryConfig dirConfig)
+      throws IOException {
     final Path path = FileSystems.getDefault().getPath(dirPath);
-    Directory dir = openDirectory(path, dirImpl);
+    Directory dir = openDirectory(path, dirImpl, dirConfig);
     logger.info(String.format(Locale.ENGLISH, "DirectoryReader successfully opened. Directory path=%s", dirPath));
     return dir;
   }
 
-  private static Directory openDirectory(@Nonnull Path path, String dirImpl) throws IOException {
+  private static Directory openDirectory(@Nonnull Path path, String dirImpl, DirectoryConfig dirConfig) throws IOException {
+    LockFactory lockFactory = FSLockFactory.getDefault();
+    Directory dir = newDirectory(path, dirImpl, lockFactory);
+
+    if (dir instanceof MMapDirectory) {
+      MMapDirectory mmapDir = (MMapDirectory) dir;
+      if (dirConfig.getMaxChunkSizeMB() > 0 && mmapDir.getClass() == MMapDirectory.class) {
+        // the chunk size can be set only via the constructor; MMapDirectory has been created with the lock factory
+        mmapDir.close();
+        mmapDir = new MMapDirectory(path, lockFactory, dirConfig.getMaxChunkSizeMB() * 1024 * 1024);
+      }
+      mmapDir.setPreload(dirConfig.isPreload());
+      dir = mmapDir;
+
+      if (dirConfig.isNioStoredFields()) {
+        dir = new FileSwitchDirectory(STORED_FIELDS_EXTENSIONS, new NIOFSDirectory(path, lockFactory), mmapDir, true);
+        if (Arrays.stream(dir.listAll()).anyMatch(file -> file.endsWith(".cfs"))) {
+          // stored fields files are packed into the compound file, which is memory-mapped as a whole
+          logger.warn("Stored fields of segments in the compound file format are not read via NIO: {}", path);
+        }
+      }
+    } else if (dirConfig.isPreload() || dirConfig.getMaxChunkSizeMB() > 0 || dirConfig.isNioStoredFields()) {
+      logger.info("Memory-mapping options are ignored for {}.", dir.getClass().getName());
+    }
+
+    if (dirConfig.isNrtCaching()) {
+      dir = new NRTCachingDirectory(dir, NRT_CACHING_MAX_MERGE_SIZE_MB, NRT_CACHING_MAX_CACHED_MB);
+    }
+    return dir;
+  }
+
+  private static Directory newDirectory(@Nonnull Path path, String dirImpl, LockFactory lockFactory) throws IOException {
     if (!Files.exists(path)) {
       throw new IllegalArgumentException("Index directory doesn't exist.");
     }
 
     Directory dir;
     if (dirImpl == null || dirImpl.equalsIgnoreCase("org.apache.lucene.store.FSDirectory")) {
-      dir = FSDirectory.open(path);
+      dir = FSDirectory.open(path, lockFactory);
     } else {
       try {
         Class<?> implClazz = Class.forName(dirImpl);
-        Constructor<?> constr = implClazz.getConstructor(Path.class);
-        if (constr != null) {
-          dir = (Directory) constr.newInstance(path);
-        } else {
+        Constructor<?> constr;
+        try {
           constr = implClazz.getConstructor(Path.class, LockFactory.class);
-          dir = (Directory) constr.newInstance(path, null);
+          dir = (Directory) constr.newInstance(path, lockFactory);
+        } catch (NoSuchMethodException e) {
+          constr = implClazz.getConstructor(Path.class);
+          dir = (Directory) constr.newInstance(path);
         }
       } catch (Exception e) {
         logger.warn(e.getMessage(), e);
@@ -190,11 +400,23 @@ public final class IndexUtils {
   public static void close(IndexReader reader) {
     try {
       if (reader != null) {
+        // directories of the sub readers, e.g. shards wrapped in a multi reader
+        List<Directory> dirs = new ArrayList<>();
+        if (reader instanceof DirectoryReader) {
+          dirs.add(((DirectoryReader) reader).directory());
+        } else if (reader instanceof MultiReader) {
+          for (IndexReaderContext child : reader.getContext().children()) {
+            if (child.reader() instanceof DirectoryReader) {
+              dirs.add(((DirectoryReader) child.reader()).directory());
+            }
+          }
+        }
         reader.close();
         logger.info("IndexReader successfully closed.");
-        if (reader instanceof DirectoryReader) {
-          Directory dir = ((DirectoryReader) reader).directory();
+        for (Directory dir : dirs) {
           dir.close();
+        }
+        if (!dirs.isEmpty()) {
           logger.info("Directory successfully closed.");
         }
       }
@@ -369,6 +591,55 @@ public final class IndexUtils {
     return res;
   }
 
+  /**
+   * Collect all terms and their counts in the specified fields, in parallel on the given fork-join pool.
+   *
+   * <p>This returns the same result as {@link #countTerms(IndexReader, Collection)}.</p>
+   *
+   * @param reader - index reader
+   * @param fields - field names
+   * @param pool - fork-join pool to execute counting tasks
+   * @return a map contains terms and their occurrence frequencies
+   * @throws IOException
+   */
+  public static Map<String, Long> countTerms(IndexReader reader, Collection<String> fields, ForkJoinPool pool) throws IOException {
+    return new ParallelTermCounter(reader, pool).countTerms(fields);
+  }
+
+  /**
+   * Collect all terms and their counts in the specified fields, in parallel on the given fork-join pool.
+   * The listener is notified from the worker threads each time the count of a field is collected.
+   *
+   * @param reader - index reader
+   * @param fields - field names
+   * @param pool - fork-join pool to execute counting tasks
+   * @param listener - callback receiving a field name and its term count
+   * @return a map contains terms and their occurrence frequencies
+   * @throws IOException
+   */
+  public static Map<String, Long> countTerms(IndexReader reader, Collection<String> fields, ForkJoinPool pool,
+                                             BiConsumer<String, Long> listener) throws IOException {
+    return new ParallelTermCounter(reader, pool).countTerms(fields, listener);
+  }
+
+  /**
+   * Collect all terms and their counts in the specified fields, in parallel on the given fork-join pool.
+   * The listener is notified from the worker threads each time the count of a field is collected.
+   *
+   * @param reader - index reader
+   * @param fields - field names
+   * @param pool - fork-join pool to execute counting tasks
+   * @param listener - callback receiving a field name and its term count
+   * @param stopRequested - checked periodically; counting is stopped if this returns true
+   * @return a map contains terms and their occurrence frequencies
+   * @throws IOException
+   * @throws java.util.concurrent.CancellationException - if counting has been stopped
+   */
+  public static Map<String, Long> countTerms(IndexReader reader, Collection<String> fields, ForkJoinPool pool,
+                                             BiConsumer<String, Long> listener, BooleanSupplier stopRequested) throws IOException {
+    return new ParallelTermCounter(reader, pool, stopRequested).countTerms(fields, listener);
+  }
+
   /**
    * Returns the {@link Bits} representing live documents in the index.
    *
@@ -479,6 +750,11 @@ public final class IndexUtils {
   /**
    * Returns the {@link SortedDocValues} for the specified field.
    *
+   * <p>
+   * For a composite reader, the global ordinal map over all segments is built only once per reader and field,
+   * and reused until the reader is closed. Use per-leaf doc values instead if global ordinals are not needed.
+   * </p>
+   *
    * @param reader - index reader
    * @param field - field name
    * @throws IOException
@@ -486,14 +762,48 @@ public final class IndexUtils {
   public static SortedDocValues getSortedDocValues(IndexReader reader, String field) throws IOException {
     if (reader instanceof LeafReader) {
       return ((LeafReader) reader).getSortedDocValues(field);
-    } else {
-      return MultiDocValues.getSortedValues(reader, field);
     }
+
+    List<LeafReaderContext> leaves = reader.leaves();
+    if (leaves.isEmpty()) {
+      return null;
+    } else if (leaves.size() == 1) {
+      return leaves.get(0).reader().getSortedDocValues(field);
+    }
+
+    SortedDocValues[] values = new SortedDocValues[leaves.size()];
+    int[] starts = new int[leaves.size() + 1];
+    boolean anyReal = false;
+    long totalCost = 0;
+    for (int i = 0; i < leaves.size(); i++) {
+      LeafReaderContext ctx = leaves.get(i);
+      SortedDocValues v = ctx.reader().getSortedDocValues(field);
+      if (v == null) {
+        v = DocValues.emptySorted();
+      } else {
+        anyReal = true;
+      }
+      values[i] = v;
+      starts[i] = ctx.docBase;
+      totalCost += v.cost();
+    }
+    starts[leaves.size()] = reader.maxDoc();
+    if (!anyReal) {
+      return null;
+    }
+
+    OrdinalMap mapping = getOrdinalMap(reader, field, key -> OrdinalMap.build(key, values, PackedInts.DEFAULT));
+    return new MultiDocValues.MultiSortedDocValues(values, starts, mapping, totalCost);
   }
 
   /**
    * Returns the {@link SortedSetDocValues} for the specified field.
    *
+   * <p>
+   * For a composite reader, the global ordinal map over all segments is built only once per reader and field,
+   * and reused until the reader is closed. Use per-leaf doc values instead if global ordinals are not needed.
+   * </p>
+   *
    * @param reader - index reader
    * @param field - field name
    * @throws IOException
@@ -501,9 +811,64 @@ public final class IndexUtils {
   public static SortedSetDocValues getSortedSetDocvalues(IndexReader reader, String field) throws IOException {
     if (reader instanceof LeafReader) {
       return ((LeafReader) reader).getSortedSetDocValues(field);
-    } else {
-      return MultiDocValues.getSortedSetValues(reader, field);
     }
+
+    List<LeafReaderContext> leaves = reader.leaves();
+    if (leaves.isEmpty()) {
+      return null;
+    } else if (leaves.size() == 1) {
+      return leaves.get(0).reader().getSortedSetDocValues(field);
+    }
+
+    SortedSetDocValues[] values = new SortedSetDocValues[leaves.size()];
+    int[] starts = new int[leaves.size() + 1];
+    boolean anyReal = false;
+    long totalCost = 0;
+    for (int i = 0; i < leaves.size(); i++) {
+      LeafReaderContext ctx = leaves.get(i);
+      SortedSetDocValues v = ctx.reader().getSortedSetDocValues(field);
+      if (v == null) {
+        v = DocValues.emptySortedSet();
+      } else {
+        anyReal = true;
+      }
+      values[i] = v;
+      starts[i] = ctx.docBase;
+      totalCost += v.cost();
+    }
+    starts[leaves.size()] = reader.maxDoc();
+    if (!anyReal) {
+      return null;
+    }
+
+    OrdinalMap mapping = getOrdinalMap(reader, field, key -> OrdinalMap.build(key, values, PackedInts.DEFAULT));
+    return new MultiDocValues.MultiSortedSetDocValues(values, starts, mapping, totalCost);
+  }
+
+  @FunctionalInterface
+  private interface OrdinalMapBuilder {
+    OrdinalMap build(@Nullable IndexReader.CacheKey key) throws IOException;
+  }
+
+  private static OrdinalMap getOrdinalMap(IndexReader reader, String field, OrdinalMapBuilder builder) throws IOException {
+    IndexReader.CacheHelper cacheHelper = reader.getReaderCacheHelper();
+    if (cacheHelper == null) {
+      // the reader cannot be tracked; no caching
+      return builder.build(null);
+    }
+
+    IndexReader.CacheKey key = cacheHelper.getKey();
+    Map<String, OrdinalMap> maps = ordinalMaps.computeIfAbsent(key, k -> {
+      cacheHelper.addClosedListener(ordinalMaps::remove);
+      return new ConcurrentHashMap<>();
+    });
+    OrdinalMap mapping = maps.get(field);
+    if (mapping == null) {
+      // the map may be built twice by concurrent callers, which is harmless
+      mapping = builder.build(key);
+      maps.put(field, mapping);
+    }
+    return mapping;
   }
 
   private IndexUtils() {
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.lucene.luke.util;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.MultiFields;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.util.BytesRef;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Counts the unique terms of fields on a fork-join pool.
+ *
+ * <p>
+ * If only one leaf reader has terms for a field and its codec exposes {@link Terms#size()}, that value is used as is.
+ * Otherwise the term dictionary of the field is split into disjoint ranges by the leading byte of terms,
+ * and each range is counted on the merged view of all leaves. Since the ranges never overlap,
+ * terms shared by several segments are counted only once.
+ * </p>
+ *
+ * <p>
+ * Counting can be stopped by the given condition, which is checked periodically while iterating terms;
+ * {@link CancellationException} is thrown then.
+ * </p>
+ */
+final class ParallelTermCounter {
+
+  // number of terms iterated between checks of the stop condition
+  private static final int CHECK_INTERVAL = 1024;
+
+  private final IndexReader reader;
+
+  private final ForkJoinPool pool;
+
+  private final BooleanSupplier stopRequested;
+
+  ParallelTermCounter(@Nonnull IndexReader reader, @Nonnull ForkJoinPool pool) {
+    this(reader, pool, () -> false);
+  }
+
+  /**
+   * @param reader - index reader
+   * @param pool - fork-join pool to execute counting tasks
+   * @param stopRequested - returns true if counting should be stopped
+   */
+  ParallelTermCounter(@Nonnull IndexReader reader, @Nonnull ForkJoinPool pool, @Nonnull BooleanSupplier stopRequested) {
+    this.reader = reader;
+    this.pool = pool;
+    this.stopRequested = stopRequested;
+  }
+
+  /**
+   * Collect term counts in the specified fields.
+   *
+   * @param fields - field names
+   * @return a map contains field names and their term counts
+   * @throws IOException
+   */
+  Map<String, Long> countTerms(@Nonnull Collection<String> fields) throws IOException {
+    return countTerms(fields, null);
+  }
+
+  /**
+   * Collect term counts in the specified fields, and notify the listener each time the count of a field is collected.
+   *
+   * <p>The listener is called from the worker threads of the pool, possibly concurrently.</p>
+   *
+   * @param fields - field names
+   * @param listener - callback receiving a field name and its term count
+   * @return a map contains field names and their term counts
+   * @throws IOException
+   */
+  Map<String, Long> countTerms(@Nonnull Collection<String> fields, @Nullable BiConsumer<String, Long> listener) throws IOException {
+    try {
+      return pool.invoke(new FieldsTask(fields, listener));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /** Counts all fields, each field is forked as a sub task. */
+  private final class FieldsTask extends RecursiveTask<Map<String, Long>> {
+
+    private final Collection<String> fields;
+
+    private final BiConsumer<String, Long> listener;
+
+    FieldsTask(Collection<String> fields, BiConsumer<String, Long> listener) {
+      this.fields = fields;
+      this.listener = listener;
+    }
+
+    @Override
+    protected Map<String, Long> compute() {
+      List<FieldTask> tasks = new ArrayList<>();
+      for (String field : fields) {
+        FieldTask task = new FieldTask(field, listener);
+        task.fork();
+        tasks.add(task);
+      }
+
+      Map<String, Long> res = new HashMap<>();
+      for (FieldTask task : tasks) {
+        res.merge(task.field, task.join(), Long::sum);
+      }
+      return res;
+    }
+  }
+
+  /** Counts one field, the term dictionary is split into ranges if needed. */
+  private final class FieldTask extends RecursiveTask<Long> {
+
+    private final String field;
+
+    private final BiConsumer<String, Long> listener;
+
+    FieldTask(String field, BiConsumer<String, Long> listener) {
+      this.field = field;
+      this.listener = listener;
+    }
+
+    @Override
+    protected Long compute() {
+      checkStopRequested();
+      long count;
+      try {
+        count = count();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      if (listener != null) {
+        listener.accept(field, count);
+      }
+      return count;
+    }
+
+    private long count() throws IOException {
+      List<Terms> leafTerms = new ArrayList<>();
+      for (LeafReaderContext ctx : reader.leaves()) {
+        Terms terms = ctx.reader().terms(field);
+        if (terms != null) {
+          leafTerms.add(terms);
+        }
+      }
+
+      if (leafTerms.isEmpty()) {
+        return 0L;
+      }
+      if (leafTerms.size() == 1 && leafTerms.get(0).size() >= 0) {
+        // the codec knows the exact count; no need to iterate the terms
+        return leafTerms.get(0).size();
+      }
+
+      Terms terms = MultiFields.getTerms(reader, field);
+      BytesRef min = terms.getMin();
+      BytesRef max = terms.getMax();
+      if (min == null || max == null) {
+        return 0L;
+      }
+
+      int minByte = min.length == 0 ? 0 : Byte.toUnsignedInt(min.bytes[min.offset]);
+      int maxByte = max.length == 0 ? 0 : Byte.toUnsignedInt(max.bytes[max.offset]);
+
+      List<RangeTask> tasks = new ArrayList<>();
+      for (int b = minByte; b <= maxByte; b++) {
+        BytesRef lower = b == minByte ? null : new BytesRef(new byte[]{(byte) b});
+        BytesRef upper = b == maxByte ? null : new BytesRef(new byte[]{(byte) (b + 1)});
+        tasks.add(new RangeTask(terms, lower, upper));
+      }
+      invokeAll(tasks);
+
+      long count = 0;
+      for (RangeTask task : tasks) {
+        count += task.join();
+      }
+      return count;
+    }
+  }
+
+  /** Counts the terms in [lower, upper); null bounds mean open ends. */
+  private final class RangeTask extends RecursiveTask<Long> {
+
+    private final Terms terms;
+
+    private final BytesRef lower;
+
+    private final BytesRef upper;
+
+    RangeTask(Terms terms, @Nullable BytesRef lower, @Nullable BytesRef upper) {
+      this.terms = terms;
+      this.lower = lower;
+      this.upper = upper;
+    }
+
+    @Override
+    protected Long compute() {
+      try {
+        return count();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private long count() throws IOException {
+      // terms enums are not thread safe, so each range has its own one
+      TermsEnum te = terms.iterator();
+      BytesRef term;
+      if (lower == null) {
+        term = te.next();
+      } else {
+        term = te.seekCeil(lower) == TermsEnum.SeekStatus.END ? null : te.term();
+      }
+
+      long count = 0;
+      while (term != null && (upper == null || term.compareTo(upper) < 0)) {
+        count++;
+        if (count % CHECK_INTERVAL == 0) {
+          checkStopRequested();
+        }
+        term = te.next();
+      }
+      return count;
+    }
+  }
+
+  private void checkStopRequested() {
+    if (stopRequested.getAsBoolean()) {
+      throw new CancellationException("Term counting has been stopped.");
+    }
+  }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.lucene.analysis.MockAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.LuceneTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class ReaderDeltaTest extends LuceneTestCase {
+
+  private Directory dir;
+
+  private IndexWriter writer;
+
+  private DirectoryReader reader;
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    super.setUp();
+    dir = newDirectory();
+    writer = new IndexWriter(dir, new IndexWriterConfig(new MockAnalyzer(random())).setMergePolicy(NoMergePolicy.INSTANCE));
+    // 2 segments
+    addDocument("id", "a", "title", "apple");
+    addDocument("id", "aa", "title", "apricot");
+    writer.commit();
+    addDocument("id", "b", "title", "banana");
+    writer.commit();
+    reader = DirectoryReader.open(dir);
+  }
+
+  private void addDocument(String... fieldsAndValues) throws IOException {
+    Document doc = new Document();
+    for (int i = 0; i < fieldsAndValues.length; i += 2) {
+      doc.add(newStringField(fieldsAndValues[i], fieldsAndValues[i + 1], Field.Store.YES));
+    }
+    writer.addDocument(doc);
+  }
+
+  @Override
+  @After
+  public void tearDown() throws Exception {
+    reader.close();
+    writer.close();
+    dir.close();
+    super.tearDown();
+  }
+
+  @Test
+  public void testOf_addedSegment() throws Exception {
+    addDocument("id", "c", "author", "carol");
+    writer.commit();
+
+    try (DirectoryReader newReader = DirectoryReader.openIfChanged(reader)) {
+      assertNotNull(newReader);
+      ReaderDelta delta = ReaderDelta.of(reader, newReader);
+      assertEquals(1, delta.getAddedLeaves().size());
+      assertEquals(2, delta.getAddedLeaves().get(0).ord);
+      assertEquals(0, delta.getNumRemovedLeaves());
+      assertEquals(ImmutableSet.of("id", "author"), delta.getChangedFields());
+      assertEquals(ImmutableSet.of("author"), delta.getNewFields());
+    }
+  }
+
+  @Test
+  public void testOf_deletionsOnly() throws Exception {
+    writer.deleteDocuments(new Term("id", "a"));
+    writer.commit();
+
+    try (DirectoryReader newReader = DirectoryReader.openIfChanged(reader)) {
+      assertNotNull(newReader);
+      ReaderDelta delta = ReaderDelta.of(reader, newReader);
+      // the segment keeps its core
+      assertTrue(delta.getAddedLeaves().isEmpty());
+      assertEquals(0, delta.getNumRemovedLeaves());
+      assertTrue(delta.getChangedFields().isEmpty());
+      assertTrue(delta.getNewFields().isEmpty());
+    }
+  }
+
+  @Test
+  public void testOf_merged() throws Exception {
+    writer.close();
+    writer = new IndexWriter(dir, new IndexWriterConfig(new MockAnalyzer(random())));
+    writer.forceMerge(1);
+    writer.commit();
+
+    try (DirectoryReader newReader = DirectoryReader.openIfChanged(reader)) {
+      assertNotNull(newReader);
+      ReaderDelta delta = ReaderDelta.of(reader, newReader);
+      assertEquals(1, delta.getAddedLeaves().size());
+      assertEquals(2, delta.getNumRemovedLeaves());
+      assertEquals(ImmutableSet.of("id", "title"), delta.getChangedFields());
+      assertTrue(delta.getNewFields().isEmpty());
+    }
+  }
+
+}
@@ -30,10 +30,12 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 public class AnalysisImplTest extends AnalysisTestBase {
 
@@ -47,6 +49,20 @@ public class AnalysisImplTest extends AnalysisTestBase {
     }
   }
 
+  @Test
+  public void testGetPresetAnalyzerTypes_cached() throws Exception {
+    Path cacheDir = createTempDir("cache");
+    Collection<Class<? extends Analyzer>> scanned = new AnalysisImpl(cacheDir).getPresetAnalyzerTypes();
+    assertFalse(scanned.isEmpty());
+    // ExtrasFS may add files to temp dirs; count only cache files
+    try (Stream<Path> files = Files.list(cacheDir)) {
+      assertEquals(1, files.filter(file -> file.getFileName().toString().endsWith(".analyzers")).count());
+    }
+
+    Collection<Class<? extends Analyzer>> cached = new AnalysisImpl(cacheDir).getPresetAnalyzerTypes();
+    assertEquals(new ArrayList<>(scanned), new ArrayList<>(cached));
+  }
+
   @Test
   public void testGetAvailableCharFilters() {
     AnalysisImpl analysis = new AnalysisImpl();
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.analysis;
+
+import org.junit.Test;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class AnalyzerTypeCacheTest extends AnalysisTestBase {
+
+  @Test
+  public void testSaveAndLoad() throws Exception {
+    Path cacheDir = createTempDir("cache");
+    List<URL> urls = Collections.singletonList(createJar("a.jar", "foo").toUri().toURL());
+
+    AnalyzerTypeCache cache = new AnalyzerTypeCache(cacheDir, urls);
+    assertNull(cache.load());
+
+    List<String> classNames = Arrays.asList("org.example.AAnalyzer", "org.example.BAnalyzer");
+    cache.save(classNames);
+    assertEquals(classNames, new AnalyzerTypeCache(cacheDir, urls).load());
+  }
+
+  @Test
+  public void testLoad_jarChanged() throws Exception {
+    Path cacheDir = createTempDir("cache");
+    Path jar = createJar("a.jar", "foo");
+    List<URL> urls = Collections.singletonList(jar.toUri().toURL());
+    new AnalyzerTypeCache(cacheDir, urls).save(Collections.singletonList("org.example.AAnalyzer"));
+
+    Files.write(jar, "bar".getBytes(StandardCharsets.UTF_8));
+    assertNull(new AnalyzerTypeCache(cacheDir, urls).load());
+  }
+
+  @Test
+  public void testLoad_classpathChanged() throws Exception {
+    Path cacheDir = createTempDir("cache");
+    URL jar1 = createJar("a.jar", "foo").toUri().toURL();
+    URL jar2 = createJar("b.jar", "bar").toUri().toURL();
+    new AnalyzerTypeCache(cacheDir, Collections.singletonList(jar1)).save(Collections.singletonList("org.example.AAnalyzer"));
+
+    assertNull(new AnalyzerTypeCache(cacheDir, Arrays.asList(jar1, jar2)).load());
+    // the order of the entries does not matter
+    new AnalyzerTypeCache(cacheDir, Arrays.asList(jar2, jar1)).save(Collections.singletonList("org.example.BAnalyzer"));
+    assertEquals(Collections.singletonList("org.example.BAnalyzer"), new AnalyzerTypeCache(cacheDir, Arrays.asList(jar1, jar2)).load());
+  }
+
+  private Path createJar(String name, String content) throws Exception {
+    Path jar = createTempDir("lib").resolve(name);
+    Files.write(jar, content.getBytes(StandardCharsets.UTF_8));
+    return jar;
+  }
+
+}
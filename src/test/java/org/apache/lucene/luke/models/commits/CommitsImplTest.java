@@ -211,4 +211,33 @@ public class CommitsImplTest extends LuceneTestCase {
     assertFalse(codec.isPresent());
 
   }
+
+  @Test
+  public void testGetSegmentMemoryUsage() {
+    CommitsImpl commits = new CommitsImpl(reader, indexDir.toString());
+    List<MemoryUsage> usages = commits.getSegmentMemoryUsage(2);
+    List<Segment> segments = commits.getSegments(2);
+    assertEquals(segments.size(), usages.size());
+    for (int i = 0; i < segments.size(); i++) {
+      MemoryUsage usage = usages.get(i);
+      assertEquals(segments.get(i).getName(), usage.getDescription());
+      assertTrue(usage.getRamBytesUsed() >= 0);
+      for (int j = 1; j < usage.getChildren().size(); j++) {
+        assertTrue(usage.getChildren().get(j - 1).getRamBytesUsed() >= usage.getChildren().get(j).getRamBytesUsed());
+      }
+    }
+  }
+
+  @Test
+  public void testGetSegmentMemoryUsage_notOpenedGeneration() {
+    CommitsImpl commits = new CommitsImpl(reader, indexDir.toString());
+    assertTrue(commits.getSegmentMemoryUsage(1).isEmpty());
+    assertTrue(commits.getSegmentMemoryUsage(10).isEmpty());
+  }
+
+  @Test
+  public void testGetSegmentMemoryUsage_noReader() {
+    CommitsImpl commits = new CommitsImpl(dir, indexDir.toString());
+    assertTrue(commits.getSegmentMemoryUsage(2).isEmpty());
+  }
 }
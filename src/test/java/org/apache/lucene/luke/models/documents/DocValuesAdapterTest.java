@@ -25,13 +25,21 @@ import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.SortedDocValuesField;
 import org.apache.lucene.document.SortedNumericDocValuesField;
 import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiDocValues;
+import org.apache.lucene.index.NoMergePolicy;
 import org.apache.lucene.index.RandomIndexWriter;
+import org.apache.lucene.luke.util.IndexUtils;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.BytesRef;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 
 public class DocValuesAdapterTest extends DocumentsTestBase {
@@ -111,4 +119,53 @@ public class DocValuesAdapterTest extends DocumentsTestBase {
     DocValuesAdapter adapterImpl = new DocValuesAdapter(reader);
     assertFalse(adapterImpl.getDocValues(0, "no_dv").isPresent());
   }
+
+  @Test
+  public void testGetDocValues_multiSegments() throws Exception {
+    Directory dir = newDirectory();
+    IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig(new MockAnalyzer(random()))
+        .setMergePolicy(NoMergePolicy.INSTANCE));
+    for (int i = 0; i < 3; i++) {
+      Document doc = new Document();
+      doc.add(new SortedDocValuesField("dv_sorted", new BytesRef("s" + i)));
+      doc.add(new SortedSetDocValuesField("dv_sortedset", new BytesRef("a" + i)));
+      doc.add(new SortedSetDocValuesField("dv_sortedset", new BytesRef("b" + i)));
+      writer.addDocument(doc);
+      writer.commit();
+      // a segment without doc values
+      writer.addDocument(new Document());
+      writer.commit();
+    }
+    writer.close();
+
+    try (IndexReader reader = DirectoryReader.open(dir)) {
+      assertEquals(6, reader.leaves().size());
+      DocValuesAdapter adapterImpl = new DocValuesAdapter(reader);
+      for (int i = 0; i < 3; i++) {
+        DocValues sorted = adapterImpl.getDocValues(i * 2, "dv_sorted").orElseThrow(IllegalStateException::new);
+        assertEquals(new BytesRef("s" + i), sorted.getValues().get(0));
+        DocValues sortedSet = adapterImpl.getDocValues(i * 2, "dv_sortedset").orElseThrow(IllegalStateException::new);
+        assertEquals(Arrays.asList(new BytesRef("a" + i), new BytesRef("b" + i)), sortedSet.getValues());
+        assertFalse(adapterImpl.getDocValues(i * 2 + 1, "dv_sorted").isPresent());
+      }
+
+      // global ordinal maps are built once per reader
+      MultiDocValues.MultiSortedDocValues sorted1 =
+          (MultiDocValues.MultiSortedDocValues) IndexUtils.getSortedDocValues(reader, "dv_sorted");
+      MultiDocValues.MultiSortedDocValues sorted2 =
+          (MultiDocValues.MultiSortedDocValues) IndexUtils.getSortedDocValues(reader, "dv_sorted");
+      assertSame(sorted1.mapping, sorted2.mapping);
+      assertEquals(3, sorted1.getValueCount());
+      assertTrue(sorted2.advanceExact(4));
+      assertEquals(new BytesRef("s2"), sorted2.binaryValue());
+
+      MultiDocValues.MultiSortedSetDocValues sortedSet1 =
+          (MultiDocValues.MultiSortedSetDocValues) IndexUtils.getSortedSetDocvalues(reader, "dv_sortedset");
+      MultiDocValues.MultiSortedSetDocValues sortedSet2 =
+          (MultiDocValues.MultiSortedSetDocValues) IndexUtils.getSortedSetDocvalues(reader, "dv_sortedset");
+      assertSame(sortedSet1.mapping, sortedSet2.mapping);
+      assertEquals(6, sortedSet1.getValueCount());
+    }
+    dir.close();
+  }
 }
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.documents;
+
+import org.apache.lucene.analysis.MockAnalyzer;
+import org.apache.lucene.document.BinaryDocValuesField;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class DocumentsExporterTest extends DocumentsTestBase {
+
+  private static final int NUM_DOCS = 1000;
+
+  @Override
+  protected void createIndex() throws IOException {
+    indexDir = createTempDir("testIndex");
+
+    Directory dir = newFSDirectory(indexDir);
+    IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig(new MockAnalyzer(random()))
+        .setMergePolicy(NoMergePolicy.INSTANCE));
+
+    FieldType bodyType = new FieldType(TextField.TYPE_NOT_STORED);
+    bodyType.setStoreTermVectors(true);
+
+    for (int i = 0; i < NUM_DOCS; i++) {
+      Document doc = new Document();
+      doc.add(new StoredField("id", i));
+      doc.add(newStringField("key", String.valueOf(i), Field.Store.NO));
+      doc.add(newTextField("title", "title \"" + i + "\", line\nbreak", Field.Store.YES));
+      doc.add(new Field("body", "lucene luke lucene", bodyType));
+      doc.add(new NumericDocValuesField("rank", i * 10L));
+      doc.add(new SortedSetDocValuesField("tags", new BytesRef("b")));
+      doc.add(new SortedSetDocValuesField("tags", new BytesRef("a")));
+      doc.add(new BinaryDocValuesField("payload", new BytesRef(new byte[]{(byte) 0xff, (byte) i})));
+      writer.addDocument(doc);
+      if (i % 300 == 299) {
+        writer.commit();
+      }
+    }
+    writer.deleteDocuments(new Term("key", "7"));
+    writer.commit();
+    writer.close();
+    dir.close();
+  }
+
+  @Test
+  public void testExportJsonLines() throws Exception {
+    assertEquals(4, reader.leaves().size());
+    ExportConfig config = new ExportConfig.Builder()
+        .docValues(true).norms(true).termVectors(true)
+        .build();
+    StringWriter out = new StringWriter();
+    long count = new DocumentsExporter(reader, config).export(out);
+
+    assertEquals(NUM_DOCS - 1, count);
+    List<String> lines = Arrays.asList(out.toString().split("\n"));
+    assertEquals(NUM_DOCS - 1, lines.size());
+    assertTrue(lines.get(0).startsWith(
+        "{\"docid\":0,\"stored\":{\"id\":[0],\"title\":[\"title \\\"0\\\", line\\nbreak\"]}," +
+            "\"docvalues\":{\"rank\":[0],\"tags\":[\"YQ==\",\"Yg==\"],\"payload\":[\"/wA=\"]},\"norms\":{\"title\":"));
+    assertTrue(lines.get(0).endsWith(",\"termvectors\":{\"body\":{\"lucene\":2,\"luke\":1}}}"));
+    // deleted document is skipped
+    assertTrue(lines.get(7).startsWith("{\"docid\":8,"));
+    assertTrue(lines.get(NUM_DOCS - 2).contains("\"rank\":[9990]"));
+  }
+
+  @Test
+  public void testExportJsonLines_parallel() throws Exception {
+    ExportConfig.Builder builder = new ExportConfig.Builder().docValues(true).norms(true).termVectors(true);
+    StringWriter expected = new StringWriter();
+    new DocumentsExporter(reader, builder.build()).export(expected);
+
+    StringWriter actual = new StringWriter();
+    long count = new DocumentsExporter(reader, builder.numThreads(3).build()).export(actual);
+    assertEquals(NUM_DOCS - 1, count);
+    assertEquals(expected.toString(), actual.toString());
+  }
+
+  @Test
+  public void testExportCsv() throws Exception {
+    ExportConfig config = new ExportConfig.Builder()
+        .format(ExportConfig.Format.CSV)
+        .fields(Arrays.asList("title", "tags", "body"))
+        .docValues(true).termVectors(true)
+        .numThreads(2)
+        .build();
+    StringWriter out = new StringWriter();
+    new DocumentsExporter(reader, config).export(out);
+
+    List<String> lines = Arrays.asList(out.toString().split("\r\n"));
+    assertEquals(NUM_DOCS, lines.size());
+    assertEquals("docid,title,body,body#termvectors,tags,tags#docvalues", lines.get(0));
+    assertEquals("0,\"title \"\"0\"\", line\nbreak\",,lucene:2 luke:1,,YQ==|Yg==", lines.get(1));
+  }
+
+  @Test
+  public void testExportDocuments() throws Exception {
+    ExportConfig config = new ExportConfig.Builder()
+        .fields(Collections.singleton("id"))
+        .build();
+    StringWriter out = new StringWriter();
+    long count = new DocumentsImpl(reader).exportDocuments(out, config);
+    assertEquals(NUM_DOCS - 1, count);
+    assertTrue(out.toString().startsWith("{\"docid\":0,\"stored\":{\"id\":[0]}}\n{\"docid\":1,\"stored\":{\"id\":[1]}}\n"));
+  }
+
+}
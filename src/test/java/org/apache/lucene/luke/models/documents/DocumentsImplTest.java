@@ -26,7 +26,10 @@ import org.apache.lucene.util.LuceneTestCase;
 import org.apache.lucene.util.NumericUtils;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 
 // See: https://github.com/DmitryKey/luke/issues/133
@@ -176,6 +179,66 @@ public class DocumentsImplTest extends DocumentsTestBase {
     assertFalse(documents.seekTerm("a").isPresent());
   }
 
+  @Test
+  public void testGetTerms() {
+    DocumentsImpl documents = new DocumentsImpl(reader);
+    List<TermEntry> terms = documents.getTerms("title", null, 5, null);
+    assertEquals(Arrays.asList("adventures", "alice's", "doll's", "frankenstein", "holmes"), texts(terms));
+    assertEquals(2, terms.get(0).getDocFreq());
+    assertEquals(2, terms.get(0).getTotalTermFreq());
+
+    terms = documents.getTerms("title", "holmes", 5, null);
+    assertEquals(Arrays.asList("house", "modern", "play", "prejudice", "pride"), texts(terms));
+    terms = documents.getTerms("title", "pride", 5, null);
+    assertEquals(Arrays.asList("prometheus", "sherlock", "wonderland"), texts(terms));
+    assertTrue(documents.getTerms("title", "wonderland", 5, null).isEmpty());
+
+    // seek to an arbitrary position
+    terms = documents.getTerms("title", "p", 2, null);
+    assertEquals(Arrays.asList("play", "prejudice"), texts(terms));
+    terms = documents.getTerms("title", "alice's", 1, null);
+    assertEquals(Collections.singletonList("doll's"), texts(terms));
+
+    // paging does not move the terms iterator
+    assertNull(documents.getCurrentField());
+  }
+
+  @Test
+  public void testGetTerms_filter() {
+    DocumentsImpl documents = new DocumentsImpl(reader);
+    TermsFilter prefix = TermsFilter.prefix("pr");
+    List<TermEntry> terms = documents.getTerms("title", null, 2, prefix);
+    assertEquals(Arrays.asList("prejudice", "pride"), texts(terms));
+    terms = documents.getTerms("title", "pride", 2, prefix);
+    assertEquals(Collections.singletonList("prometheus"), texts(terms));
+
+    TermsFilter regex = TermsFilter.regex("h.*|.*'s");
+    terms = documents.getTerms("title", null, 10, regex);
+    assertEquals(Arrays.asList("alice's", "doll's", "holmes", "house"), texts(terms));
+    terms = documents.getTerms("title", "doll's", 10, regex);
+    assertEquals(Arrays.asList("holmes", "house"), texts(terms));
+
+    assertEquals(Collections.singletonList("modern"), texts(documents.getTerms("title", null, 10, TermsFilter.regex("modern"))));
+    assertTrue(documents.getTerms("title", "modern", 10, TermsFilter.regex("modern")).isEmpty());
+    assertEquals(13, documents.getTerms("title", null, 20, TermsFilter.prefix("")).size());
+  }
+
+  @Test
+  public void testGetTerms_noTerms() {
+    DocumentsImpl documents = new DocumentsImpl(reader);
+    assertTrue(documents.getTerms("subject", null, 10, null).isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetTerms_invalidPageSize() {
+    DocumentsImpl documents = new DocumentsImpl(reader);
+    documents.getTerms("title", null, 0, null);
+  }
+
+  private static List<String> texts(List<TermEntry> terms) {
+    return terms.stream().map(TermEntry::getTermText).collect(Collectors.toList());
+  }
+
   @Test
   public void testFirstTermDoc() {
     DocumentsImpl documents = new DocumentsImpl(reader);
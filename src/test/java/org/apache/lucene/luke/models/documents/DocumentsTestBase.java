@@ -17,6 +17,7 @@
 
 package org.apache.lucene.luke.models.documents;
 
+import com.carrotsearch.randomizedtesting.annotations.ThreadLeakFilters;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
@@ -26,6 +27,7 @@ import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexOptions;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.RandomIndexWriter;
+import org.apache.lucene.luke.util.CommonPoolThreadsFilter;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.LuceneTestCase;
@@ -36,6 +38,7 @@ import org.junit.Before;
 import java.io.IOException;
 import java.nio.file.Path;
 
+@ThreadLeakFilters(filters = CommonPoolThreadsFilter.class)
 public abstract class DocumentsTestBase extends LuceneTestCase {
   protected IndexReader reader;
   protected Directory dir;
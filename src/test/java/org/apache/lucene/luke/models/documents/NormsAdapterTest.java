@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.documents;
+
+import org.apache.lucene.analysis.MockAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiDocValues;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.store.Directory;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.OptionalLong;
+
+public class NormsAdapterTest extends DocumentsTestBase {
+
+  private static final String[] TITLES = {
+      "a", "a b", "a b c d", "a b c d e f g h", "a b c d e f g h i j k l m n o p q r s t"
+  };
+
+  @Override
+  protected void createIndex() throws IOException {
+    indexDir = createTempDir("testIndex");
+
+    Directory dir = newFSDirectory(indexDir);
+    IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig(new MockAnalyzer(random()))
+        .setMergePolicy(NoMergePolicy.INSTANCE));
+
+    // 3 segments; the last one has no "title" field
+    for (int i = 0; i < 9; i++) {
+      Document doc = new Document();
+      if (i < 6) {
+        doc.add(newTextField("title", TITLES[i % TITLES.length], Field.Store.NO));
+      }
+      doc.add(newStringField("id", String.valueOf(i), Field.Store.YES));
+      writer.addDocument(doc);
+      if (i % 3 == 2) {
+        writer.commit();
+      }
+    }
+    writer.close();
+    dir.close();
+  }
+
+  @Test
+  public void testGetNorm() throws Exception {
+    assertEquals(3, reader.leaves().size());
+    NormsAdapter adapterImpl = new NormsAdapter(reader);
+
+    // forward, backward, repeated and across the segments
+    int[] docids = {0, 1, 2, 4, 4, 3, 0, 5, 1, 8, 6};
+    for (int docid : docids) {
+      assertEquals("doc: " + docid, expectedNorm(docid), adapterImpl.getNorm(docid, "title"));
+    }
+  }
+
+  @Test
+  public void testGetNorm_noNorms() throws Exception {
+    NormsAdapter adapterImpl = new NormsAdapter(reader);
+    assertFalse(adapterImpl.getNorm(0, "id").isPresent());
+    assertFalse(adapterImpl.getNorm(7, "title").isPresent());
+    assertFalse(adapterImpl.getNorm(0, "nonexisting").isPresent());
+  }
+
+  private OptionalLong expectedNorm(int docid) throws IOException {
+    NumericDocValues norms = MultiDocValues.getNormValues(reader, "title");
+    return norms.advanceExact(docid) ? OptionalLong.of(norms.longValue()) : OptionalLong.empty();
+  }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.documents;
+
+import org.apache.lucene.analysis.MockAnalyzer;
+import org.apache.lucene.analysis.MockTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.store.Directory;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class PostingsBatchTest extends DocumentsTestBase {
+
+  private static final int NUM_DOCS = 1000;
+
+  @Override
+  protected void createIndex() throws IOException {
+    indexDir = createTempDir("testIndex");
+
+    Directory dir = newFSDirectory(indexDir);
+    // keep docids in the order of addition
+    IndexWriterConfig config = new IndexWriterConfig(new MockAnalyzer(random(), MockTokenizer.WHITESPACE, false))
+        .setMergePolicy(NoMergePolicy.INSTANCE);
+    IndexWriter writer = new IndexWriter(dir, config);
+
+    FieldType bodyType = new FieldType(TextField.TYPE_NOT_STORED);
+    bodyType.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+
+    for (int i = 0; i < NUM_DOCS; i++) {
+      StringBuilder body = new StringBuilder();
+      // "common" occurs (i % 3 + 1) times, at the positions 0, 2, 4..
+      for (int j = 0; j <= i % 3; j++) {
+        body.append("common x ");
+      }
+      if (i % 100 == 0) {
+        body.append("rare");
+      }
+      Document doc = new Document();
+      doc.add(new Field("body", body.toString().trim(), bodyType));
+      writer.addDocument(doc);
+    }
+    writer.commit();
+    writer.close();
+    dir.close();
+  }
+
+  @Test
+  public void testNextPostings() {
+    DocumentsImpl documents = new DocumentsImpl(reader);
+    documents.firstTerm("body");
+    assertEquals("common", documents.seekTerm("common").orElseThrow(IllegalStateException::new).text());
+
+    PostingsBatch batch = new PostingsBatch(64, false, false);
+    int expectedDoc = 0;
+    int n;
+    while ((n = documents.nextPostings(batch)) > 0) {
+      assertEquals(n, batch.size());
+      for (int i = 0; i < n; i++) {
+        assertEquals(expectedDoc, batch.getDocids()[i]);
+        assertEquals(expectedDoc % 3 + 1, batch.getFreqs()[i]);
+        expectedDoc++;
+      }
+    }
+    assertEquals(NUM_DOCS, expectedDoc);
+    assertEquals(0, batch.getPositions().length);
+    assertEquals(0, documents.nextPostings(batch));
+  }
+
+  @Test
+  public void testNextPostings_positionsAndOffsets() {
+    DocumentsImpl documents = new DocumentsImpl(reader);
+    documents.firstTerm("body");
+    documents.seekTerm("common");
+
+    // start with docs and freqs, then switch to positions and offsets
+    assertEquals(10, documents.nextPostings(new PostingsBatch(10, false, false)));
+    PostingsBatch batch = new PostingsBatch(100, true, true);
+    assertEquals(100, documents.nextPostings(batch));
+    for (int i = 0; i < batch.size(); i++) {
+      int docid = batch.getDocids()[i];
+      assertEquals(10 + i, docid);
+      int start = batch.getPositionStart(i);
+      for (int j = 0; j < batch.getFreqs()[i]; j++) {
+        assertEquals(j * 2, batch.getPositions()[start + j]);
+        assertEquals(j * 9, batch.getStartOffsets()[start + j]);
+        assertEquals(j * 9 + 6, batch.getEndOffsets()[start + j]);
+      }
+    }
+  }
+
+  @Test
+  public void testNextPostings_payloads() {
+    DocumentsImpl documents = new DocumentsImpl(reader);
+    documents.firstTerm("body");
+    documents.seekTerm("common");
+
+    PostingsBatch batch = new PostingsBatch(10, false, false, true);
+    assertEquals(10, documents.nextPostings(batch));
+    // payloads imply positions; no payloads are indexed
+    assertEquals(2, batch.getPositions()[batch.getPositionStart(1) + 1]);
+    assertEquals(0, batch.getStartOffsets().length);
+    for (int i = 0; i < batch.getPositionStart(9) + batch.getFreqs()[9]; i++) {
+      assertNull(batch.getPayloads()[i]);
+    }
+  }
+
+  @Test
+  public void testAdvancePostings() {
+    DocumentsImpl documents = new DocumentsImpl(reader);
+    documents.firstTerm("body");
+    documents.seekTerm("rare");
+
+    PostingsBatch batch = new PostingsBatch(3, true, false);
+    assertEquals(3, documents.advancePostings(250, batch));
+    assertArrayEquals(new int[]{300, 400, 500}, batch.getDocids());
+    assertEquals(4, batch.getPositions()[batch.getPositionStart(1)]);
+
+    // targets behind the current document are ignored
+    assertEquals(3, documents.advancePostings(0, batch));
+    assertArrayEquals(new int[]{600, 700, 800}, batch.getDocids());
+
+    assertEquals(0, documents.advancePostings(NUM_DOCS, batch));
+    assertEquals(0, documents.nextPostings(batch));
+
+    // moving to another term restarts the postings
+    documents.seekTerm("common");
+    assertEquals(3, documents.nextPostings(batch));
+    assertArrayEquals(new int[]{0, 1, 2}, batch.getDocids());
+  }
+
+  @Test
+  public void testNextPostings_unPositioned() {
+    DocumentsImpl documents = new DocumentsImpl(reader);
+    assertEquals(0, documents.nextPostings(new PostingsBatch(10, false, false)));
+    assertFalse(documents.getPostingsSummary().isPresent());
+  }
+
+  @Test
+  public void testGetPostingsSummary() {
+    DocumentsImpl documents = new DocumentsImpl(reader);
+    documents.firstTerm("body");
+    documents.seekTerm("rare");
+    PostingsSummary summary = documents.getPostingsSummary().orElseThrow(IllegalStateException::new);
+    assertEquals(10, summary.getCount());
+    assertEquals(10, summary.getTotalFreq());
+    assertEquals(1, summary.getMaxFreq());
+    assertEquals(1.0, summary.getAverageFreq(), 0.0);
+    // 9 gaps of 100, in [64, 128)
+    assertArrayEquals(new long[]{0, 0, 0, 0, 0, 0, 9}, summary.getGapHistogram());
+
+    documents.seekTerm("common");
+    summary = documents.getPostingsSummary().orElseThrow(IllegalStateException::new);
+    assertEquals(NUM_DOCS, summary.getCount());
+    assertEquals(1999, summary.getTotalFreq());
+    assertEquals(3, summary.getMaxFreq());
+    assertArrayEquals(new long[]{NUM_DOCS - 1}, summary.getGapHistogram());
+  }
+
+}
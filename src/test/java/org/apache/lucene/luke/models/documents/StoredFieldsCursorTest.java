@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.documents;
+
+import org.apache.lucene.analysis.MockAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.store.Directory;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class StoredFieldsCursorTest extends DocumentsTestBase {
+
+  private static final int NUM_DOCS = 100;
+
+  @Override
+  protected void createIndex() throws IOException {
+    indexDir = createTempDir("testIndex");
+
+    Directory dir = newFSDirectory(indexDir);
+    IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig(new MockAnalyzer(random()))
+        .setMergePolicy(NoMergePolicy.INSTANCE));
+    for (int i = 0; i < NUM_DOCS; i++) {
+      Document doc = new Document();
+      doc.add(newStringField("id", String.valueOf(i), Field.Store.YES));
+      doc.add(new StoredField("num", i));
+      doc.add(newTextField("text", "document number " + i, Field.Store.YES));
+      writer.addDocument(doc);
+      if (i % 30 == 29) {
+        writer.commit();
+      }
+    }
+    writer.deleteDocuments(new Term("id", "3"));
+    writer.commit();
+    writer.close();
+    dir.close();
+  }
+
+  @Test
+  public void testDocument_forward() throws Exception {
+    StoredFieldsCursor cursor = new StoredFieldsCursor(reader, 4);
+    for (int docid = 0; docid < NUM_DOCS; docid++) {
+      assertDocument(docid, cursor.document(docid));
+    }
+  }
+
+  @Test
+  public void testDocument_randomAccess() throws Exception {
+    StoredFieldsCursor cursor = new StoredFieldsCursor(reader, 4);
+    for (int i = 0; i < 200; i++) {
+      int docid = random().nextInt(NUM_DOCS);
+      assertDocument(docid, cursor.document(docid));
+    }
+  }
+
+  @Test
+  public void testDocument_prefetch() throws Exception {
+    StoredFieldsCursor cursor = new StoredFieldsCursor(reader, 4);
+    cursor.document(0);
+    // 0, 1, 2 and 4; doc 3 is deleted
+    assertEquals(4, cursor.cachedDocs());
+
+    // documents are not prefetched beyond the leaf
+    cursor.document(28);
+    assertEquals(6, cursor.cachedDocs());
+
+    // moving to another leaf discards the cache
+    cursor.document(30);
+    assertEquals(4, cursor.cachedDocs());
+  }
+
+  private void assertDocument(int docid, Document doc) throws IOException {
+    Document expected = reader.document(docid);
+    assertEquals(expected.getFields().size(), doc.getFields().size());
+    for (IndexableField field : expected.getFields()) {
+      assertEquals(expected.get(field.name()), doc.get(field.name()));
+    }
+    assertEquals(String.valueOf(docid), doc.get("id"));
+  }
+
+}
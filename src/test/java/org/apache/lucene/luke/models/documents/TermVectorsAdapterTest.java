@@ -27,6 +27,8 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 public class TermVectorsAdapterTest extends DocumentsTestBase {
 
@@ -62,6 +64,13 @@ public class TermVectorsAdapterTest extends DocumentsTestBase {
     doc.add(newField("text3", text, textType_pos_offset));
     writer.addDocument(doc);
 
+    Document doc2 = new Document();
+    doc2.add(newField("text3", "A good wife, a good man.", textType_pos_offset));
+    writer.addDocument(doc2);
+
+    // no term vectors
+    writer.addDocument(new Document());
+
     writer.commit();
     writer.close();
     dir.close();
@@ -142,4 +151,86 @@ public class TermVectorsAdapterTest extends DocumentsTestBase {
     TermVectorsAdapter adapterImpl = new TermVectorsAdapter(reader);
     assertEquals(0, adapterImpl.getTermVector(0, "title").size());
   }
+
+  @Test
+  public void testGetTermVectorPage() throws Exception {
+    TermVectorsAdapter adapterImpl = new TermVectorsAdapter(reader);
+    TermVectorPage page = adapterImpl.getTermVectorPage(0, "text3", null, 4).orElseThrow(IllegalStateException::new);
+    assertEquals(4, page.size());
+    assertTrue(page.hasMore());
+    assertEquals("acknowledged", page.getTermText(0));
+    assertEquals("man", page.getLastTermText());
+    assertEquals(1, page.getFreqs()[0]);
+    assertEquals(5, page.getPositions()[page.getPositionStart(0)]);
+    assertEquals(26, page.getStartOffsets()[page.getPositionStart(0)]);
+    assertEquals(38, page.getEndOffsets()[page.getPositionStart(0)]);
+
+    page = adapterImpl.getTermVectorPage(0, "text3", page.getLastTermText(), 4).orElseThrow(IllegalStateException::new);
+    assertEquals(4, page.size());
+    assertEquals("must", page.getTermText(0));
+    assertEquals("truth", page.getTermText(3));
+
+    page = adapterImpl.getTermVectorPage(0, "text3", page.getLastTermText(), 4).orElseThrow(IllegalStateException::new);
+    assertEquals(3, page.size());
+    assertEquals("wife", page.getLastTermText());
+    assertFalse(page.hasMore());
+
+    // seek to an arbitrary position
+    page = adapterImpl.getTermVectorPage(0, "text3", "s", 100).orElseThrow(IllegalStateException::new);
+    assertEquals("single", page.getTermText(0));
+    assertEquals(5, page.size());
+  }
+
+  @Test
+  public void testGetTermVectorPage_noPositions() throws Exception {
+    TermVectorsAdapter adapterImpl = new TermVectorsAdapter(reader);
+    TermVectorPage page = adapterImpl.getTermVectorPage(0, "text1", null, 100).orElseThrow(IllegalStateException::new);
+    assertEquals(11, page.size());
+    assertFalse(page.hasMore());
+    assertEquals(0, page.getPositions().length);
+    assertEquals(0, page.getStartOffsets().length);
+
+    page = adapterImpl.getTermVectorPage(0, "text2", null, 100).orElseThrow(IllegalStateException::new);
+    assertEquals(5, page.getPositions()[page.getPositionStart(0)]);
+    assertEquals(0, page.getStartOffsets().length);
+
+    assertFalse(adapterImpl.getTermVectorPage(0, "title", null, 100).isPresent());
+  }
+
+  @Test
+  public void testAggregateTermVectors() throws Exception {
+    TermVectorsAdapter adapterImpl = new TermVectorsAdapter(reader);
+    List<TermEntry> terms = adapterImpl.aggregateTermVectors(new int[]{0, 1, 2}, "text3", 4);
+    assertEquals(4, terms.size());
+    assertEquals("good", terms.get(0).getTermText());
+    assertEquals(2, terms.get(0).getDocFreq());
+    assertEquals(3, terms.get(0).getTotalTermFreq());
+    assertEquals("man", terms.get(1).getTermText());
+    assertEquals("wife", terms.get(2).getTermText());
+    assertEquals("acknowledged", terms.get(3).getTermText());
+    assertEquals(1, terms.get(3).getDocFreq());
+  }
+
+  @Test
+  public void testAggregateTermVectors_parallel() throws Exception {
+    int[] docids = new int[TermVectorsAdapter.AGGREGATE_BATCH_SIZE * 9];
+    for (int i = 0; i < docids.length; i++) {
+      docids[i] = i % 3;
+    }
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      TermVectorsAdapter adapterImpl = new TermVectorsAdapter(reader, pool);
+      List<TermEntry> terms = adapterImpl.aggregateTermVectors(docids, "text3", 100);
+      assertEquals(11, terms.size());
+      assertEquals("good", terms.get(0).getTermText());
+      assertEquals(docids.length / 3 * 2, terms.get(0).getDocFreq());
+      assertEquals(docids.length, terms.get(0).getTotalTermFreq());
+      assertEquals("wife", terms.get(2).getTermText());
+
+      assertTrue(adapterImpl.aggregateTermVectors(new int[]{2}, "text3", 100).isEmpty());
+    } finally {
+      pool.shutdown();
+      pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
 }
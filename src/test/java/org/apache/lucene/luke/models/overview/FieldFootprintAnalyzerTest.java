@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.overview;
+
+import com.carrotsearch.randomizedtesting.annotations.ThreadLeakFilters;
+import org.apache.lucene.analysis.MockAnalyzer;
+import org.apache.lucene.document.BinaryDocValuesField;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.luke.models.overview.FieldFootprint.Category;
+import org.apache.lucene.luke.util.CommonPoolThreadsFilter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.LuceneTestCase;
+import org.apache.lucene.util.TestUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@ThreadLeakFilters(filters = CommonPoolThreadsFilter.class)
+public class FieldFootprintAnalyzerTest extends LuceneTestCase {
+
+  private IndexReader reader;
+
+  private Directory dir;
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    super.setUp();
+    Path indexDir = createIndex();
+    dir = newFSDirectory(indexDir);
+    reader = DirectoryReader.open(dir);
+  }
+
+  private Path createIndex() throws IOException {
+    Path indexDir = createTempDir();
+
+    Directory dir = newFSDirectory(indexDir);
+    // the analyzer relies on the file extensions of the default codec
+    IndexWriterConfig config = new IndexWriterConfig(new MockAnalyzer(random()))
+        .setCodec(TestUtil.getDefaultCodec())
+        .setMergePolicy(NoMergePolicy.INSTANCE)
+        .setUseCompoundFile(true);
+    IndexWriter writer = new IndexWriter(dir, config);
+
+    FieldType vectorsType = new FieldType(TextField.TYPE_NOT_STORED);
+    vectorsType.setStoreTermVectors(true);
+    vectorsType.setStoreTermVectorPositions(true);
+    vectorsType.setStoreTermVectorOffsets(true);
+    vectorsType.freeze();
+
+    // 2 segments; the first one is a compound file
+    for (int i = 0; i < 200; i++) {
+      Document doc = new Document();
+      doc.add(new StringField("id", String.valueOf(i), Field.Store.NO));
+      doc.add(new StoredField("payload", TestUtil.randomSimpleString(random(), 500, 1000)));
+      doc.add(new Field("body", "the quick brown fox jumps over the lazy dog " + TestUtil.randomSimpleString(random(), 5, 10), vectorsType));
+      doc.add(new NumericDocValuesField("rank", i));
+      doc.add(new BinaryDocValuesField("blob", new BytesRef(TestUtil.randomSimpleString(random(), 100, 200))));
+      doc.add(new IntPoint("point", i, i + 1, i + 2));
+      writer.addDocument(doc);
+      if (i == 99) {
+        writer.commit();
+        writer.getConfig().setUseCompoundFile(false);
+      }
+    }
+    writer.commit();
+    writer.close();
+    dir.close();
+
+    return indexDir;
+  }
+
+  @Override
+  @After
+  public void tearDown() throws Exception {
+    super.tearDown();
+    reader.close();
+    dir.close();
+  }
+
+  @Test
+  public void testAnalyze() throws Exception {
+    assertEquals(2, reader.leaves().size());
+    FieldFootprintAnalyzer analyzer = new FieldFootprintAnalyzer(reader, ForkJoinPool.commonPool());
+    List<FieldFootprint> footprints = analyzer.analyze();
+
+    Map<String, FieldFootprint> byField = footprints.stream()
+        .collect(Collectors.toMap(FieldFootprint::getField, Function.identity()));
+    assertEquals(6, byField.size());
+
+    // the stored payload is the largest field
+    assertEquals("payload", footprints.get(0).getField());
+    for (int i = 1; i < footprints.size(); i++) {
+      assertTrue(footprints.get(i - 1).getTotalBytes() >= footprints.get(i).getTotalBytes());
+    }
+
+    FieldFootprint payload = byField.get("payload");
+    assertTrue(payload.getBytes(Category.STORED_FIELDS) > 0);
+    assertEquals(0, payload.getBytes(Category.POSTINGS));
+    assertEquals(0, payload.getBytes(Category.TERM_VECTORS));
+
+    FieldFootprint body = byField.get("body");
+    assertTrue(body.getBytes(Category.TERMS) > 0);
+    assertTrue(body.getBytes(Category.POSTINGS) > 0);
+    assertTrue(body.getBytes(Category.NORMS) > 0);
+    assertTrue(body.getBytes(Category.TERM_VECTORS) > 0);
+    assertEquals(0, body.getBytes(Category.STORED_FIELDS));
+
+    FieldFootprint id = byField.get("id");
+    assertTrue(id.getBytes(Category.TERMS) > 0);
+    assertEquals(0, id.getBytes(Category.NORMS));
+
+    assertTrue(byField.get("rank").getBytes(Category.DOC_VALUES) > 0);
+    assertTrue(byField.get("blob").getBytes(Category.DOC_VALUES) > byField.get("rank").getBytes(Category.DOC_VALUES));
+    assertTrue(byField.get("point").getBytes(Category.POINTS) > 0);
+    assertEquals(byField.get("point").getTotalBytes(), byField.get("point").getBytes(Category.POINTS));
+  }
+
+  @Test
+  public void testAnalyze_sampled() throws Exception {
+    FieldFootprintAnalyzer analyzer = new FieldFootprintAnalyzer(reader, ForkJoinPool.commonPool(), 10, 10);
+    List<FieldFootprint> footprints = analyzer.analyze();
+    assertEquals(6, footprints.size());
+    assertEquals("payload", footprints.get(0).getField());
+    assertTrue(footprints.stream().allMatch(f -> f.getTotalBytes() > 0));
+  }
+
+}
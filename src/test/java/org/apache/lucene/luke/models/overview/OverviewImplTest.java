@@ -17,14 +17,26 @@
 
 package org.apache.lucene.luke.models.overview;
 
+import org.apache.lucene.analysis.MockAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.luke.models.ReaderDelta;
 import org.apache.lucene.store.AlreadyClosedException;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class OverviewImplTest extends OverviewTestBase {
 
@@ -60,6 +72,43 @@ public class OverviewImplTest extends OverviewTestBase {
     assertEquals(9, overview.getNumTerms());
   }
 
+  @Test
+  public void testAddTermCountsListener() throws Exception {
+    OverviewImpl overview = new OverviewImpl(reader, indexDir.toString());
+    Map<String, Long> collected = new ConcurrentHashMap<>();
+    long numTerms = overview.addTermCountsListener(collected::put).get();
+    assertEquals(9, numTerms);
+    assertEquals(3, (long) collected.get("f1"));
+    assertEquals(6, (long) collected.get("f2"));
+
+    // listeners registered after the completion receive all collected counts
+    Map<String, Long> replayed = new HashMap<>();
+    assertEquals(9, (long) overview.addTermCountsListener(replayed::put).get());
+    assertEquals(collected, replayed);
+  }
+
+  @Test
+  public void testCancelTermCounts() throws Exception {
+    OverviewImpl overview = new OverviewImpl(reader, indexDir.toString());
+    overview.cancelTermCounts();
+    CompletableFuture<Long> future = overview.addTermCountsListener((field, count) -> {});
+    try {
+      future.join();
+      fail("term counting should be stopped");
+    } catch (CompletionException e) {
+      assertTrue(e.getCause() instanceof CancellationException);
+    }
+  }
+
+  @Test
+  public void testTermCountsKeepReaderOpen() throws Exception {
+    OverviewImpl overview = new OverviewImpl(reader, indexDir.toString());
+    CompletableFuture<Long> future = overview.addTermCountsListener((field, count) -> {});
+    assertEquals(9, (long) future.get());
+    // the reference taken for the counting has been released
+    assertEquals(1, reader.getRefCount());
+  }
+
   @Test
   public void testHasDeletions() {
     OverviewImpl overview = new OverviewImpl(reader, indexDir.toString());
@@ -137,4 +186,26 @@ public class OverviewImplTest extends OverviewTestBase {
     overview.getNumFields();
   }
 
+  @Test
+  public void testReopen() throws Exception {
+    OverviewImpl overview = new OverviewImpl(reader, indexDir.toString());
+    assertEquals(9, overview.getNumTerms());
+
+    try (IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig(new MockAnalyzer(random())))) {
+      Document doc = new Document();
+      doc.add(newStringField("f1", "4", Field.Store.NO));
+      writer.addDocument(doc);
+      writer.commit();
+    }
+
+    try (DirectoryReader newReader = DirectoryReader.openIfChanged((DirectoryReader) reader)) {
+      assertNotNull(newReader);
+      ReaderDelta delta = ReaderDelta.of(reader, newReader);
+      Overview reopened = overview.reopen(newReader, delta);
+      assertEquals(4, reopened.getNumDocuments());
+      assertEquals(10, reopened.getNumTerms());
+      Map<String, Long> expected = new OverviewImpl(newReader, indexDir.toString()).getSortedTermCounts(TermCountsOrder.NAME_ASC);
+      assertEquals(expected, reopened.getSortedTermCounts(TermCountsOrder.NAME_ASC));
+    }
+  }
 }
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.overview;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.lucene.analysis.MockAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.store.Directory;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+public class StatsCacheTest extends OverviewTestBase {
+
+  @Test
+  public void testReuseSameCommit() throws Exception {
+    Path cacheDir = createTempDir();
+
+    StatsCache cache = new StatsCache(cacheDir, indexDir.toString(), reader, ((DirectoryReader) reader).getIndexCommit());
+    assertTrue(cache.getTermCounts().isEmpty());
+    cache.putTermCounts(ImmutableMap.of("f1", 3L, "f2", 6L));
+    cache.putTopTerms("f2", TopTermsOrder.DOC_FREQ, 2, new TopTerms(reader).getTopTerms("f2", 2));
+    cache.save();
+
+    StatsCache cache2 = new StatsCache(cacheDir, indexDir.toString(), reader, ((DirectoryReader) reader).getIndexCommit());
+    assertEquals(ImmutableMap.of("f1", 3L, "f2", 6L), cache2.getTermCounts());
+
+    List<TermStats> topTerms = cache2.getTopTerms("f2", TopTermsOrder.DOC_FREQ, 1);
+    assertEquals(1, topTerms.size());
+    assertEquals("a", topTerms.get(0).getDecodedTermText());
+    assertEquals(3, topTerms.get(0).getDocFreq());
+    // more terms than cached are requested
+    assertNull(cache2.getTopTerms("f2", TopTermsOrder.DOC_FREQ, 3));
+  }
+
+  @Test
+  public void testReuseUnchangedFields() throws Exception {
+    Path cacheDir = createTempDir();
+
+    StatsCache cache = new StatsCache(cacheDir, indexDir.toString(), reader, ((DirectoryReader) reader).getIndexCommit());
+    cache.putTermCounts(ImmutableMap.of("f1", 3L, "f2", 6L));
+    cache.save();
+
+    // add a new segment which has only a new field
+    try (Directory dir2 = newFSDirectory(indexDir);
+         IndexWriter writer = new IndexWriter(dir2, new IndexWriterConfig(new MockAnalyzer(random())).setMergePolicy(NoMergePolicy.INSTANCE))) {
+      Document doc = new Document();
+      doc.add(newStringField("f3", "x", Field.Store.NO));
+      writer.addDocument(doc);
+      writer.commit();
+    }
+
+    try (Directory dir2 = newFSDirectory(indexDir);
+         DirectoryReader reader2 = DirectoryReader.open(dir2)) {
+      StatsCache cache2 = new StatsCache(cacheDir, indexDir.toString(), reader2, reader2.getIndexCommit());
+      Map<String, Long> counts = cache2.getTermCounts();
+      assertEquals(ImmutableMap.of("f1", 3L, "f2", 6L), counts);
+    }
+  }
+
+  @Test
+  public void testOverviewWithCache() throws Exception {
+    Path cacheDir = createTempDir();
+
+    OverviewImpl overview = new OverviewImpl(reader, indexDir.toString(), ForkJoinPool.commonPool(), cacheDir);
+    Map<String, Long> expected = overview.getSortedTermCounts(TermCountsOrder.NAME_ASC);
+
+    OverviewImpl overview2 = new OverviewImpl(reader, indexDir.toString(), ForkJoinPool.commonPool(), cacheDir);
+    assertEquals(expected, overview2.getSortedTermCounts(TermCountsOrder.NAME_ASC));
+    assertEquals(expected.keySet().size(), new StatsCache(cacheDir, indexDir.toString(), reader,
+        ((DirectoryReader) reader).getIndexCommit()).getTermCounts().size());
+  }
+
+}
@@ -17,11 +17,21 @@
 
 package org.apache.lucene.luke.models.overview;
 
+import org.apache.lucene.analysis.MockAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.store.Directory;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 public class TermCountsTest extends OverviewTestBase {
 
@@ -31,6 +41,43 @@ public class TermCountsTest extends OverviewTestBase {
     assertEquals(9, termCounts.numTerms());
   }
 
+  @Test
+  public void testNumTerms_serial() throws Exception {
+    TermCounts termCounts = new TermCounts(reader, null);
+    assertEquals(9, termCounts.numTerms());
+  }
+
+  @Test
+  public void testNumTerms_multiSegments() throws Exception {
+    Directory dir = newDirectory();
+    IndexWriter writer = new IndexWriter(dir, newIndexWriterConfig(new MockAnalyzer(random())).setMergePolicy(NoMergePolicy.INSTANCE));
+    for (int i = 0; i < 5; i++) {
+      Document doc = new Document();
+      // terms shared by all segments must not be double counted
+      doc.add(newTextField("f1", "a b " + (char) ('c' + i) + " " + i, Field.Store.NO));
+      doc.add(newStringField("f2", "\u00e9" + i, Field.Store.NO));
+      writer.addDocument(doc);
+      writer.commit();
+    }
+    writer.close();
+
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try (IndexReader reader = DirectoryReader.open(dir)) {
+      assertEquals(5, reader.leaves().size());
+      TermCounts serial = new TermCounts(reader, null);
+      TermCounts parallel = new TermCounts(reader, pool);
+      assertEquals(17, serial.numTerms());
+      assertEquals(serial.numTerms(), parallel.numTerms());
+      assertEquals(
+          serial.sortedTermCounts(TermCountsOrder.NAME_ASC),
+          parallel.sortedTermCounts(TermCountsOrder.NAME_ASC));
+    } finally {
+      pool.shutdown();
+      pool.awaitTermination(10, TimeUnit.SECONDS);
+      dir.close();
+    }
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   public void testSortedTermCounts_count_asc() throws Exception {
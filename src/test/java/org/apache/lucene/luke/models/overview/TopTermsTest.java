@@ -17,9 +17,12 @@
 
 package org.apache.lucene.luke.models.overview;
 
+import com.google.common.collect.ImmutableList;
+import org.apache.lucene.util.BytesRef;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Map;
 
 public class TopTermsTest extends OverviewTestBase {
 
@@ -37,4 +40,45 @@ public class TopTermsTest extends OverviewTestBase {
     assertEquals("f2", result.get(1).getField());
   }
 
+  @Test
+  public void testGetTopTerms_smallerFromCache() throws Exception {
+    TopTerms topTerms = new TopTerms(reader);
+    List<TermStats> result1 = topTerms.getTopTerms("f2", 10);
+    assertEquals(6, result1.size());
+
+    List<TermStats> result2 = topTerms.getTopTerms("f2", 1);
+    assertEquals(1, result2.size());
+    assertSame(result1.get(0), result2.get(0));
+  }
+
+  @Test
+  public void testGetTopTerms_multiFields() throws Exception {
+    TopTerms topTerms = new TopTerms(reader);
+    Map<String, List<TermStats>> result = topTerms.getTopTerms(ImmutableList.of("f1", "f2"), 2, TopTermsOrder.DOC_FREQ);
+
+    assertEquals(2, result.get("f1").size());
+    assertEquals("1", result.get("f1").get(0).getDecodedTermText());
+    assertEquals("2", result.get("f1").get(1).getDecodedTermText());
+    assertEquals("a", result.get("f2").get(0).getDecodedTermText());
+  }
+
+  @Test
+  public void testTermHeap() {
+    TopTermsCollector.TermHeap heap = new TopTermsCollector.TermHeap(3);
+    String[] terms = new String[]{"a", "b", "c", "d", "e", "f"};
+    long[] scores = new long[]{5, 1, 7, 5, 7, 2};
+    for (int i = 0; i < terms.length; i++) {
+      if (heap.isCompetitive(scores[i])) {
+        heap.add(new BytesRef(terms[i]), 1, scores[i], scores[i]);
+      }
+    }
+    List<TermStats> result = heap.drain("f");
+
+    assertEquals(3, result.size());
+    assertEquals("c", result.get(0).getDecodedTermText());
+    assertEquals("e", result.get(1).getDecodedTermText());
+    assertEquals("a", result.get(2).getDecodedTermText());
+    assertEquals(5, result.get(2).getTotalTermFreq());
+  }
+
 }
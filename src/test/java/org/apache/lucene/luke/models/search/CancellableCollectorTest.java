@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.search;
+
+import org.apache.lucene.analysis.MockAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.RandomIndexWriter;
+import org.apache.lucene.search.FilterCollector;
+import org.apache.lucene.search.FilterLeafCollector;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.LeafCollector;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.TopScoreDocCollector;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.LuceneTestCase;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class CancellableCollectorTest extends LuceneTestCase {
+
+  private IndexReader reader;
+  private Directory dir;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    dir = newDirectory();
+    RandomIndexWriter writer = new RandomIndexWriter(random(), dir, new MockAnalyzer(random()));
+    for (int i = 0; i < 20; i++) {
+      Document doc = new Document();
+      doc.add(newStringField("f1", "v" + i, Field.Store.NO));
+      writer.addDocument(doc);
+    }
+    reader = writer.getReader();
+    writer.close();
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    super.tearDown();
+    reader.close();
+    dir.close();
+  }
+
+  @Test
+  public void testNotStopped() throws Exception {
+    IndexSearcher searcher = new IndexSearcher(reader);
+    TopScoreDocCollector collector = TopScoreDocCollector.create(10);
+    CancellableCollector cancellable =
+        new CancellableCollector(collector, CancellableCollector.deadline(60_000), new AtomicBoolean());
+    searcher.search(new MatchAllDocsQuery(), cancellable);
+    assertEquals(20, collector.getTotalHits());
+    assertFalse(cancellable.isStopped());
+  }
+
+  @Test
+  public void testCancelled() throws Exception {
+    IndexSearcher searcher = new IndexSearcher(reader);
+    TopScoreDocCollector collector = TopScoreDocCollector.create(10);
+    AtomicBoolean cancelled = new AtomicBoolean();
+
+    // cancel the search after 3 hits are collected
+    FilterCollector cancelling = new FilterCollector(collector) {
+      int count = 0;
+
+      @Override
+      public LeafCollector getLeafCollector(LeafReaderContext context) throws IOException {
+        return new FilterLeafCollector(super.getLeafCollector(context)) {
+          @Override
+          public void collect(int doc) throws IOException {
+            super.collect(doc);
+            if (++count == 3) {
+              cancelled.set(true);
+            }
+          }
+        };
+      }
+    };
+
+    CancellableCollector cancellable = new CancellableCollector(cancelling, Long.MAX_VALUE, cancelled);
+    searcher.search(new MatchAllDocsQuery(), cancellable);
+    assertTrue(cancellable.isStopped());
+    assertEquals("Search cancelled.", cancellable.getStopReason());
+    assertEquals(3, collector.getTotalHits());
+    assertEquals(3, collector.topDocs().scoreDocs.length);
+  }
+
+  @Test
+  public void testTimedOut() throws Exception {
+    IndexSearcher searcher = new IndexSearcher(reader);
+    TopScoreDocCollector collector = TopScoreDocCollector.create(10);
+    long deadline = System.nanoTime() - 1;
+
+    CancellableCollector cancellable = new CancellableCollector(collector, deadline, new AtomicBoolean());
+    searcher.search(new MatchAllDocsQuery(), cancellable);
+    assertTrue(cancellable.isStopped());
+    assertEquals("Search timed out.", cancellable.getStopReason());
+    assertEquals(0, collector.getTotalHits());
+  }
+
+  @Test
+  public void testDeadline() {
+    assertEquals(Long.MAX_VALUE, CancellableCollector.deadline(0));
+    assertEquals(Long.MAX_VALUE, CancellableCollector.deadline(Long.MAX_VALUE));
+    assertTrue(CancellableCollector.deadline(1000) - System.nanoTime() > 0);
+  }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.search;
+
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.util.LuceneTestCase;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PagerTest extends LuceneTestCase {
+
+  /** Serves hits sorted by doc id, and records the cursors it was called with. */
+  private static final class FakeFetcher implements Pager.HitsFetcher {
+
+    private final int numDocs;
+
+    private final List<Integer> cursors = new ArrayList<>();
+
+    FakeFetcher(int numDocs) {
+      this.numDocs = numDocs;
+    }
+
+    @Override
+    public Pager.FetchedHits fetch(ScoreDoc after, int numHits) {
+      int from = after == null ? 0 : after.doc + 1;
+      cursors.add(after == null ? -1 : after.doc);
+      int to = Math.min(numDocs, from + numHits);
+      ScoreDoc[] docs = new ScoreDoc[Math.max(0, to - from)];
+      for (int i = 0; i < docs.length; i++) {
+        docs[i] = new ScoreDoc(from + i, 1.0f);
+      }
+      return Pager.FetchedHits.of(new TopDocs(numDocs, docs, 1.0f), true);
+    }
+  }
+
+  /** Stops the collection of the first fetch after collecting a few hits, as a timed out search does. */
+  private static final class StoppingFetcher implements Pager.HitsFetcher {
+
+    private final FakeFetcher in;
+
+    private boolean stopped = false;
+
+    StoppingFetcher(int numDocs) {
+      this.in = new FakeFetcher(numDocs);
+    }
+
+    @Override
+    public Pager.FetchedHits fetch(ScoreDoc after, int numHits) {
+      TopDocs topDocs = in.fetch(after, numHits).getTopDocs();
+      if (!stopped) {
+        stopped = true;
+        ScoreDoc[] collected = Arrays.copyOf(topDocs.scoreDocs, Math.min(3, topDocs.scoreDocs.length));
+        return Pager.FetchedHits.of(new TopDocs(collected.length, collected, 1.0f), false);
+      }
+      return Pager.FetchedHits.of(topDocs, true);
+    }
+  }
+
+  private static int[] docIds(ScoreDoc[] docs) {
+    return Arrays.stream(docs).mapToInt(sd -> sd.doc).toArray();
+  }
+
+  @Test
+  public void testSequentialPages() throws Exception {
+    FakeFetcher fetcher = new FakeFetcher(25);
+    Pager pager = new Pager(fetcher, 10, 2, 10);
+
+    assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, docIds(pager.getPage(0)));
+    assertEquals(25, pager.getTotalHits());
+    assertEquals(10, pager.getPage(1)[0].doc);
+    assertArrayEquals(new int[]{20, 21, 22, 23, 24}, docIds(pager.getPage(2)));
+    assertNull(pager.getPage(3));
+
+    // each page is fetched after the last hit of the previous page
+    assertEquals(Arrays.asList(-1, 9, 19), fetcher.cursors);
+    assertEquals(2, pager.cachedPages());
+  }
+
+  @Test
+  public void testJumpAndGoBack() throws Exception {
+    FakeFetcher fetcher = new FakeFetcher(1000);
+    Pager pager = new Pager(fetcher, 10, 3, 5);
+
+    pager.getPage(0);
+    // jump to page 42 in one query; cursors of pages 5, 10, ..., 40 are kept
+    assertEquals(420, pager.getPage(42)[0].doc);
+    assertEquals(Arrays.asList(-1, 9), fetcher.cursors);
+    assertEquals(8, pager.checkpoints());
+    assertEquals(3, pager.cachedPages());
+
+    // pages 40 and 41 are still in the window
+    assertEquals(410, pager.getPage(41)[0].doc);
+    assertEquals(2, fetcher.cursors.size());
+
+    // going back beyond the window starts from the nearest checkpoint
+    assertEquals(320, pager.getPage(32)[0].doc);
+    assertEquals(Integer.valueOf(299), fetcher.cursors.get(2));
+
+    // the page after a cached page is fetched from the cached page
+    assertEquals(330, pager.getPage(33)[0].doc);
+    assertEquals(Integer.valueOf(329), fetcher.cursors.get(3));
+  }
+
+  @Test
+  public void testLongJumpIsSplit() throws Exception {
+    FakeFetcher fetcher = new FakeFetcher(100_000);
+    Pager pager = new Pager(fetcher, 100, 2, 10);
+
+    assertEquals(25_000, pager.getPage(250)[0].doc);
+    // at most MAX_HITS_PER_FETCH hits are collected by a query
+    assertEquals(Arrays.asList(-1, 9999, 19999), fetcher.cursors);
+  }
+
+  @Test
+  public void testStoppedFetchIsProvisional() throws Exception {
+    StoppingFetcher fetcher = new StoppingFetcher(25);
+    Pager pager = new Pager(fetcher, 10, 2, 10);
+
+    assertArrayEquals(new int[]{0, 1, 2}, docIds(pager.getPage(0)));
+    assertEquals(3, pager.getTotalHits());
+    assertTrue(pager.isProvisional());
+    assertEquals(0, pager.cachedPages());
+
+    // the provisional count does not hide the following pages, and is corrected by a complete fetch
+    assertEquals(10, pager.getPage(1)[0].doc);
+    assertEquals(25, pager.getTotalHits());
+    assertFalse(pager.isProvisional());
+    assertArrayEquals(new int[]{20, 21, 22, 23, 24}, docIds(pager.getPage(2)));
+    assertNull(pager.getPage(3));
+  }
+
+  @Test
+  public void testNoHits() throws Exception {
+    Pager pager = new Pager(new FakeFetcher(0), 10);
+    assertNull(pager.getPage(0));
+    assertEquals(0, pager.getTotalHits());
+  }
+
+}
@@ -17,6 +17,7 @@
 
 package org.apache.lucene.luke.models.search;
 
+import com.google.common.collect.ImmutableSet;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.DoubleDocValuesField;
@@ -321,6 +322,97 @@ public class SearchImplTest extends LuceneTestCase {
     assertEquals(0, res.getOffset());
   }
 
+  @Test
+  public void testSearchWithSort_notScored() throws Exception {
+    SearchImpl search = new SearchImpl(reader);
+    Query query = new QueryParser("f1", new StandardAnalyzer()).parse("apple");
+    Sort sort = new Sort(new SortField("f2", SortField.Type.STRING, true));
+    SearchResults res = search.search(query, new SimilarityConfig.Builder().build(), sort, null, 10);
+
+    for (SearchResults.Doc doc : res.getHits()) {
+      assertTrue(Float.isNaN(doc.getScore()));
+    }
+  }
+
+  @Test
+  public void testSearchFieldValues() throws Exception {
+    SearchImpl search = new SearchImpl(reader);
+    Query query = new QueryParser("f1", new StandardAnalyzer()).parse("apple");
+    SearchResults res = search.search(query, new SimilarityConfig.Builder().build(), ImmutableSet.of("f1"), 10);
+
+    for (SearchResults.Doc doc : res.getHits()) {
+      Map<String, String[]> values = doc.getFieldValues();
+      assertEquals(1, values.size());
+      assertArrayEquals(new String[]{"Apple Pie"}, values.get("f1"));
+    }
+  }
+
+  @Test
+  public void testLoadFieldValues() throws Exception {
+    SearchImpl search = new SearchImpl(reader);
+    Query query = new QueryParser("f1", new StandardAnalyzer()).parse("apple");
+    SearchResults res = search.search(query, new SimilarityConfig.Builder().build(), ImmutableSet.of("f1"), 10);
+
+    for (SearchResults.Doc doc : res.getHits()) {
+      assertFalse(doc.getLoadedFieldValues().isPresent());
+    }
+    res.loadFieldValues();
+    for (SearchResults.Doc doc : res.getHits()) {
+      assertArrayEquals(new String[]{"Apple Pie"}, doc.getLoadedFieldValues().get().get("f1"));
+    }
+  }
+
+  @Test
+  public void testGoToPage() throws Exception {
+    SearchImpl search = new SearchImpl(reader);
+    Query query = new QueryParser("f1", new StandardAnalyzer()).parse("pie");
+    search.search(query, new SimilarityConfig.Builder().build(), null, 3);
+
+    Optional<SearchResults> res = search.goToPage(5);
+    assertTrue(res.isPresent());
+    assertEquals(15, res.get().getOffset());
+    assertEquals(3, res.get().size());
+
+    // the last page
+    res = search.goToPage(6);
+    assertTrue(res.isPresent());
+    assertEquals(2, res.get().size());
+
+    assertFalse(search.goToPage(7).isPresent());
+
+    res = search.prevPage();
+    assertTrue(res.isPresent());
+    assertEquals(15, res.get().getOffset());
+  }
+
+  @Test
+  public void testSearchWithTimeout() throws Exception {
+    SearchImpl search = new SearchImpl(reader);
+    Query query = new QueryParser("f1", new StandardAnalyzer()).parse("apple");
+    SearchResults res = search.search(query, new SimilarityConfig.Builder().build(), null, null, 10, 60_000);
+
+    assertEquals(10, res.getTotalHits());
+    assertEquals(10, res.size());
+    assertFalse(res.isPartial());
+  }
+
+  @Test
+  public void testCancelBeforeSearch() throws Exception {
+    SearchImpl search = new SearchImpl(reader);
+    Query query = new QueryParser("f1", new StandardAnalyzer()).parse("apple");
+
+    // cancelled before the search starts
+    search.cancel();
+    SearchResults res = search.search(query, new SimilarityConfig.Builder().build(), null, null, 10, 0);
+    assertTrue(res.isPartial());
+    assertEquals(0, res.size());
+
+    search.resetCancel();
+    res = search.search(query, new SimilarityConfig.Builder().build(), null, null, 10, 0);
+    assertFalse(res.isPartial());
+    assertEquals(10, res.size());
+  }
+
   @Test
   public void testNextPage() throws Exception {
     SearchImpl search = new SearchImpl(reader);
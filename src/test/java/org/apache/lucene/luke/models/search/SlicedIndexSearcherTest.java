@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.search;
+
+import org.apache.lucene.analysis.MockAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.LuceneTestCase;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class SlicedIndexSearcherTest extends LuceneTestCase {
+
+  private static final int NUM_SEGMENTS = 6;
+
+  private static final int DOCS_PER_SEGMENT = 5;
+
+  private IndexReader reader;
+  private Directory dir;
+  private ExecutorService executor;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    dir = newDirectory();
+    // each commit makes a segment
+    IndexWriter writer = new IndexWriter(dir,
+        new IndexWriterConfig(new MockAnalyzer(random())).setMergePolicy(NoMergePolicy.INSTANCE));
+    for (int i = 0; i < NUM_SEGMENTS; i++) {
+      for (int j = 0; j < DOCS_PER_SEGMENT; j++) {
+        Document doc = new Document();
+        doc.add(newStringField("f1", "value", Field.Store.YES));
+        doc.add(new NumericDocValuesField("f2", (i * DOCS_PER_SEGMENT + j) % 7));
+        writer.addDocument(doc);
+      }
+      writer.commit();
+    }
+    writer.close();
+    reader = DirectoryReader.open(dir);
+    executor = Executors.newFixedThreadPool(3);
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    super.tearDown();
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+    reader.close();
+    dir.close();
+  }
+
+  @Test
+  public void testSlices() {
+    assertEquals(NUM_SEGMENTS, reader.leaves().size());
+
+    IndexSearcher.LeafSlice[] slices = SlicedIndexSearcher.slices(reader.leaves(), 2 * DOCS_PER_SEGMENT, 5);
+    assertEquals(3, slices.length);
+    int ord = 0;
+    for (IndexSearcher.LeafSlice slice : slices) {
+      assertEquals(2, slice.leaves.length);
+      // slices hold adjacent leaves
+      for (int i = 0; i < slice.leaves.length; i++) {
+        assertEquals(ord++, slice.leaves[i].ord);
+      }
+    }
+
+    slices = SlicedIndexSearcher.slices(reader.leaves(), Integer.MAX_VALUE, 4);
+    assertEquals(2, slices.length);
+    assertEquals(4, slices[0].leaves.length);
+    assertEquals(2, slices[1].leaves.length);
+
+    // a large segment forms a slice by itself
+    slices = SlicedIndexSearcher.slices(reader.leaves(), 1, 5);
+    assertEquals(NUM_SEGMENTS, slices.length);
+  }
+
+  @Test
+  public void testConcurrentSearch() throws Exception {
+    assertSameResults(null);
+  }
+
+  @Test
+  public void testConcurrentSearchWithSort() throws Exception {
+    assertSameResults(new Sort(new SortField("f2", SortField.Type.LONG, true)));
+  }
+
+  private void assertSameResults(Sort sort) throws Exception {
+    SearchImpl sequential = new SearchImpl(reader);
+    SearchImpl concurrent = new SearchImpl(reader, executor, DOCS_PER_SEGMENT, 1);
+
+    List<Integer> expected = allPages(sequential, sort);
+    List<Integer> actual = allPages(concurrent, sort);
+    assertEquals(NUM_SEGMENTS * DOCS_PER_SEGMENT, expected.size());
+    assertEquals(expected, actual);
+  }
+
+  private List<Integer> allPages(SearchImpl search, Sort sort) {
+    List<Integer> docs = new ArrayList<>();
+    SearchResults res = search.search(new MatchAllDocsQuery(), new SimilarityConfig.Builder().build(), sort, null, 4);
+    assertEquals(NUM_SEGMENTS * DOCS_PER_SEGMENT, res.getTotalHits());
+    assertFalse(res.isPartial());
+    while (true) {
+      res.getHits().forEach(hit -> docs.add(hit.getDocId()));
+      Optional<SearchResults> next = search.nextPage();
+      if (!next.isPresent()) {
+        break;
+      }
+      res = next.get();
+    }
+    return docs;
+  }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.search;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.lucene.analysis.MockAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.RandomIndexWriter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.LuceneTestCase;
+import org.apache.lucene.util.TestUtil;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+public class StoredDocLoaderTest extends LuceneTestCase {
+
+  private IndexReader reader;
+  private Directory dir;
+  private String body;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    dir = newDirectory();
+    RandomIndexWriter writer = new RandomIndexWriter(random(), dir, new MockAnalyzer(random()));
+    body = TestUtil.randomSimpleString(random(), 5000, 6000);
+    for (int i = 0; i < 5; i++) {
+      Document doc = new Document();
+      doc.add(newStringField("id", "doc" + i, Field.Store.YES));
+      doc.add(new StoredField("num", i));
+      doc.add(newTextField("body", body, Field.Store.YES));
+      doc.add(newStringField("tag", "a", Field.Store.YES));
+      doc.add(newStringField("tag", "b", Field.Store.YES));
+      writer.addDocument(doc);
+    }
+    reader = writer.getReader();
+    writer.close();
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    super.tearDown();
+    reader.close();
+    dir.close();
+  }
+
+  @Test
+  public void testLoadAllFields() throws Exception {
+    StoredDocLoader loader = new StoredDocLoader(reader, null);
+    Map<String, String[]> values = loader.load(0);
+    assertEquals(4, values.size());
+    assertArrayEquals(new String[]{"doc0"}, values.get("id"));
+    assertArrayEquals(new String[]{"0"}, values.get("num"));
+    assertArrayEquals(new String[]{"a", "b"}, values.get("tag"));
+
+    String truncated = values.get("body")[0];
+    assertEquals(StoredDocLoader.DEFAULT_MAX_VALUE_LENGTH + StoredDocLoader.TRUNCATED_MARK.length(), truncated.length());
+    assertTrue(body.startsWith(truncated.substring(0, StoredDocLoader.DEFAULT_MAX_VALUE_LENGTH)));
+  }
+
+  @Test
+  public void testLoadSelectedFields() throws Exception {
+    StoredDocLoader loader = new StoredDocLoader(reader, ImmutableSet.of("id", "tag"));
+    Map<String, String[]> values = loader.load(1);
+    assertEquals(ImmutableSet.of("id", "tag"), values.keySet());
+    assertArrayEquals(new String[]{"doc1"}, values.get("id"));
+  }
+
+  @Test
+  public void testStopLoading() throws Exception {
+    StoredDocLoader loader = new StoredDocLoader(reader, null, 10, 1000, 1000);
+    Map<String, String[]> values = loader.load(2);
+    // no more fields are read after the long body
+    assertArrayEquals(new String[]{"doc2"}, values.get("id"));
+    assertTrue(values.containsKey("body"));
+    assertFalse(values.containsKey("tag"));
+  }
+
+  @Test
+  public void testCache() throws Exception {
+    StoredDocLoader loader = new StoredDocLoader(reader, null, 2, 100, 1000);
+    Map<String, String[]> values = loader.load(0);
+    assertSame(values, loader.load(0));
+    loader.load(1);
+    loader.load(2);
+    assertEquals(2, loader.cachedDocs());
+    assertNotSame(values, loader.load(0));
+  }
+
+  @Test
+  public void testDecode() {
+    assertEquals("abc", StoredDocLoader.decode("abc".getBytes(StandardCharsets.UTF_8), 3));
+    assertEquals("ab...", StoredDocLoader.decode("abc".getBytes(StandardCharsets.UTF_8), 2));
+    // multibyte characters are not split
+    assertEquals("あい...", StoredDocLoader.decode("あいう".getBytes(StandardCharsets.UTF_8), 2));
+    assertEquals("あ...", StoredDocLoader.decode("あ😀".getBytes(StandardCharsets.UTF_8), 2));
+  }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.shards;
+
+import com.carrotsearch.randomizedtesting.annotations.ThreadLeakFilters;
+import org.apache.lucene.analysis.MockAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.luke.models.overview.OverviewImpl;
+import org.apache.lucene.luke.models.overview.TermStats;
+import org.apache.lucene.luke.util.CommonPoolThreadsFilter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.LuceneTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@ThreadLeakFilters(filters = CommonPoolThreadsFilter.class)
+public class ShardsImplTest extends LuceneTestCase {
+
+  private Path root;
+
+  private List<Directory> dirs = new ArrayList<>();
+
+  private IndexReader reader;
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    super.setUp();
+    root = createTempDir();
+    // shard0 has most of the documents; "x" is concentrated in shard0, "y" is spread over the shards
+    createShard("shard0", 6, "x y", 1);
+    createShard("shard1", 2, "y z", 0);
+    createShard("shard2", 1, "y", 0);
+
+    IndexReader[] readers = new IndexReader[dirs.size()];
+    for (int i = 0; i < dirs.size(); i++) {
+      readers[i] = DirectoryReader.open(dirs.get(i));
+    }
+    reader = new MultiReader(readers);
+  }
+
+  private void createShard(String name, int numDocs, String text, int numDeleted) throws IOException {
+    Directory dir = newFSDirectory(root.resolve(name));
+    try (IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig(new MockAnalyzer(random())))) {
+      for (int i = 0; i < numDocs; i++) {
+        Document doc = new Document();
+        doc.add(newStringField("id", name + "-" + i, Field.Store.YES));
+        doc.add(newTextField("text", text, Field.Store.NO));
+        writer.addDocument(doc);
+      }
+      for (int i = 0; i < numDeleted; i++) {
+        writer.deleteDocuments(new Term("id", name + "-" + i));
+      }
+      writer.commit();
+    }
+    dirs.add(dir);
+  }
+
+  @Override
+  @After
+  public void tearDown() throws Exception {
+    reader.close();
+    for (Directory dir : dirs) {
+      dir.close();
+    }
+    super.tearDown();
+  }
+
+  @Test
+  public void testGetShardStats() {
+    ShardsImpl shards = new ShardsImpl(reader);
+    assertTrue(shards.isSharded());
+    assertEquals(Arrays.asList("shard0", "shard1", "shard2"), shards.getShardNames());
+
+    List<ShardStats> stats = shards.getShardStats();
+    assertEquals(3, stats.size());
+    assertEquals("shard0", stats.get(0).getName());
+    assertEquals(5, stats.get(0).getNumDocs());
+    assertEquals(1, stats.get(0).getNumDeletedDocs());
+    assertEquals(0, stats.get(0).getDocBase());
+    assertEquals(6, stats.get(1).getDocBase());
+    // 8 live docs in 3 shards
+    assertEquals(5 / (8 / 3.0), stats.get(0).getDocsSkew(), 1e-9);
+    assertEquals(1 / (8 / 3.0), stats.get(2).getDocsSkew(), 1e-9);
+  }
+
+  @Test
+  public void testGetShardName() {
+    ShardsImpl shards = new ShardsImpl(reader);
+    assertEquals("shard0", shards.getShardName(5).get());
+    assertEquals("shard1", shards.getShardName(6).get());
+    assertEquals("shard2", shards.getShardName(8).get());
+  }
+
+  @Test
+  public void testGetShardName_notSharded() throws Exception {
+    try (IndexReader single = DirectoryReader.open(dirs.get(0))) {
+      ShardsImpl shards = new ShardsImpl(single);
+      assertFalse(shards.isSharded());
+      assertFalse(shards.getShardName(0).isPresent());
+      assertEquals(1, shards.getShardStats().size());
+      assertEquals(1.0, shards.getShardStats().get(0).getDocsSkew(), 1e-9);
+    }
+  }
+
+  @Test
+  public void testGetTermCounts() {
+    ShardsImpl shards = new ShardsImpl(reader);
+    Map<String, Map<String, Long>> termCounts = shards.getTermCounts();
+    assertEquals(Arrays.asList("shard0", "shard1", "shard2"), new ArrayList<>(termCounts.keySet()));
+    assertEquals(2L, (long) termCounts.get("shard0").get("text"));
+    assertEquals(2L, (long) termCounts.get("shard1").get("text"));
+    assertEquals(1L, (long) termCounts.get("shard2").get("text"));
+    assertEquals(6L, (long) termCounts.get("shard0").get("id"));
+  }
+
+  @Test
+  public void testTopTerms_mergedOverShards() {
+    OverviewImpl overview = new OverviewImpl(reader, root.toString());
+    List<TermStats> topTerms = overview.getTopTerms("text", 2);
+
+    assertEquals(2, topTerms.size());
+    // doc freqs include the deleted document
+    assertEquals("y", topTerms.get(0).getDecodedTermText());
+    assertEquals(9, topTerms.get(0).getDocFreq());
+    assertEquals(Arrays.asList(6, 2, 1), topTerms.get(0).getShardDocFreqs());
+    assertEquals("x", topTerms.get(1).getDecodedTermText());
+    assertEquals(6, topTerms.get(1).getDocFreq());
+    assertEquals(Arrays.asList(6, 0, 0), topTerms.get(1).getShardDocFreqs());
+  }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.models.tools;
+
+import org.apache.lucene.analysis.MockAnalyzer;
+import org.apache.lucene.analysis.core.KeywordAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.LuceneTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EditingSessionTest extends LuceneTestCase {
+
+  private Directory dir;
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    super.setUp();
+    dir = newDirectory();
+    try (IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig(new MockAnalyzer(random())))) {
+      writer.addDocument(newDocument("1", "apple"));
+      writer.addDocument(newDocument("2", "banana"));
+      writer.commit();
+    }
+  }
+
+  private static Document newDocument(String id, String text) {
+    Document doc = new Document();
+    doc.add(new StringField("id", id, Field.Store.YES));
+    doc.add(new TextField("text", text, Field.Store.YES));
+    return doc;
+  }
+
+  @Override
+  @After
+  public void tearDown() throws Exception {
+    dir.close();
+    super.tearDown();
+  }
+
+  @Test
+  public void testChangesVisibleBeforeCommit() throws Exception {
+    try (EditingSession session = EditingSession.open(dir, false, false)) {
+      DirectoryReader reader = session.openReader();
+      assertEquals(2, reader.numDocs());
+
+      session.addDocument(newDocument("3", "cherry"), null);
+      session.deleteDocuments(new TermQuery(new Term("id", "1")));
+      session.updateDocument(new Term("id", "2"), newDocument("2", "blueberry"), null);
+      assertEquals(3, session.getNumPendingChanges());
+
+      DirectoryReader newReader = session.refresh(reader);
+      assertNotNull(newReader);
+      reader.close();
+      assertEquals(2, newReader.numDocs());
+      IndexSearcher searcher = newSearcher(newReader);
+      assertEquals(1, searcher.count(new TermQuery(new Term("text", "blueberry"))));
+      assertEquals(0, searcher.count(new TermQuery(new Term("id", "1"))));
+
+      // nothing has been committed
+      try (DirectoryReader committed = DirectoryReader.open(dir)) {
+        assertEquals(2, committed.numDocs());
+        assertEquals(1, new IndexSearcher(committed).count(new TermQuery(new Term("id", "1"))));
+      }
+
+      assertNull(session.refresh(newReader));
+      newReader.close();
+    }
+  }
+
+  @Test
+  public void testCommit() throws Exception {
+    try (EditingSession session = EditingSession.open(dir, false, false)) {
+      session.addDocument(newDocument("3", "cherry"), null);
+      session.commit();
+      assertEquals(0, session.getNumPendingChanges());
+    }
+
+    try (DirectoryReader reader = DirectoryReader.open(dir)) {
+      assertEquals(3, reader.numDocs());
+    }
+  }
+
+  @Test
+  public void testOpenReaderAfterCommit() throws Exception {
+    try (EditingSession session = EditingSession.open(dir, false, false)) {
+      session.addDocument(newDocument("3", "cherry"), null);
+      DirectoryReader reader = session.openReader();
+      long generation = reader.getIndexCommit().getGeneration();
+      session.commit();
+
+      // a reader opened after the commit refers to the new commit point
+      try (DirectoryReader newReader = session.openReader()) {
+        assertTrue(newReader.getIndexCommit().getGeneration() > generation);
+        assertEquals(3, newReader.numDocs());
+      }
+      reader.close();
+    }
+  }
+
+  @Test
+  public void testCloseDiscardsUncommittedChanges() throws Exception {
+    try (EditingSession session = EditingSession.open(dir, false, false)) {
+      session.addDocument(newDocument("3", "cherry"), null);
+      session.commit();
+      session.addDocument(newDocument("4", "durian"), null);
+      assertEquals(1, session.getNumPendingChanges());
+    }
+
+    try (DirectoryReader reader = DirectoryReader.open(dir)) {
+      assertEquals(3, reader.numDocs());
+    }
+  }
+
+  @Test
+  public void testAnalyzerPerDocument() throws Exception {
+    try (EditingSession session = EditingSession.open(dir, false, false)) {
+      session.addDocument(newDocument("3", "red cherry"), new KeywordAnalyzer());
+      session.addDocument(newDocument("4", "red durian"), null);
+
+      try (DirectoryReader reader = session.openReader()) {
+        IndexSearcher searcher = newSearcher(reader);
+        assertEquals(1, searcher.count(new TermQuery(new Term("text", "red cherry"))));
+        assertEquals(1, searcher.count(new TermQuery(new Term("text", "red"))));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.luke.util;
+
+import com.carrotsearch.randomizedtesting.annotations.ThreadLeakFilters;
+import org.apache.lucene.analysis.MockAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiReader;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.FileSwitchDirectory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.store.NIOFSDirectory;
+import org.apache.lucene.store.NRTCachingDirectory;
+import org.apache.lucene.store.SimpleFSDirectory;
+import org.apache.lucene.util.LuceneTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@ThreadLeakFilters(filters = CommonPoolThreadsFilter.class)
+public class IndexUtilsTest extends LuceneTestCase {
+
+  private Path indexDir;
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    super.setUp();
+    indexDir = createIndex();
+  }
+
+  private Path createIndex() throws IOException {
+    return createIndex(createTempDir());
+  }
+
+  private Path createIndex(Path indexDir) throws IOException {
+
+    Directory dir = FSDirectory.open(indexDir);
+    // non-compound, so that stored fields have their own files
+    IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig(new MockAnalyzer(random())).setUseCompoundFile(false));
+    for (int i = 0; i < 10; i++) {
+      Document doc = new Document();
+      doc.add(newStringField("id", "doc" + i, Field.Store.YES));
+      doc.add(newTextField("body", "the quick brown fox", Field.Store.NO));
+      writer.addDocument(doc);
+    }
+    writer.commit();
+    writer.close();
+    dir.close();
+
+    return indexDir;
+  }
+
+  @Test
+  public void testOpenDirectory_mmapOptions() throws Exception {
+    assumeTrue("MMapDirectory cannot unmap files on this platform", MMapDirectory.UNMAP_SUPPORTED);
+    DirectoryConfig config = new DirectoryConfig.Builder().preload(true).maxChunkSizeMB(1).build();
+    try (Directory dir = IndexUtils.openDirectory(indexDir.toString(), MMapDirectory.class.getName(), config)) {
+      assertTrue(dir instanceof MMapDirectory);
+      assertTrue(((MMapDirectory) dir).getPreload());
+      assertEquals(1 << 20, ((MMapDirectory) dir).getMaxChunkSize());
+      assertReadable(dir);
+    }
+  }
+
+  @Test
+  public void testOpenDirectory_nioStoredFields() throws Exception {
+    assumeTrue("MMapDirectory cannot unmap files on this platform", MMapDirectory.UNMAP_SUPPORTED);
+    DirectoryConfig config = new DirectoryConfig.Builder().nioStoredFields(true).build();
+    try (Directory dir = IndexUtils.openDirectory(indexDir.toString(), MMapDirectory.class.getName(), config)) {
+      assertTrue(dir instanceof FileSwitchDirectory);
+      FileSwitchDirectory switchDir = (FileSwitchDirectory) dir;
+      assertTrue(switchDir.getPrimaryDir() instanceof NIOFSDirectory);
+      assertTrue(switchDir.getSecondaryDir() instanceof MMapDirectory);
+      assertReadable(dir);
+    }
+  }
+
+  @Test
+  public void testOpenDirectory_nrtCaching() throws Exception {
+    DirectoryConfig config = new DirectoryConfig.Builder().nrtCaching(true).preload(true).build();
+    try (Directory dir = IndexUtils.openDirectory(indexDir.toString(), SimpleFSDirectory.class.getName(), config)) {
+      assertTrue(dir instanceof NRTCachingDirectory);
+      // memory-mapping options are ignored
+      assertTrue(((NRTCachingDirectory) dir).getDelegate() instanceof SimpleFSDirectory);
+      assertReadable(dir);
+    }
+  }
+
+  @Test
+  public void testOpenDirectory_defaults() throws Exception {
+    try (Directory dir = IndexUtils.openDirectory(indexDir.toString(), NIOFSDirectory.class.getName())) {
+      assertTrue(dir instanceof NIOFSDirectory);
+      assertReadable(dir);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDirectoryConfig_invalidChunkSize() {
+    new DirectoryConfig.Builder().maxChunkSizeMB(DirectoryConfig.MAX_CHUNK_SIZE_MB + 1).build();
+  }
+
+  @Test
+  public void testFindIndexDirectories() throws Exception {
+    Path root = createTempDir();
+    Path shard1 = createIndex(Files.createDirectories(root.resolve("shard1")));
+    Path shard2 = createIndex(Files.createDirectories(root.resolve("group").resolve("shard2")));
+    // not an index
+    Files.createDirectories(root.resolve("empty"));
+    Files.write(root.resolve("group").resolve("README"), "not an index".getBytes(StandardCharsets.UTF_8));
+
+    List<Path> indexDirs = IndexUtils.findIndexDirectories(root);
+    assertEquals(new HashSet<>(Arrays.asList(shard1, shard2)), new HashSet<>(indexDirs));
+  }
+
+  @Test
+  public void testOpenIndex_shards() throws Exception {
+    Path root = createTempDir();
+    for (int i = 0; i < 5; i++) {
+      createIndex(Files.createDirectories(root.resolve("shard" + i)));
+    }
+    Files.createDirectories(root.resolve("empty"));
+
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try (IndexReader reader = IndexUtils.openIndex(root.toString(), null, new DirectoryConfig.Builder().build(), pool)) {
+      assertTrue(reader instanceof MultiReader);
+      assertEquals(5, reader.getContext().children().size());
+      assertEquals(50, reader.numDocs());
+    } finally {
+      pool.shutdown();
+      pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  public void testOpenShards_skipsBrokenIndex() throws Exception {
+    Path root = createTempDir();
+    Path shard = createIndex(Files.createDirectories(root.resolve("shard")));
+    Path broken = Files.createDirectories(root.resolve("broken"));
+    Files.write(broken.resolve("segments_1"), new byte[]{0, 1, 2, 3});
+
+    List<IndexShard> shards = IndexUtils.openShards(Arrays.asList(shard, broken), null,
+        new DirectoryConfig.Builder().build(), ForkJoinPool.commonPool());
+    try {
+      assertEquals(1, shards.size());
+      assertEquals(shard, shards.get(0).getPath());
+      assertEquals(10, shards.get(0).getReader().numDocs());
+      assertTrue(shards.get(0).getOpenTimeMillis() >= 0);
+    } finally {
+      shards.forEach(s -> IndexUtils.close(s.getReader()));
+    }
+  }
+
+  private void assertReadable(Directory dir) throws IOException {
+    try (IndexReader reader = DirectoryReader.open(dir)) {
+      assertEquals(10, reader.numDocs());
+      assertEquals("doc3", reader.document(3).get("id"));
+    }
+  }
+
+}